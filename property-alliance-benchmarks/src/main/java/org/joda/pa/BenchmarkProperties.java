@@ -0,0 +1,112 @@
+/*
+ *  Copyright 2014-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.pa;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+import org.joda.pa.style.BuilderImmutablePerson;
+import org.joda.pa.style.ConstructorNoArgsMutablePerson;
+
+/**
+ * Creates the beans and meta-properties used by the benchmarks.
+ * <p>
+ * Each implementation of {@link MetaProperty} is created directly for the same
+ * property of the {@code style} test beans, so that only the access path differs.
+ */
+final class BenchmarkProperties {
+
+    /**
+     * The mutable bean type.
+     */
+    static final Class<ConstructorNoArgsMutablePerson> MUTABLE = ConstructorNoArgsMutablePerson.class;
+    /**
+     * The immutable bean type.
+     */
+    static final Class<BuilderImmutablePerson> IMMUTABLE = BuilderImmutablePerson.class;
+
+    /**
+     * Restricted constructor.
+     */
+    private BenchmarkProperties() {
+    }
+
+    //-----------------------------------------------------------------------
+    static ConstructorNoArgsMutablePerson mutablePerson() {
+        ConstructorNoArgsMutablePerson person = new ConstructorNoArgsMutablePerson();
+        person.setSurname("Smith");
+        person.setForename("John");
+        person.setBirthDate(LocalDate.of(1970, 6, 30));
+        person.setNumberOfChildren(2);
+        return person;
+    }
+
+    static BuilderImmutablePerson immutablePerson() {
+        return BuilderImmutablePerson.builder()
+                .surname("Smith")
+                .forename("John")
+                .birthDate(LocalDate.of(1970, 6, 30))
+                .numberOfChildren(2)
+                .build();
+    }
+
+    //-----------------------------------------------------------------------
+    static <P> MetaProperty<P> field(Class<?> beanType, String name, Class<P> propertyType) {
+        Field field = declaredField(beanType, name);
+        boolean mutable = !Modifier.isFinal(field.getModifiers());
+        return FieldMetaProperty.create(
+                MetaBean.of(beanType), name, propertyType, false, mutable, true, mutable, field);
+    }
+
+    static <P> MetaProperty<P> varHandle(Class<?> beanType, String name, Class<P> propertyType) {
+        Field field = declaredField(beanType, name);
+        boolean mutable = !Modifier.isFinal(field.getModifiers());
+        return VarHandleMetaProperty.create(
+                MetaBean.of(beanType), name, propertyType, false, mutable, true, mutable, field);
+    }
+
+    @SuppressWarnings("unchecked")
+    static <P> MetaProperty<P> method(Class<?> beanType, String name, Class<P> propertyType) {
+        return (MetaProperty<P>) MetaBean.of(beanType).metaProperty(name).get();
+    }
+
+    static MetaProperty<String> functionalSurname() {
+        return new FunctionalMetaProperty<>(
+                MetaBean.of(MUTABLE), "surname", String.class, false, true,
+                bean -> ((ConstructorNoArgsMutablePerson) bean).getSurname(),
+                (bean, value) -> ((ConstructorNoArgsMutablePerson) bean).setSurname(value),
+                Stream::empty);
+    }
+
+    static IntMetaProperty functionalNumberOfChildren() {
+        return new FunctionalMetaProperty.OfInt(
+                MetaBean.of(MUTABLE), "numberOfChildren", false, true,
+                bean -> ((ConstructorNoArgsMutablePerson) bean).getNumberOfChildren(),
+                (bean, value) -> ((ConstructorNoArgsMutablePerson) bean).setNumberOfChildren(value),
+                Stream::empty);
+    }
+
+    private static Field declaredField(Class<?> beanType, String name) {
+        try {
+            return beanType.getDeclaredField(name);
+        } catch (NoSuchFieldException ex) {
+            throw new IllegalArgumentException(ex);
+        }
+    }
+
+}
@@ -0,0 +1,106 @@
+/*
+ *  Copyright 2014-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.pa;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.joda.pa.style.ConstructorNoArgsMutablePerson;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures reading every property of a bean, as a framework would,
+ * when the call site sees one or many implementations of {@link MetaProperty}.
+ * <p>
+ * The monomorphic case reads three properties that share a single implementation class.
+ * The megamorphic case reads the same number of properties using four implementation classes,
+ * which prevents the JVM from inlining the call.
+ * The bean accessor case reads every property through one object.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class CallSiteBenchmark {
+
+    private ConstructorNoArgsMutablePerson mutablePerson;
+    private MetaProperty<?>[] monomorphic;
+    private MetaProperty<?>[] megamorphic;
+    private BeanAccessor beanAccessor;
+    private int propertyCount;
+
+    @Setup
+    public void setup() {
+        mutablePerson = BenchmarkProperties.mutablePerson();
+        monomorphic = new MetaProperty<?>[] {
+            BenchmarkProperties.method(BenchmarkProperties.MUTABLE, "surname", String.class),
+            BenchmarkProperties.method(BenchmarkProperties.MUTABLE, "forename", String.class),
+            BenchmarkProperties.method(BenchmarkProperties.MUTABLE, "birthDate", LocalDate.class),
+        };
+        megamorphic = new MetaProperty<?>[] {
+            BenchmarkProperties.field(BenchmarkProperties.MUTABLE, "surname", String.class),
+            BenchmarkProperties.varHandle(BenchmarkProperties.MUTABLE, "forename", String.class),
+            BenchmarkProperties.method(BenchmarkProperties.MUTABLE, "birthDate", LocalDate.class),
+            BenchmarkProperties.functionalSurname(),
+        };
+        // match the work of the megamorphic case
+        monomorphic = new MetaProperty<?>[] {monomorphic[0], monomorphic[1], monomorphic[2], monomorphic[0]};
+        beanAccessor = MetaBean.of(BenchmarkProperties.MUTABLE).beanAccessor();
+        propertyCount = MetaBean.of(BenchmarkProperties.MUTABLE).propertyCount();
+    }
+
+    @Benchmark
+    public void direct_allProperties(Blackhole blackhole) {
+        blackhole.consume(mutablePerson.getSurname());
+        blackhole.consume(mutablePerson.getForename());
+        blackhole.consume(mutablePerson.getBirthDate());
+        blackhole.consume(mutablePerson.getNumberOfChildren());
+    }
+
+    @Benchmark
+    public void monomorphic_allProperties(Blackhole blackhole) {
+        for (MetaProperty<?> metaProperty : monomorphic) {
+            blackhole.consume(metaProperty.get(mutablePerson));
+        }
+    }
+
+    @Benchmark
+    public void megamorphic_allProperties(Blackhole blackhole) {
+        for (MetaProperty<?> metaProperty : megamorphic) {
+            blackhole.consume(metaProperty.get(mutablePerson));
+        }
+    }
+
+    @Benchmark
+    public void beanAccessor_allProperties(Blackhole blackhole) {
+        for (int i = 0; i < propertyCount; i++) {
+            blackhole.consume(beanAccessor.get(mutablePerson, i));
+        }
+    }
+
+}
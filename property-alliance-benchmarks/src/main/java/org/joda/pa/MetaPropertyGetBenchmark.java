@@ -0,0 +1,178 @@
+/*
+ *  Copyright 2014-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.pa;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.joda.pa.style.BuilderImmutablePerson;
+import org.joda.pa.style.ConstructorNoArgsMutablePerson;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link MetaProperty#get(Object)} for each implementation against direct access.
+ * <p>
+ * Each benchmark has its own call site, and each runs in its own fork,
+ * thus the calls are monomorphic. See {@link CallSiteBenchmark} for the megamorphic case.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class MetaPropertyGetBenchmark {
+
+    private ConstructorNoArgsMutablePerson mutablePerson;
+    private BuilderImmutablePerson immutablePerson;
+
+    private MetaProperty<String> fieldSurname;
+    private MetaProperty<String> varHandleSurname;
+    private MetaProperty<String> methodSurname;
+    private MetaProperty<String> functionalSurname;
+    private MetaProperty<LocalDate> methodBirthDate;
+    private IntMetaProperty fieldNumberOfChildren;
+    private IntMetaProperty varHandleNumberOfChildren;
+    private IntMetaProperty methodNumberOfChildren;
+    private IntMetaProperty functionalNumberOfChildren;
+    private MetaProperty<String> immutableFieldSurname;
+    private MetaProperty<String> immutableMethodSurname;
+    private BeanAccessor beanAccessor;
+
+    @Setup
+    public void setup() {
+        mutablePerson = BenchmarkProperties.mutablePerson();
+        immutablePerson = BenchmarkProperties.immutablePerson();
+        fieldSurname = BenchmarkProperties.field(BenchmarkProperties.MUTABLE, "surname", String.class);
+        varHandleSurname = BenchmarkProperties.varHandle(BenchmarkProperties.MUTABLE, "surname", String.class);
+        methodSurname = BenchmarkProperties.method(BenchmarkProperties.MUTABLE, "surname", String.class);
+        functionalSurname = BenchmarkProperties.functionalSurname();
+        methodBirthDate = BenchmarkProperties.method(BenchmarkProperties.MUTABLE, "birthDate", LocalDate.class);
+        fieldNumberOfChildren = (IntMetaProperty) BenchmarkProperties.field(
+                BenchmarkProperties.MUTABLE, "numberOfChildren", int.class);
+        varHandleNumberOfChildren = (IntMetaProperty) BenchmarkProperties.varHandle(
+                BenchmarkProperties.MUTABLE, "numberOfChildren", int.class);
+        methodNumberOfChildren = (IntMetaProperty) BenchmarkProperties.method(
+                BenchmarkProperties.MUTABLE, "numberOfChildren", int.class);
+        functionalNumberOfChildren = BenchmarkProperties.functionalNumberOfChildren();
+        immutableFieldSurname = BenchmarkProperties.field(BenchmarkProperties.IMMUTABLE, "surname", String.class);
+        immutableMethodSurname = BenchmarkProperties.method(BenchmarkProperties.IMMUTABLE, "surname", String.class);
+        beanAccessor = MetaBean.of(BenchmarkProperties.MUTABLE).beanAccessor();
+    }
+
+    // reference --------------------------------------------------------------
+
+    @Benchmark
+    public String direct_surname() {
+        return mutablePerson.getSurname();
+    }
+
+    @Benchmark
+    public int direct_numberOfChildren() {
+        return mutablePerson.getNumberOfChildren();
+    }
+
+    @Benchmark
+    public String direct_immutableSurname() {
+        return immutablePerson.getSurname();
+    }
+
+    // object -----------------------------------------------------------------
+
+    @Benchmark
+    public String field_surname() {
+        return fieldSurname.get(mutablePerson);
+    }
+
+    @Benchmark
+    public String varHandle_surname() {
+        return varHandleSurname.get(mutablePerson);
+    }
+
+    @Benchmark
+    public String method_surname() {
+        return methodSurname.get(mutablePerson);
+    }
+
+    @Benchmark
+    public String functional_surname() {
+        return functionalSurname.get(mutablePerson);
+    }
+
+    @Benchmark
+    public LocalDate method_birthDate() {
+        return methodBirthDate.get(mutablePerson);
+    }
+
+    @Benchmark
+    public Object beanAccessor_surname() {
+        return beanAccessor.get(mutablePerson, 0);
+    }
+
+    // primitive --------------------------------------------------------------
+
+    @Benchmark
+    public Integer field_numberOfChildrenBoxed() {
+        return fieldNumberOfChildren.get(mutablePerson);
+    }
+
+    @Benchmark
+    public int field_numberOfChildren() {
+        return fieldNumberOfChildren.getInt(mutablePerson);
+    }
+
+    @Benchmark
+    public int varHandle_numberOfChildren() {
+        return varHandleNumberOfChildren.getInt(mutablePerson);
+    }
+
+    @Benchmark
+    public Integer method_numberOfChildrenBoxed() {
+        return methodNumberOfChildren.get(mutablePerson);
+    }
+
+    @Benchmark
+    public int method_numberOfChildren() {
+        return methodNumberOfChildren.getInt(mutablePerson);
+    }
+
+    @Benchmark
+    public int functional_numberOfChildren() {
+        return functionalNumberOfChildren.getInt(mutablePerson);
+    }
+
+    // immutable --------------------------------------------------------------
+
+    @Benchmark
+    public String field_immutableSurname() {
+        return immutableFieldSurname.get(immutablePerson);
+    }
+
+    @Benchmark
+    public String method_immutableSurname() {
+        return immutableMethodSurname.get(immutablePerson);
+    }
+
+}
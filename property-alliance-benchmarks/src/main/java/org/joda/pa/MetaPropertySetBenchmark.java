@@ -0,0 +1,153 @@
+/*
+ *  Copyright 2014-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.pa;
+
+import java.util.concurrent.TimeUnit;
+
+import org.joda.pa.style.ConstructorNoArgsMutablePerson;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link MetaProperty#set(Object, Object)} for each implementation against direct access.
+ * <p>
+ * The primitive value is varied to prevent the boxed value being a constant.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class MetaPropertySetBenchmark {
+
+    private static final String SURNAME = "Jones";
+
+    private ConstructorNoArgsMutablePerson mutablePerson;
+    private int numberOfChildren;
+
+    private MetaProperty<String> fieldSurname;
+    private MetaProperty<String> varHandleSurname;
+    private MetaProperty<String> methodSurname;
+    private MetaProperty<String> functionalSurname;
+    private IntMetaProperty fieldNumberOfChildren;
+    private IntMetaProperty varHandleNumberOfChildren;
+    private IntMetaProperty methodNumberOfChildren;
+    private IntMetaProperty functionalNumberOfChildren;
+    private BeanAccessor beanAccessor;
+
+    @Setup
+    public void setup() {
+        mutablePerson = BenchmarkProperties.mutablePerson();
+        fieldSurname = BenchmarkProperties.field(BenchmarkProperties.MUTABLE, "surname", String.class);
+        varHandleSurname = BenchmarkProperties.varHandle(BenchmarkProperties.MUTABLE, "surname", String.class);
+        methodSurname = BenchmarkProperties.method(BenchmarkProperties.MUTABLE, "surname", String.class);
+        functionalSurname = BenchmarkProperties.functionalSurname();
+        fieldNumberOfChildren = (IntMetaProperty) BenchmarkProperties.field(
+                BenchmarkProperties.MUTABLE, "numberOfChildren", int.class);
+        varHandleNumberOfChildren = (IntMetaProperty) BenchmarkProperties.varHandle(
+                BenchmarkProperties.MUTABLE, "numberOfChildren", int.class);
+        methodNumberOfChildren = (IntMetaProperty) BenchmarkProperties.method(
+                BenchmarkProperties.MUTABLE, "numberOfChildren", int.class);
+        functionalNumberOfChildren = BenchmarkProperties.functionalNumberOfChildren();
+        beanAccessor = MetaBean.of(BenchmarkProperties.MUTABLE).beanAccessor();
+    }
+
+    private int nextNumberOfChildren() {
+        numberOfChildren = (numberOfChildren + 1) & 0xFFFF;
+        return numberOfChildren;
+    }
+
+    // reference --------------------------------------------------------------
+
+    @Benchmark
+    public void direct_surname() {
+        mutablePerson.setSurname(SURNAME);
+    }
+
+    @Benchmark
+    public void direct_numberOfChildren() {
+        mutablePerson.setNumberOfChildren(nextNumberOfChildren());
+    }
+
+    // object -----------------------------------------------------------------
+
+    @Benchmark
+    public void field_surname() {
+        fieldSurname.set(mutablePerson, SURNAME);
+    }
+
+    @Benchmark
+    public void varHandle_surname() {
+        varHandleSurname.set(mutablePerson, SURNAME);
+    }
+
+    @Benchmark
+    public void method_surname() {
+        methodSurname.set(mutablePerson, SURNAME);
+    }
+
+    @Benchmark
+    public void functional_surname() {
+        functionalSurname.set(mutablePerson, SURNAME);
+    }
+
+    @Benchmark
+    public void beanAccessor_surname() {
+        beanAccessor.set(mutablePerson, 0, SURNAME);
+    }
+
+    // primitive --------------------------------------------------------------
+
+    @Benchmark
+    public void field_numberOfChildrenBoxed() {
+        fieldNumberOfChildren.set(mutablePerson, nextNumberOfChildren());
+    }
+
+    @Benchmark
+    public void field_numberOfChildren() {
+        fieldNumberOfChildren.setInt(mutablePerson, nextNumberOfChildren());
+    }
+
+    @Benchmark
+    public void varHandle_numberOfChildren() {
+        varHandleNumberOfChildren.setInt(mutablePerson, nextNumberOfChildren());
+    }
+
+    @Benchmark
+    public void method_numberOfChildrenBoxed() {
+        methodNumberOfChildren.set(mutablePerson, nextNumberOfChildren());
+    }
+
+    @Benchmark
+    public void method_numberOfChildren() {
+        methodNumberOfChildren.setInt(mutablePerson, nextNumberOfChildren());
+    }
+
+    @Benchmark
+    public void functional_numberOfChildren() {
+        functionalNumberOfChildren.setInt(mutablePerson, nextNumberOfChildren());
+    }
+
+}
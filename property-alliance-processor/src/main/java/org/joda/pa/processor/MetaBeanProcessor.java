@@ -0,0 +1,389 @@
+/*
+ *  Copyright 2014-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.pa.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+/**
+ * An annotation processor that generates a {@code MetaBean} for each class
+ * annotated with {@code @GenerateMetaBean}.
+ * <p>
+ * The properties are found using the same rules as the reflective meta-bean,
+ * public getters and setters as per the original Java Bean specification,
+ * ordered by the declaration order of any field of the same name.
+ * The generated code accesses each property by a direct method call.
+ * <p>
+ * The bean is built using the same rules as the reflective meta-bean, by a public
+ * constructor or a public static factory method named {@code of}. The parameters are
+ * matched to the properties by name, which is always available from the source.
+ * The constructor or factory that allows the most properties to be built is used,
+ * preferring a public no-arguments constructor and then the most parameters.
+ */
+@SupportedAnnotationTypes(MetaBeanProcessor.ANNOTATION_NAME)
+public final class MetaBeanProcessor extends AbstractProcessor {
+
+    /**
+     * The name of the annotation.
+     */
+    static final String ANNOTATION_NAME = "org.joda.pa.GenerateMetaBean";
+    /**
+     * The suffix of the name of a generated meta-bean.
+     */
+    static final String GENERATED_SUFFIX = "_MetaBean";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (isSupported(element)) {
+                    generate((TypeElement) element);
+                }
+            }
+        }
+        return true;
+    }
+
+    //-----------------------------------------------------------------------
+    private boolean isSupported(Element element) {
+        if (element.getKind() != ElementKind.CLASS) {
+            return error(element, "@GenerateMetaBean can only be applied to a class");
+        }
+        TypeElement type = (TypeElement) element;
+        if (!type.getTypeParameters().isEmpty()) {
+            return error(element, "@GenerateMetaBean does not support generic classes");
+        }
+        for (Element current = type; current.getKind().isClass(); current = current.getEnclosingElement()) {
+            TypeElement currentType = (TypeElement) current;
+            if (currentType.getModifiers().contains(Modifier.PRIVATE)) {
+                return error(element, "@GenerateMetaBean cannot be applied to a private class");
+            }
+            if (currentType.getNestingKind() == NestingKind.MEMBER &&
+                    !currentType.getModifiers().contains(Modifier.STATIC)) {
+                return error(element, "@GenerateMetaBean cannot be applied to an inner class");
+            }
+            if (currentType.getNestingKind() == NestingKind.LOCAL ||
+                    currentType.getNestingKind() == NestingKind.ANONYMOUS) {
+                return error(element, "@GenerateMetaBean cannot be applied to a local class");
+            }
+        }
+        return true;
+    }
+
+    private boolean error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+        return false;
+    }
+
+    private void generate(TypeElement type) {
+        PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(type);
+        String packageName = packageElement.getQualifiedName().toString();
+        String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+        String simpleName = packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1);
+        String generatedName = simpleName.replace('$', '_') + GENERATED_SUFFIX;
+
+        List<TypeMirror> propertyTypes = new ArrayList<>();
+        List<MetaBeanWriter.Property> properties = findProperties(type, propertyTypes);
+        MetaBeanWriter writer = new MetaBeanWriter(
+                packageName, generatedName, type.getQualifiedName().toString(),
+                findCreator(type, properties, propertyTypes), properties);
+        String qualifiedName = packageName.isEmpty() ? generatedName : packageName + "." + generatedName;
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedName, type);
+            try (Writer out = file.openWriter()) {
+                out.write(writer.write());
+            }
+        } catch (IOException ex) {
+            error(type, "Unable to write generated meta-bean: " + ex);
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Finds the properties of the type, matching the rules of the reflective meta-bean.
+     * The type of each property is added to the list.
+     */
+    private List<MetaBeanWriter.Property> findProperties(TypeElement type, List<TypeMirror> propertyTypes) {
+        DeclaredType beanType = (DeclaredType) type.asType();
+        Map<String, Accessor> getters = new HashMap<>();
+        Map<String, List<Accessor>> setters = new HashMap<>();
+        for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type))) {
+            Set<Modifier> modifiers = method.getModifiers();
+            if (!modifiers.contains(Modifier.PUBLIC) ||
+                    modifiers.contains(Modifier.STATIC) ||
+                    ((TypeElement) method.getEnclosingElement()).getQualifiedName().contentEquals("java.lang.Object")) {
+                continue;
+            }
+            ExecutableType methodType = (ExecutableType) processingEnv.getTypeUtils().asMemberOf(beanType, method);
+            String methodName = method.getSimpleName().toString();
+            TypeMirror returnType = methodType.getReturnType();
+            List<? extends TypeMirror> parameterTypes = methodType.getParameterTypes();
+            if (parameterTypes.isEmpty() && returnType.getKind() != TypeKind.VOID) {
+                if (methodName.startsWith("get") && methodName.length() > 3) {
+                    addGetter(getters, propertyName(methodName, 3), new Accessor(methodName, returnType));
+                } else if (methodName.startsWith("is") && methodName.length() > 2 &&
+                        returnType.getKind() == TypeKind.BOOLEAN) {
+                    addGetter(getters, propertyName(methodName, 2), new Accessor(methodName, returnType));
+                }
+            } else if (parameterTypes.size() == 1 && returnType.getKind() == TypeKind.VOID &&
+                    methodName.startsWith("set") && methodName.length() > 3) {
+                setters.computeIfAbsent(propertyName(methodName, 3), name -> new ArrayList<>())
+                        .add(new Accessor(methodName, parameterTypes.get(0)));
+            }
+        }
+
+        Set<String> propertyNames = new LinkedHashSet<>(getters.keySet());
+        propertyNames.addAll(setters.keySet());
+        Map<String, Integer> fieldOrder = fieldOrder(type);
+        List<String> orderedNames = new ArrayList<>(propertyNames);
+        orderedNames.sort(Comparator
+                .comparing((String name) -> fieldOrder.getOrDefault(name, Integer.MAX_VALUE))
+                .thenComparing(Comparator.naturalOrder()));
+
+        List<MetaBeanWriter.Property> result = new ArrayList<>(orderedNames.size());
+        for (String name : orderedNames) {
+            Accessor getter = getters.get(name);
+            Accessor setter = findSetter(setters.getOrDefault(name, Collections.emptyList()), getter);
+            if (getter != null || setter != null) {
+                TypeMirror propertyType = getter != null ? getter.type : setter.type;
+                propertyTypes.add(propertyType);
+                result.add(new MetaBeanWriter.Property(
+                        name,
+                        MetaBeanWriter.sourceType(processingEnv.getTypeUtils(), propertyType),
+                        MetaBeanWriter.boxedSourceType(processingEnv.getTypeUtils(), propertyType),
+                        MetaBeanWriter.rawSourceType(processingEnv.getTypeUtils(), propertyType),
+                        getter != null ? getter.name : null,
+                        setter != null ? setter.name : null));
+            }
+        }
+        return result;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Finds the constructor or factory used to build the bean, matching the rules of the reflective meta-bean.
+     *
+     * @return the creator, null if the bean cannot be built
+     */
+    private MetaBeanWriter.Creator findCreator(
+            TypeElement type, List<MetaBeanWriter.Property> properties, List<TypeMirror> propertyTypes) {
+
+        List<ExecutableElement> candidates = new ArrayList<>();
+        if (!type.getModifiers().contains(Modifier.ABSTRACT)) {
+            candidates.addAll(ElementFilter.constructorsIn(type.getEnclosedElements()));
+        }
+        for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            if (method.getSimpleName().contentEquals("of") &&
+                    method.getModifiers().contains(Modifier.STATIC) &&
+                    isAssignable(method.getReturnType(), type.asType())) {
+                candidates.add(method);
+            }
+        }
+
+        ExecutableElement best = null;
+        int[] bestIndices = null;
+        int bestCoverage = -1;
+        for (ExecutableElement candidate : candidates) {
+            if (!candidate.getModifiers().contains(Modifier.PUBLIC) || !candidate.getTypeParameters().isEmpty()) {
+                continue;
+            }
+            int[] indices = matchParameters(candidate, properties, propertyTypes);
+            if (indices == null) {
+                continue;
+            }
+            int coverage = coverage(indices, properties);
+            if (coverage > bestCoverage ||
+                    (coverage == bestCoverage && isPreferred(candidate, indices, best, bestIndices))) {
+                best = candidate;
+                bestIndices = indices;
+                bestCoverage = coverage;
+            }
+        }
+        if (best == null) {
+            return null;
+        }
+        return new MetaBeanWriter.Creator(best.getKind() == ElementKind.METHOD, bestIndices, throwsChecked(best));
+    }
+
+    // the number of properties that can be built, those that are parameters or have a setter
+    private static int coverage(int[] parameterIndices, List<MetaBeanWriter.Property> properties) {
+        int coverage = (int) properties.stream().filter(MetaBeanWriter.Property::hasSetter).count();
+        for (int index : parameterIndices) {
+            coverage += properties.get(index).hasSetter() ? 0 : 1;
+        }
+        return coverage;
+    }
+
+    // of two candidates building the same number of properties
+    private static boolean isPreferred(
+            ExecutableElement candidate, int[] indices, ExecutableElement best, int[] bestIndices) {
+
+        if (best.getKind() == ElementKind.CONSTRUCTOR && bestIndices.length == 0) {
+            return false;
+        }
+        return (candidate.getKind() == ElementKind.CONSTRUCTOR && indices.length == 0) ||
+                indices.length > bestIndices.length;
+    }
+
+    private int[] matchParameters(
+            ExecutableElement candidate, List<MetaBeanWriter.Property> properties, List<TypeMirror> propertyTypes) {
+
+        List<? extends VariableElement> parameters = candidate.getParameters();
+        if (candidate.isVarArgs() || parameters.size() > properties.size()) {
+            return null;
+        }
+        List<String> propertyNames = properties.stream()
+                .map(MetaBeanWriter.Property::name)
+                .collect(Collectors.toList());
+        int[] indices = new int[parameters.size()];
+        boolean[] used = new boolean[properties.size()];
+        for (int i = 0; i < parameters.size(); i++) {
+            VariableElement parameter = parameters.get(i);
+            int index = propertyNames.indexOf(parameter.getSimpleName().toString());
+            if (index < 0 || used[index] || !isSameErasure(parameter.asType(), propertyTypes.get(index))) {
+                return null;
+            }
+            indices[i] = index;
+            used[index] = true;
+        }
+        return indices;
+    }
+
+    private boolean throwsChecked(ExecutableElement executable) {
+        TypeMirror runtimeException = processingEnv.getElementUtils().getTypeElement("java.lang.RuntimeException").asType();
+        TypeMirror error = processingEnv.getElementUtils().getTypeElement("java.lang.Error").asType();
+        return executable.getThrownTypes().stream()
+                .anyMatch(thrown -> !processingEnv.getTypeUtils().isSubtype(thrown, runtimeException) &&
+                        !processingEnv.getTypeUtils().isSubtype(thrown, error));
+    }
+
+    //-----------------------------------------------------------------------
+    private void addGetter(Map<String, Accessor> getters, String name, Accessor getter) {
+        // an 'isFoo()' getter takes precedence over 'getFoo()' as per the Java Bean specification,
+        // otherwise the most specific return type wins if an interface is re-declared
+        Accessor existing = getters.get(name);
+        if (existing == null ||
+                getter.name.startsWith("is") ||
+                (existing.name.startsWith("get") && isAssignable(getter.type, existing.type))) {
+            getters.put(name, getter);
+        }
+    }
+
+    private Accessor findSetter(List<Accessor> candidates, Accessor getter) {
+        if (getter == null) {
+            return candidates.size() == 1 ? candidates.get(0) : null;
+        }
+        for (Accessor candidate : candidates) {
+            if (isSameErasure(candidate.type, getter.type)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private boolean isAssignable(TypeMirror type, TypeMirror target) {
+        return processingEnv.getTypeUtils().isAssignable(
+                processingEnv.getTypeUtils().erasure(type), processingEnv.getTypeUtils().erasure(target));
+    }
+
+    private boolean isSameErasure(TypeMirror first, TypeMirror second) {
+        return processingEnv.getTypeUtils().isSameType(
+                processingEnv.getTypeUtils().erasure(first), processingEnv.getTypeUtils().erasure(second));
+    }
+
+    private static String propertyName(String methodName, int prefixLength) {
+        // as per java.beans.Introspector.decapitalize()
+        String name = methodName.substring(prefixLength);
+        if (name.length() > 1 && Character.isUpperCase(name.charAt(1)) && Character.isUpperCase(name.charAt(0))) {
+            return name;
+        }
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static Map<String, Integer> fieldOrder(TypeElement type) {
+        List<TypeElement> hierarchy = new ArrayList<>();
+        for (TypeElement current = type; current != null; current = superclass(current)) {
+            hierarchy.add(0, current);
+        }
+        Map<String, Integer> order = new HashMap<>();
+        for (TypeElement current : hierarchy) {
+            for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                if (!field.getModifiers().contains(Modifier.STATIC)) {
+                    order.putIfAbsent(field.getSimpleName().toString(), order.size());
+                }
+            }
+        }
+        return order;
+    }
+
+    private static TypeElement superclass(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        TypeElement element = (TypeElement) ((DeclaredType) superclass).asElement();
+        return element.getQualifiedName().contentEquals("java.lang.Object") ? null : element;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * A getter or setter, with the type of the property as seen from the bean.
+     */
+    private static final class Accessor {
+        private final String name;
+        private final TypeMirror type;
+
+        private Accessor(String name, TypeMirror type) {
+            this.name = name;
+            this.type = type;
+        }
+    }
+
+}
@@ -0,0 +1,807 @@
+/*
+ *  Copyright 2014-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.pa.processor;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.Types;
+
+/**
+ * Writes the source code of a generated meta-bean.
+ * <p>
+ * The generated class has a constant for the meta-bean and for each meta-property.
+ * Each meta-property is a nested class whose {@code get} and {@code set} call the
+ * getter and setter directly, implementing a primitive specialization such as
+ * {@code IntMetaProperty} where possible. The meta-bean also provides a {@code BeanAccessor}
+ * and a cached {@code BeanBuilderPool}. If the bean has a public constructor or static factory
+ * that can be matched to the properties, the meta-bean provides a resettable {@code BeanBuilder}
+ * which stores the values in an array and calls the constructor or factory on build.
+ * Only the annotations are read using reflection, on demand.
+ * <p>
+ * All types are written fully qualified to avoid clashes with the names in the bean's package.
+ */
+final class MetaBeanWriter {
+
+    private final String packageName;
+    private final String generatedName;
+    private final String beanName;
+    private final Creator creator;
+    private final List<Property> properties;
+    private final StringBuilder buf = new StringBuilder(4096);
+
+    /**
+     * Creates an instance.
+     *
+     * @param packageName  the package of the bean, empty for the unnamed package
+     * @param generatedName  the simple name of the generated class
+     * @param beanName  the source name of the bean type
+     * @param creator  the constructor or factory used to build the bean, null if not buildable
+     * @param properties  the properties, in order
+     */
+    MetaBeanWriter(
+            String packageName, String generatedName, String beanName,
+            Creator creator, List<Property> properties) {
+
+        this.packageName = packageName;
+        this.generatedName = generatedName;
+        this.beanName = beanName;
+        this.creator = creator;
+        this.properties = properties;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Writes the source code.
+     *
+     * @return the source code, not null
+     */
+    String write() {
+        line(0, "// Generated by " + MetaBeanProcessor.class.getName() + ", do not edit");
+        if (!packageName.isEmpty()) {
+            line(0, "package " + packageName + ";");
+        }
+        line(0, "");
+        line(0, "/**");
+        line(0, " * The meta-bean for {@link " + beanName + "}.");
+        line(0, " */");
+        line(0, "@javax.annotation.processing.Generated(\"" + MetaBeanProcessor.class.getName() + "\")");
+        line(0, "@SuppressWarnings(\"deprecation\")");
+        line(0, "public final class " + generatedName + " implements org.joda.pa.MetaBean {");
+        line(0, "");
+        writeConstants();
+        writeMetaBeanMethods();
+        writeHelpers();
+        writeAbstractProperty();
+        for (int i = 0; i < properties.size(); i++) {
+            writeProperty(properties.get(i), i);
+        }
+        writeAccessor();
+        if (creator != null) {
+            writeBuilder();
+        }
+        line(0, "}");
+        return buf.toString();
+    }
+
+    private void writeConstants() {
+        for (Property property : properties) {
+            line(1, "/**");
+            line(1, " * The meta-property for the '" + property.name + "' property.");
+            line(1, " */");
+            line(1, "public static final " + property.interfaceType() + " "
+                    + property.constantName() + " = new " + property.className() + "();");
+        }
+        line(1, "/**");
+        line(1, " * The meta-bean.");
+        line(1, " */");
+        line(1, "public static final " + generatedName + " META_BEAN = new " + generatedName + "();");
+        line(1, "/**");
+        line(1, " * The pool of bean builders.");
+        line(1, " */");
+        line(1, "private static final org.joda.pa.BeanBuilderPool BUILDER_POOL = org.joda.pa.BeanBuilderPool.of(META_BEAN);");
+        line(1, "/**");
+        line(1, " * The meta-properties, in order.");
+        line(1, " */");
+        line(1, "private static final java.util.List<org.joda.pa.MetaProperty<?>> META_PROPERTIES =");
+        line(3, "java.util.List.of(" + properties.stream()
+                .map(Property::constantName)
+                .collect(Collectors.joining(", ")) + ");");
+        line(1, "/**");
+        line(1, " * The meta-properties as optionals, in order.");
+        line(1, " */");
+        line(1, "private static final java.util.List<java.util.Optional<org.joda.pa.MetaProperty<?>>> OPTIONALS =");
+        line(3, "java.util.List.of(" + properties.stream()
+                .map(property -> "java.util.Optional.of(" + property.constantName() + ")")
+                .collect(Collectors.joining(", ")) + ");");
+        line(1, "/**");
+        line(1, " * The bean accessor.");
+        line(1, " */");
+        line(1, "private static final org.joda.pa.BeanAccessor ACCESSOR = new Accessor();");
+        line(0, "");
+        line(1, "private " + generatedName + "() {");
+        line(1, "}");
+        line(0, "");
+    }
+
+    private void writeMetaBeanMethods() {
+        line(1, "//-----------------------------------------------------------------------");
+        line(1, "@Override");
+        line(1, "public java.lang.Class<?> beanType() {");
+        line(2, "return " + beanName + ".class;");
+        line(1, "}");
+        line(0, "");
+        line(1, "@Override");
+        line(1, "public boolean isBuildable() {");
+        line(2, "return " + (creator != null) + ";");
+        line(1, "}");
+        line(0, "");
+        line(1, "@Override");
+        line(1, "public org.joda.pa.BeanBuilder<" + beanName + "> beanBuilder() {");
+        writeNewBuilder();
+        line(1, "}");
+        line(0, "");
+        line(1, "@Override");
+        line(1, "public org.joda.pa.BeanBuilder<" + beanName + "> reusableBeanBuilder() {");
+        line(2, "// the array-backed builder is natively reusable");
+        writeNewBuilder();
+        line(1, "}");
+        line(0, "");
+        line(1, "@Override");
+        line(1, "public org.joda.pa.BeanBuilderPool beanBuilderPool() {");
+        line(2, "return BUILDER_POOL;");
+        line(1, "}");
+        line(0, "");
+        line(1, "@Override");
+        line(1, "public java.util.stream.Stream<org.joda.pa.MetaProperty<?>> metaProperties() {");
+        line(2, "return META_PROPERTIES.stream();");
+        line(1, "}");
+        line(0, "");
+        line(1, "@Override");
+        line(1, "public java.util.List<org.joda.pa.MetaProperty<?>> metaPropertyList() {");
+        line(2, "return META_PROPERTIES;");
+        line(1, "}");
+        line(0, "");
+        line(1, "@Override");
+        line(1, "public int propertyCount() {");
+        line(2, "return " + properties.size() + ";");
+        line(1, "}");
+        line(0, "");
+        line(1, "@Override");
+        line(1, "public org.joda.pa.MetaProperty<?> metaPropertyAt(int index) {");
+        line(2, "return META_PROPERTIES.get(index);");
+        line(1, "}");
+        line(0, "");
+        line(1, "@Override");
+        line(1, "public org.joda.pa.BeanAccessor beanAccessor() {");
+        line(2, "return ACCESSOR;");
+        line(1, "}");
+        line(0, "");
+        line(1, "@Override");
+        line(1, "public java.util.Optional<org.joda.pa.MetaProperty<?>> metaProperty(java.lang.String propertyName) {");
+        line(2, "if (propertyName == null) {");
+        line(3, "return java.util.Optional.empty();");
+        line(2, "}");
+        line(2, "switch (propertyName) {");
+        for (int i = 0; i < properties.size(); i++) {
+            line(3, "case \"" + properties.get(i).name + "\":");
+            line(4, "return OPTIONALS.get(" + i + ");");
+        }
+        line(3, "default:");
+        line(4, "return java.util.Optional.empty();");
+        line(2, "}");
+        line(1, "}");
+        line(0, "");
+        line(1, "@Override");
+        line(1, "public java.util.stream.Stream<java.lang.annotation.Annotation> annotations() {");
+        line(2, "return java.util.stream.Stream.of(" + beanName + ".class.getAnnotations());");
+        line(1, "}");
+        line(0, "");
+        line(1, "@Override");
+        line(1, "public java.lang.String toString() {");
+        line(2, "return \"MetaBean:\" + " + beanName + ".class.getName();");
+        line(1, "}");
+        line(0, "");
+    }
+
+    private void writeNewBuilder() {
+        if (creator != null) {
+            line(2, "return new Builder();");
+        } else {
+            line(2, "java.lang.String message = \"The bean type '\" + " + beanName
+                    + ".class + \"' has no public constructor or static factory to build it.\";");
+            line(2, "throw new java.lang.UnsupportedOperationException(message);");
+        }
+    }
+
+    private void writeHelpers() {
+        line(1, "//-----------------------------------------------------------------------");
+        line(1, "private static " + beanName + " castBean(java.lang.Object bean) {");
+        line(2, "java.util.Objects.requireNonNull(bean, \"The argument 'bean' must not be null.\");");
+        line(2, "return (" + beanName + ") bean;");
+        line(1, "}");
+        line(0, "");
+        line(1, "private static java.lang.IllegalArgumentException nullPrimitiveException(");
+        line(3, "java.lang.String name, java.lang.Class<?> propertyType) {");
+        line(2, "java.lang.String message = \"The meta-property '\" + name + \"' is of primitive type '\"");
+        line(4, "+ propertyType + \"' and cannot be set to null.\";");
+        line(2, "return new java.lang.IllegalArgumentException(message);");
+        line(1, "}");
+        line(0, "");
+        line(1, "private static java.lang.annotation.Annotation[] annotationsOf(");
+        line(3, "java.lang.String getterName, java.lang.String setterName, java.lang.Class<?> propertyType) {");
+        line(2, "try {");
+        line(3, "java.util.List<java.lang.annotation.Annotation> result = new java.util.ArrayList<>();");
+        line(3, "if (getterName != null) {");
+        line(4, "result.addAll(java.util.Arrays.asList(");
+        line(6, beanName + ".class.getMethod(getterName).getAnnotations()));");
+        line(3, "}");
+        line(3, "if (setterName != null) {");
+        line(4, "result.addAll(java.util.Arrays.asList(");
+        line(6, beanName + ".class.getMethod(setterName, propertyType).getAnnotations()));");
+        line(3, "}");
+        line(3, "return result.toArray(new java.lang.annotation.Annotation[result.size()]);");
+        line(2, "} catch (java.lang.NoSuchMethodException ex) {");
+        line(3, "throw new java.lang.IllegalStateException(\"The bean has changed since the meta-bean was generated.\", ex);");
+        line(2, "}");
+        line(1, "}");
+        line(0, "");
+    }
+
+    private void writeAbstractProperty() {
+        line(1, "//-----------------------------------------------------------------------");
+        line(1, "/**");
+        line(1, " * The common parts of the meta-properties.");
+        line(1, " */");
+        line(1, "private abstract static class AbstractProperty<P> implements org.joda.pa.MetaProperty<P> {");
+        line(2, "private final java.lang.String name;");
+        line(2, "private final int index;");
+        line(2, "private volatile java.lang.annotation.Annotation[] annotations;");
+        line(0, "");
+        line(2, "AbstractProperty(java.lang.String name, int index) {");
+        line(3, "this.name = name;");
+        line(3, "this.index = index;");
+        line(2, "}");
+        line(0, "");
+        line(2, "abstract java.lang.annotation.Annotation[] findAnnotations();");
+        line(0, "");
+        line(2, "@Override");
+        line(2, "public final org.joda.pa.MetaBean metaBean() {");
+        line(3, "return META_BEAN;");
+        line(2, "}");
+        line(0, "");
+        line(2, "@Override");
+        line(2, "public final java.lang.String name() {");
+        line(3, "return name;");
+        line(2, "}");
+        line(0, "");
+        line(2, "@Override");
+        line(2, "public final int index() {");
+        line(3, "return index;");
+        line(2, "}");
+        line(0, "");
+        line(2, "@Override");
+        line(2, "public final java.lang.Class<?> declaringType() {");
+        line(3, "return " + beanName + ".class;");
+        line(2, "}");
+        line(0, "");
+        line(2, "@Override");
+        line(2, "public final java.util.stream.Stream<java.lang.annotation.Annotation> annotations() {");
+        line(3, "java.lang.annotation.Annotation[] result = annotations;");
+        line(3, "if (result == null) {");
+        line(4, "result = findAnnotations();");
+        line(4, "annotations = result;");
+        line(3, "}");
+        line(3, "return java.util.stream.Stream.of(result);");
+        line(2, "}");
+        line(0, "");
+        line(2, "@Override");
+        line(2, "public final boolean equals(java.lang.Object obj) {");
+        line(3, "if (this == obj) {");
+        line(4, "return true;");
+        line(3, "}");
+        line(3, "if (obj instanceof org.joda.pa.MetaProperty) {");
+        line(4, "org.joda.pa.MetaProperty<?> other = (org.joda.pa.MetaProperty<?>) obj;");
+        line(4, "return java.util.Objects.equals(declaringType(), other.declaringType()) &&");
+        line(6, "java.util.Objects.equals(name(), other.name());");
+        line(3, "}");
+        line(3, "return false;");
+        line(2, "}");
+        line(0, "");
+        line(2, "@Override");
+        line(2, "public final int hashCode() {");
+        line(3, "return java.util.Objects.hashCode(META_BEAN) ^ java.util.Objects.hashCode(name);");
+        line(2, "}");
+        line(0, "");
+        line(2, "@Override");
+        line(2, "public final java.lang.String toString() {");
+        line(3, "return \"MetaProperty:\" + name;");
+        line(2, "}");
+        line(1, "}");
+        line(0, "");
+    }
+
+    private void writeProperty(Property property, int index) {
+        line(1, "//-----------------------------------------------------------------------");
+        line(1, "/**");
+        line(1, " * The meta-property for the '" + property.name + "' property.");
+        line(1, " */");
+        line(1, "private static final class " + property.className()
+                + " extends AbstractProperty<" + property.boxedType + ">"
+                + (property.isSpecialized() ? " implements " + property.interfaceType() : "") + " {");
+        line(2, property.className() + "() {");
+        line(3, "super(\"" + property.name + "\", " + index + ");");
+        line(2, "}");
+        line(0, "");
+        line(2, "@Override");
+        line(2, "@SuppressWarnings({\"unchecked\", \"rawtypes\"})");
+        line(2, "public java.lang.Class<" + property.boxedType + "> propertyType() {");
+        line(3, "return (java.lang.Class) " + property.rawType + ".class;");
+        line(2, "}");
+        line(0, "");
+        line(2, "@Override");
+        line(2, "public boolean isBuildable() {");
+        line(3, "return " + (creator != null && (creator.isParameter(index) || property.setterName != null)) + ";");
+        line(2, "}");
+        line(0, "");
+        line(2, "@Override");
+        line(2, "public boolean isMutable() {");
+        line(3, "return " + (property.setterName != null) + ";");
+        line(2, "}");
+        line(0, "");
+        line(2, "@Override");
+        line(2, "public " + property.boxedType + " get(java.lang.Object bean) {");
+        if (property.getterName != null) {
+            line(3, "return castBean(bean)." + property.getterName + "();");
+        } else {
+            line(3, "castBean(bean);");
+            line(3, "throw new java.lang.UnsupportedOperationException(\"This meta-property is write-only.\");");
+        }
+        line(2, "}");
+        line(0, "");
+        line(2, "@Override");
+        if (property.setterName != null && !property.type.equals(property.rawType)) {
+            line(2, "@SuppressWarnings(\"unchecked\")");
+        }
+        line(2, "public void set(java.lang.Object bean, java.lang.Object value) {");
+        if (property.setterName != null && property.isPrimitive()) {
+            line(3, beanName + " typedBean = castBean(bean);");
+            line(3, "if (value == null) {");
+            line(4, "throw nullPrimitiveException(name(), " + property.rawType + ".class);");
+            line(3, "}");
+            line(3, "typedBean." + property.setterName + "((" + property.boxedType + ") value);");
+        } else if (property.setterName != null) {
+            line(3, "castBean(bean)." + property.setterName + "((" + property.boxedType + ") value);");
+        } else {
+            line(3, "castBean(bean);");
+            line(3, "throw new java.lang.UnsupportedOperationException(\"This meta-property is read-only.\");");
+        }
+        line(2, "}");
+        line(0, "");
+        if (property.isSpecialized()) {
+            writeSpecializedMethods(property);
+        }
+        line(2, "@Override");
+        line(2, "java.lang.annotation.Annotation[] findAnnotations() {");
+        line(3, "return annotationsOf(" + quoted(property.getterName) + ", " + quoted(property.setterName)
+                + ", " + property.rawType + ".class);");
+        line(2, "}");
+        line(1, "}");
+        line(0, "");
+    }
+
+    private void writeSpecializedMethods(Property property) {
+        String suffix = property.specializedSuffix();
+        line(2, "@Override");
+        line(2, "public " + property.rawType + " get" + suffix + "(java.lang.Object bean) {");
+        if (property.getterName != null) {
+            line(3, "return castBean(bean)." + property.getterName + "();");
+        } else {
+            line(3, "castBean(bean);");
+            line(3, "throw new java.lang.UnsupportedOperationException(\"This meta-property is write-only.\");");
+        }
+        line(2, "}");
+        line(0, "");
+        line(2, "@Override");
+        line(2, "public void set" + suffix + "(java.lang.Object bean, " + property.rawType + " value) {");
+        if (property.setterName != null) {
+            line(3, "castBean(bean)." + property.setterName + "(value);");
+        } else {
+            line(3, "castBean(bean);");
+            line(3, "throw new java.lang.UnsupportedOperationException(\"This meta-property is read-only.\");");
+        }
+        line(2, "}");
+        line(0, "");
+    }
+
+    private void writeAccessor() {
+        line(1, "//-----------------------------------------------------------------------");
+        line(1, "/**");
+        line(1, " * The bean accessor, calling the getters and setters directly.");
+        line(1, " */");
+        line(1, "private static final class Accessor implements org.joda.pa.BeanAccessor {");
+        line(2, "@Override");
+        line(2, "public java.lang.Object get(java.lang.Object bean, int index) {");
+        line(3, "switch (index) {");
+        for (int i = 0; i < properties.size(); i++) {
+            Property property = properties.get(i);
+            line(4, "case " + i + ":");
+            if (property.getterName != null) {
+                line(5, "return castBean(bean)." + property.getterName + "();");
+            } else {
+                line(5, "return " + property.constantName() + ".get(bean);");
+            }
+        }
+        line(4, "default:");
+        line(5, "throw new java.lang.IndexOutOfBoundsException(index);");
+        line(3, "}");
+        line(2, "}");
+        line(0, "");
+        line(2, "@Override");
+        line(2, "@SuppressWarnings(\"unchecked\")");
+        line(2, "public void set(java.lang.Object bean, int index, java.lang.Object value) {");
+        line(3, "switch (index) {");
+        for (int i = 0; i < properties.size(); i++) {
+            Property property = properties.get(i);
+            line(4, "case " + i + ":");
+            if (property.setterName != null && !property.isPrimitive()) {
+                line(5, "castBean(bean)." + property.setterName + "((" + property.boxedType + ") value);");
+            } else {
+                // the meta-property checks for null on a primitive or rejects a read-only property
+                line(5, property.constantName() + ".set(bean, value);");
+            }
+            line(5, "return;");
+        }
+        line(4, "default:");
+        line(5, "throw new java.lang.IndexOutOfBoundsException(index);");
+        line(3, "}");
+        line(2, "}");
+        line(1, "}");
+        line(0, "");
+    }
+
+    private void writeBuilder() {
+        line(1, "//-----------------------------------------------------------------------");
+        line(1, "/**");
+        line(1, " * The bean builder, which stores the values in an array indexed by property.");
+        line(1, " */");
+        line(1, "private static final class Builder implements org.joda.pa.BeanBuilder<" + beanName + "> {");
+        line(2, "private final java.lang.Object[] values = new java.lang.Object[" + properties.size() + "];");
+        line(0, "");
+        line(2, "@Override");
+        line(2, "public java.lang.Object get(org.joda.pa.MetaProperty<?> property) {");
+        line(3, "return values[ensureOwnProperty(property).index()];");
+        line(2, "}");
+        line(0, "");
+        line(2, "@Override");
+        line(2, "public org.joda.pa.BeanBuilder<" + beanName + "> set(org.joda.pa.MetaProperty<?> property, java.lang.Object value) {");
+        line(3, "ensureOwnProperty(property);");
+        line(3, "if (!property.isBuildable()) {");
+        line(4, "java.lang.String message = \"The meta-property '\" + property.name() + \"' is not buildable.\";");
+        line(4, "throw new java.lang.UnsupportedOperationException(message);");
+        line(3, "}");
+        line(3, "values[property.index()] = value;");
+        line(3, "return this;");
+        line(2, "}");
+        line(0, "");
+        line(2, "private org.joda.pa.MetaProperty<?> ensureOwnProperty(org.joda.pa.MetaProperty<?> property) {");
+        line(3, "java.util.Objects.requireNonNull(property, \"The argument 'property' must not be null.\");");
+        line(3, "if (property.metaBean() != META_BEAN) {");
+        line(4, "java.lang.String message = \"The meta-property '\" + property.name()");
+        line(6, "+ \"' does not belong to this builder's meta-bean \" + META_BEAN + \".\";");
+        line(4, "throw new java.lang.IllegalArgumentException(message);");
+        line(3, "}");
+        line(3, "return property;");
+        line(2, "}");
+        line(0, "");
+        line(2, "@Override");
+        line(2, "@SuppressWarnings(\"unchecked\")");
+        line(2, "public " + beanName + " build() {");
+        writeCreation();
+        for (int i = 0; i < properties.size(); i++) {
+            Property property = properties.get(i);
+            if (property.setterName != null && !creator.isParameter(i)) {
+                line(3, "if (values[" + i + "] != null) {");
+                line(4, "bean." + property.setterName + "((" + property.boxedType + ") values[" + i + "]);");
+                line(3, "}");
+            }
+        }
+        line(3, "return bean;");
+        line(2, "}");
+        line(0, "");
+        line(2, "@Override");
+        line(2, "public org.joda.pa.BeanBuilder<" + beanName + "> reset() {");
+        line(3, "java.util.Arrays.fill(values, null);");
+        line(3, "return this;");
+        line(2, "}");
+        line(1, "}");
+        line(0, "");
+    }
+
+    private void writeCreation() {
+        // a null value of a primitive parameter is replaced by the default value
+        String arguments = Arrays.stream(creator.parameterIndices)
+                .mapToObj(index -> {
+                    Property property = properties.get(index);
+                    String value = "values[" + index + "]";
+                    return property.isPrimitive() ?
+                            "(" + value + " != null ? (" + property.boxedType + ") " + value + " : "
+                                    + property.defaultValue() + ")" :
+                            "(" + property.boxedType + ") " + value;
+                })
+                .collect(Collectors.joining(", "));
+        String creation = (creator.factory ? beanName + ".of(" : "new " + beanName + "(") + arguments + ");";
+        if (!creator.throwsChecked) {
+            line(3, beanName + " bean = " + creation);
+            return;
+        }
+        // rethrow the exception thrown by the constructor or factory if possible
+        // (i.e. it is unchecked) or throw a new RuntimeException
+        line(3, beanName + " bean;");
+        line(3, "try {");
+        line(4, "bean = " + creation);
+        line(3, "} catch (java.lang.RuntimeException | java.lang.Error ex) {");
+        line(4, "throw ex;");
+        line(3, "} catch (java.lang.Throwable ex) {");
+        line(4, "java.lang.String message = \"Creating bean type '\" + " + beanName + ".class");
+        line(6, "+ \"' caused an exception. \"");
+        line(6, "+ \"That exception is the cause for this exception \"");
+        line(6, "+ \"(i.e. can be accessed by calling 'getCause()').\";");
+        line(4, "throw new java.lang.RuntimeException(message, ex);");
+        line(3, "}");
+    }
+
+    private void line(int indent, String text) {
+        if (!text.isEmpty()) {
+            for (int i = 0; i < indent; i++) {
+                buf.append("    ");
+            }
+            buf.append(text);
+        }
+        buf.append('\n');
+    }
+
+    private static String quoted(String text) {
+        return text == null ? "null" : "\"" + text + "\"";
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the source code form of a type.
+     * <p>
+     * The source is built from the elements, rather than using {@code toString()},
+     * to exclude any type annotations.
+     *
+     * @param types  the type utilities, not null
+     * @param type  the type, not null
+     * @return the source code, not null
+     */
+    static String sourceType(Types types, TypeMirror type) {
+        switch (type.getKind()) {
+            case BOOLEAN:
+            case BYTE:
+            case SHORT:
+            case INT:
+            case LONG:
+            case CHAR:
+            case FLOAT:
+            case DOUBLE:
+                return type.getKind().name().toLowerCase();
+            case ARRAY:
+                return sourceType(types, ((ArrayType) type).getComponentType()) + "[]";
+            case DECLARED: {
+                DeclaredType declaredType = (DeclaredType) type;
+                String name = ((TypeElement) declaredType.asElement()).getQualifiedName().toString();
+                if (declaredType.getTypeArguments().isEmpty()) {
+                    return name;
+                }
+                return name + declaredType.getTypeArguments().stream()
+                        .map(argument -> sourceType(types, argument))
+                        .collect(Collectors.joining(", ", "<", ">"));
+            }
+            case WILDCARD: {
+                WildcardType wildcardType = (WildcardType) type;
+                if (wildcardType.getExtendsBound() != null) {
+                    return "? extends " + sourceType(types, wildcardType.getExtendsBound());
+                } else if (wildcardType.getSuperBound() != null) {
+                    return "? super " + sourceType(types, wildcardType.getSuperBound());
+                }
+                return "?";
+            }
+            default:
+                return sourceType(types, types.erasure(type));
+        }
+    }
+
+    /**
+     * Gets the source code form of a type, boxing any primitive type.
+     *
+     * @param types  the type utilities, not null
+     * @param type  the type, not null
+     * @return the source code, not null
+     */
+    static String boxedSourceType(Types types, TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return types.boxedClass((PrimitiveType) type).getQualifiedName().toString();
+        }
+        return sourceType(types, type);
+    }
+
+    /**
+     * Gets the source code form of the erasure of a type.
+     *
+     * @param types  the type utilities, not null
+     * @param type  the type, not null
+     * @return the source code, not null
+     */
+    static String rawSourceType(Types types, TypeMirror type) {
+        return sourceType(types, type.getKind() == TypeKind.DECLARED || type.getKind() == TypeKind.ARRAY
+                ? types.erasure(type) : type);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * A property to be generated.
+     */
+    static final class Property {
+        /**
+         * The names of the other constants in the generated class.
+         */
+        private static final Set<String> RESERVED_NAMES =
+                Set.of("META_BEAN", "BUILDER_POOL", "META_PROPERTIES", "OPTIONALS", "ACCESSOR");
+        /**
+         * The primitive types.
+         */
+        private static final Set<String> PRIMITIVE_TYPES =
+                Set.of("boolean", "byte", "char", "short", "int", "long", "float", "double");
+        /**
+         * The primitive types that have a specialized meta-property.
+         */
+        private static final Set<String> SPECIALIZED_TYPES = Set.of("int", "long", "double", "boolean");
+
+        private final String name;
+        private final String type;
+        private final String boxedType;
+        private final String rawType;
+        private final String getterName;
+        private final String setterName;
+
+        /**
+         * Creates an instance.
+         *
+         * @param name  the property name
+         * @param type  the source form of the property type
+         * @param boxedType  the source form of the property type, boxed
+         * @param rawType  the source form of the erased property type
+         * @param getterName  the getter name, null if write-only
+         * @param setterName  the setter name, null if read-only
+         */
+        Property(String name, String type, String boxedType, String rawType, String getterName, String setterName) {
+            this.name = name;
+            this.type = type;
+            this.boxedType = boxedType;
+            this.rawType = rawType;
+            this.getterName = getterName;
+            this.setterName = setterName;
+        }
+
+        String name() {
+            return name;
+        }
+
+                boolean hasSetter() {
+            return setterName != null;
+        }
+
+                String constantName() {
+            String result = upperCaseName();
+            return RESERVED_NAMES.contains(result) ? result + "_PROPERTY" : result;
+        }
+
+        private String upperCaseName() {
+            StringBuilder result = new StringBuilder(name.length() + 4);
+            for (int i = 0; i < name.length(); i++) {
+                char ch = name.charAt(i);
+                if (i > 0 && Character.isUpperCase(ch) && !Character.isUpperCase(name.charAt(i - 1))) {
+                    result.append('_');
+                }
+                result.append(Character.toUpperCase(ch));
+            }
+            return result.toString();
+        }
+
+        boolean isPrimitive() {
+            return PRIMITIVE_TYPES.contains(rawType);
+        }
+
+        String defaultValue() {
+            switch (rawType) {
+                case "boolean":
+                    return "false";
+                case "char":
+                    return "'\\0'";
+                case "byte":
+                    return "(byte) 0";
+                case "short":
+                    return "(short) 0";
+                case "long":
+                    return "0L";
+                case "float":
+                    return "0f";
+                case "double":
+                    return "0d";
+                default:
+                    return "0";
+            }
+        }
+
+        boolean isSpecialized() {
+            return SPECIALIZED_TYPES.contains(rawType);
+        }
+
+        String specializedSuffix() {
+            return Character.toUpperCase(rawType.charAt(0)) + rawType.substring(1);
+        }
+
+        String interfaceType() {
+            if (isSpecialized()) {
+                return "org.joda.pa." + specializedSuffix() + "MetaProperty";
+            }
+            return "org.joda.pa.MetaProperty<" + boxedType + ">";
+        }
+
+        String className() {
+            return Character.toUpperCase(name.charAt(0)) + name.substring(1) + "MetaProperty";
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The public constructor or static factory used to build the bean.
+     */
+    static final class Creator {
+        private final boolean factory;
+        private final int[] parameterIndices;
+        private final boolean throwsChecked;
+
+        /**
+         * Creates an instance.
+         *
+         * @param factory  true if a static factory named {@code of}, false if a constructor
+         * @param parameterIndices  the index of the property of each parameter
+         * @param throwsChecked  whether the constructor or factory declares a checked exception
+         */
+        Creator(boolean factory, int[] parameterIndices, boolean throwsChecked) {
+            this.factory = factory;
+            this.parameterIndices = parameterIndices;
+            this.throwsChecked = throwsChecked;
+        }
+
+        boolean isParameter(int index) {
+            return Arrays.stream(parameterIndices).anyMatch(parameterIndex -> parameterIndex == index);
+        }
+    }
+
+}
@@ -0,0 +1,184 @@
+/*
+ *  Copyright 2014-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.pa.processor;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.joda.pa.GenerateMetaBean;
+
+/**
+ * A mutable bean whose meta-bean is generated.
+ */
+@GenerateMetaBean
+public class AnnotatedPerson {
+
+    private String surname;
+    private int numberOfChildren;
+    private List<String> nicknames;
+    private boolean retired;
+
+    /**
+     * Creates an instance.
+     */
+    public AnnotatedPerson() {
+    }
+
+    //-----------------------------------------------------------------------
+    public String getSurname() {
+        return surname;
+    }
+
+    @Deprecated
+    public void setSurname(String surname) {
+        this.surname = surname;
+    }
+
+    public int getNumberOfChildren() {
+        return numberOfChildren;
+    }
+
+    public void setNumberOfChildren(int numberOfChildren) {
+        this.numberOfChildren = numberOfChildren;
+    }
+
+    public List<String> getNicknames() {
+        return nicknames;
+    }
+
+    public void setNicknames(List<String> nicknames) {
+        this.nicknames = nicknames;
+    }
+
+    public boolean isRetired() {
+        return retired;
+    }
+
+    public String getDisplayName() {
+        return surname + (retired ? " (retired)" : "");
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * An immutable nested bean whose meta-bean is generated.
+     */
+    @GenerateMetaBean
+    public static final class Summary {
+        private final String surname;
+
+        /**
+         * Creates an instance.
+         * 
+         * @param surname  the surname
+         */
+        public Summary(String surname) {
+            this.surname = surname;
+        }
+
+        public String getSurname() {
+            return surname;
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * An immutable nested bean built by a static factory whose meta-bean is generated.
+     */
+    @GenerateMetaBean
+    public static final class Code {
+        private final String value;
+        private final int version;
+
+        private Code(String value, int version) {
+            this.value = value;
+            this.version = version;
+        }
+
+        /**
+         * Obtains an instance, with the parameters in a different order to the fields.
+         * 
+         * @param version  the version
+         * @param value  the value
+         * @return the code
+         * @throws IOException if the value is empty
+         */
+        public static Code of(int version, String value) throws IOException {
+            if (value.isEmpty()) {
+                throw new IOException("Empty code");
+            }
+            return new Code(value, version);
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        public int getVersion() {
+            return version;
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * An immutable nested bean with a no-args and an all-args constructor whose meta-bean is generated.
+     */
+    @GenerateMetaBean
+    public static final class Pair {
+        private final String first;
+        private final String second;
+
+        /**
+         * Creates an empty instance.
+         */
+        public Pair() {
+            this(null, null);
+        }
+
+        /**
+         * Creates an instance.
+         * 
+         * @param first  the first value
+         * @param second  the second value
+         */
+        public Pair(String first, String second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        public String getFirst() {
+            return first;
+        }
+
+        public String getSecond() {
+            return second;
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * A nested bean that cannot be built whose meta-bean is generated.
+     */
+    @GenerateMetaBean
+    public static final class Token {
+        private Token() {
+        }
+
+        public String getValue() {
+            return "";
+        }
+    }
+
+}
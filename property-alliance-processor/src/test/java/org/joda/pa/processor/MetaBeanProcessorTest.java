@@ -0,0 +1,269 @@
+/*
+ *  Copyright 2014-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.pa.processor;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.joda.pa.BeanAccessor;
+import org.joda.pa.BeanBuilder;
+import org.joda.pa.BeanBuilderPool;
+import org.joda.pa.IntMetaProperty;
+import org.joda.pa.MetaBean;
+import org.joda.pa.MetaProperty;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the meta-beans generated by {@link MetaBeanProcessor}.
+ */
+@SuppressWarnings("javadoc")
+public class MetaBeanProcessorTest {
+
+    // meta-bean --------------------------------------------------------------
+
+    @Test
+    public final void of_annotatedBean_generatedMetaBean() {
+        MetaBean metaBean = MetaBean.of(AnnotatedPerson.class);
+        assertSame(metaBean, AnnotatedPerson_MetaBean.META_BEAN);
+        assertSame(metaBean.beanType(), AnnotatedPerson.class);
+        assertTrue(metaBean.isBuildable());
+    }
+
+    @Test
+    public final void of_nestedBean_generatedMetaBean() {
+        MetaBean metaBean = MetaBean.of(AnnotatedPerson.Summary.class);
+        assertSame(metaBean, AnnotatedPerson_Summary_MetaBean.META_BEAN);
+        assertTrue(metaBean.isBuildable());
+        assertFalse(AnnotatedPerson_Summary_MetaBean.SURNAME.isMutable());
+        assertTrue(AnnotatedPerson_Summary_MetaBean.SURNAME.isBuildable());
+    }
+
+    @Test
+    public final void metaProperties_annotatedBean_inFieldDeclarationOrder() {
+        List<String> names = AnnotatedPerson_MetaBean.META_BEAN.metaProperties()
+                .map(MetaProperty::name)
+                .collect(Collectors.toList());
+        assertEquals(names, Arrays.asList("surname", "numberOfChildren", "nicknames", "retired", "displayName"));
+        assertEquals(AnnotatedPerson_MetaBean.NUMBER_OF_CHILDREN.index(), 1);
+        assertSame(AnnotatedPerson_MetaBean.NUMBER_OF_CHILDREN.propertyType(), int.class);
+        assertSame(AnnotatedPerson_MetaBean.NICKNAMES.propertyType(), List.class);
+    }
+
+    @Test
+    public final void metaProperty_byName_constant() {
+        MetaBean metaBean = AnnotatedPerson_MetaBean.META_BEAN;
+        assertSame(metaBean.metaProperty("surname").get(), AnnotatedPerson_MetaBean.SURNAME);
+        assertSame(metaBean.metaProperty("displayName").get(), AnnotatedPerson_MetaBean.DISPLAY_NAME);
+        assertFalse(metaBean.metaProperty("unknown").isPresent());
+        assertFalse(metaBean.metaProperty((String) null).isPresent());
+    }
+
+    // meta-property ----------------------------------------------------------
+
+    @Test
+    public final void getAndSet_mutableProperty_directAccess() {
+        AnnotatedPerson person = new AnnotatedPerson();
+        AnnotatedPerson_MetaBean.SURNAME.set(person, "Smith");
+        AnnotatedPerson_MetaBean.NUMBER_OF_CHILDREN.set(person, 2);
+        assertEquals(person.getSurname(), "Smith");
+        assertEquals(AnnotatedPerson_MetaBean.SURNAME.get(person), "Smith");
+        assertEquals(AnnotatedPerson_MetaBean.NUMBER_OF_CHILDREN.get(person), Integer.valueOf(2));
+        assertEquals(AnnotatedPerson_MetaBean.DISPLAY_NAME.get(person), "Smith");
+    }
+
+    @Test
+    public final void getAndSet_intProperty_specialized() {
+        AnnotatedPerson person = new AnnotatedPerson();
+        IntMetaProperty metaProperty = AnnotatedPerson_MetaBean.NUMBER_OF_CHILDREN;
+        metaProperty.setInt(person, 4);
+        assertEquals(person.getNumberOfChildren(), 4);
+        assertEquals(metaProperty.getInt(person), 4);
+        assertFalse(AnnotatedPerson_MetaBean.RETIRED.getBoolean(person));
+    }
+
+    @Test(expectedExceptions = UnsupportedOperationException.class)
+    public final void set_readOnlyProperty_UnsupportedOperationException() {
+        AnnotatedPerson_MetaBean.RETIRED.set(new AnnotatedPerson(), true);
+    }
+
+    @Test
+    public final void set_nullOnPrimitive_IllegalArgumentException() {
+        AnnotatedPerson person = new AnnotatedPerson();
+        String expected = "The meta-property 'numberOfChildren' is of primitive type 'int' and cannot be set to null.";
+        try {
+            AnnotatedPerson_MetaBean.NUMBER_OF_CHILDREN.set(person, null);
+            fail();
+        } catch (IllegalArgumentException ex) {
+            assertEquals(ex.getMessage(), expected);
+        }
+        try {
+            AnnotatedPerson_MetaBean.META_BEAN.beanAccessor().set(person, 1, null);
+            fail();
+        } catch (IllegalArgumentException ex) {
+            assertEquals(ex.getMessage(), expected);
+        }
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public final void get_nullBean_NullPointerException() {
+        AnnotatedPerson_MetaBean.SURNAME.get(null);
+    }
+
+    @Test(expectedExceptions = ClassCastException.class)
+    public final void get_wrongBeanType_ClassCastException() {
+        AnnotatedPerson_MetaBean.SURNAME.get("");
+    }
+
+    @Test
+    public final void annotations_annotatedSetter_reportsAnnotation() {
+        assertEquals(AnnotatedPerson_MetaBean.SURNAME.annotations(Deprecated.class).count(), 1);
+        assertEquals(AnnotatedPerson_MetaBean.NUMBER_OF_CHILDREN.annotations().count(), 0);
+    }
+
+    @Test
+    public final void equals_sameNameAndType_equal() {
+        MetaProperty<?> other = AnnotatedPerson_MetaBean.META_BEAN.metaPropertyAt(0);
+        assertEquals(AnnotatedPerson_MetaBean.SURNAME, other);
+        assertFalse(AnnotatedPerson_MetaBean.SURNAME.equals(AnnotatedPerson_Summary_MetaBean.SURNAME));
+    }
+
+    @Test
+    public final void hashCode_sameAsAbstractMetaProperty() {
+        assertEquals(AnnotatedPerson_MetaBean.SURNAME.hashCode(),
+                AnnotatedPerson_MetaBean.META_BEAN.hashCode() ^ "surname".hashCode());
+    }
+
+    // accessor and builder ---------------------------------------------------
+
+    @Test
+    public final void beanAccessor_annotatedBean_getAndSetByIndex() {
+        AnnotatedPerson person = new AnnotatedPerson();
+        BeanAccessor accessor = AnnotatedPerson_MetaBean.META_BEAN.beanAccessor();
+        accessor.set(person, 0, "Smith");
+        accessor.set(person, 1, 3);
+        assertEquals(accessor.get(person, 0), "Smith");
+        assertEquals(accessor.get(person, 1), 3);
+        assertEquals(accessor.get(person, 3), false);
+    }
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public final void beanAccessor_invalidIndex_IndexOutOfBoundsException() {
+        AnnotatedPerson_MetaBean.META_BEAN.beanAccessor().get(new AnnotatedPerson(), 5);
+    }
+
+    @Test
+    public final void beanBuilder_annotatedBean_buildsBean() {
+        AnnotatedPerson person = AnnotatedPerson_MetaBean.META_BEAN.beanBuilder()
+                .set(AnnotatedPerson_MetaBean.SURNAME, "Smith")
+                .set(AnnotatedPerson_MetaBean.NICKNAMES, Arrays.asList("Smithy"))
+                .build();
+        assertEquals(person.getSurname(), "Smith");
+        assertEquals(person.getNicknames(), Arrays.asList("Smithy"));
+    }
+
+    @Test
+    public final void beanBuilder_constructor_buildsImmutableBean() {
+        AnnotatedPerson.Summary summary = AnnotatedPerson_Summary_MetaBean.META_BEAN.beanBuilder()
+                .set(AnnotatedPerson_Summary_MetaBean.SURNAME, "Smith")
+                .build();
+        assertEquals(summary.getSurname(), "Smith");
+    }
+
+    @Test
+    public final void beanBuilder_factory_matchesParametersByName() {
+        AnnotatedPerson.Code code = AnnotatedPerson_Code_MetaBean.META_BEAN.beanBuilder()
+                .set(AnnotatedPerson_Code_MetaBean.VALUE, "ABC")
+                .set(AnnotatedPerson_Code_MetaBean.VERSION, 2)
+                .build();
+        assertEquals(code.getValue(), "ABC");
+        assertEquals(code.getVersion(), 2);
+    }
+
+    @Test
+    public final void beanBuilder_noArgsAndAllArgsConstructors_prefersAllArgs() {
+        assertTrue(AnnotatedPerson_Pair_MetaBean.FIRST.isBuildable());
+        AnnotatedPerson.Pair pair = AnnotatedPerson_Pair_MetaBean.META_BEAN.beanBuilder()
+                .set(AnnotatedPerson_Pair_MetaBean.FIRST, "A")
+                .set(AnnotatedPerson_Pair_MetaBean.SECOND, "B")
+                .build();
+        assertEquals(pair.getFirst(), "A");
+        assertEquals(pair.getSecond(), "B");
+    }
+
+    @Test
+    public final void beanBuilder_primitiveNotSet_defaultValue() {
+        AnnotatedPerson.Code code = AnnotatedPerson_Code_MetaBean.META_BEAN.beanBuilder()
+                .set(AnnotatedPerson_Code_MetaBean.VALUE, "ABC")
+                .build();
+        assertEquals(code.getVersion(), 0);
+    }
+
+    @Test
+    public final void beanBuilder_factoryThrowsChecked_wrapped() {
+        try {
+            AnnotatedPerson_Code_MetaBean.META_BEAN.beanBuilder()
+                    .set(AnnotatedPerson_Code_MetaBean.VALUE, "")
+                    .build();
+            fail();
+        } catch (RuntimeException ex) {
+            assertTrue(ex.getCause() instanceof IOException);
+        }
+    }
+
+    @Test
+    public final void reusableBeanBuilder_reset_buildsAnotherBean() {
+        BeanBuilder<?> builder = AnnotatedPerson_MetaBean.META_BEAN.reusableBeanBuilder();
+        AnnotatedPerson first = (AnnotatedPerson) builder.set(AnnotatedPerson_MetaBean.SURNAME, "Smith").build();
+        builder.reset();
+        AnnotatedPerson second = (AnnotatedPerson) builder.set(AnnotatedPerson_MetaBean.NUMBER_OF_CHILDREN, 2).build();
+        assertNotSame(second, first);
+        assertEquals(first.getSurname(), "Smith");
+        assertEquals(second.getSurname(), null);
+        assertEquals(second.getNumberOfChildren(), 2);
+    }
+
+    @Test
+    public final void beanBuilderPool_generated_samePool() {
+        BeanBuilderPool pool = AnnotatedPerson_MetaBean.META_BEAN.beanBuilderPool();
+        assertSame(AnnotatedPerson_MetaBean.META_BEAN.beanBuilderPool(), pool);
+        BeanBuilder<?> builder = pool.acquire();
+        AnnotatedPerson person = (AnnotatedPerson) builder.set(AnnotatedPerson_MetaBean.SURNAME, "Smith").build();
+        pool.release(builder);
+        assertEquals(person.getSurname(), "Smith");
+        assertSame(pool.acquire(), builder);
+    }
+
+    @Test(expectedExceptions = UnsupportedOperationException.class)
+    public final void beanBuilder_noConstructor_UnsupportedOperationException() {
+        assertFalse(AnnotatedPerson_Token_MetaBean.META_BEAN.isBuildable());
+        AnnotatedPerson_Token_MetaBean.META_BEAN.beanBuilder();
+    }
+
+    @Test(expectedExceptions = UnsupportedOperationException.class)
+    public final void reusableBeanBuilder_noConstructor_UnsupportedOperationException() {
+        AnnotatedPerson_Token_MetaBean.META_BEAN.reusableBeanBuilder();
+    }
+
+}
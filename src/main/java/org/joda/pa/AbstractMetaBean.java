@@ -0,0 +1,179 @@
+/*
+ *  Copyright 2014-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.pa;
+
+import java.lang.annotation.Annotation;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Abstract superclass to the introspected {@link MetaBean} implementations.
+ * <p>
+ * A subclass introspects the bean type in its constructor, creating the meta-properties
+ * and the creator, and then calls {@link #init(BeanCreator, List)}.
+ * This class holds the properties in a list indexed by name, and generates
+ * the bean accessor and indexes the annotations on first use.
+ */
+abstract class AbstractMetaBean implements MetaBean {
+
+    private final Class<?> beanType;
+    private final BeanBuilderPool beanBuilderPool = new StripedBeanBuilderPool(this);
+    /**
+     * The creator, null if not buildable, set once by {@link #init(BeanCreator, List)}.
+     */
+    private BeanCreator creator;
+    /**
+     * The meta-properties, set once by {@link #init(BeanCreator, List)}.
+     */
+    private List<MetaProperty<?>> metaProperties;
+    /**
+     * The index of the meta-properties by name, set once by {@link #init(BeanCreator, List)}.
+     */
+    private PropertyNameIndex propertyNameIndex;
+    private volatile BeanAccessor beanAccessor;
+    private volatile AnnotationIndex annotationIndex;
+
+    /**
+     * Creates an instance.
+     *
+     * @param beanType  the type of the bean, not null
+     */
+    protected AbstractMetaBean(Class<?> beanType) {
+        this.beanType = beanType;
+    }
+
+    /**
+     * Completes the construction of the meta-bean.
+     * <p>
+     * This must be called once from the constructor of the subclass,
+     * as the meta-properties and creator refer to this meta-bean.
+     *
+     * @param creator  the creator, null if not buildable
+     * @param metaProperties  the meta-properties in order, not null
+     */
+    protected final void init(BeanCreator creator, List<MetaProperty<?>> metaProperties) {
+        this.creator = creator;
+        this.metaProperties = Collections.unmodifiableList(metaProperties);
+        this.propertyNameIndex = new PropertyNameIndex(this.metaProperties);
+    }
+
+    /**
+     * Gets the message of the exception thrown when the bean cannot be built.
+     *
+     * @return the message, not null
+     */
+    protected abstract String notBuildableMessage();
+
+    //-----------------------------------------------------------------------
+    @Override
+    public Class<?> beanType() {
+        return beanType;
+    }
+
+    @Override
+    public boolean isBuildable() {
+        return creator != null;
+    }
+
+    @Override
+    public BeanBuilder<?> beanBuilder() {
+        if (creator == null) {
+            throw new UnsupportedOperationException(notBuildableMessage());
+        }
+        return new ArrayBeanBuilder<>(this, creator);
+    }
+
+    @Override
+    public BeanBuilder<?> reusableBeanBuilder() {
+        // the array-backed builder is natively reusable
+        return beanBuilder();
+    }
+
+    @Override
+    public BeanBuilderPool beanBuilderPool() {
+        return beanBuilderPool;
+    }
+
+    @Override
+    public Stream<MetaProperty<?>> metaProperties() {
+        return metaProperties.stream();
+    }
+
+    @Override
+    public List<MetaProperty<?>> metaPropertyList() {
+        return metaProperties;
+    }
+
+    @Override
+    public int propertyCount() {
+        return metaProperties.size();
+    }
+
+    @Override
+    public MetaProperty<?> metaPropertyAt(int index) {
+        return metaProperties.get(index);
+    }
+
+    @Override
+    public BeanAccessor beanAccessor() {
+        // racy single-check, generating twice is harmless
+        BeanAccessor result = beanAccessor;
+        if (result == null) {
+            result = BeanAccessorGenerator.generate(this);
+            beanAccessor = result;
+        }
+        return result;
+    }
+
+    @Override
+    public Optional<MetaProperty<?>> metaProperty(String propertyName) {
+        return propertyNameIndex.find(propertyName);
+    }
+
+    @Override
+    public Optional<MetaProperty<?>> metaProperty(CharSequence text, int start, int end) {
+        return propertyNameIndex.find(text, start, end);
+    }
+
+    @Override
+    public Stream<Annotation> annotations() {
+        return Arrays.stream(beanType.getAnnotations());
+    }
+
+    @Override
+    public <A extends Annotation> Map<MetaProperty<?>, A> propertiesAnnotatedWith(Class<A> annotationType) {
+        Objects.requireNonNull(annotationType, "The argument 'annotationType' must not be null.");
+        // racy single-check, indexing twice is harmless
+        AnnotationIndex index = annotationIndex;
+        if (index == null) {
+            index = new AnnotationIndex(metaProperties);
+            annotationIndex = index;
+        }
+        return index.find(annotationType);
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public String toString() {
+        return "MetaBean:" + beanType.getName();
+    }
+
+}
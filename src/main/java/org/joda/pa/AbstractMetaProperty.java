@@ -15,7 +15,10 @@
  */
 package org.joda.pa;
 
+import java.lang.annotation.Annotation;
+import java.util.Arrays;
 import java.util.Objects;
+import java.util.stream.Stream;
 
 /**
  * Abstract superclass to {@link MetaProperty} implementations.
@@ -24,13 +27,32 @@ import java.util.Objects;
  */
 abstract class AbstractMetaProperty<P> implements MetaProperty<P> {
 
+    /**
+     * The marker for an index that has not yet been looked up.
+     */
+    private static final int UNKNOWN_INDEX = -2;
+
     private final MetaBean metaBean;
     private final String name;
     private final Class<P> propertyTypeToken;
+    private final Class<?> boxedTypeToken;
     private final boolean derived;
     private final boolean buildable;
     private final boolean readable;
     private final boolean mutable;
+    /**
+     * The index, looked up lazily as the meta-bean is not complete during construction.
+     * This is racy but safe, as every thread computes the same value.
+     */
+    private int index = UNKNOWN_INDEX;
+    /**
+     * The hash code, computed lazily, zero if not yet computed.
+     */
+    private int hashCode;
+    /**
+     * The unchecked accessor, checking readability and mutability only if restricted.
+     */
+    private final PropertyAccessor<P> unchecked;
 
     /**
      * This constructor does not check these arguments.
@@ -44,10 +66,12 @@ abstract class AbstractMetaProperty<P> implements MetaProperty<P> {
         this.metaBean = metaBean;
         this.name = name;
         this.propertyTypeToken = propertyTypeToken;
+        this.boxedTypeToken = boxed(propertyTypeToken);
         this.buildable = buildable;
         this.readable = readable;
         this.mutable = mutable;
         this.derived = derived;
+        this.unchecked = readable && mutable ? new UncheckedAccessor() : new RestrictedAccessor();
     }
 
     //-----------------------------------------------------------------------
@@ -61,6 +85,16 @@ abstract class AbstractMetaProperty<P> implements MetaProperty<P> {
         return name;
     }
 
+    @Override
+    public final int index() {
+        int result = index;
+        if (result == UNKNOWN_INDEX) {
+            result = metaBean.metaPropertyList().indexOf(this);
+            index = result;
+        }
+        return result;
+    }
+
     @Override
     public final Class<P> propertyType() {
         return propertyTypeToken;
@@ -81,13 +115,42 @@ abstract class AbstractMetaProperty<P> implements MetaProperty<P> {
         return mutable;
     }
 
+    /**
+     * Checks if the value of this property can be read.
+     * 
+     * @return true if the property is not write-only
+     */
+    final boolean isReadable() {
+        return readable;
+    }
+
+    @Override
+    public final PropertyAccessor<P> unchecked() {
+        return unchecked;
+    }
+
     @Override
     public final P get(Object bean) {
+        ensureCanGet(bean);
+        return getFromBean(bean);
+    }
+
+    /**
+     * Checks that the value of this property can be read from the specified bean.
+     * <p>
+     * These are the checks performed by {@link #get(Object)}, allowing subclasses
+     * to provide alternative ways to read the value.
+     * 
+     * @param bean  the bean to query
+     * @throws NullPointerException if the bean is null
+     * @throws ClassCastException if the bean is of an incorrect type
+     * @throws UnsupportedOperationException if the property is write-only
+     */
+    protected final void ensureCanGet(Object bean) {
         Objects.requireNonNull(bean, "The argument 'bean' must not be null.");
 
         ensurePropertyIsReadable();
         ensureBeanHasCorrectType(bean);
-        return getFromBean(bean);
     }
 
     private void ensurePropertyIsReadable() {
@@ -118,12 +181,44 @@ abstract class AbstractMetaProperty<P> implements MetaProperty<P> {
 
     @Override
     public final void set(Object bean, Object value) {
+        P typedValue = ensureCanSet(bean, value);
+        setToBean(bean, typedValue);
+    }
+
+    /**
+     * Checks that the specified value can be written to this property on the specified bean.
+     * <p>
+     * These are the checks performed by {@link #set(Object, Object)}, allowing subclasses
+     * to provide alternative ways to write the value.
+     * 
+     * @param bean  the bean to update
+     * @param value  the value to write, may be null
+     * @return the value cast to the type of the property, may be null
+     * @throws NullPointerException if the bean is null
+     * @throws ClassCastException if the bean or value is of an incorrect type
+     * @throws UnsupportedOperationException if the property is read-only
+     */
+    protected final P ensureCanSet(Object bean, Object value) {
+        ensureCanSet(bean);
+        return ensureValueHasCorrectType(value);
+    }
+
+    /**
+     * Checks that a value can be written to this property on the specified bean.
+     * <p>
+     * These are the checks performed by {@link #ensureCanSet(Object, Object)}
+     * other than those on the value, allowing subclasses to write a primitive value.
+     * 
+     * @param bean  the bean to update
+     * @throws NullPointerException if the bean is null
+     * @throws ClassCastException if the bean is of an incorrect type
+     * @throws UnsupportedOperationException if the property is read-only
+     */
+    protected final void ensureCanSet(Object bean) {
         Objects.requireNonNull(bean, "The argument 'bean' must not be null.");
 
         ensurePropertyCanBeWritten();
         ensureBeanHasCorrectType(bean);
-        P typedValue = ensureValueHasCorrectType(value);
-        setToBean(bean, typedValue);
     }
 
     private void ensurePropertyCanBeWritten() {
@@ -135,7 +230,7 @@ abstract class AbstractMetaProperty<P> implements MetaProperty<P> {
 
     private P ensureValueHasCorrectType(Object value) {
         try {
-            return propertyTypeToken.cast(value);
+            return castToPropertyType(value);
         } catch (ClassCastException ex) {
             String message = "The specified value " + value + " is of type '"
                     + value.getClass() + "' which is not assignment compatible"
@@ -145,6 +240,281 @@ abstract class AbstractMetaProperty<P> implements MetaProperty<P> {
         }
     }
 
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the value of an {@code int} property without boxing.
+     * <p>
+     * The primitive methods of {@link IntMetaProperty} and friends are implemented here,
+     * thus the specialized subclass of each implementation only declares the interface.
+     * 
+     * @param bean  the bean to query, not null
+     * @return the value of the property on the specified bean
+     * @see IntMetaProperty#getInt(Object)
+     */
+    public final int getInt(Object bean) {
+        ensureCanGet(bean);
+        return getIntFromBean(bean);
+    }
+
+    /**
+     * Sets the value of an {@code int} property without boxing.
+     * 
+     * @param bean  the bean to update, not null
+     * @param value  the value to set
+     * @see IntMetaProperty#setInt(Object, int)
+     */
+    public final void setInt(Object bean, int value) {
+        ensureCanSet(bean);
+        setIntToBean(bean, value);
+    }
+
+    /**
+     * Gets the value of a {@code long} property without boxing.
+     * 
+     * @param bean  the bean to query, not null
+     * @return the value of the property on the specified bean
+     * @see LongMetaProperty#getLong(Object)
+     */
+    public final long getLong(Object bean) {
+        ensureCanGet(bean);
+        return getLongFromBean(bean);
+    }
+
+    /**
+     * Sets the value of a {@code long} property without boxing.
+     * 
+     * @param bean  the bean to update, not null
+     * @param value  the value to set
+     * @see LongMetaProperty#setLong(Object, long)
+     */
+    public final void setLong(Object bean, long value) {
+        ensureCanSet(bean);
+        setLongToBean(bean, value);
+    }
+
+    /**
+     * Gets the value of a {@code double} property without boxing.
+     * 
+     * @param bean  the bean to query, not null
+     * @return the value of the property on the specified bean
+     * @see DoubleMetaProperty#getDouble(Object)
+     */
+    public final double getDouble(Object bean) {
+        ensureCanGet(bean);
+        return getDoubleFromBean(bean);
+    }
+
+    /**
+     * Sets the value of a {@code double} property without boxing.
+     * 
+     * @param bean  the bean to update, not null
+     * @param value  the value to set
+     * @see DoubleMetaProperty#setDouble(Object, double)
+     */
+    public final void setDouble(Object bean, double value) {
+        ensureCanSet(bean);
+        setDoubleToBean(bean, value);
+    }
+
+    /**
+     * Gets the value of a {@code boolean} property without boxing.
+     * 
+     * @param bean  the bean to query, not null
+     * @return the value of the property on the specified bean
+     * @see BooleanMetaProperty#getBoolean(Object)
+     */
+    public final boolean getBoolean(Object bean) {
+        ensureCanGet(bean);
+        return getBooleanFromBean(bean);
+    }
+
+    /**
+     * Sets the value of a {@code boolean} property without boxing.
+     * 
+     * @param bean  the bean to update, not null
+     * @param value  the value to set
+     * @see BooleanMetaProperty#setBoolean(Object, boolean)
+     */
+    public final void setBoolean(Object bean, boolean value) {
+        ensureCanSet(bean);
+        setBooleanToBean(bean, value);
+    }
+
+    /**
+     * Gets the value of an {@code int} property from the bean.
+     * <p>
+     * Subclasses override the primitive methods to avoid boxing,
+     * the default implementations call {@link #getFromBean(Object)} or {@link #setToBean(Object, Object)}.
+     * 
+     * @param bean  the bean to query, is not null and of the correct type as returned by {@link #declaringType()}
+     * @return the value of the property on the specified bean
+     */
+    protected int getIntFromBean(Object bean) {
+        return (Integer) getFromBean(bean);
+    }
+
+    /**
+     * Sets the value of an {@code int} property to the bean.
+     * 
+     * @param bean  the bean to modify, is not null and of the correct type as returned by {@link #declaringType()}
+     * @param value  the value to set to the bean
+     */
+    protected void setIntToBean(Object bean, int value) {
+        setToBean(bean, trustedValue(value));
+    }
+
+    /**
+     * Gets the value of a {@code long} property from the bean.
+     * 
+     * @param bean  the bean to query, is not null and of the correct type as returned by {@link #declaringType()}
+     * @return the value of the property on the specified bean
+     */
+    protected long getLongFromBean(Object bean) {
+        return (Long) getFromBean(bean);
+    }
+
+    /**
+     * Sets the value of a {@code long} property to the bean.
+     * 
+     * @param bean  the bean to modify, is not null and of the correct type as returned by {@link #declaringType()}
+     * @param value  the value to set to the bean
+     */
+    protected void setLongToBean(Object bean, long value) {
+        setToBean(bean, trustedValue(value));
+    }
+
+    /**
+     * Gets the value of a {@code double} property from the bean.
+     * 
+     * @param bean  the bean to query, is not null and of the correct type as returned by {@link #declaringType()}
+     * @return the value of the property on the specified bean
+     */
+    protected double getDoubleFromBean(Object bean) {
+        return (Double) getFromBean(bean);
+    }
+
+    /**
+     * Sets the value of a {@code double} property to the bean.
+     * 
+     * @param bean  the bean to modify, is not null and of the correct type as returned by {@link #declaringType()}
+     * @param value  the value to set to the bean
+     */
+    protected void setDoubleToBean(Object bean, double value) {
+        setToBean(bean, trustedValue(value));
+    }
+
+    /**
+     * Gets the value of a {@code boolean} property from the bean.
+     * 
+     * @param bean  the bean to query, is not null and of the correct type as returned by {@link #declaringType()}
+     * @return the value of the property on the specified bean
+     */
+    protected boolean getBooleanFromBean(Object bean) {
+        return (Boolean) getFromBean(bean);
+    }
+
+    /**
+     * Sets the value of a {@code boolean} property to the bean.
+     * 
+     * @param bean  the bean to modify, is not null and of the correct type as returned by {@link #declaringType()}
+     * @param value  the value to set to the bean
+     */
+    protected void setBooleanToBean(Object bean, boolean value) {
+        setToBean(bean, trustedValue(value));
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Casts the specified value to the type of the property.
+     * <p>
+     * Primitive property types are handled by casting to the matching wrapper type.
+     * 
+     * @param value  the value to cast, may be null
+     * @return the cast value, may be null
+     * @throws ClassCastException if the value is of an invalid type for the property
+     */
+    @SuppressWarnings("unchecked")
+    protected final P castToPropertyType(Object value) {
+        return (P) boxedTypeToken.cast(value);
+    }
+
+    /**
+     * Treats a value read from the bean as the type of the property, without checking it.
+     * <p>
+     * The value returned by the field or method backing the property is always of the
+     * type of the property, thus the check made by {@link #castToPropertyType(Object)}
+     * is unnecessary.
+     * 
+     * @param <T>  the type of the property
+     * @param value  the value read from the bean, may be null
+     * @return the value, may be null
+     */
+    @SuppressWarnings("unchecked")
+    protected static <T> T trustedValue(Object value) {
+        return (T) value;
+    }
+
+    /**
+     * Creates the exception thrown when null is set to a primitive property.
+     * 
+     * @param name  the name of the property, not null
+     * @param propertyType  the primitive type of the property, not null
+     * @return the exception, not null
+     */
+    static IllegalArgumentException nullPrimitiveException(String name, Class<?> propertyType) {
+        String message = "The meta-property '" + name + "' is of primitive type '"
+                + propertyType + "' and cannot be set to null.";
+        return new IllegalArgumentException(message);
+    }
+
+    /**
+     * Gets the wrapper type of a primitive type.
+     * 
+     * @param type  the type to box, may be null
+     * @return the wrapper type, or the input type if not primitive
+     */
+    static Class<?> boxed(Class<?> type) {
+        if (type == null || !type.isPrimitive()) {
+            return type;
+        }
+        if (type == int.class) {
+            return Integer.class;
+        } else if (type == long.class) {
+            return Long.class;
+        } else if (type == double.class) {
+            return Double.class;
+        } else if (type == boolean.class) {
+            return Boolean.class;
+        } else if (type == float.class) {
+            return Float.class;
+        } else if (type == short.class) {
+            return Short.class;
+        } else if (type == byte.class) {
+            return Byte.class;
+        } else if (type == char.class) {
+            return Character.class;
+        }
+        return Void.class;
+    }
+
+    /**
+     * Streams the annotations in a cached array that are of the specified type.
+     * <p>
+     * This allows subclasses to query annotations without cloning the array
+     * as {@code AnnotatedElement.getAnnotations()} does on each call.
+     * 
+     * @param <A>  the annotation type
+     * @param annotations  the cached annotations, not null
+     * @param annotationType  the annotation type to find, not null
+     * @return the annotations matching the specified type, not null
+     */
+    protected static <A extends Annotation> Stream<A> annotationsOfType(
+            Annotation[] annotations, Class<A> annotationType) {
+        return Arrays.stream(annotations)
+                .filter(a -> a.annotationType() == annotationType)
+                .map(annotationType::cast);
+    }
+
     /**
      * Implemented by subclasses to actually set the value to the bean.
      * 
@@ -170,7 +540,54 @@ abstract class AbstractMetaProperty<P> implements MetaProperty<P> {
 
     @Override
     public final int hashCode() {
-        return Objects.hashCode(metaBean) ^ Objects.hashCode(name);
+        int result = hashCode;
+        if (result == 0) {
+            result = Objects.hashCode(metaBean) ^ Objects.hashCode(name);
+            hashCode = result;
+        }
+        return result;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The unchecked accessor of a property that is readable and mutable,
+     * calling the subclass directly.
+     */
+    private class UncheckedAccessor implements PropertyAccessor<P> {
+
+        @Override
+        public P get(Object bean) {
+            return getFromBean(bean);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void set(Object bean, Object value) {
+            setToBean(bean, (P) value);
+        }
+
+        @Override
+        public String toString() {
+            return "PropertyAccessor:" + name;
+        }
+    }
+
+    /**
+     * The unchecked accessor of a property that is write-only or read-only.
+     */
+    private final class RestrictedAccessor extends UncheckedAccessor {
+
+        @Override
+        public P get(Object bean) {
+            ensurePropertyIsReadable();
+            return super.get(bean);
+        }
+
+        @Override
+        public void set(Object bean, Object value) {
+            ensurePropertyCanBeWritten();
+            super.set(bean, value);
+        }
     }
 
 }
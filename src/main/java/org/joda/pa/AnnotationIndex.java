@@ -0,0 +1,70 @@
+/*
+ *  Copyright 2014-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.pa;
+
+import java.lang.annotation.Annotation;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable index from annotation type to the properties annotated with it.
+ * <p>
+ * The index is built once from the annotations of every property,
+ * allowing {@link MetaBean#propertiesAnnotatedWith(Class)} to be answered
+ * by a single hash lookup.
+ */
+final class AnnotationIndex {
+
+    /**
+     * The annotated properties, in property order, keyed by annotation type.
+     */
+    private final Map<Class<? extends Annotation>, Map<MetaProperty<?>, Annotation>> index;
+
+    /**
+     * Creates an index of the properties.
+     *
+     * @param metaProperties  the properties to index, not null
+     */
+    AnnotationIndex(List<MetaProperty<?>> metaProperties) {
+        Map<Class<? extends Annotation>, Map<MetaProperty<?>, Annotation>> map = new HashMap<>();
+        for (MetaProperty<?> metaProperty : metaProperties) {
+            metaProperty.annotations().forEach(annotation -> map
+                    .computeIfAbsent(annotation.annotationType(), type -> new LinkedHashMap<>())
+                    .putIfAbsent(metaProperty, annotation));
+        }
+        map.replaceAll((type, properties) -> Collections.unmodifiableMap(properties));
+        this.index = map;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Finds the properties annotated with the specified type.
+     *
+     * @param <A>  the annotation type
+     * @param annotationType  the annotation type to find, not null
+     * @return the immutable map of property to its first matching annotation, not null
+     */
+    @SuppressWarnings("unchecked")
+    <A extends Annotation> Map<MetaProperty<?>, A> find(Class<A> annotationType) {
+        // each value in the inner map is an instance of its annotation type
+        Map<MetaProperty<?>, ?> properties = index.get(annotationType);
+        return properties != null ? (Map<MetaProperty<?>, A>) properties : Collections.emptyMap();
+    }
+
+}
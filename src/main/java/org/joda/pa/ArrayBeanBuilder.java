@@ -0,0 +1,97 @@
+/*
+ *  Copyright 2014-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.pa;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A {@link BeanBuilder} which stores the values in an array indexed by property.
+ * <p>
+ * No bean exists until {@link #build()} is called, at which point the bean
+ * is created from the array by a {@link BeanCreator}.
+ * The builder remains valid after building, and can be {@linkplain #reset() reset}
+ * to build another bean without allocating a new array.
+ *
+ * @param <T>  the type of the bean
+ */
+final class ArrayBeanBuilder<T> implements BeanBuilder<T> {
+
+    /**
+     * The meta-bean.
+     */
+    private final MetaBean metaBean;
+    /**
+     * The creator of the bean.
+     */
+    private final BeanCreator creator;
+    /**
+     * The values, indexed by property.
+     */
+    private final Object[] values;
+
+    /**
+     * Creates an instance.
+     *
+     * @param metaBean  the meta-bean, not null
+     * @param creator  the creator of the bean, not null
+     */
+    ArrayBeanBuilder(MetaBean metaBean, BeanCreator creator) {
+        this.metaBean = metaBean;
+        this.creator = creator;
+        this.values = new Object[metaBean.propertyCount()];
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public Object get(MetaProperty<?> property) {
+        return values[ensureOwnProperty(property).index()];
+    }
+
+    @Override
+    public BeanBuilder<T> set(MetaProperty<?> property, Object value) {
+        int index = ensureOwnProperty(property).index();
+        if (!creator.isBuildable(index)) {
+            String message = "The meta-property '" + property.name() + "' is not buildable.";
+            throw new UnsupportedOperationException(message);
+        }
+        values[index] = value;
+        return this;
+    }
+
+    private MetaProperty<?> ensureOwnProperty(MetaProperty<?> property) {
+        Objects.requireNonNull(property, "The argument 'property' must not be null.");
+        if (property.metaBean() != metaBean) {
+            String message = "The meta-property '" + property.name()
+                    + "' does not belong to this builder's meta-bean " + metaBean + ".";
+            throw new IllegalArgumentException(message);
+        }
+        return property;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T build() {
+        return (T) creator.create(values);
+    }
+
+    @Override
+    public BeanBuilder<T> reset() {
+        Arrays.fill(values, null);
+        return this;
+    }
+
+}
@@ -0,0 +1,65 @@
+/*
+ *  Copyright 2014-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.pa;
+
+/**
+ * Provides access to all the properties of a bean by {@link MetaProperty#index() index}.
+ * <p>
+ * When a framework loops over the properties of a bean, calling {@link MetaProperty#get(Object)}
+ * on each one, the call site sees many different implementations of {@code MetaProperty}.
+ * This prevents the JVM from inlining the call. A bean accessor instead provides a single
+ * object per meta-bean that can read or write any property, allowing a framework to use
+ * one monomorphic call site per bean type.
+ * <p>
+ * A {@code BeanAccessor} is obtained from {@link MetaBean#beanAccessor()}.
+ * Implementations may be generated at runtime.
+ * <p>
+ * This is an interface and must be implemented with care.
+ * Implementations must be immutable and thread-safe.
+ */
+public interface BeanAccessor {
+
+    /**
+     * Gets the value of the property at the specified index for the specified bean.
+     * <p>
+     * This is equivalent to {@code metaBean.metaPropertyAt(index).get(bean)}.
+     *
+     * @param bean  the bean to query, not null
+     * @param index  the index of the property
+     * @return the value of the property on the specified bean, may be null
+     * @throws ClassCastException if the bean is of an incorrect type
+     * @throws IndexOutOfBoundsException if the index is invalid
+     * @throws UnsupportedOperationException if the property is write-only
+     */
+    Object get(Object bean, int index);
+
+    /**
+     * Sets the value of the property at the specified index on the specified bean.
+     * <p>
+     * This is equivalent to {@code metaBean.metaPropertyAt(index).set(bean, value)}.
+     *
+     * @param bean  the bean to update, not null
+     * @param index  the index of the property
+     * @param value  the value to set into the property on the specified bean, may be null
+     * @throws ClassCastException if the bean is of an incorrect type or
+     *                              if the value is of an invalid type for the property
+     * @throws IndexOutOfBoundsException if the index is invalid
+     * @throws UnsupportedOperationException if the property is read-only
+     * @throws RuntimeException if the value is rejected by the property
+     */
+    void set(Object bean, int index, Object value);
+
+}
@@ -0,0 +1,581 @@
+/*
+ *  Copyright 2014-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.pa;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodHandles.Lookup.ClassOption;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generates a {@link BeanAccessor} for a meta-bean as a hidden class.
+ * <p>
+ * The generated class has a {@code switch} on the property index in each of
+ * {@code get(Object, int)} and {@code set(Object, int, Object)}, with each case
+ * directly invoking the getter or setter, or directly accessing the field.
+ * Any call that would throw is passed to an accessor which delegates to the meta-properties,
+ * such that the exceptions thrown match those of the meta-property. This covers a bean of the
+ * wrong type, an invalid index, a read-only or write-only property, null or the wrong type
+ * for a primitive property, and any getter or setter that declares a checked exception.
+ * The class is defined using {@link Lookup#defineHiddenClass} as a nestmate of the bean type,
+ * which grants it access to the private members of the bean, and allows it to be
+ * unloaded once the accessor is no longer referenced.
+ * <p>
+ * An accessor can be generated if every property is a {@link MethodMetaProperty} or
+ * {@link FieldMetaProperty} whose members are accessible from the bean type.
+ * Otherwise, or if the class cannot be defined, the delegating accessor is returned instead.
+ */
+final class BeanAccessorGenerator {
+
+    /**
+     * The class file version, Java 17.
+     */
+    private static final int CLASS_FILE_VERSION = 61;
+    /**
+     * The name of the accessor interface.
+     */
+    private static final String ACCESSOR_INTERFACE = internalName(BeanAccessor.class);
+    /**
+     * The descriptor of the get method.
+     */
+    private static final String GET_DESCRIPTOR = "(Ljava/lang/Object;I)Ljava/lang/Object;";
+    /**
+     * The descriptor of the set method.
+     */
+    private static final String SET_DESCRIPTOR = "(Ljava/lang/Object;ILjava/lang/Object;)V";
+    /**
+     * The name of the field holding the delegate accessor.
+     */
+    private static final String DELEGATE_FIELD = "delegate";
+
+    // access flags
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_PRIVATE = 0x0002;
+    private static final int ACC_FINAL = 0x0010;
+    private static final int ACC_SUPER = 0x0020;
+    // opcodes
+    private static final int ALOAD_0 = 0x2a;
+    private static final int ALOAD_1 = 0x2b;
+    private static final int ALOAD_3 = 0x2d;
+    private static final int ILOAD_2 = 0x1c;
+    private static final int IFEQ = 0x99;
+    private static final int TABLESWITCH = 0xaa;
+    private static final int ARETURN = 0xb0;
+    private static final int RETURN = 0xb1;
+    private static final int GETFIELD = 0xb4;
+    private static final int PUTFIELD = 0xb5;
+    private static final int INVOKEVIRTUAL = 0xb6;
+    private static final int INVOKESPECIAL = 0xb7;
+    private static final int INVOKESTATIC = 0xb8;
+    private static final int INVOKEINTERFACE = 0xb9;
+    private static final int CHECKCAST = 0xc0;
+    private static final int INSTANCEOF = 0xc1;
+    // constant pool tags
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_FIELDREF = 9;
+    private static final int CONSTANT_METHODREF = 10;
+    private static final int CONSTANT_INTERFACE_METHODREF = 11;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+
+    /**
+     * The primitive types, mapped to their wrapper types.
+     */
+    private static final Map<Class<?>, Class<?>> WRAPPERS = new HashMap<>();
+    static {
+        WRAPPERS.put(boolean.class, Boolean.class);
+        WRAPPERS.put(byte.class, Byte.class);
+        WRAPPERS.put(char.class, Character.class);
+        WRAPPERS.put(short.class, Short.class);
+        WRAPPERS.put(int.class, Integer.class);
+        WRAPPERS.put(long.class, Long.class);
+        WRAPPERS.put(float.class, Float.class);
+        WRAPPERS.put(double.class, Double.class);
+    }
+
+    private final Class<?> beanType;
+    private final String beanName;
+    private final List<Member> readers;
+    private final List<Member> writers;
+    private final ByteArrayOutputStream constantPoolBytes = new ByteArrayOutputStream();
+    private final DataOutputStream constantPool = new DataOutputStream(constantPoolBytes);
+    private final Map<String, Integer> constantIndices = new HashMap<>();
+    private int constantCount = 1;
+
+    //-----------------------------------------------------------------------
+    /**
+     * Generates an accessor for the specified meta-bean.
+     *
+     * @param metaBean  the meta-bean, not null
+     * @return the accessor, not null
+     */
+    static BeanAccessor generate(MetaBean metaBean) {
+        Class<?> beanType = metaBean.beanType();
+        List<MetaProperty<?>> metaProperties = metaBean.metaPropertyList();
+        List<Member> readers = new ArrayList<>(metaProperties.size());
+        List<Member> writers = new ArrayList<>(metaProperties.size());
+        BeanAccessor delegate = new MetaPropertyBeanAccessor(metaBean);
+        if (beanType.isPrimitive() || beanType.isArray() || !findMembers(beanType, metaProperties, readers, writers)) {
+            return delegate;
+        }
+        try {
+            byte[] classFile = new BeanAccessorGenerator(beanType, readers, writers).generateClassFile();
+            Lookup lookup = MethodHandles.privateLookupIn(beanType, MethodHandles.lookup())
+                    .defineHiddenClass(classFile, true, ClassOption.NESTMATE);
+            return (BeanAccessor) lookup.lookupClass().getConstructor(BeanAccessor.class).newInstance(delegate);
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError ex) {
+            // the bean is not accessible to this module, or the generated class is rejected
+            return delegate;
+        }
+    }
+
+    /**
+     * Finds the members used to read and write each property.
+     * A null member indicates that the property is read or written using the delegate.
+     *
+     * @return true if every property can be compiled
+     */
+    private static boolean findMembers(
+            Class<?> beanType, List<MetaProperty<?>> metaProperties,
+            List<Member> readers, List<Member> writers) {
+
+        for (MetaProperty<?> metaProperty : metaProperties) {
+            Member reader;
+            Member writer;
+            if (metaProperty instanceof MethodMetaProperty) {
+                MethodMetaProperty<?> methodMetaProperty = (MethodMetaProperty<?>) metaProperty;
+                reader = methodMetaProperty.getter();
+                writer = methodMetaProperty.setter();
+            } else if (metaProperty instanceof FieldMetaProperty) {
+                FieldMetaProperty<?> fieldMetaProperty = (FieldMetaProperty<?>) metaProperty;
+                Field field = fieldMetaProperty.backingField();
+                if (fieldMetaProperty.isMutable() && Modifier.isFinal(field.getModifiers())) {
+                    // a final field can only be written using reflection
+                    return false;
+                }
+                reader = fieldMetaProperty.isReadable() ? field : null;
+                writer = fieldMetaProperty.isMutable() ? field : null;
+            } else {
+                return false;
+            }
+            if ((reader != null && !isAccessible(beanType, reader)) ||
+                    (writer != null && !isAccessible(beanType, writer))) {
+                return false;
+            }
+            readers.add(throwsCheckedException(reader) ? null : reader);
+            writers.add(throwsCheckedException(writer) ? null : writer);
+        }
+        return true;
+    }
+
+    // a checked exception must be wrapped, as done by the meta-property
+    private static boolean throwsCheckedException(Member member) {
+        if (member instanceof Method) {
+            for (Class<?> exceptionType : ((Method) member).getExceptionTypes()) {
+                if (!RuntimeException.class.isAssignableFrom(exceptionType) &&
+                        !Error.class.isAssignableFrom(exceptionType)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isAccessible(Class<?> beanType, Member member) {
+        if (Modifier.isStatic(member.getModifiers()) ||
+                !member.getDeclaringClass().isAssignableFrom(beanType) ||
+                (!Modifier.isPublic(member.getModifiers()) && member.getDeclaringClass() != beanType)) {
+            return false;
+        }
+        // the value of a setter or field must be cast to its type
+        Class<?> valueType = member instanceof Field
+                ? ((Field) member).getType()
+                : ((Method) member).getParameterCount() == 1 ? ((Method) member).getParameterTypes()[0] : Object.class;
+        return isAccessible(beanType, valueType);
+    }
+
+    private static boolean isAccessible(Class<?> beanType, Class<?> type) {
+        while (type.isArray()) {
+            type = type.getComponentType();
+        }
+        if (type.isPrimitive() ||
+                (type.getClassLoader() == beanType.getClassLoader() &&
+                        type.getPackageName().equals(beanType.getPackageName()))) {
+            return true;
+        }
+        for (Class<?> cls = type; cls != null; cls = cls.getEnclosingClass()) {
+            if (!Modifier.isPublic(cls.getModifiers())) {
+                return false;
+            }
+        }
+        return type.getModule().isExported(type.getPackageName(), beanType.getModule());
+    }
+
+    //-----------------------------------------------------------------------
+    private BeanAccessorGenerator(Class<?> beanType, List<Member> readers, List<Member> writers) {
+        this.beanType = beanType;
+        this.beanName = internalName(beanType);
+        this.readers = readers;
+        this.writers = writers;
+    }
+
+    private byte[] generateClassFile() {
+        try {
+            int thisClass = classConstant(beanName + "$$BeanAccessor");
+            int superClass = classConstant("java/lang/Object");
+            int accessorInterface = classConstant(ACCESSOR_INTERFACE);
+            byte[] constructor = method("<init>", "(" + descriptor(BeanAccessor.class) + ")V", 2, 2,
+                    constructorCode(), new ArrayList<>());
+            List<Integer> getFrames = new ArrayList<>();
+            byte[] getCode = switchCode(readers, false, getFrames);
+            byte[] getMethod = method("get", GET_DESCRIPTOR, 4, 3, getCode, getFrames);
+            List<Integer> setFrames = new ArrayList<>();
+            byte[] setCode = switchCode(writers, true, setFrames);
+            byte[] setMethod = method("set", SET_DESCRIPTOR, 4, 4, setCode, setFrames);
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0);
+            out.writeShort(CLASS_FILE_VERSION);
+            out.writeShort(constantCount);
+            constantPoolBytes.writeTo(out);
+            out.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+            out.writeShort(thisClass);
+            out.writeShort(superClass);
+            out.writeShort(1);
+            out.writeShort(accessorInterface);
+            out.writeShort(1);  // fields
+            out.writeShort(ACC_PRIVATE | ACC_FINAL);
+            out.writeShort(utf8Constant(DELEGATE_FIELD));
+            out.writeShort(utf8Constant(descriptor(BeanAccessor.class)));
+            out.writeShort(0);
+            out.writeShort(3);  // methods
+            out.write(constructor);
+            out.write(getMethod);
+            out.write(setMethod);
+            out.writeShort(0);  // attributes
+            return bytes.toByteArray();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private byte[] constructorCode() throws IOException {
+        ByteArrayOutputStream code = new ByteArrayOutputStream();
+        code.write(ALOAD_0);
+        writeInstruction(code, INVOKESPECIAL, methodConstant(CONSTANT_METHODREF, "java/lang/Object", "<init>", "()V"));
+        code.write(ALOAD_0);
+        code.write(ALOAD_1);
+        writeInstruction(code, PUTFIELD, delegateConstant());
+        code.write(RETURN);
+        return code.toByteArray();
+    }
+
+    /**
+     * Generates the code of the get or set method, which switches on the index.
+     * The offsets that require a stack map frame are added to the list.
+     */
+    private byte[] switchCode(List<Member> members, boolean set, List<Integer> frameOffsets) throws IOException {
+        byte[] delegateBlock = delegateCode(set);
+        if (members.isEmpty()) {
+            return delegateBlock;
+        }
+        // a bean of the wrong type, or null, is passed to the delegate
+        ByteArrayOutputStream code = new ByteArrayOutputStream();
+        code.write(ALOAD_1);
+        writeInstruction(code, INSTANCEOF, classConstant(beanName));
+        int checkOffset = code.size();
+        // iload_2 follows the check, then the tableswitch padded to a multiple of four
+        int switchOffset = checkOffset + 4;
+        int padding = 3 - (switchOffset % 4);
+        int delegateOffset = switchOffset + 1 + padding + 12 + 4 * members.size();
+        writeBranch(code, IFEQ, delegateOffset - checkOffset);
+        code.write(ILOAD_2);
+        code.write(TABLESWITCH);
+        for (int i = 0; i < padding; i++) {
+            code.write(0);
+        }
+
+        // the delegate block is followed by the code for each case
+        frameOffsets.add(delegateOffset);
+        List<byte[]> blocks = new ArrayList<>();
+        int[] caseOffsets = new int[members.size()];
+        int blockOffset = delegateOffset + delegateBlock.length;
+        for (int i = 0; i < members.size(); i++) {
+            Member member = members.get(i);
+            if (member == null) {
+                caseOffsets[i] = delegateOffset;
+            } else {
+                byte[] block = set ? setCaseCode(member, delegateOffset - blockOffset) : getCaseCode(member);
+                caseOffsets[i] = blockOffset;
+                frameOffsets.add(blockOffset);
+                blocks.add(block);
+                blockOffset += block.length;
+            }
+        }
+        DataOutputStream out = new DataOutputStream(code);
+        out.writeInt(delegateOffset - switchOffset);
+        out.writeInt(0);
+        out.writeInt(members.size() - 1);
+        for (int caseOffset : caseOffsets) {
+            out.writeInt(caseOffset - switchOffset);
+        }
+        out.write(delegateBlock);
+        for (byte[] block : blocks) {
+            out.write(block);
+        }
+        return code.toByteArray();
+    }
+
+    private byte[] delegateCode(boolean set) throws IOException {
+        ByteArrayOutputStream code = new ByteArrayOutputStream();
+        code.write(ALOAD_0);
+        writeInstruction(code, GETFIELD, delegateConstant());
+        code.write(ALOAD_1);
+        code.write(ILOAD_2);
+        if (set) {
+            code.write(ALOAD_3);
+        }
+        writeInstruction(code, INVOKEINTERFACE, methodConstant(CONSTANT_INTERFACE_METHODREF,
+                ACCESSOR_INTERFACE, set ? "set" : "get", set ? SET_DESCRIPTOR : GET_DESCRIPTOR));
+        code.write(set ? 4 : 3);
+        code.write(0);
+        code.write(set ? RETURN : ARETURN);
+        return code.toByteArray();
+    }
+
+    private byte[] getCaseCode(Member member) throws IOException {
+        ByteArrayOutputStream code = new ByteArrayOutputStream();
+        code.write(ALOAD_1);
+        writeInstruction(code, CHECKCAST, classConstant(beanName));
+        Class<?> valueType;
+        if (member instanceof Field) {
+            Field field = (Field) member;
+            valueType = field.getType();
+            writeInstruction(code, GETFIELD,
+                    methodConstant(CONSTANT_FIELDREF, beanName, field.getName(), descriptor(valueType)));
+        } else {
+            Method method = (Method) member;
+            valueType = method.getReturnType();
+            writeInvoke(code, method.getName(), "()" + descriptor(valueType), 0);
+        }
+        if (valueType.isPrimitive()) {
+            Class<?> wrapper = WRAPPERS.get(valueType);
+            String wrapperName = internalName(wrapper);
+            writeInstruction(code, INVOKESTATIC, methodConstant(CONSTANT_METHODREF, wrapperName,
+                    "valueOf", "(" + descriptor(valueType) + ")" + descriptor(wrapper)));
+        }
+        code.write(ARETURN);
+        return code.toByteArray();
+    }
+
+    /**
+     * Generates the code to set a property.
+     * The delegate offset is relative to the start of the code for the case.
+     */
+    private byte[] setCaseCode(Member member, int delegateOffset) throws IOException {
+        ByteArrayOutputStream code = new ByteArrayOutputStream();
+        Class<?> valueType = member instanceof Field
+                ? ((Field) member).getType()
+                : ((Method) member).getParameterTypes()[0];
+        if (valueType.isPrimitive()) {
+            // null or the wrong type is passed to the delegate
+            code.write(ALOAD_3);
+            writeInstruction(code, INSTANCEOF, classConstant(internalName(WRAPPERS.get(valueType))));
+            writeBranch(code, IFEQ, delegateOffset - code.size());
+        }
+        code.write(ALOAD_1);
+        writeInstruction(code, CHECKCAST, classConstant(beanName));
+        code.write(ALOAD_3);
+        if (valueType.isPrimitive()) {
+            Class<?> wrapper = WRAPPERS.get(valueType);
+            String wrapperName = internalName(wrapper);
+            writeInstruction(code, CHECKCAST, classConstant(wrapperName));
+            writeInstruction(code, INVOKEVIRTUAL, methodConstant(CONSTANT_METHODREF, wrapperName,
+                    valueType.getName() + "Value", "()" + descriptor(valueType)));
+        } else if (valueType != Object.class) {
+            writeInstruction(code, CHECKCAST, classConstant(internalName(valueType)));
+        }
+        if (member instanceof Field) {
+            writeInstruction(code, PUTFIELD,
+                    methodConstant(CONSTANT_FIELDREF, beanName, member.getName(), descriptor(valueType)));
+        } else {
+            int argumentSlots = valueType == long.class || valueType == double.class ? 2 : 1;
+            writeInvoke(code, member.getName(), "(" + descriptor(valueType) + ")V", argumentSlots);
+        }
+        code.write(RETURN);
+        return code.toByteArray();
+    }
+
+    private void writeInvoke(ByteArrayOutputStream code, String name, String descriptor, int argumentSlots)
+            throws IOException {
+        if (beanType.isInterface()) {
+            writeInstruction(code, INVOKEINTERFACE,
+                    methodConstant(CONSTANT_INTERFACE_METHODREF, beanName, name, descriptor));
+            code.write(1 + argumentSlots);
+            code.write(0);
+        } else {
+            writeInstruction(code, INVOKEVIRTUAL, methodConstant(CONSTANT_METHODREF, beanName, name, descriptor));
+        }
+    }
+
+    private static void writeBranch(ByteArrayOutputStream code, int opcode, int offset) {
+        if (offset < Short.MIN_VALUE || offset > Short.MAX_VALUE) {
+            throw new IllegalStateException("Branch offset too large: " + offset);
+        }
+        writeInstruction(code, opcode, offset);
+    }
+
+    private static void writeInstruction(ByteArrayOutputStream code, int opcode, int operand) {
+        code.write(opcode);
+        code.write(operand >>> 8);
+        code.write(operand);
+    }
+
+    /**
+     * Generates a method with a code attribute.
+     * Each frame offset has a frame equal to the initial frame of the method.
+     */
+    private byte[] method(
+            String name, String descriptor, int maxStack, int maxLocals,
+            byte[] code, List<Integer> frameOffsets) throws IOException {
+
+        ByteArrayOutputStream stackMapBytes = new ByteArrayOutputStream();
+        DataOutputStream stackMap = new DataOutputStream(stackMapBytes);
+        int previousOffset = -1;
+        for (int offset : frameOffsets) {
+            int delta = offset - previousOffset - 1;
+            if (delta < 64) {
+                stackMap.writeByte(delta);  // same_frame
+            } else {
+                stackMap.writeByte(251);  // same_frame_extended
+                stackMap.writeShort(delta);
+            }
+            previousOffset = offset;
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeShort(ACC_PUBLIC);
+        out.writeShort(utf8Constant(name));
+        out.writeShort(utf8Constant(descriptor));
+        out.writeShort(1);
+        out.writeShort(utf8Constant("Code"));
+        int stackMapLength = frameOffsets.isEmpty() ? 0 : 8 + stackMapBytes.size();
+        out.writeInt(12 + code.length + stackMapLength);
+        out.writeShort(maxStack);
+        out.writeShort(maxLocals);
+        out.writeInt(code.length);
+        out.write(code);
+        out.writeShort(0);  // exception table
+        if (frameOffsets.isEmpty()) {
+            out.writeShort(0);
+        } else {
+            out.writeShort(1);
+            out.writeShort(utf8Constant("StackMapTable"));
+            out.writeInt(2 + stackMapBytes.size());
+            out.writeShort(frameOffsets.size());
+            stackMapBytes.writeTo(out);
+        }
+        return bytes.toByteArray();
+    }
+
+    //-----------------------------------------------------------------------
+    private int delegateConstant() throws IOException {
+        return methodConstant(
+                CONSTANT_FIELDREF, beanName + "$$BeanAccessor", DELEGATE_FIELD, descriptor(BeanAccessor.class));
+    }
+
+    private int utf8Constant(String value) throws IOException {
+        Integer index = constantIndices.get("U" + value);
+        if (index == null) {
+            constantPool.writeByte(CONSTANT_UTF8);
+            constantPool.writeUTF(value);
+            index = addConstant("U" + value);
+        }
+        return index;
+    }
+
+    private int classConstant(String name) throws IOException {
+        Integer index = constantIndices.get("C" + name);
+        if (index == null) {
+            int nameIndex = utf8Constant(name);
+            constantPool.writeByte(CONSTANT_CLASS);
+            constantPool.writeShort(nameIndex);
+            index = addConstant("C" + name);
+        }
+        return index;
+    }
+
+    private int methodConstant(int tag, String owner, String name, String descriptor) throws IOException {
+        String key = tag + owner + '.' + name + descriptor;
+        Integer index = constantIndices.get(key);
+        if (index == null) {
+            int ownerIndex = classConstant(owner);
+            int nameIndex = utf8Constant(name);
+            int descriptorIndex = utf8Constant(descriptor);
+            constantPool.writeByte(CONSTANT_NAME_AND_TYPE);
+            constantPool.writeShort(nameIndex);
+            constantPool.writeShort(descriptorIndex);
+            int nameAndTypeIndex = addConstant("N" + name + descriptor);
+            constantPool.writeByte(tag);
+            constantPool.writeShort(ownerIndex);
+            constantPool.writeShort(nameAndTypeIndex);
+            index = addConstant(key);
+        }
+        return index;
+    }
+
+    private int addConstant(String key) {
+        int index = constantCount++;
+        constantIndices.put(key, index);
+        return index;
+    }
+
+    //-----------------------------------------------------------------------
+    private static String internalName(Class<?> type) {
+        return type.isArray() ? descriptor(type) : type.getName().replace('.', '/');
+    }
+
+    private static String descriptor(Class<?> type) {
+        if (type.isArray()) {
+            return type.getName().replace('.', '/');
+        } else if (type.isPrimitive()) {
+            if (type == boolean.class) {
+                return "Z";
+            } else if (type == long.class) {
+                return "J";
+            } else if (type == void.class) {
+                return "V";
+            }
+            return String.valueOf(Character.toUpperCase(type.getName().charAt(0)));
+        }
+        return "L" + internalName(type) + ";";
+    }
+
+}
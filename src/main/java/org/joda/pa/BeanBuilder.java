@@ -60,11 +60,27 @@ public interface BeanBuilder<T> {
      * Builds the bean from the properties previously set into the builder.
      * <p>
      * Once this method has been called, the builder is in an invalid state.
-     * The effect of further method calls is undetermined.
+     * The effect of further method calls is undetermined, unless the builder
+     * supports {@link #reset()}, in which case it may be reset and used again.
      * 
      * @return the created bean, not null
      * @throws RuntimeException if the builder is invalid
      */
     T build();
 
+    /**
+     * Resets the builder, clearing all values, so that it can build another bean.
+     * <p>
+     * This is an optional operation, allowing a single builder to create many beans.
+     * A builder obtained from {@link MetaBean#reusableBeanBuilder()} must support it.
+     * <p>
+     * The default implementation throws {@link UnsupportedOperationException}.
+     * 
+     * @return {@code this}, for chaining, not null
+     * @throws UnsupportedOperationException if the builder cannot be reset
+     */
+    default BeanBuilder<T> reset() {
+        throw new UnsupportedOperationException("The builder cannot be reset.");
+    }
+
 }
@@ -0,0 +1,80 @@
+/*
+ *  Copyright 2014-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.pa;
+
+import java.util.Objects;
+
+/**
+ * A pool of reusable bean builders for a single meta-bean.
+ * <p>
+ * A builder is acquired from the pool, used to build one or more beans, and then released.
+ * While acquired, the builder is owned by a single thread.
+ * A released builder is {@linkplain BeanBuilder#reset() reset} and may be
+ * handed to any thread, so it must not be used after release.
+ * <pre>
+ *  BeanBuilderPool pool = metaBean.beanBuilderPool();
+ *  BeanBuilder&lt;?&gt; builder = pool.acquire();
+ *  try {
+ *    // set values and build
+ *  } finally {
+ *    pool.release(builder);
+ *  }
+ * </pre>
+ * <p>
+ * A {@code BeanBuilderPool} is obtained from {@link MetaBean#beanBuilderPool()}.
+ * An implementation of {@code MetaBean} can use {@link #of(MetaBean)} to create its pool.
+ * <p>
+ * This is an interface and must be implemented with care.
+ * Implementations must be thread-safe.
+ */
+public interface BeanBuilderPool {
+
+    /**
+     * Creates a pool of the {@linkplain MetaBean#reusableBeanBuilder() reusable builders}
+     * of the specified meta-bean.
+     * <p>
+     * This is intended for implementations of {@link MetaBean#beanBuilderPool()},
+     * which should create the pool once and return it on each call.
+     * 
+     * @param metaBean  the meta-bean, not null
+     * @return the pool, not null
+     */
+    static BeanBuilderPool of(MetaBean metaBean) {
+        Objects.requireNonNull(metaBean, "The argument 'metaBean' must not be null.");
+        return new StripedBeanBuilderPool(metaBean);
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Acquires a reset builder from the pool, creating one if necessary.
+     *
+     * @return the builder, not null
+     * @throws UnsupportedOperationException if the bean cannot be created
+     */
+    BeanBuilder<?> acquire();
+
+    /**
+     * Releases a builder back to the pool.
+     * <p>
+     * The builder must have been obtained from {@link #acquire()} on this pool.
+     * If the pool is full the builder is discarded.
+     *
+     * @param builder  the builder to release, not null
+     */
+    void release(BeanBuilder<?> builder);
+
+}
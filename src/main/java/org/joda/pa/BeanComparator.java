@@ -0,0 +1,146 @@
+/*
+ *  Copyright 2014-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.pa;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A comparator of beans by a sequence of property keys.
+ * <p>
+ * Each key is a property with a direction and a position for null values.
+ * Keys of type {@code int}, {@code long} and {@code double} are compared without boxing.
+ * Other keys must be {@link Comparable}.
+ * <pre>
+ *  BeanComparator comparator = BeanComparator.builder()
+ *      .ascending(surname)
+ *      .descending(numberOfChildren)
+ *      .build();
+ *  comparator.sort(people);
+ * </pre>
+ * <p>
+ * When sorting a large list, {@link #sort(List)} is much faster than
+ * {@code list.sort(comparator)}, as it reads each key from each bean only once.
+ * <p>
+ * This is an interface and must be implemented with care.
+ * Implementations must be immutable and thread-safe.
+ */
+public interface BeanComparator extends Comparator<Object> {
+
+    /**
+     * Creates a builder of comparators.
+     * 
+     * @return the builder, not null
+     */
+    static Builder builder() {
+        return new Builder();
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Compares two beans by each key in turn.
+     * 
+     * @param bean  the first bean, not null
+     * @param other  the second bean, not null
+     * @return negative if the first bean is less, positive if greater, zero if equal
+     * @throws ClassCastException if a bean is of an incorrect type
+     */
+    @Override
+    int compare(Object bean, Object other);
+
+    /**
+     * Sorts the list by extracting the keys first and then sorting.
+     * <p>
+     * The value of each key is read once from each bean into an array,
+     * using a primitive array for {@code int}, {@code long} and {@code double} keys.
+     * The sort is then performed on the arrays, and the list reordered to match.
+     * The sort is stable, as per {@link List#sort(Comparator)}.
+     * 
+     * @param beans  the list of beans to sort, modifiable, not null
+     * @throws ClassCastException if a bean is of an incorrect type
+     * @throws UnsupportedOperationException if the list cannot be modified
+     */
+    void sort(List<?> beans);
+
+    //-----------------------------------------------------------------------
+    /**
+     * A builder of {@link BeanComparator}.
+     * <p>
+     * This class is mutable and not thread-safe.
+     */
+    final class Builder {
+
+        private final List<CompiledBeanComparator.Key> keys = new ArrayList<>();
+
+        /**
+         * Restricted constructor.
+         */
+        Builder() {
+        }
+
+        /**
+         * Adds a key that sorts in ascending order, with nulls first.
+         * 
+         * @param property  the property to compare, not null
+         * @return this, for chaining, not null
+         * @throws IllegalArgumentException if the property is not comparable
+         */
+        public Builder ascending(MetaProperty<?> property) {
+            return then(property, true, true);
+        }
+
+        /**
+         * Adds a key that sorts in descending order, with nulls first.
+         * 
+         * @param property  the property to compare, not null
+         * @return this, for chaining, not null
+         * @throws IllegalArgumentException if the property is not comparable
+         */
+        public Builder descending(MetaProperty<?> property) {
+            return then(property, false, true);
+        }
+
+        /**
+         * Adds a key.
+         * <p>
+         * The position of null values is the same whatever the direction.
+         * It is ignored for primitive properties.
+         * 
+         * @param property  the property to compare, not null
+         * @param ascending  true to sort in ascending order, false for descending
+         * @param nullsFirst  true to sort null values first, false to sort them last
+         * @return this, for chaining, not null
+         * @throws IllegalArgumentException if the property is not comparable
+         */
+        public Builder then(MetaProperty<?> property, boolean ascending, boolean nullsFirst) {
+            Objects.requireNonNull(property, "The argument 'property' must not be null.");
+            keys.add(CompiledBeanComparator.key(property, ascending, nullsFirst));
+            return this;
+        }
+
+        /**
+         * Builds the comparator.
+         * 
+         * @return the comparator, not null
+         */
+        public BeanComparator build() {
+            return new CompiledBeanComparator(keys);
+        }
+    }
+
+}
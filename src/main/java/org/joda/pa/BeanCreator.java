@@ -0,0 +1,346 @@
+/*
+ *  Copyright 2014-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.pa;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Creates beans from an array of property values indexed by property.
+ * <p>
+ * The bean is created by a public constructor or a public static factory method named {@code of}.
+ * Its {@link MethodHandle} is adapted once, up-front, to take the whole array of
+ * property values, picking out the values of the parameters by index.
+ * Creating a bean therefore allocates nothing beyond the bean itself.
+ * Any value of a property that is not a parameter is then applied using its setter.
+ * <p>
+ * The parameters are matched to properties by name if the parameter names were
+ * compiled into the class file, using the {@code -parameters} flag of {@code javac}.
+ * Otherwise, each parameter is matched by type, which is only possible if no other
+ * property has the same type. A bean whose constructor cannot be matched is not buildable,
+ * rather than risk silently assigning values to the wrong properties.
+ * The constructor or factory that allows the most properties to be built is used,
+ * counting both its parameters and the properties that have a setter.
+ * If several allow the same properties to be built, a public no-arguments constructor
+ * is preferred, and then the one with the most parameters.
+ */
+final class BeanCreator {
+
+    /**
+     * The handle of {@link #orDefault(Object, Object)}.
+     */
+    private static final MethodHandle OR_DEFAULT;
+    static {
+        try {
+            OR_DEFAULT = MethodHandles.lookup().findStatic(
+                    BeanCreator.class, "orDefault", MethodType.genericMethodType(2));
+        } catch (ReflectiveOperationException ex) {
+            throw new ExceptionInInitializerError(ex);
+        }
+    }
+
+    /**
+     * The meta-bean.
+     */
+    private final MetaBean metaBean;
+    /**
+     * The creator, taking the values array and returning the bean.
+     */
+    private final MethodHandle creator;
+    /**
+     * The index of each property set after creation.
+     */
+    private final int[] setterIndices;
+    /**
+     * Whether each property is buildable.
+     */
+    private final boolean[] buildable;
+
+    //-----------------------------------------------------------------------
+    /**
+     * Finds a way to create the specified bean type.
+     * <p>
+     * The meta-bean is only used when creating a bean, so it may still be under construction.
+     *
+     * @param metaBean  the meta-bean, not null
+     * @param propertyNames  the names of the properties in order, not null
+     * @param propertyTypes  the types of the properties in order, not null
+     * @param setters  whether each property has a setter, not null
+     * @return the creator, null if the bean cannot be created
+     */
+    static BeanCreator find(MetaBean metaBean, List<String> propertyNames, List<Class<?>> propertyTypes, boolean[] setters) {
+        Class<?> beanType = metaBean.beanType();
+        boolean concrete = !beanType.isInterface() && !Modifier.isAbstract(beanType.getModifiers());
+        List<Executable> candidates = new ArrayList<>();
+        if (concrete) {
+            candidates.addAll(Arrays.asList(beanType.getConstructors()));
+        }
+        for (Method method : beanType.getDeclaredMethods()) {
+            if (method.getName().equals("of") &&
+                    Modifier.isPublic(method.getModifiers()) &&
+                    Modifier.isStatic(method.getModifiers()) &&
+                    !method.isSynthetic() &&
+                    beanType.isAssignableFrom(method.getReturnType())) {
+                candidates.add(method);
+            }
+        }
+
+        Executable best = null;
+        int[] bestIndices = null;
+        int bestCoverage = -1;
+        for (Executable candidate : candidates) {
+            int[] indices = matchParameters(candidate, propertyNames, propertyTypes);
+            if (indices == null) {
+                continue;
+            }
+            int coverage = coverage(indices, setters);
+            if (coverage > bestCoverage ||
+                    (coverage == bestCoverage && isPreferred(candidate, indices, best, bestIndices))) {
+                best = candidate;
+                bestIndices = indices;
+                bestCoverage = coverage;
+            }
+        }
+        if (best == null) {
+            return null;
+        }
+        try {
+            return new BeanCreator(metaBean, best, bestIndices, propertyTypes, setters);
+        } catch (IllegalAccessException | RuntimeException ex) {
+            // the constructor or factory cannot be made accessible
+            return null;
+        }
+    }
+
+    /**
+     * Creates a bean using the canonical constructor of a record.
+     * <p>
+     * The parameters of the canonical constructor are the record components in order,
+     * so no matching is needed and every property is buildable.
+     * The meta-bean is only used when creating a bean, so it may still be under construction.
+     *
+     * @param metaBean  the meta-bean of the record, not null
+     * @param componentTypes  the types of the record components in order, not null
+     * @return the creator, null if the canonical constructor is not accessible
+     */
+    static BeanCreator canonical(MetaBean metaBean, List<Class<?>> componentTypes) {
+        int[] indices = new int[componentTypes.size()];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = i;
+        }
+        try {
+            Constructor<?> constructor =
+                    metaBean.beanType().getDeclaredConstructor(componentTypes.toArray(new Class<?>[0]));
+            return new BeanCreator(metaBean, constructor, indices, componentTypes, new boolean[indices.length]);
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+            // the canonical constructor cannot be made accessible
+            return null;
+        }
+    }
+
+    /**
+     * Counts the properties that can be built, those that are parameters or have a setter.
+     *
+     * @param parameterIndices  the index of the property of each parameter, not null
+     * @param setters  whether each property has a setter, not null
+     * @return the number of buildable properties
+     */
+    static int coverage(int[] parameterIndices, boolean[] setters) {
+        int coverage = 0;
+        for (boolean setter : setters) {
+            coverage += setter ? 1 : 0;
+        }
+        for (int index : parameterIndices) {
+            coverage += setters[index] ? 0 : 1;
+        }
+        return coverage;
+    }
+
+    // of two candidates building the same number of properties
+    private static boolean isPreferred(Executable candidate, int[] indices, Executable best, int[] bestIndices) {
+        if (best instanceof Constructor && bestIndices.length == 0) {
+            return false;
+        }
+        return (candidate instanceof Constructor && indices.length == 0) || indices.length > bestIndices.length;
+    }
+
+    private static int[] matchParameters(Executable candidate, List<String> propertyNames, List<Class<?>> propertyTypes) {
+        if (candidate.isVarArgs()) {
+            return null;
+        }
+        Parameter[] parameters = candidate.getParameters();
+        String[] parameterNames = null;
+        if (parameters.length > 0 && parameters[0].isNamePresent()) {
+            parameterNames = new String[parameters.length];
+            for (int i = 0; i < parameters.length; i++) {
+                parameterNames[i] = parameters[i].getName();
+            }
+        }
+        return matchParameters(candidate.getParameterTypes(), parameterNames, propertyNames, propertyTypes);
+    }
+
+    /**
+     * Matches the parameters of a constructor or factory to the properties.
+     * <p>
+     * Without names, a parameter is only matched to the property of the same type if
+     * no other property has that type, as matching by position could silently
+     * swap the values of two properties of the same type.
+     *
+     * @param parameterTypes  the types of the parameters, not null
+     * @param parameterNames  the names of the parameters, null if not compiled into the class file
+     * @param propertyNames  the names of the properties in order, not null
+     * @param propertyTypes  the types of the properties in order, not null
+     * @return the index of the property of each parameter, null if the parameters do not match
+     */
+    static int[] matchParameters(
+            Class<?>[] parameterTypes,
+            String[] parameterNames,
+            List<String> propertyNames,
+            List<Class<?>> propertyTypes) {
+
+        if (parameterTypes.length > propertyNames.size()) {
+            return null;
+        }
+        int[] indices = new int[parameterTypes.length];
+        boolean[] used = new boolean[propertyNames.size()];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            int index = parameterNames != null ?
+                    propertyNames.indexOf(parameterNames[i]) :
+                    uniqueIndexOfType(propertyTypes, parameterTypes[i]);
+            if (index < 0 || used[index] || parameterTypes[i] != propertyTypes.get(index)) {
+                return null;
+            }
+            indices[i] = index;
+            used[index] = true;
+        }
+        return indices;
+    }
+
+    private static int uniqueIndexOfType(List<Class<?>> propertyTypes, Class<?> type) {
+        int first = propertyTypes.indexOf(type);
+        return first >= 0 && propertyTypes.lastIndexOf(type) == first ? first : -1;
+    }
+
+    //-----------------------------------------------------------------------
+    private BeanCreator(
+            MetaBean metaBean,
+            Executable executable,
+            int[] parameterIndices,
+            List<Class<?>> propertyTypes,
+            boolean[] setters) throws IllegalAccessException {
+
+        this.metaBean = metaBean;
+        int propertyCount = propertyTypes.size();
+        executable.setAccessible(true);
+        MethodHandle target = executable instanceof Constructor ?
+                MethodHandles.lookup().unreflectConstructor((Constructor<?>) executable) :
+                MethodHandles.lookup().unreflect((Method) executable);
+        // (P0, P1, ...)Bean -> (Object, Object, ...)Object
+        MethodHandle generic = target.asType(MethodType.genericMethodType(parameterIndices.length));
+        boolean[] parameters = new boolean[propertyCount];
+        for (int i = 0; i < parameterIndices.length; i++) {
+            int index = parameterIndices[i];
+            parameters[index] = true;
+            Class<?> propertyType = propertyTypes.get(index);
+            if (propertyType.isPrimitive()) {
+                // a null value of a primitive parameter is replaced by the default value as it is passed,
+                // leaving the values array unchanged
+                Object defaultValue = Array.get(Array.newInstance(propertyType, 1), 0);
+                generic = MethodHandles.filterArguments(
+                        generic, i, MethodHandles.insertArguments(OR_DEFAULT, 1, defaultValue));
+            }
+        }
+        // (Object, Object, ...)Object -> (Object[])Object, taking the values array indexed by property
+        this.creator = MethodHandles.permuteArguments(
+                generic,
+                MethodType.genericMethodType(propertyCount),
+                parameterIndices)
+                .asSpreader(Object[].class, propertyCount);
+        this.buildable = new boolean[propertyCount];
+        List<Integer> setterList = new ArrayList<>();
+        for (int index = 0; index < propertyCount; index++) {
+            buildable[index] = parameters[index] || setters[index];
+            if (setters[index] && !parameters[index]) {
+                setterList.add(index);
+            }
+        }
+        this.setterIndices = setterList.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Checks if the property at the specified index is buildable.
+     *
+     * @param index  the index of the property
+     * @return true if the property can be set into a builder
+     */
+    boolean isBuildable(int index) {
+        return buildable[index];
+    }
+
+    /**
+     * Creates a bean from the values.
+     * <p>
+     * Any null value of a primitive parameter is passed as the default value of the type.
+     * A null value of a property set after creation is not applied.
+     * The array is not changed.
+     *
+     * @param values  the property values indexed by property, not null
+     * @return the created bean, not null
+     */
+    Object create(Object[] values) {
+        Object bean = invoke(values);
+        for (int index : setterIndices) {
+            Object value = values[index];
+            if (value != null) {
+                metaBean.metaPropertyAt(index).set(bean, value);
+            }
+        }
+        return bean;
+    }
+
+    // the filter applied to a primitive parameter
+    private static Object orDefault(Object value, Object defaultValue) {
+        return value != null ? value : defaultValue;
+    }
+
+    private Object invoke(Object[] values) {
+        // rethrow the exception thrown by the constructor or factory if possible
+        // (i.e. it is unchecked) or throw a new RuntimeException
+        try {
+            return (Object) creator.invokeExact(values);
+        } catch (RuntimeException | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            String message = "Creating bean type '" + metaBean.beanType()
+                    + "' caused an exception. "
+                    + "That exception is the cause for this exception "
+                    + "(i.e. can be accessed by calling 'getCause()').";
+            throw new RuntimeException(message, ex);
+        }
+    }
+
+}
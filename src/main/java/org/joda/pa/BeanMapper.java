@@ -0,0 +1,107 @@
+/*
+ *  Copyright 2014-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.pa;
+
+import java.util.Objects;
+
+import org.joda.pa.convert.StringConvert;
+
+/**
+ * A mapper that copies the properties of one type of bean to another.
+ * <p>
+ * The properties are matched by name once, when the mapper is created.
+ * A source property is mapped to the target property of the same name if the
+ * value can be assigned directly, or if both types can be converted to and from
+ * a string by {@link StringConvert}. Other properties are ignored.
+ * <p>
+ * A mapper is created once and then reused, as the matching is relatively expensive.
+ * Mapping a bean then involves no name lookups.
+ * <p>
+ * This is an interface and must be implemented with care.
+ * Implementations must be immutable and thread-safe.
+ */
+public interface BeanMapper {
+
+    /**
+     * Creates a mapper between two meta-beans, converting using {@link StringConvert#INSTANCE}.
+     * 
+     * @param sourceMetaBean  the meta-bean of the beans to copy from, not null
+     * @param targetMetaBean  the meta-bean of the beans to copy to, not null
+     * @return the mapper, not null
+     */
+    static BeanMapper of(MetaBean sourceMetaBean, MetaBean targetMetaBean) {
+        return of(sourceMetaBean, targetMetaBean, StringConvert.INSTANCE);
+    }
+
+    /**
+     * Creates a mapper between two meta-beans.
+     * 
+     * @param sourceMetaBean  the meta-bean of the beans to copy from, not null
+     * @param targetMetaBean  the meta-bean of the beans to copy to, not null
+     * @param stringConvert  the converter used where the property types differ, not null
+     * @return the mapper, not null
+     */
+    static BeanMapper of(MetaBean sourceMetaBean, MetaBean targetMetaBean, StringConvert stringConvert) {
+        Objects.requireNonNull(sourceMetaBean, "The argument 'sourceMetaBean' must not be null.");
+        Objects.requireNonNull(targetMetaBean, "The argument 'targetMetaBean' must not be null.");
+        Objects.requireNonNull(stringConvert, "The argument 'stringConvert' must not be null.");
+        return new CompiledBeanMapper(sourceMetaBean, targetMetaBean, stringConvert);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the meta-bean of the beans to copy from.
+     * 
+     * @return the source meta-bean, not null
+     */
+    MetaBean sourceMetaBean();
+
+    /**
+     * Gets the meta-bean of the beans to copy to.
+     * 
+     * @return the target meta-bean, not null
+     */
+    MetaBean targetMetaBean();
+
+    /**
+     * Creates a new target bean from the properties of the source bean.
+     * <p>
+     * The target bean is created using a {@link BeanBuilder}, so this supports
+     * immutable target beans. Each matched {@link MetaProperty#isBuildable() buildable}
+     * property of the target is set.
+     * 
+     * @param source  the bean to copy from, not null
+     * @return the new target bean, not null
+     * @throws ClassCastException if the source bean is of an incorrect type
+     * @throws UnsupportedOperationException if the target bean is not buildable
+     * @throws RuntimeException if a value cannot be converted or is rejected
+     */
+    Object map(Object source);
+
+    /**
+     * Copies the properties of the source bean onto an existing target bean.
+     * <p>
+     * Each matched {@link MetaProperty#isMutable() mutable} property of the target is set.
+     * A null value is not copied to a property of a primitive type.
+     * 
+     * @param source  the bean to copy from, not null
+     * @param target  the bean to copy to, not null
+     * @throws ClassCastException if either bean is of an incorrect type
+     * @throws RuntimeException if a value cannot be converted or is rejected
+     */
+    void copy(Object source, Object target);
+
+}
@@ -0,0 +1,112 @@
+/*
+ *  Copyright 2014-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.pa;
+
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * The standard {@code Object} methods of a bean, derived from its meta-bean.
+ * <p>
+ * This allows a bean to implement {@code equals}, {@code hashCode} and {@code toString}
+ * from its property list, rather than by hand, so that the methods cannot drift
+ * from the properties:
+ * <pre>
+ *  private static final BeanMethods METHODS = BeanMethods.of(MetaBean.of(Person.class));
+ *  
+ *  public boolean equals(Object obj) {
+ *    return METHODS.equal(this, obj);
+ *  }
+ *  public int hashCode() {
+ *    return METHODS.hash(this);
+ *  }
+ * </pre>
+ * <p>
+ * The methods use every readable property that is not {@link MetaProperty#isDerived() derived},
+ * in property order. Properties of type {@code int}, {@code long}, {@code double} and
+ * {@code boolean} are compared and hashed without boxing.
+ * The hash code is calculated as per {@link java.util.Arrays#hashCode(Object[])}.
+ * <p>
+ * This is an interface and must be implemented with care.
+ * Implementations must be immutable and thread-safe.
+ */
+public interface BeanMethods {
+
+    /**
+     * Creates the methods for the specified meta-bean.
+     * <p>
+     * The methods are compiled once, so the result should be cached by the caller.
+     * 
+     * @param metaBean  the meta-bean, not null
+     * @return the bean methods, not null
+     */
+    static BeanMethods of(MetaBean metaBean) {
+        Objects.requireNonNull(metaBean, "The argument 'metaBean' must not be null.");
+        return new CompiledBeanMethods(metaBean);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the meta-bean that the methods are derived from.
+     * 
+     * @return the meta-bean, not null
+     */
+    MetaBean metaBean();
+
+    /**
+     * Checks if two beans are equal by comparing each property.
+     * <p>
+     * The beans are only equal if they have the same class.
+     * 
+     * @param bean  the bean to compare, not null
+     * @param other  the other object to compare, null returns false
+     * @return true if the beans are equal
+     * @throws ClassCastException if the bean is of an incorrect type
+     */
+    boolean equal(Object bean, Object other);
+
+    /**
+     * Calculates a hash code for the bean from each property.
+     * 
+     * @param bean  the bean to hash, not null
+     * @return the hash code
+     * @throws ClassCastException if the bean is of an incorrect type
+     */
+    int hash(Object bean);
+
+    /**
+     * Creates a string describing the bean from each property.
+     * <p>
+     * The format is {@code SimpleName[name=value, name=value]}.
+     * 
+     * @param bean  the bean to describe, not null
+     * @return the description, not null
+     * @throws ClassCastException if the bean is of an incorrect type
+     */
+    String toString(Object bean);
+
+    /**
+     * Gets a comparator that compares beans by each property in turn.
+     * <p>
+     * Every property must be of a primitive type or implement {@link Comparable}.
+     * A null value is less than any other value.
+     * 
+     * @return the comparator, not null
+     * @throws UnsupportedOperationException if a property is not comparable
+     */
+    Comparator<Object> comparator();
+
+}
@@ -0,0 +1,58 @@
+/*
+ *  Copyright 2014-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.pa;
+
+/**
+ * A meta-property whose value is a {@code boolean}.
+ * <p>
+ * The {@link #propertyType() property type} is {@code boolean.class}.
+ * The methods of this interface read and write the value without boxing it,
+ * whereas the methods inherited from {@link MetaProperty} box the value
+ * as a {@code Boolean}.
+ * <p>
+ * This is an interface and must be implemented with care.
+ * Implementations must be immutable and thread-safe.
+ */
+public interface BooleanMetaProperty extends MetaProperty<Boolean> {
+
+    /**
+     * Gets the value of the property for the specified bean without boxing.
+     * <p>
+     * This is equivalent to {@link #get(Object)}.
+     * 
+     * @param bean  the bean to query, not null
+     * @return the value of the property on the specified bean
+     * @throws NullPointerException if the bean is null
+     * @throws ClassCastException if the bean is of an incorrect type
+     * @throws UnsupportedOperationException if the property is write-only
+     */
+    boolean getBoolean(Object bean);
+
+    /**
+     * Sets the value of the property on the specified bean without boxing.
+     * <p>
+     * This is equivalent to {@link #set(Object, Object)}.
+     * 
+     * @param bean  the bean to update, not null
+     * @param value  the value to set into the property on the specified bean
+     * @throws NullPointerException if the bean is null
+     * @throws ClassCastException if the bean is of an incorrect type
+     * @throws UnsupportedOperationException if the property is read-only
+     * @throws RuntimeException if the value is rejected by the property
+     */
+    void setBoolean(Object bean, boolean value);
+
+}
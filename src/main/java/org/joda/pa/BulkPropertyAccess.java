@@ -0,0 +1,134 @@
+/*
+ *  Copyright 2014-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.pa;
+
+import java.util.Objects;
+
+/**
+ * The implementation of the bulk read and write operations on {@link MetaBean}.
+ * <p>
+ * The bean is validated once, and each property is then accessed using the
+ * {@link MetaBean#beanAccessor() bean accessor}. Where the accessor is generated,
+ * this avoids the per-property checks made by {@link MetaProperty}.
+ * <p>
+ * When writing, the indices are validated and every target property is checked to be
+ * mutable before any property is written, so that a read-only property does not result
+ * in a partially written bean.
+ */
+final class BulkPropertyAccess {
+
+    /**
+     * Restricted constructor.
+     */
+    private BulkPropertyAccess() {
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Reads every property of the bean into the array.
+     *
+     * @param metaBean  the meta-bean, not null
+     * @param bean  the bean to query
+     * @param values  the array to populate
+     */
+    static void readAll(MetaBean metaBean, Object bean, Object[] values) {
+        int count = metaBean.propertyCount();
+        BeanAccessor accessor = ensureValid(metaBean, bean, values, count);
+        for (int i = 0; i < count; i++) {
+            values[i] = accessor.get(bean, i);
+        }
+    }
+
+    /**
+     * Reads the selected properties of the bean into the array.
+     *
+     * @param metaBean  the meta-bean, not null
+     * @param bean  the bean to query
+     * @param indices  the indices of the properties
+     * @param values  the array to populate
+     */
+    static void readAll(MetaBean metaBean, Object bean, int[] indices, Object[] values) {
+        Objects.requireNonNull(indices, "The argument 'indices' must not be null.");
+        BeanAccessor accessor = ensureValid(metaBean, bean, values, indices.length);
+        for (int i = 0; i < indices.length; i++) {
+            values[i] = accessor.get(bean, indices[i]);
+        }
+    }
+
+    /**
+     * Writes every property of the bean from the array.
+     *
+     * @param metaBean  the meta-bean, not null
+     * @param bean  the bean to update
+     * @param values  the values to write
+     */
+    static void writeAll(MetaBean metaBean, Object bean, Object[] values) {
+        int count = metaBean.propertyCount();
+        BeanAccessor accessor = ensureValid(metaBean, bean, values, count);
+        for (int i = 0; i < count; i++) {
+            ensureMutable(metaBean, i);
+        }
+        for (int i = 0; i < count; i++) {
+            accessor.set(bean, i, values[i]);
+        }
+    }
+
+    /**
+     * Writes the selected properties of the bean from the array.
+     *
+     * @param metaBean  the meta-bean, not null
+     * @param bean  the bean to update
+     * @param indices  the indices of the properties
+     * @param values  the values to write
+     */
+    static void writeAll(MetaBean metaBean, Object bean, int[] indices, Object[] values) {
+        Objects.requireNonNull(indices, "The argument 'indices' must not be null.");
+        BeanAccessor accessor = ensureValid(metaBean, bean, values, indices.length);
+        for (int index : indices) {
+            ensureMutable(metaBean, index);
+        }
+        for (int i = 0; i < indices.length; i++) {
+            accessor.set(bean, indices[i], values[i]);
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    private static BeanAccessor ensureValid(MetaBean metaBean, Object bean, Object[] values, int length) {
+        Objects.requireNonNull(bean, "The argument 'bean' must not be null.");
+        Objects.requireNonNull(values, "The argument 'values' must not be null.");
+        if (!metaBean.beanType().isInstance(bean)) {
+            String message = "The specified bean " + bean + " is of type '"
+                    + bean.getClass() + "' which is not assignment compatible"
+                    + " with this meta-bean's type '"
+                    + metaBean.beanType() + "'.";
+            throw new ClassCastException(message);
+        }
+        if (values.length < length) {
+            String message = "The argument 'values' must have a length of at least " + length + ".";
+            throw new IllegalArgumentException(message);
+        }
+        return metaBean.beanAccessor();
+    }
+
+    private static void ensureMutable(MetaBean metaBean, int index) {
+        MetaProperty<?> metaProperty = metaBean.metaPropertyAt(index);
+        if (!metaProperty.isMutable()) {
+            String message = "The meta-property '" + metaProperty.name() + "' is read-only.";
+            throw new UnsupportedOperationException(message);
+        }
+    }
+
+}
@@ -0,0 +1,49 @@
+/*
+ *  Copyright 2014-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.pa;
+
+/**
+ * A {@link PropertyAccessor} which delegates to the checked methods of the meta-property.
+ * <p>
+ * This is used where a meta-property provides no faster unchecked access.
+ * 
+ * @param <P>  the type of the property content
+ */
+final class CheckedPropertyAccessor<P> implements PropertyAccessor<P> {
+
+    private final MetaProperty<P> metaProperty;
+
+    /**
+     * Creates an accessor for the meta-property.
+     *
+     * @param metaProperty  the meta-property, not null
+     */
+    CheckedPropertyAccessor(MetaProperty<P> metaProperty) {
+        this.metaProperty = metaProperty;
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public P get(Object bean) {
+        return metaProperty.get(bean);
+    }
+
+    @Override
+    public void set(Object bean, Object value) {
+        metaProperty.set(bean, value);
+    }
+
+}
@@ -0,0 +1,290 @@
+/*
+ *  Copyright 2014-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.pa;
+
+import java.util.List;
+import java.util.ListIterator;
+
+/**
+ * The standard implementation of {@link BeanComparator}.
+ * <p>
+ * Each key is compiled into a {@link Key} specialized for its type.
+ * When sorting, each key extracts a {@link Column} of values, held in a primitive
+ * array where possible. An array of row indices is then merge sorted by comparing
+ * the columns, and the list is reordered to match.
+ */
+final class CompiledBeanComparator implements BeanComparator {
+
+    private final Key[] keys;
+
+    /**
+     * Creates an instance.
+     *
+     * @param keys  the keys, not null
+     */
+    CompiledBeanComparator(List<Key> keys) {
+        this.keys = keys.toArray(new Key[keys.size()]);
+    }
+
+    /**
+     * Creates a key for the property.
+     *
+     * @param property  the property, not null
+     * @param ascending  true for ascending order
+     * @param nullsFirst  true to sort null values first
+     * @return the key, not null
+     */
+    static Key key(MetaProperty<?> property, boolean ascending, boolean nullsFirst) {
+        if (property instanceof IntMetaProperty) {
+            return new IntKey((IntMetaProperty) property, ascending);
+        } else if (property instanceof LongMetaProperty) {
+            return new LongKey((LongMetaProperty) property, ascending);
+        } else if (property instanceof DoubleMetaProperty) {
+            return new DoubleKey((DoubleMetaProperty) property, ascending);
+        }
+        Class<?> type = AbstractMetaProperty.boxed(property.propertyType());
+        if (!Comparable.class.isAssignableFrom(type)) {
+            String message = "The meta-property '" + property.name() + "' of type '"
+                    + property.propertyType() + "' is not comparable.";
+            throw new IllegalArgumentException(message);
+        }
+        return new ComparableKey(property, ascending, nullsFirst);
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public int compare(Object bean, Object other) {
+        for (Key key : keys) {
+            int cmp = key.compare(bean, other);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public void sort(List<?> beans) {
+        int size = beans.size();
+        if (size < 2 || keys.length == 0) {
+            return;
+        }
+        Object[] rows = beans.toArray();
+        Column[] columns = new Column[keys.length];
+        for (int k = 0; k < keys.length; k++) {
+            columns[k] = keys[k].extract(rows);
+        }
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        mergeSort(order.clone(), order, 0, size, columns);
+
+        @SuppressWarnings("unchecked")
+        ListIterator<Object> it = (ListIterator<Object>) beans.listIterator();
+        for (int i = 0; i < size; i++) {
+            it.next();
+            it.set(rows[order[i]]);
+        }
+    }
+
+    /**
+     * Stable merge sort of {@code dest[from, to)}, using {@code src} as a copy of the same range.
+     */
+    private static void mergeSort(int[] src, int[] dest, int from, int to, Column[] columns) {
+        int length = to - from;
+        if (length < 7) {
+            // insertion sort for small ranges
+            for (int i = from + 1; i < to; i++) {
+                for (int j = i; j > from && compare(columns, dest[j - 1], dest[j]) > 0; j--) {
+                    int swap = dest[j];
+                    dest[j] = dest[j - 1];
+                    dest[j - 1] = swap;
+                }
+            }
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(dest, src, from, mid, columns);
+        mergeSort(dest, src, mid, to, columns);
+        if (compare(columns, src[mid - 1], src[mid]) <= 0) {
+            System.arraycopy(src, from, dest, from, length);
+            return;
+        }
+        for (int i = from, p = from, q = mid; i < to; i++) {
+            if (q >= to || (p < mid && compare(columns, src[p], src[q]) <= 0)) {
+                dest[i] = src[p++];
+            } else {
+                dest[i] = src[q++];
+            }
+        }
+    }
+
+    private static int compare(Column[] columns, int row, int otherRow) {
+        for (Column column : columns) {
+            int cmp = column.compare(row, otherRow);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return 0;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * A single key of the comparator.
+     */
+    abstract static class Key {
+        final boolean ascending;
+
+        Key(boolean ascending) {
+            this.ascending = ascending;
+        }
+
+        abstract int compare(Object bean, Object other);
+
+        abstract Column extract(Object[] beans);
+
+        final int direct(int cmp) {
+            return ascending ? cmp : -cmp;
+        }
+    }
+
+    /**
+     * The values of a single key extracted from every row.
+     */
+    interface Column {
+        int compare(int row, int otherRow);
+    }
+
+    /**
+     * The key for an {@code int} property.
+     */
+    private static final class IntKey extends Key {
+        private final IntMetaProperty property;
+
+        IntKey(IntMetaProperty property, boolean ascending) {
+            super(ascending);
+            this.property = property;
+        }
+
+        @Override
+        int compare(Object bean, Object other) {
+            return direct(Integer.compare(property.getInt(bean), property.getInt(other)));
+        }
+
+        @Override
+        Column extract(Object[] beans) {
+            int[] values = new int[beans.length];
+            for (int i = 0; i < beans.length; i++) {
+                values[i] = property.getInt(beans[i]);
+            }
+            return (row, otherRow) -> direct(Integer.compare(values[row], values[otherRow]));
+        }
+    }
+
+    /**
+     * The key for a {@code long} property.
+     */
+    private static final class LongKey extends Key {
+        private final LongMetaProperty property;
+
+        LongKey(LongMetaProperty property, boolean ascending) {
+            super(ascending);
+            this.property = property;
+        }
+
+        @Override
+        int compare(Object bean, Object other) {
+            return direct(Long.compare(property.getLong(bean), property.getLong(other)));
+        }
+
+        @Override
+        Column extract(Object[] beans) {
+            long[] values = new long[beans.length];
+            for (int i = 0; i < beans.length; i++) {
+                values[i] = property.getLong(beans[i]);
+            }
+            return (row, otherRow) -> direct(Long.compare(values[row], values[otherRow]));
+        }
+    }
+
+    /**
+     * The key for a {@code double} property, ordered as per {@link Double#compare(double, double)}.
+     */
+    private static final class DoubleKey extends Key {
+        private final DoubleMetaProperty property;
+
+        DoubleKey(DoubleMetaProperty property, boolean ascending) {
+            super(ascending);
+            this.property = property;
+        }
+
+        @Override
+        int compare(Object bean, Object other) {
+            return direct(Double.compare(property.getDouble(bean), property.getDouble(other)));
+        }
+
+        @Override
+        Column extract(Object[] beans) {
+            double[] values = new double[beans.length];
+            for (int i = 0; i < beans.length; i++) {
+                values[i] = property.getDouble(beans[i]);
+            }
+            return (row, otherRow) -> direct(Double.compare(values[row], values[otherRow]));
+        }
+    }
+
+    /**
+     * The key for any other property, which must be {@link Comparable}.
+     */
+    private static final class ComparableKey extends Key {
+        private final MetaProperty<?> property;
+        private final boolean nullsFirst;
+
+        ComparableKey(MetaProperty<?> property, boolean ascending, boolean nullsFirst) {
+            super(ascending);
+            this.property = property;
+            this.nullsFirst = nullsFirst;
+        }
+
+        @Override
+        int compare(Object bean, Object other) {
+            return compareValues(property.get(bean), property.get(other));
+        }
+
+        @Override
+        Column extract(Object[] beans) {
+            Object[] values = new Object[beans.length];
+            for (int i = 0; i < beans.length; i++) {
+                values[i] = property.get(beans[i]);
+            }
+            return (row, otherRow) -> compareValues(values[row], values[otherRow]);
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private int compareValues(Object value, Object otherValue) {
+            if (value == null) {
+                return otherValue == null ? 0 : (nullsFirst ? -1 : 1);
+            }
+            if (otherValue == null) {
+                return nullsFirst ? 1 : -1;
+            }
+            return direct(Integer.signum(((Comparable) value).compareTo(otherValue)));
+        }
+    }
+
+}
@@ -0,0 +1,202 @@
+/*
+ *  Copyright 2014-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.pa;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+import org.joda.pa.convert.StringConvert;
+import org.joda.pa.convert.StringConverter;
+
+/**
+ * The standard implementation of {@link BeanMapper}.
+ * <p>
+ * The matched properties are compiled into two plans, one for the buildable
+ * properties of the target used by {@link #map(Object)}, and one for the mutable
+ * properties used by {@link #copy(Object, Object)}. Each plan is a set of parallel
+ * arrays, read with the {@link MetaProperty#unchecked() unchecked accessors}
+ * once the bean has been validated.
+ * The pool of target bean builders is obtained once, when the mapper is created.
+ */
+final class CompiledBeanMapper implements BeanMapper {
+
+    private final MetaBean sourceMetaBean;
+    private final MetaBean targetMetaBean;
+    private final BeanBuilderPool builderPool;
+    private final Plan buildPlan;
+    private final Plan copyPlan;
+
+    /**
+     * Creates a mapper, matching the properties.
+     *
+     * @param sourceMetaBean  the source meta-bean, not null
+     * @param targetMetaBean  the target meta-bean, not null
+     * @param stringConvert  the string converter, not null
+     */
+    CompiledBeanMapper(MetaBean sourceMetaBean, MetaBean targetMetaBean, StringConvert stringConvert) {
+        this.sourceMetaBean = sourceMetaBean;
+        this.targetMetaBean = targetMetaBean;
+        this.builderPool = targetMetaBean.beanBuilderPool();
+        this.buildPlan = new Plan(sourceMetaBean, targetMetaBean, stringConvert, MetaProperty::isBuildable);
+        this.copyPlan = new Plan(sourceMetaBean, targetMetaBean, stringConvert, MetaProperty::isMutable);
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public MetaBean sourceMetaBean() {
+        return sourceMetaBean;
+    }
+
+    @Override
+    public MetaBean targetMetaBean() {
+        return targetMetaBean;
+    }
+
+    @Override
+    public Object map(Object source) {
+        ensureBeanHasCorrectType(sourceMetaBean, source, "source");
+        BeanBuilderPool pool = builderPool;
+        BeanBuilder<?> builder = pool.acquire();
+        try {
+            Plan plan = buildPlan;
+            for (int i = 0; i < plan.size; i++) {
+                builder.set(plan.targets[i], plan.read(i, source));
+            }
+            return builder.build();
+        } finally {
+            pool.release(builder);
+        }
+    }
+
+    @Override
+    public void copy(Object source, Object target) {
+        ensureBeanHasCorrectType(sourceMetaBean, source, "source");
+        ensureBeanHasCorrectType(targetMetaBean, target, "target");
+        Plan plan = copyPlan;
+        for (int i = 0; i < plan.size; i++) {
+            Object value = plan.read(i, source);
+            if (value != null || !plan.primitive[i]) {
+                plan.writers[i].set(target, value);
+            }
+        }
+    }
+
+    private static void ensureBeanHasCorrectType(MetaBean metaBean, Object bean, String argumentName) {
+        Objects.requireNonNull(bean, "The argument '" + argumentName + "' must not be null.");
+        if (!metaBean.beanType().isInstance(bean)) {
+            String message = "The specified bean " + bean + " is of type '"
+                    + bean.getClass() + "' which is not assignment compatible"
+                    + " with the meta-bean's type '"
+                    + metaBean.beanType() + "'.";
+            throw new ClassCastException(message);
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public String toString() {
+        return "BeanMapper:" + sourceMetaBean.beanType().getName() + "->" + targetMetaBean.beanType().getName();
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The matched properties, as parallel arrays.
+     */
+    private static final class Plan {
+
+        private final int size;
+        private final PropertyAccessor<?>[] readers;
+        private final MetaProperty<?>[] targets;
+        private final PropertyAccessor<?>[] writers;
+        private final boolean[] primitive;
+        /**
+         * The converter of the source type, null if the value is assigned directly.
+         */
+        private final StringConverter[] sourceConverters;
+        /**
+         * The converter of the target type, null if the value is assigned directly.
+         */
+        private final StringConverter[] targetConverters;
+        private final Class<?>[] targetTypes;
+
+        private Plan(
+                MetaBean sourceMetaBean,
+                MetaBean targetMetaBean,
+                StringConvert stringConvert,
+                Predicate<MetaProperty<?>> targetFilter) {
+
+            List<MetaProperty<?>> sources = new ArrayList<>();
+            List<MetaProperty<?>> targets = new ArrayList<>();
+            List<StringConverter[]> converters = new ArrayList<>();
+            for (MetaProperty<?> target : targetMetaBean.metaPropertyList()) {
+                Optional<MetaProperty<?>> source = sourceMetaBean.metaProperty(target.name());
+                if (!targetFilter.test(target) || !source.isPresent() || !isReadable(source.get())) {
+                    continue;
+                }
+                Class<?> sourceType = AbstractMetaProperty.boxed(source.get().propertyType());
+                Class<?> targetType = AbstractMetaProperty.boxed(target.propertyType());
+                if (targetType.isAssignableFrom(sourceType)) {
+                    converters.add(new StringConverter[2]);
+                } else if (stringConvert.isConvertible(sourceType) && stringConvert.isConvertible(targetType)) {
+                    converters.add(new StringConverter[] {
+                        stringConvert.findConverter(sourceType), stringConvert.findConverter(targetType)});
+                } else {
+                    continue;
+                }
+                sources.add(source.get());
+                targets.add(target);
+            }
+
+            this.size = targets.size();
+            this.readers = new PropertyAccessor<?>[size];
+            this.targets = targets.toArray(new MetaProperty<?>[size]);
+            this.writers = new PropertyAccessor<?>[size];
+            this.primitive = new boolean[size];
+            this.sourceConverters = new StringConverter[size];
+            this.targetConverters = new StringConverter[size];
+            this.targetTypes = new Class<?>[size];
+            for (int i = 0; i < size; i++) {
+                readers[i] = sources.get(i).unchecked();
+                writers[i] = targets.get(i).unchecked();
+                primitive[i] = targets.get(i).propertyType().isPrimitive();
+                sourceConverters[i] = converters.get(i)[0];
+                targetConverters[i] = converters.get(i)[1];
+                targetTypes[i] = AbstractMetaProperty.boxed(targets.get(i).propertyType());
+            }
+        }
+
+        private static boolean isReadable(MetaProperty<?> metaProperty) {
+            return !(metaProperty instanceof AbstractMetaProperty) ||
+                    ((AbstractMetaProperty<?>) metaProperty).isReadable();
+        }
+
+        /**
+         * Reads and converts the value of a matched property.
+         */
+        private Object read(int i, Object source) {
+            Object value = readers[i].get(source);
+            if (value == null || sourceConverters[i] == null) {
+                return value;
+            }
+            String str = sourceConverters[i].convertToString(value);
+            return str == null ? null : targetConverters[i].convertFromString(targetTypes[i], str);
+        }
+    }
+
+}
@@ -0,0 +1,364 @@
+/*
+ *  Copyright 2014-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.pa;
+
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * The standard implementation of {@link BeanMethods}.
+ * <p>
+ * Each property is compiled into an {@link Element} specialized for its type,
+ * with the elements held in an array and called in a simple loop.
+ * Each method validates the beans once, before the loop, so the elements read
+ * the properties without checking the bean again. The primitive elements of an
+ * {@link AbstractMetaProperty} call its primitive hooks, such as
+ * {@link AbstractMetaProperty#getIntFromBean(Object)}, avoiding both boxing and the checks.
+ * Other primitive elements use the methods of {@link IntMetaProperty} and friends.
+ * Other properties are read by the {@link MetaProperty#unchecked() unchecked accessor}.
+ */
+final class CompiledBeanMethods implements BeanMethods, Comparator<Object> {
+
+    private final MetaBean metaBean;
+    private final Element[] elements;
+    /**
+     * The first property that is not comparable, null if all are.
+     */
+    private final MetaProperty<?> notComparable;
+
+    /**
+     * Creates an instance, compiling the properties.
+     *
+     * @param metaBean  the meta-bean, not null
+     */
+    CompiledBeanMethods(MetaBean metaBean) {
+        this.metaBean = metaBean;
+        this.elements = metaBean.metaProperties()
+                .filter(mp -> !mp.isDerived() && isReadable(mp))
+                .map(CompiledBeanMethods::element)
+                .toArray(Element[]::new);
+        this.notComparable = metaBean.metaProperties()
+                .filter(mp -> !mp.isDerived() && isReadable(mp))
+                .filter(mp -> !mp.propertyType().isPrimitive() && !Comparable.class.isAssignableFrom(mp.propertyType()))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static boolean isReadable(MetaProperty<?> metaProperty) {
+        return !(metaProperty instanceof AbstractMetaProperty) ||
+                ((AbstractMetaProperty<?>) metaProperty).isReadable();
+    }
+
+    private static Element element(MetaProperty<?> metaProperty) {
+        if (metaProperty instanceof IntMetaProperty) {
+            return new IntElement((IntMetaProperty) metaProperty);
+        } else if (metaProperty instanceof LongMetaProperty) {
+            return new LongElement((LongMetaProperty) metaProperty);
+        } else if (metaProperty instanceof DoubleMetaProperty) {
+            return new DoubleElement((DoubleMetaProperty) metaProperty);
+        } else if (metaProperty instanceof BooleanMetaProperty) {
+            return new BooleanElement((BooleanMetaProperty) metaProperty);
+        }
+        return new ObjectElement(metaProperty);
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public MetaBean metaBean() {
+        return metaBean;
+    }
+
+    @Override
+    public boolean equal(Object bean, Object other) {
+        ensureBeanHasCorrectType(bean);
+        if (bean == other) {
+            return true;
+        }
+        if (other == null || bean.getClass() != other.getClass()) {
+            return false;
+        }
+        for (Element element : elements) {
+            if (!element.equal(bean, other)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hash(Object bean) {
+        ensureBeanHasCorrectType(bean);
+        int result = 1;
+        for (Element element : elements) {
+            result = 31 * result + element.hash(bean);
+        }
+        return result;
+    }
+
+    @Override
+    public String toString(Object bean) {
+        ensureBeanHasCorrectType(bean);
+        StringBuilder buf = new StringBuilder(32 + elements.length * 16);
+        buf.append(bean.getClass().getSimpleName()).append('[');
+        for (int i = 0; i < elements.length; i++) {
+            if (i > 0) {
+                buf.append(", ");
+            }
+            buf.append(elements[i].name).append('=');
+            elements[i].append(buf, bean);
+        }
+        return buf.append(']').toString();
+    }
+
+    @Override
+    public Comparator<Object> comparator() {
+        if (notComparable != null) {
+            String message = "The meta-property '" + notComparable.name() + "' of type '"
+                    + notComparable.propertyType() + "' is not comparable.";
+            throw new UnsupportedOperationException(message);
+        }
+        return this;
+    }
+
+    @Override
+    public int compare(Object bean, Object other) {
+        ensureBeanHasCorrectType(bean);
+        ensureBeanHasCorrectType(other);
+        for (Element element : elements) {
+            int cmp = element.compare(bean, other);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return 0;
+    }
+
+    private void ensureBeanHasCorrectType(Object bean) {
+        Objects.requireNonNull(bean, "The argument 'bean' must not be null.");
+        if (!metaBean.beanType().isInstance(bean)) {
+            String message = "The specified bean " + bean + " is of type '"
+                    + bean.getClass() + "' which is not assignment compatible"
+                    + " with the meta-bean's type '"
+                    + metaBean.beanType() + "'.";
+            throw new ClassCastException(message);
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public String toString() {
+        return "BeanMethods:" + metaBean.beanType().getName();
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The compiled methods for a single property.
+     */
+    private abstract static class Element {
+        final String name;
+
+        Element(MetaProperty<?> metaProperty) {
+            this.name = metaProperty.name();
+        }
+
+        abstract boolean equal(Object bean, Object other);
+
+        abstract int hash(Object bean);
+
+        abstract void append(StringBuilder buf, Object bean);
+
+        abstract int compare(Object bean, Object other);
+    }
+
+    /**
+     * The element for an {@code int} property.
+     */
+    private static final class IntElement extends Element {
+        private final ToIntFunction<Object> getter;
+
+        IntElement(IntMetaProperty metaProperty) {
+            super(metaProperty);
+            this.getter = metaProperty instanceof AbstractMetaProperty ?
+                    ((AbstractMetaProperty<?>) metaProperty)::getIntFromBean :
+                    metaProperty::getInt;
+        }
+
+        @Override
+        boolean equal(Object bean, Object other) {
+            return getter.applyAsInt(bean) == getter.applyAsInt(other);
+        }
+
+        @Override
+        int hash(Object bean) {
+            return getter.applyAsInt(bean);
+        }
+
+        @Override
+        void append(StringBuilder buf, Object bean) {
+            buf.append(getter.applyAsInt(bean));
+        }
+
+        @Override
+        int compare(Object bean, Object other) {
+            return Integer.compare(getter.applyAsInt(bean), getter.applyAsInt(other));
+        }
+    }
+
+    /**
+     * The element for a {@code long} property.
+     */
+    private static final class LongElement extends Element {
+        private final ToLongFunction<Object> getter;
+
+        LongElement(LongMetaProperty metaProperty) {
+            super(metaProperty);
+            this.getter = metaProperty instanceof AbstractMetaProperty ?
+                    ((AbstractMetaProperty<?>) metaProperty)::getLongFromBean :
+                    metaProperty::getLong;
+        }
+
+        @Override
+        boolean equal(Object bean, Object other) {
+            return getter.applyAsLong(bean) == getter.applyAsLong(other);
+        }
+
+        @Override
+        int hash(Object bean) {
+            return Long.hashCode(getter.applyAsLong(bean));
+        }
+
+        @Override
+        void append(StringBuilder buf, Object bean) {
+            buf.append(getter.applyAsLong(bean));
+        }
+
+        @Override
+        int compare(Object bean, Object other) {
+            return Long.compare(getter.applyAsLong(bean), getter.applyAsLong(other));
+        }
+    }
+
+    /**
+     * The element for a {@code double} property, equal as per {@link Double#equals(Object)}.
+     */
+    private static final class DoubleElement extends Element {
+        private final ToDoubleFunction<Object> getter;
+
+        DoubleElement(DoubleMetaProperty metaProperty) {
+            super(metaProperty);
+            this.getter = metaProperty instanceof AbstractMetaProperty ?
+                    ((AbstractMetaProperty<?>) metaProperty)::getDoubleFromBean :
+                    metaProperty::getDouble;
+        }
+
+        @Override
+        boolean equal(Object bean, Object other) {
+            return compare(bean, other) == 0;
+        }
+
+        @Override
+        int hash(Object bean) {
+            return Double.hashCode(getter.applyAsDouble(bean));
+        }
+
+        @Override
+        void append(StringBuilder buf, Object bean) {
+            buf.append(getter.applyAsDouble(bean));
+        }
+
+        @Override
+        int compare(Object bean, Object other) {
+            return Double.compare(getter.applyAsDouble(bean), getter.applyAsDouble(other));
+        }
+    }
+
+    /**
+     * The element for a {@code boolean} property.
+     */
+    private static final class BooleanElement extends Element {
+        private final Predicate<Object> getter;
+
+        BooleanElement(BooleanMetaProperty metaProperty) {
+            super(metaProperty);
+            this.getter = metaProperty instanceof AbstractMetaProperty ?
+                    ((AbstractMetaProperty<?>) metaProperty)::getBooleanFromBean :
+                    metaProperty::getBoolean;
+        }
+
+        @Override
+        boolean equal(Object bean, Object other) {
+            return getter.test(bean) == getter.test(other);
+        }
+
+        @Override
+        int hash(Object bean) {
+            return Boolean.hashCode(getter.test(bean));
+        }
+
+        @Override
+        void append(StringBuilder buf, Object bean) {
+            buf.append(getter.test(bean));
+        }
+
+        @Override
+        int compare(Object bean, Object other) {
+            return Boolean.compare(getter.test(bean), getter.test(other));
+        }
+    }
+
+    /**
+     * The element for any other property.
+     */
+    private static final class ObjectElement extends Element {
+        private final PropertyAccessor<?> accessor;
+
+        ObjectElement(MetaProperty<?> metaProperty) {
+            super(metaProperty);
+            this.accessor = metaProperty.unchecked();
+        }
+
+        @Override
+        boolean equal(Object bean, Object other) {
+            return Objects.equals(accessor.get(bean), accessor.get(other));
+        }
+
+        @Override
+        int hash(Object bean) {
+            return Objects.hashCode(accessor.get(bean));
+        }
+
+        @Override
+        void append(StringBuilder buf, Object bean) {
+            buf.append(accessor.get(bean));
+        }
+
+        @Override
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        int compare(Object bean, Object other) {
+            Comparable value = (Comparable) accessor.get(bean);
+            Comparable otherValue = (Comparable) accessor.get(other);
+            if (value == null) {
+                return otherValue == null ? 0 : -1;
+            }
+            return otherValue == null ? 1 : value.compareTo(otherValue);
+        }
+    }
+
+}
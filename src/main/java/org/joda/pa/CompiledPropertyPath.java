@@ -0,0 +1,205 @@
+/*
+ *  Copyright 2014-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.pa;
+
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The standard implementation of {@link PropertyPath}.
+ * <p>
+ * Each step of the path holds a polymorphic inline cache, the runtime classes
+ * of up to four beans seen and their resolved meta-properties. When the class of the bean
+ * matches, the value is read with the {@link MetaProperty#unchecked() unchecked accessor},
+ * as the class check is also the type check. Otherwise the property is resolved
+ * against the runtime class, and added to the cache.
+ * <p>
+ * Once the cache is full the step is megamorphic. The cached classes continue to
+ * be matched, but any other class is resolved on each call via {@link MetaBean#of(Class)},
+ * without replacing a cached class, to avoid the cost of the cache thrashing.
+ */
+final class CompiledPropertyPath implements PropertyPath {
+
+    /**
+     * The maximum number of classes cached by each step.
+     */
+    private static final int CACHE_SIZE = 4;
+
+    private final MetaBean rootMetaBean;
+    private final String path;
+    private final Step[] steps;
+
+    /**
+     * Creates an instance, resolving the path against the declared types.
+     *
+     * @param rootMetaBean  the root meta-bean, not null
+     * @param path  the path, not null
+     */
+    CompiledPropertyPath(MetaBean rootMetaBean, String path) {
+        this.rootMetaBean = rootMetaBean;
+        this.path = path;
+        String[] names = path.split("\\.", -1);
+        this.steps = new Step[names.length];
+        MetaBean metaBean = rootMetaBean;
+        for (int i = 0; i < names.length; i++) {
+            String name = names[i];
+            if (name.isEmpty()) {
+                throw new IllegalArgumentException("The property path '" + path + "' is invalid.");
+            }
+            MetaBean current = metaBean;
+            MetaProperty<?> metaProperty = current.metaProperty(name).orElseThrow(
+                    () -> new IllegalArgumentException("The property path '" + path
+                            + "' is invalid, as '" + name + "' is not a property of " + current + "."));
+            steps[i] = new Step(rootMetaBean, name, current.beanType(), metaProperty);
+            if (i < names.length - 1) {
+                metaBean = MetaBean.of(AbstractMetaProperty.boxed(metaProperty.propertyType()));
+            }
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public MetaBean rootMetaBean() {
+        return rootMetaBean;
+    }
+
+    @Override
+    public String path() {
+        return path;
+    }
+
+    @Override
+    public Object get(Object bean) {
+        Object current = bean;
+        for (Step step : steps) {
+            if (current == null) {
+                return null;
+            }
+            current = step.resolve(current).accessor.get(current);
+        }
+        return current;
+    }
+
+    @Override
+    public boolean set(Object bean, Object value) {
+        Object current = bean;
+        int last = steps.length - 1;
+        for (int i = 0; i < last; i++) {
+            if (current == null) {
+                return false;
+            }
+            current = steps[i].resolve(current).accessor.get(current);
+        }
+        if (current == null) {
+            return false;
+        }
+        // the checked setter validates the value, which the caller has not
+        steps[last].resolve(current).metaProperty.set(current, value);
+        return true;
+    }
+
+    /**
+     * Gets the classes cached by the step at the specified index, most recent first.
+     *
+     * @param index  the index of the step
+     * @return the cached classes, not null
+     */
+    List<Class<?>> cachedTypes(int index) {
+        List<Class<?>> types = new ArrayList<>();
+        for (Entry entry = steps[index].cache; entry != null; entry = entry.next) {
+            types.add(entry.type);
+        }
+        return types;
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public String toString() {
+        return "PropertyPath:" + path;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * A single step of the path, with its inline cache.
+     */
+    private static final class Step {
+        private final MetaBean rootMetaBean;
+        private final String name;
+        private final Class<?> declaredType;
+        /**
+         * The cache, a chain of entries, null if empty.
+         * This is racy but safe, as the entries are immutable.
+         */
+        private Entry cache;
+
+        private Step(MetaBean rootMetaBean, String name, Class<?> declaredType, MetaProperty<?> metaProperty) {
+            this.rootMetaBean = rootMetaBean;
+            this.name = name;
+            this.declaredType = declaredType;
+            // an interface or abstract class is never the runtime class, so would waste a slot
+            if (!declaredType.isInterface() && !Modifier.isAbstract(declaredType.getModifiers())) {
+                this.cache = new Entry(declaredType, metaProperty, null);
+            }
+        }
+
+        private Entry resolve(Object bean) {
+            Entry first = cache;
+            Class<?> type = bean.getClass();
+            for (Entry entry = first; entry != null; entry = entry.next) {
+                if (entry.type == type) {
+                    return entry;
+                }
+            }
+            if (!declaredType.isInstance(bean)) {
+                // only possible for the root, as later beans are returned by typed properties
+                String message = "The specified bean " + bean + " is of type '"
+                        + type + "' which is not assignment compatible"
+                        + " with the meta-bean's type '" + declaredType + "'.";
+                throw new ClassCastException(message);
+            }
+            MetaBean metaBean = rootMetaBean.beanType() == type ? rootMetaBean : MetaBean.of(type);
+            MetaProperty<?> metaProperty = metaBean.metaProperty(name).orElseThrow(
+                    () -> new IllegalStateException("The property '" + name + "' is not found on " + type + "."));
+            Entry entry = new Entry(type, metaProperty, first);
+            if (entry.size <= CACHE_SIZE) {
+                cache = entry;
+            }
+            return entry;
+        }
+    }
+
+    /**
+     * A cache entry, the runtime class of the bean and the resolved property,
+     * linked to the entries cached before it.
+     */
+    private static final class Entry {
+        private final Class<?> type;
+        private final MetaProperty<?> metaProperty;
+        private final PropertyAccessor<?> accessor;
+        private final Entry next;
+        private final int size;
+
+        private Entry(Class<?> type, MetaProperty<?> metaProperty, Entry next) {
+            this.type = type;
+            this.metaProperty = metaProperty;
+            this.accessor = metaProperty.unchecked();
+            this.next = next;
+            this.size = next == null ? 1 : next.size + 1;
+        }
+    }
+
+}
@@ -0,0 +1,245 @@
+/*
+ *  Copyright 2014-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.pa;
+
+import java.lang.constant.ConstantDescs;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+
+/**
+ * The template of the hidden classes created by {@link PropertyHandles}.
+ * <p>
+ * This class is never used directly. Each hidden class defined from its bytes
+ * reads the handles from its class data into {@code static final} fields.
+ */
+final class ConstantPropertyHandles extends PropertyHandles {
+
+    private static final MethodHandle GET_HANDLE;
+    private static final MethodHandle SET_HANDLE;
+    private static final MethodHandle GET_PRIMITIVE_HANDLE;
+    private static final MethodHandle SET_PRIMITIVE_HANDLE;
+    private static final MethodHandle GET_VOLATILE_HANDLE;
+    private static final MethodHandle GET_ACQUIRE_HANDLE;
+    private static final MethodHandle GET_OPAQUE_HANDLE;
+    private static final MethodHandle SET_VOLATILE_HANDLE;
+    private static final MethodHandle SET_RELEASE_HANDLE;
+    private static final MethodHandle SET_OPAQUE_HANDLE;
+    private static final MethodHandle COMPARE_AND_SET_HANDLE;
+    private static final MethodHandle WEAK_COMPARE_AND_SET_HANDLE;
+    private static final MethodHandle GET_AND_SET_HANDLE;
+    static {
+        try {
+            Lookup lookup = MethodHandles.lookup();
+            GET_HANDLE = handle(lookup, GET);
+            SET_HANDLE = handle(lookup, SET);
+            GET_PRIMITIVE_HANDLE = handle(lookup, GET_PRIMITIVE);
+            SET_PRIMITIVE_HANDLE = handle(lookup, SET_PRIMITIVE);
+            GET_VOLATILE_HANDLE = handle(lookup, GET_VOLATILE);
+            GET_ACQUIRE_HANDLE = handle(lookup, GET_ACQUIRE);
+            GET_OPAQUE_HANDLE = handle(lookup, GET_OPAQUE);
+            SET_VOLATILE_HANDLE = handle(lookup, SET_VOLATILE);
+            SET_RELEASE_HANDLE = handle(lookup, SET_RELEASE);
+            SET_OPAQUE_HANDLE = handle(lookup, SET_OPAQUE);
+            COMPARE_AND_SET_HANDLE = handle(lookup, COMPARE_AND_SET);
+            WEAK_COMPARE_AND_SET_HANDLE = handle(lookup, WEAK_COMPARE_AND_SET);
+            GET_AND_SET_HANDLE = handle(lookup, GET_AND_SET);
+        } catch (IllegalAccessException ex) {
+            throw new ExceptionInInitializerError(ex);
+        }
+    }
+
+    private static MethodHandle handle(Lookup lookup, int index) throws IllegalAccessException {
+        return MethodHandles.classDataAt(lookup, ConstantDescs.DEFAULT_NAME, MethodHandle.class, index);
+    }
+
+    private ConstantPropertyHandles() {
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    Object get(Object bean) {
+        try {
+            return (Object) GET_HANDLE.invokeExact(bean);
+        } catch (Throwable ex) {
+            throw unchecked(ex);
+        }
+    }
+
+    @Override
+    void set(Object bean, Object value) {
+        try {
+            SET_HANDLE.invokeExact(bean, value);
+        } catch (Throwable ex) {
+            throw unchecked(ex);
+        }
+    }
+
+    @Override
+    int getInt(Object bean) {
+        try {
+            return (int) GET_PRIMITIVE_HANDLE.invokeExact(bean);
+        } catch (Throwable ex) {
+            throw unchecked(ex);
+        }
+    }
+
+    @Override
+    void setInt(Object bean, int value) {
+        try {
+            SET_PRIMITIVE_HANDLE.invokeExact(bean, value);
+        } catch (Throwable ex) {
+            throw unchecked(ex);
+        }
+    }
+
+    @Override
+    long getLong(Object bean) {
+        try {
+            return (long) GET_PRIMITIVE_HANDLE.invokeExact(bean);
+        } catch (Throwable ex) {
+            throw unchecked(ex);
+        }
+    }
+
+    @Override
+    void setLong(Object bean, long value) {
+        try {
+            SET_PRIMITIVE_HANDLE.invokeExact(bean, value);
+        } catch (Throwable ex) {
+            throw unchecked(ex);
+        }
+    }
+
+    @Override
+    double getDouble(Object bean) {
+        try {
+            return (double) GET_PRIMITIVE_HANDLE.invokeExact(bean);
+        } catch (Throwable ex) {
+            throw unchecked(ex);
+        }
+    }
+
+    @Override
+    void setDouble(Object bean, double value) {
+        try {
+            SET_PRIMITIVE_HANDLE.invokeExact(bean, value);
+        } catch (Throwable ex) {
+            throw unchecked(ex);
+        }
+    }
+
+    @Override
+    boolean getBoolean(Object bean) {
+        try {
+            return (boolean) GET_PRIMITIVE_HANDLE.invokeExact(bean);
+        } catch (Throwable ex) {
+            throw unchecked(ex);
+        }
+    }
+
+    @Override
+    void setBoolean(Object bean, boolean value) {
+        try {
+            SET_PRIMITIVE_HANDLE.invokeExact(bean, value);
+        } catch (Throwable ex) {
+            throw unchecked(ex);
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    Object getVolatile(Object bean) {
+        try {
+            return (Object) GET_VOLATILE_HANDLE.invokeExact(bean);
+        } catch (Throwable ex) {
+            throw unchecked(ex);
+        }
+    }
+
+    @Override
+    Object getAcquire(Object bean) {
+        try {
+            return (Object) GET_ACQUIRE_HANDLE.invokeExact(bean);
+        } catch (Throwable ex) {
+            throw unchecked(ex);
+        }
+    }
+
+    @Override
+    Object getOpaque(Object bean) {
+        try {
+            return (Object) GET_OPAQUE_HANDLE.invokeExact(bean);
+        } catch (Throwable ex) {
+            throw unchecked(ex);
+        }
+    }
+
+    @Override
+    void setVolatile(Object bean, Object value) {
+        try {
+            SET_VOLATILE_HANDLE.invokeExact(bean, value);
+        } catch (Throwable ex) {
+            throw unchecked(ex);
+        }
+    }
+
+    @Override
+    void setRelease(Object bean, Object value) {
+        try {
+            SET_RELEASE_HANDLE.invokeExact(bean, value);
+        } catch (Throwable ex) {
+            throw unchecked(ex);
+        }
+    }
+
+    @Override
+    void setOpaque(Object bean, Object value) {
+        try {
+            SET_OPAQUE_HANDLE.invokeExact(bean, value);
+        } catch (Throwable ex) {
+            throw unchecked(ex);
+        }
+    }
+
+    @Override
+    boolean compareAndSet(Object bean, Object expectedValue, Object newValue) {
+        try {
+            return (boolean) COMPARE_AND_SET_HANDLE.invokeExact(bean, expectedValue, newValue);
+        } catch (Throwable ex) {
+            throw unchecked(ex);
+        }
+    }
+
+    @Override
+    boolean weakCompareAndSet(Object bean, Object expectedValue, Object newValue) {
+        try {
+            return (boolean) WEAK_COMPARE_AND_SET_HANDLE.invokeExact(bean, expectedValue, newValue);
+        } catch (Throwable ex) {
+            throw unchecked(ex);
+        }
+    }
+
+    @Override
+    Object getAndSet(Object bean, Object newValue) {
+        try {
+            return (Object) GET_AND_SET_HANDLE.invokeExact(bean, newValue);
+        } catch (Throwable ex) {
+            throw unchecked(ex);
+        }
+    }
+
+}
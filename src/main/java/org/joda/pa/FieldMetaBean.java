@@ -0,0 +1,112 @@
+/*
+ *  Copyright 2014-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.pa;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link MetaBean} which reflects on the instance fields of a class.
+ * <p>
+ * Each non-static field is a property, accessed directly whatever its visibility.
+ * The properties are ordered by declaration order, superclass fields first.
+ * A field hidden by a field of the same name in a subclass is not a property.
+ * <p>
+ * A {@code final} field is a read-only {@link FieldMetaProperty}.
+ * Any other field is a read-write {@link VarHandleMetaProperty}, thus the memory
+ * ordering and atomic methods access the field directly.
+ * <p>
+ * The bean is buildable if the class has a public constructor or a public static
+ * factory method named {@code of} whose parameters match the properties,
+ * see {@link BeanCreator}. In that case, every property that is a parameter or
+ * is not {@code final} is buildable.
+ */
+final class FieldMetaBean extends AbstractMetaBean {
+
+    /**
+     * Introspects the specified type.
+     *
+     * @param beanType  the type to introspect, not null
+     * @return the meta-bean, not null
+     */
+    static FieldMetaBean introspect(Class<?> beanType) {
+        return new FieldMetaBean(beanType);
+    }
+
+    private FieldMetaBean(Class<?> beanType) {
+        super(beanType);
+        List<Field> fields = new ArrayList<>(findFields(beanType).values());
+        BeanCreator creator = findCreator(fields);
+        init(creator, createMetaProperties(fields, creator));
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Finds the instance fields, keyed by name in property order.
+     */
+    private static Map<String, Field> findFields(Class<?> beanType) {
+        List<Class<?>> hierarchy = new ArrayList<>();
+        for (Class<?> cls = beanType; cls != null && cls != Object.class; cls = cls.getSuperclass()) {
+            hierarchy.add(0, cls);
+        }
+        Map<String, Field> fields = new LinkedHashMap<>();
+        for (Class<?> cls : hierarchy) {
+            for (Field field : cls.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers()) && !field.isSynthetic()) {
+                    // a field in a subclass hides the field in the superclass
+                    fields.put(field.getName(), field);
+                }
+            }
+        }
+        return fields;
+    }
+
+    private BeanCreator findCreator(List<Field> fields) {
+        List<String> propertyNames = new ArrayList<>(fields.size());
+        List<Class<?>> propertyTypes = new ArrayList<>(fields.size());
+        boolean[] setters = new boolean[fields.size()];
+        for (Field field : fields) {
+            setters[propertyNames.size()] = !Modifier.isFinal(field.getModifiers());
+            propertyNames.add(field.getName());
+            propertyTypes.add(field.getType());
+        }
+        return BeanCreator.find(this, propertyNames, propertyTypes, setters);
+    }
+
+    private List<MetaProperty<?>> createMetaProperties(List<Field> fields, BeanCreator creator) {
+        List<MetaProperty<?>> result = new ArrayList<>(fields.size());
+        for (Field field : fields) {
+            boolean buildable = creator != null && creator.isBuildable(result.size());
+            boolean mutable = !Modifier.isFinal(field.getModifiers());
+            result.add(VarHandleMetaProperty.create(
+                    this, field.getName(), field.getType(),
+                    false, buildable, true, mutable,
+                    field));
+        }
+        return result;
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    protected String notBuildableMessage() {
+        return "The bean type '" + beanType() + "' has no public constructor or static factory to build it.";
+    }
+
+}
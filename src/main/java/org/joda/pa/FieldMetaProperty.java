@@ -16,18 +16,33 @@
 package org.joda.pa;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Field;
 import java.util.stream.Stream;
 
 /**
  * A {@link MetaProperty} which reflects on a {@link Field}
  * (provided during construction) to get/set values and access annotations.
+ * <p>
+ * The field is converted to getter and setter {@link MethodHandle}s during construction,
+ * which are held as constants by {@link PropertyHandles}. Each call is then
+ * inlined by the JIT, avoiding the access checks and boxing of {@link Field#get(Object)}.
  * 
  * @param <P> the type of the property content
  */
 class FieldMetaProperty<P> extends AbstractMetaProperty<P> {
 
     private final Field backingField;
+    private final PropertyHandles handles;
+    /**
+     * Whether the property type is primitive, and so cannot be set to null.
+     */
+    private final boolean primitive;
+    /**
+     * The annotations of the field, cached as each query would clone them.
+     */
+    private final Annotation[] annotations;
 
     /**
      * This constructor does not check these arguments.
@@ -39,75 +54,227 @@ class FieldMetaProperty<P> extends AbstractMetaProperty<P> {
             boolean readable, boolean mutable,
             Field backingField) {
 
+        this(metaBean, name, propertyTypeToken,
+                derived, buildable, readable, mutable,
+                backingField, createHandles(backingField, readable, mutable));
+    }
+
+    /**
+     * Creates an instance accessing the field using the specified handles.
+     * <p>
+     * This constructor does not check these arguments.
+     * It relies on the calling builder to do so.
+     */
+    FieldMetaProperty(
+            MetaBean metaBean, String name, Class<P> propertyTypeToken,
+            boolean derived, boolean buildable,
+            boolean readable, boolean mutable,
+            Field backingField, PropertyHandles handles) {
+
         super(metaBean, name, propertyTypeToken,
                 derived, buildable, readable, mutable);
 
         this.backingField = backingField;
-        makeAccessible(backingField);
+        this.annotations = backingField.getAnnotations();
+        this.handles = handles;
+        this.primitive = propertyTypeToken.isPrimitive();
     }
 
     //-----------------------------------------------------------------------
-    private static void makeAccessible(Field backingField) {
+    /**
+     * Creates a meta-property, choosing a specialized implementation
+     * for a property of type {@code int}, {@code long}, {@code double} or {@code boolean}.
+     * <p>
+     * This method does not check these arguments.
+     * It relies on the calling builder to do so.
+     */
+    @SuppressWarnings("unchecked")
+    static <P> FieldMetaProperty<P> create(
+            MetaBean metaBean, String name, Class<P> propertyTypeToken,
+            boolean derived, boolean buildable,
+            boolean readable, boolean mutable,
+            Field backingField) {
+
+        if (propertyTypeToken == int.class) {
+            return (FieldMetaProperty<P>) new OfInt(
+                    metaBean, name, derived, buildable, readable, mutable, backingField);
+        } else if (propertyTypeToken == long.class) {
+            return (FieldMetaProperty<P>) new OfLong(
+                    metaBean, name, derived, buildable, readable, mutable, backingField);
+        } else if (propertyTypeToken == double.class) {
+            return (FieldMetaProperty<P>) new OfDouble(
+                    metaBean, name, derived, buildable, readable, mutable, backingField);
+        } else if (propertyTypeToken == boolean.class) {
+            return (FieldMetaProperty<P>) new OfBoolean(
+                    metaBean, name, derived, buildable, readable, mutable, backingField);
+        }
+        return new FieldMetaProperty<>(
+                metaBean, name, propertyTypeToken,
+                derived, buildable, readable, mutable,
+                backingField);
+    }
+
+    /**
+     * Creates the handles to get and set the field, making it accessible.
+     */
+    static PropertyHandles createHandles(Field backingField, boolean readable, boolean mutable) {
         backingField.setAccessible(true);
+        try {
+            // a final field can be written as it has been made accessible
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            return PropertyHandles.of(
+                    readable ? lookup.unreflectGetter(backingField) : null,
+                    mutable ? lookup.unreflectSetter(backingField) : null);
+        } catch (IllegalAccessException ex) {
+            // because the backing field is made accessible during construction,
+            // this exception should never occur
+            String message = "The field backing this meta-property is not accessible.";
+            throw new RuntimeException(message, ex);
+        }
     }
 
     //-----------------------------------------------------------------------
+    /**
+     * Gets the field backing this meta-property.
+     * 
+     * @return the backing field, not null
+     */
+    final Field backingField() {
+        return backingField;
+    }
+
+    /**
+     * Gets the handles used to access the field.
+     * 
+     * @return the handles, not null
+     */
+    final PropertyHandles handles() {
+        return handles;
+    }
+
     @Override
     public Stream<Annotation> annotations() {
-        return Stream.of(backingField.getAnnotations());
+        return Stream.of(annotations);
     }
 
     @Override
     public <A extends Annotation> Stream<A> annotations(Class<A> annotationType) {
-        A annotation = backingField.getAnnotation(annotationType);
-        if (annotation == null) {
-            return Stream.empty();
-        } else {
-            return Stream.of(annotation);
-        }
+        return annotationsOfType(annotations, annotationType);
     }
 
     @Override
     protected P getFromBean(Object bean) {
-        try {
-            Object untypedValue = backingField.get(bean);
-            return propertyType().cast(untypedValue);
-        } catch (IllegalAccessException ex) {
-            // because the backing field is made accessible during construction,
-            // this exception should never occur
-            String message = "The field backing this meta-property is not accessible.";
-            throw new RuntimeException(message, ex);
-        } catch (IllegalArgumentException ex) {
-            // this exception can only occur if the bean does not have the correct type;
-            // this was already checked by the superclass so this should not happen
-            String message = "The specified bean "
-                    + "does not declare the field backing this meta-property: "
-                    + ex.getMessage();
-            throw new ClassCastException(message);
-        }
+        return trustedValue(handles.get(bean));
     }
 
     @Override
     protected void setToBean(Object bean, P value) {
-        try {
-            backingField.set(bean, value);
-        } catch (IllegalAccessException ex) {
-            // because the backing field is made accessible during construction,
-            // this exception should never occur
-            String message = "The field backing this meta-property is not accessible.";
-            throw new RuntimeException(message, ex);
-        } catch (IllegalArgumentException ex) {
-            // this exception can occur for two reasons:
-            //  - if the bean does not have the correct type;
-            //      (was already checked by the superclass so this should not happen)
-            //  - the value's type does not match the field's type
-            //      (was checked by the builder during construction so this should not happen)
-            String message = "The specified bean "
-                    + "does not declare the field backing this meta-property "
-                    + "or the value is not assignable to the backing field "
-                    + "because the types do not match: "
-                    + ex.getMessage();
-            throw new ClassCastException(message);
+        if (value == null && primitive) {
+            // the setter handle would otherwise fail to unbox with an obscure exception
+            throw nullPrimitiveException(name(), propertyType());
         }
+        handles.set(bean, value);
+    }
+
+    @Override
+    protected int getIntFromBean(Object bean) {
+        return handles.getInt(bean);
+    }
+
+    @Override
+    protected void setIntToBean(Object bean, int value) {
+        handles.setInt(bean, value);
+    }
+
+    @Override
+    protected long getLongFromBean(Object bean) {
+        return handles.getLong(bean);
+    }
+
+    @Override
+    protected void setLongToBean(Object bean, long value) {
+        handles.setLong(bean, value);
+    }
+
+    @Override
+    protected double getDoubleFromBean(Object bean) {
+        return handles.getDouble(bean);
+    }
+
+    @Override
+    protected void setDoubleToBean(Object bean, double value) {
+        handles.setDouble(bean, value);
+    }
+
+    @Override
+    protected boolean getBooleanFromBean(Object bean) {
+        return handles.getBoolean(bean);
+    }
+
+    @Override
+    protected void setBooleanToBean(Object bean, boolean value) {
+        handles.setBoolean(bean, value);
     }
+
+    //-----------------------------------------------------------------------
+    /**
+     * A {@code FieldMetaProperty} for an {@code int} field, which avoids boxing.
+     */
+    static final class OfInt extends FieldMetaProperty<Integer> implements IntMetaProperty {
+
+        OfInt(
+                MetaBean metaBean, String name,
+                boolean derived, boolean buildable,
+                boolean readable, boolean mutable,
+                Field backingField) {
+
+            super(metaBean, name, int.class, derived, buildable, readable, mutable, backingField);
+        }
+    }
+
+    /**
+     * A {@code FieldMetaProperty} for a {@code long} field, which avoids boxing.
+     */
+    static final class OfLong extends FieldMetaProperty<Long> implements LongMetaProperty {
+
+        OfLong(
+                MetaBean metaBean, String name,
+                boolean derived, boolean buildable,
+                boolean readable, boolean mutable,
+                Field backingField) {
+
+            super(metaBean, name, long.class, derived, buildable, readable, mutable, backingField);
+        }
+    }
+
+    /**
+     * A {@code FieldMetaProperty} for a {@code double} field, which avoids boxing.
+     */
+    static final class OfDouble extends FieldMetaProperty<Double> implements DoubleMetaProperty {
+
+        OfDouble(
+                MetaBean metaBean, String name,
+                boolean derived, boolean buildable,
+                boolean readable, boolean mutable,
+                Field backingField) {
+
+            super(metaBean, name, double.class, derived, buildable, readable, mutable, backingField);
+        }
+    }
+
+    /**
+     * A {@code FieldMetaProperty} for a {@code boolean} field, which avoids boxing.
+     */
+    static final class OfBoolean extends FieldMetaProperty<Boolean> implements BooleanMetaProperty {
+
+        OfBoolean(
+                MetaBean metaBean, String name,
+                boolean derived, boolean buildable,
+                boolean readable, boolean mutable,
+                Field backingField) {
+
+            super(metaBean, name, boolean.class, derived, buildable, readable, mutable, backingField);
+        }
+    }
+
 }
@@ -18,7 +18,14 @@ package org.joda.pa;
 import java.lang.annotation.Annotation;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 import java.util.stream.Stream;
 
 /**
@@ -31,6 +38,14 @@ class FunctionalMetaProperty<P> extends AbstractMetaProperty<P> {
 
     private final Function<Object, P> getValue;
     private final BiConsumer<Object, P> setValue;
+    /**
+     * The primitive getter of a specialized subclass, such as {@code ToIntFunction}, null if none.
+     */
+    private final Object getPrimitiveValue;
+    /**
+     * The primitive setter of a specialized subclass, such as {@code ObjIntConsumer}, null if none.
+     */
+    private final Object setPrimitiveValue;
     private final Supplier<Stream<Annotation>> getAnnotations;
 
     /**
@@ -43,11 +58,26 @@ class FunctionalMetaProperty<P> extends AbstractMetaProperty<P> {
             Function<Object, P> getValue, BiConsumer<Object, P> setValue,
             Supplier<Stream<Annotation>> getAnnotations) {
 
+        this(metaBean, name, propertyTypeToken,
+                derived, buildable,
+                getValue, setValue, null, null,
+                getAnnotations);
+    }
+
+    private FunctionalMetaProperty(
+            MetaBean metaBean, String name, Class<P> propertyTypeToken,
+            boolean derived, boolean buildable,
+            Function<Object, P> getValue, BiConsumer<Object, P> setValue,
+            Object getPrimitiveValue, Object setPrimitiveValue,
+            Supplier<Stream<Annotation>> getAnnotations) {
+
         super(metaBean, name, propertyTypeToken,
                 derived, buildable, isReadable(getValue), isMutable(setValue));
 
         this.getValue = getValue;
         this.setValue = setValue;
+        this.getPrimitiveValue = getPrimitiveValue;
+        this.setPrimitiveValue = setPrimitiveValue;
         this.getAnnotations = getAnnotations;
     }
 
@@ -76,4 +106,153 @@ class FunctionalMetaProperty<P> extends AbstractMetaProperty<P> {
         setValue.accept(bean, value);
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    protected int getIntFromBean(Object bean) {
+        return ((ToIntFunction<Object>) getPrimitiveValue).applyAsInt(bean);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void setIntToBean(Object bean, int value) {
+        ((ObjIntConsumer<Object>) setPrimitiveValue).accept(bean, value);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected long getLongFromBean(Object bean) {
+        return ((ToLongFunction<Object>) getPrimitiveValue).applyAsLong(bean);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void setLongToBean(Object bean, long value) {
+        ((ObjLongConsumer<Object>) setPrimitiveValue).accept(bean, value);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected double getDoubleFromBean(Object bean) {
+        return ((ToDoubleFunction<Object>) getPrimitiveValue).applyAsDouble(bean);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void setDoubleToBean(Object bean, double value) {
+        ((ObjDoubleConsumer<Object>) setPrimitiveValue).accept(bean, value);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected boolean getBooleanFromBean(Object bean) {
+        return ((Predicate<Object>) getPrimitiveValue).test(bean);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void setBooleanToBean(Object bean, boolean value) {
+        ((BiConsumer<Object, Boolean>) setPrimitiveValue).accept(bean, value);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * A {@code FunctionalMetaProperty} for an {@code int} property, which avoids boxing.
+     */
+    static final class OfInt extends FunctionalMetaProperty<Integer> implements IntMetaProperty {
+
+        /**
+         * This constructor does not check these arguments.
+         * It relies on the calling builder to do so.
+         */
+        OfInt(
+                MetaBean metaBean, String name,
+                boolean derived, boolean buildable,
+                ToIntFunction<Object> getValue, ObjIntConsumer<Object> setValue,
+                Supplier<Stream<Annotation>> getAnnotations) {
+
+            super(metaBean, name, int.class,
+                    derived, buildable,
+                    getValue == null ? null : getValue::applyAsInt,
+                    setValue == null ? null : setValue::accept,
+                    getValue, setValue,
+                    getAnnotations);
+        }
+    }
+
+    /**
+     * A {@code FunctionalMetaProperty} for a {@code long} property, which avoids boxing.
+     */
+    static final class OfLong extends FunctionalMetaProperty<Long> implements LongMetaProperty {
+
+        /**
+         * This constructor does not check these arguments.
+         * It relies on the calling builder to do so.
+         */
+        OfLong(
+                MetaBean metaBean, String name,
+                boolean derived, boolean buildable,
+                ToLongFunction<Object> getValue, ObjLongConsumer<Object> setValue,
+                Supplier<Stream<Annotation>> getAnnotations) {
+
+            super(metaBean, name, long.class,
+                    derived, buildable,
+                    getValue == null ? null : getValue::applyAsLong,
+                    setValue == null ? null : setValue::accept,
+                    getValue, setValue,
+                    getAnnotations);
+        }
+    }
+
+    /**
+     * A {@code FunctionalMetaProperty} for a {@code double} property, which avoids boxing.
+     */
+    static final class OfDouble extends FunctionalMetaProperty<Double> implements DoubleMetaProperty {
+
+        /**
+         * This constructor does not check these arguments.
+         * It relies on the calling builder to do so.
+         */
+        OfDouble(
+                MetaBean metaBean, String name,
+                boolean derived, boolean buildable,
+                ToDoubleFunction<Object> getValue, ObjDoubleConsumer<Object> setValue,
+                Supplier<Stream<Annotation>> getAnnotations) {
+
+            super(metaBean, name, double.class,
+                    derived, buildable,
+                    getValue == null ? null : getValue::applyAsDouble,
+                    setValue == null ? null : setValue::accept,
+                    getValue, setValue,
+                    getAnnotations);
+        }
+    }
+
+    /**
+     * A {@code FunctionalMetaProperty} for a {@code boolean} property, which avoids boxing when read.
+     * <p>
+     * There is no primitive consumer of an object and a {@code boolean} in the JDK,
+     * thus the value is boxed when set. This does not allocate, as the two
+     * {@code Boolean} instances are cached.
+     */
+    static final class OfBoolean extends FunctionalMetaProperty<Boolean> implements BooleanMetaProperty {
+
+        /**
+         * This constructor does not check these arguments.
+         * It relies on the calling builder to do so.
+         */
+        OfBoolean(
+                MetaBean metaBean, String name,
+                boolean derived, boolean buildable,
+                Predicate<Object> getValue, BiConsumer<Object, Boolean> setValue,
+                Supplier<Stream<Annotation>> getAnnotations) {
+
+            super(metaBean, name, boolean.class,
+                    derived, buildable,
+                    getValue == null ? null : getValue::test,
+                    setValue,
+                    getValue, setValue,
+                    getAnnotations);
+        }
+    }
+
 }
@@ -0,0 +1,43 @@
+/*
+ *  Copyright 2014-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.pa;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Requests that a {@link MetaBean} is generated at compile time for the annotated class.
+ * <p>
+ * The annotation is processed by the {@code property-alliance-processor} annotation processor,
+ * which generates a class in the same package as the bean. The generated class is named after
+ * the bean, with any {@code $} of a nested class replaced by {@code _}, and a suffix of
+ * {@code _MetaBean}, such as {@code Person_MetaBean}. It exposes the meta-bean as the
+ * constant {@code META_BEAN} and each meta-property as a typed constant.
+ * <p>
+ * The properties of the generated meta-bean are the same as those found by reflection,
+ * but they are accessed by direct calls to the getters and setters.
+ * {@link MetaBean#of(Class)} returns the generated meta-bean in preference to reflection.
+ * If the annotation processor has not been run, reflection is used as normal.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface GenerateMetaBean {
+
+}
@@ -17,7 +17,13 @@ package org.joda.pa;
 
 import java.lang.annotation.Annotation;
 import java.lang.annotation.Repeatable;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -28,7 +34,8 @@ import java.util.stream.Stream;
  * It provides access to three main elements:
  * <p>
  * <ul>
- * <li>a {@code Stream} of properties, allowing the state of the bean to be queried
+ * <li>a {@code Stream} of properties, allowing the state of the bean to be queried,
+ *  also available as an indexed list
  * <li>a {@code Stream} of annotations, allowing the annotations of the bean to be queried
  * <li>a {@code BeanBuilder} that allows a new bean to be created
  * </ul>
@@ -43,12 +50,57 @@ public interface MetaBean {
      * Obtains a meta-bean for a {@code Class}.
      * <p>
      * A {@code MetaBean} provides an abstraction on top of a {@code Class}.
+     * <p>
+     * The class is introspected the first time this method is called for it,
+     * unless a meta-bean was generated at compile time, see {@link GenerateMetaBean}.
+     * A record is introspected by its components, see {@link #ofRecord(Class)}.
+     * The resulting meta-bean is cached against the class, thus subsequent calls are
+     * lock-free and return the same instance. The cached meta-bean does not prevent
+     * the class, or its class loader, from being garbage collected.
      * 
-     * @param cls  the class whose associated {@code MetaBean} will be obtained
+     * @param cls  the class whose associated {@code MetaBean} will be obtained, not null
      * @return the meta-bean associated with the class, not null
      */
     static MetaBean of(Class<?> cls) {
-        return null;
+        Objects.requireNonNull(cls, "The argument 'cls' must not be null.");
+        return MetaBeanRegistry.lookup(cls);
+    }
+
+    /**
+     * Obtains a meta-bean for a {@code Record}.
+     * <p>
+     * Each record component is a read-only property, read using the accessor method.
+     * The meta-bean is buildable, with the builder calling the canonical constructor.
+     * <p>
+     * This returns the same instance as {@link #of(Class)}.
+     * 
+     * @param recordType  the record type whose associated {@code MetaBean} will be obtained, not null
+     * @return the meta-bean associated with the record type, not null
+     */
+    static MetaBean ofRecord(Class<? extends Record> recordType) {
+        Objects.requireNonNull(recordType, "The argument 'recordType' must not be null.");
+        return MetaBeanRegistry.lookup(recordType);
+    }
+
+    /**
+     * Obtains a meta-bean for the fields of a {@code Class}.
+     * <p>
+     * Each instance field is a property, accessed directly whatever its visibility,
+     * superclass fields first. A {@code final} field is read-only.
+     * Any other field is read-write, with the memory ordering and atomic methods,
+     * such as {@link MetaProperty#compareAndSet(Object, Object, Object)},
+     * accessing the field directly using a {@link java.lang.invoke.VarHandle}.
+     * <p>
+     * The fields must be accessible by reflection, thus the package of the class
+     * must be open to this library if it is in a named module.
+     * The resulting meta-bean is cached against the class, separately from {@link #of(Class)}.
+     * 
+     * @param cls  the class whose fields are to be exposed, not null
+     * @return the meta-bean of the fields of the class, not null
+     */
+    static MetaBean ofFields(Class<?> cls) {
+        Objects.requireNonNull(cls, "The argument 'cls' must not be null.");
+        return MetaBeanRegistry.lookupFields(cls);
     }
 
     //-------------------------------------------------------------------------
@@ -89,6 +141,46 @@ public interface MetaBean {
      */
     BeanBuilder<?> beanBuilder();
 
+    /**
+     * Creates a bean builder that can be reset and used to create many instances of this bean.
+     * <p>
+     * The builder supports {@link BeanBuilder#reset()}, and remains valid after
+     * {@link BeanBuilder#build()} is called. This allows a single-threaded loop,
+     * such as a decoder, to create many beans without creating a builder for each one.
+     * The builder is not thread-safe.
+     * <p>
+     * The default implementation returns a builder that records the values and
+     * sets them into a new {@link #beanBuilder()} each time a bean is built.
+     * 
+     * @return the reusable bean builder, not null
+     * @throws UnsupportedOperationException if the bean cannot be created
+     * @see #isBuildable()
+     */
+    default BeanBuilder<?> reusableBeanBuilder() {
+        if (!isBuildable()) {
+            beanBuilder();  // throws the exception of the implementation
+        }
+        return new RecordingBeanBuilder<>(this);
+    }
+
+    /**
+     * Gets a pool of reusable bean builders for this bean.
+     * <p>
+     * The pool allows many threads, including virtual threads, to share a
+     * small number of {@linkplain #reusableBeanBuilder() reusable builders}.
+     * A thread acquires a builder, builds one or more beans, and then releases it.
+     * <p>
+     * The default implementation returns the same pool on each call for the first
+     * instance of each meta-bean class that calls it, and a new pool on each call
+     * for any other instance. Implementations with more than one instance are thus
+     * encouraged to override this method using {@link BeanBuilderPool#of(MetaBean)}.
+     * 
+     * @return the pool of bean builders, not null
+     */
+    default BeanBuilderPool beanBuilderPool() {
+        return MetaBeanRegistry.lookupBeanBuilderPool(this);
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Gets the stream of properties associated with this bean.
@@ -105,6 +197,156 @@ public interface MetaBean {
      */
     Stream<MetaProperty<?>> metaProperties();
 
+    /**
+     * Gets the properties associated with this bean as a random-access list.
+     * <p>
+     * The list contains the same properties in the same order as {@link #metaProperties()}.
+     * The position of a property in the list is its {@link MetaProperty#index() index},
+     * allowing frameworks to hold per-property state in arrays.
+     * <p>
+     * If the implementation has a mutable set of properties, then the result of
+     * this method must be a snapshot of those properties in existence when this method
+     * is called to avoid concurrency issues.
+     * <p>
+     * The default implementation collects the result of {@link #metaProperties()}.
+     * Implementations with a fixed set of properties are encouraged to return a cached list.
+     * 
+     * @return the immutable list of properties on the bean, not null
+     */
+    default List<MetaProperty<?>> metaPropertyList() {
+        return Collections.unmodifiableList(metaProperties().collect(Collectors.toList()));
+    }
+
+    /**
+     * Gets the number of properties associated with this bean.
+     * <p>
+     * The default implementation returns the size of {@link #metaPropertyList()}.
+     * 
+     * @return the number of properties on the bean, zero or greater
+     */
+    default int propertyCount() {
+        return metaPropertyList().size();
+    }
+
+    /**
+     * Gets a single property by index.
+     * <p>
+     * The index of a property is its position in {@link #metaPropertyList()}.
+     * <p>
+     * The default implementation queries {@link #metaPropertyList()}.
+     * 
+     * @param index  the index of the property, from zero to {@code propertyCount() - 1}
+     * @return the property, not null
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    default MetaProperty<?> metaPropertyAt(int index) {
+        return metaPropertyList().get(index);
+    }
+
+    /**
+     * Gets an accessor that can read and write any property by index.
+     * <p>
+     * The accessor allows a framework that processes every property of a bean
+     * to use a single call site for each type of bean.
+     * Implementations may generate a class at runtime to provide direct access to the properties.
+     * <p>
+     * The default implementation returns an accessor that calls {@link #metaPropertyAt(int)}.
+     * 
+     * @return the accessor, not null
+     */
+    default BeanAccessor beanAccessor() {
+        return new MetaPropertyBeanAccessor(this);
+    }
+
+    /**
+     * Reads the value of every property of the specified bean into an array.
+     * <p>
+     * The value of each property is stored at its {@link MetaProperty#index() index}.
+     * The bean is validated once, rather than once per property as by {@link MetaProperty#get(Object)}.
+     * <p>
+     * The default implementation validates the bean and then reads using {@link #beanAccessor()}.
+     * 
+     * @param bean  the bean to query, not null
+     * @param values  the array to populate, with a length of at least {@link #propertyCount()}, not null
+     * @throws ClassCastException if the bean is of an incorrect type
+     * @throws IllegalArgumentException if the array is too short
+     * @throws UnsupportedOperationException if any property is write-only
+     */
+    default void readAll(Object bean, Object[] values) {
+        BulkPropertyAccess.readAll(this, bean, values);
+    }
+
+    /**
+     * Reads the value of the selected properties of the specified bean into an array.
+     * <p>
+     * The value of the property at {@code indices[i]} is stored at {@code values[i]}.
+     * The bean is validated once, rather than once per property as by {@link MetaProperty#get(Object)}.
+     * <p>
+     * The default implementation validates the bean and then reads using {@link #beanAccessor()}.
+     * 
+     * @param bean  the bean to query, not null
+     * @param indices  the indices of the properties to read, not null
+     * @param values  the array to populate, with a length of at least {@code indices.length}, not null
+     * @throws ClassCastException if the bean is of an incorrect type
+     * @throws IllegalArgumentException if the array is too short
+     * @throws IndexOutOfBoundsException if any index is invalid
+     * @throws UnsupportedOperationException if any selected property is write-only
+     */
+    default void readAll(Object bean, int[] indices, Object[] values) {
+        BulkPropertyAccess.readAll(this, bean, indices, values);
+    }
+
+    /**
+     * Writes the value of every property of the specified bean from an array.
+     * <p>
+     * The value of each property is taken from its {@link MetaProperty#index() index},
+     * with properties set in index order.
+     * The bean is validated once, rather than once per property as by {@link MetaProperty#set(Object, Object)}.
+     * <p>
+     * The array length, the indices and the mutability of each property are validated
+     * before any property is written, thus a read-only property leaves the bean unchanged.
+     * A value rejected by its property may leave earlier properties written.
+     * <p>
+     * The default implementation validates the bean and then writes using {@link #beanAccessor()}.
+     * 
+     * @param bean  the bean to update, not null
+     * @param values  the values to write, with a length of at least {@link #propertyCount()}, not null
+     * @throws ClassCastException if the bean is of an incorrect type or
+     *                              if a value is of an invalid type for its property
+     * @throws IllegalArgumentException if the array is too short
+     * @throws UnsupportedOperationException if any property is read-only
+     * @throws RuntimeException if a value is rejected by its property
+     */
+    default void writeAll(Object bean, Object[] values) {
+        BulkPropertyAccess.writeAll(this, bean, values);
+    }
+
+    /**
+     * Writes the value of the selected properties of the specified bean from an array.
+     * <p>
+     * The value of the property at {@code indices[i]} is taken from {@code values[i]}.
+     * The bean is validated once, rather than once per property as by {@link MetaProperty#set(Object, Object)}.
+     * <p>
+     * The array length, the indices and the mutability of each property are validated
+     * before any property is written, thus a read-only property leaves the bean unchanged.
+     * A value rejected by its property may leave earlier properties written.
+     * <p>
+     * The default implementation validates the bean and then writes using {@link #beanAccessor()}.
+     * 
+     * @param bean  the bean to update, not null
+     * @param indices  the indices of the properties to write, not null
+     * @param values  the values to write, with a length of at least {@code indices.length}, not null
+     * @throws ClassCastException if the bean is of an incorrect type or
+     *                              if a value is of an invalid type for its property
+     * @throws IllegalArgumentException if the array is too short
+     * @throws IndexOutOfBoundsException if any index is invalid
+     * @throws UnsupportedOperationException if any selected property is read-only
+     * @throws RuntimeException if a value is rejected by its property
+     */
+    default void writeAll(Object bean, int[] indices, Object[] values) {
+        BulkPropertyAccess.writeAll(this, bean, indices, values);
+    }
+
     /**
      * Gets a single property by name.
      * <p>
@@ -129,6 +371,29 @@ public interface MetaBean {
                 .findFirst();
     }
 
+    /**
+     * Gets a single property by a name held in a range of a character sequence.
+     * <p>
+     * This behaves exactly as {@link #metaProperty(String)}, but allows a parser
+     * to look up a property name directly from its input buffer.
+     * Implementations are encouraged to perform the lookup without creating a {@code String}.
+     * <p>
+     * The default implementation extracts the name as a {@code String} and
+     * calls {@link #metaProperty(String)}.
+     * 
+     * @param text  the text containing the property name, null returns an empty {@code Optional}
+     * @param start  the start index of the property name, inclusive
+     * @param end  the end index of the property name, exclusive
+     * @return the property, or optional empty if no such property
+     * @throws IndexOutOfBoundsException if the range is invalid
+     */
+    default Optional<MetaProperty<?>> metaProperty(CharSequence text, int start, int end) {
+        if (text == null) {
+            return Optional.empty();
+        }
+        return metaProperty(text.subSequence(start, end).toString());
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Gets the stream of annotations associated with this bean.
@@ -171,4 +436,28 @@ public interface MetaBean {
                 .map(a -> annotationType.cast(a));
     }
 
+    /**
+     * Gets the properties of this bean that are annotated with the specified type.
+     * <p>
+     * This allows a framework, such as a validator, to find the properties it
+     * must process without querying the annotations of every property.
+     * The map is in property order, with each property mapped to the first
+     * annotation of the specified type found by {@link MetaProperty#annotations(Class)}.
+     * <p>
+     * The default implementation queries the annotations of each property.
+     * Implementations are encouraged to build an index once and return cached maps.
+     * 
+     * @param <A>  the annotation type
+     * @param annotationType  the annotation type to find, not null
+     * @return the immutable map of property to annotation, not null
+     */
+    default <A extends Annotation> Map<MetaProperty<?>, A> propertiesAnnotatedWith(Class<A> annotationType) {
+        Objects.requireNonNull(annotationType, "The argument 'annotationType' must not be null.");
+        Map<MetaProperty<?>, A> result = new LinkedHashMap<>();
+        metaProperties().forEach(mp -> mp.annotations(annotationType)
+                .findFirst()
+                .ifPresent(annotation -> result.put(mp, annotation)));
+        return Collections.unmodifiableMap(result);
+    }
+
 }
@@ -0,0 +1,170 @@
+/*
+ *  Copyright 2014-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.pa;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The registry of meta-beans, used by {@link MetaBean#of(Class)}.
+ * <p>
+ * Each class is introspected at most once, with the resulting meta-bean held
+ * in a {@link ClassValue}. This makes the lookup lock-free once a meta-bean
+ * has been created, and ties the lifetime of the meta-bean to that of the class,
+ * allowing it to be garbage collected when the class loader is unloaded.
+ * <p>
+ * A class annotated with {@link GenerateMetaBean} uses the meta-bean generated
+ * at compile time, if present, avoiding introspection entirely.
+ * A record is introspected by its components, see {@link RecordMetaBean}.
+ * The meta-beans of {@link MetaBean#ofFields(Class)} are held separately,
+ * see {@link FieldMetaBean}.
+ * <p>
+ * The registry also holds the bean builder pools of meta-bean implementations
+ * that do not provide their own pool, keyed by the class of the meta-bean.
+ */
+final class MetaBeanRegistry {
+
+    /**
+     * The meta-beans, keyed by bean type.
+     */
+    private static final ClassValue<MetaBean> META_BEANS = new ClassValue<MetaBean>() {
+        @Override
+        protected MetaBean computeValue(Class<?> beanType) {
+            MetaBean generated = findGeneratedMetaBean(beanType);
+            if (generated != null) {
+                return generated;
+            }
+            return beanType.isRecord() ? RecordMetaBean.introspect(beanType) : ReflectiveMetaBean.introspect(beanType);
+        }
+    };
+    /**
+     * The meta-beans introspected by field, keyed by bean type.
+     */
+    private static final ClassValue<MetaBean> FIELD_META_BEANS = new ClassValue<MetaBean>() {
+        @Override
+        protected MetaBean computeValue(Class<?> beanType) {
+            return FieldMetaBean.introspect(beanType);
+        }
+    };
+    /**
+     * The bean builder pools, keyed by the class of the meta-bean.
+     * Each holds the pool of the first instance of that class to request one.
+     */
+    private static final ClassValue<AtomicReference<StripedBeanBuilderPool>> BEAN_BUILDER_POOLS =
+            new ClassValue<AtomicReference<StripedBeanBuilderPool>>() {
+                @Override
+                protected AtomicReference<StripedBeanBuilderPool> computeValue(Class<?> metaBeanType) {
+                    return new AtomicReference<>();
+                }
+            };
+    /**
+     * The suffix of the name of a generated meta-bean.
+     */
+    private static final String GENERATED_SUFFIX = "_MetaBean";
+    /**
+     * The name of the constant holding a generated meta-bean.
+     */
+    private static final String GENERATED_FIELD = "META_BEAN";
+
+    /**
+     * Restricted constructor.
+     */
+    private MetaBeanRegistry() {
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Looks up the meta-bean for the specified type, introspecting it if necessary.
+     *
+     * @param beanType  the type of the bean, not null
+     * @return the meta-bean, not null
+     */
+    static MetaBean lookup(Class<?> beanType) {
+        return META_BEANS.get(beanType);
+    }
+
+    /**
+     * Looks up the meta-bean for the fields of the specified type, introspecting it if necessary.
+     *
+     * @param beanType  the type of the bean, not null
+     * @return the meta-bean, not null
+     */
+    static MetaBean lookupFields(Class<?> beanType) {
+        return FIELD_META_BEANS.get(beanType);
+    }
+
+    /**
+     * Looks up the bean builder pool for the specified meta-bean.
+     * <p>
+     * Meta-bean implementations normally have a single instance, thus the pool is
+     * cached for the first instance of each meta-bean class, without introspecting
+     * the bean type. A new pool is returned for any other instance of the same class,
+     * as the pool creates builders using the meta-bean.
+     *
+     * @param metaBean  the meta-bean, not null
+     * @return the pool, not null
+     */
+    static BeanBuilderPool lookupBeanBuilderPool(MetaBean metaBean) {
+        AtomicReference<StripedBeanBuilderPool> cached = BEAN_BUILDER_POOLS.get(metaBean.getClass());
+        StripedBeanBuilderPool pool = cached.get();
+        if (pool == null) {
+            StripedBeanBuilderPool created = new StripedBeanBuilderPool(metaBean);
+            pool = cached.compareAndExchange(null, created);
+            if (pool == null) {
+                return created;
+            }
+        }
+        return pool.metaBean() == metaBean ? pool : new StripedBeanBuilderPool(metaBean);
+    }
+
+    /**
+     * Finds the meta-bean generated at compile time for the specified type.
+     *
+     * @param beanType  the type of the bean, not null
+     * @return the generated meta-bean, null if none
+     * @throws IllegalStateException if the generated meta-bean is invalid
+     */
+    static MetaBean findGeneratedMetaBean(Class<?> beanType) {
+        if (!beanType.isAnnotationPresent(GenerateMetaBean.class)) {
+            return null;
+        }
+        String generatedName = generatedMetaBeanName(beanType);
+        try {
+            Class<?> generatedType = Class.forName(generatedName, true, beanType.getClassLoader());
+            return (MetaBean) generatedType.getField(GENERATED_FIELD).get(null);
+        } catch (ClassNotFoundException ex) {
+            // the annotation processor was not run
+            return null;
+        } catch (ReflectiveOperationException | ClassCastException ex) {
+            String message = "The generated meta-bean '" + generatedName + "' is invalid.";
+            throw new IllegalStateException(message, ex);
+        }
+    }
+
+    /**
+     * Gets the name of the meta-bean generated for the specified type.
+     *
+     * @param beanType  the type of the bean, not null
+     * @return the fully qualified class name, not null
+     */
+    static String generatedMetaBeanName(Class<?> beanType) {
+        String packageName = beanType.getPackageName();
+        String binaryName = beanType.getName();
+        String simpleName = packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1);
+        return binaryName.substring(0, binaryName.length() - simpleName.length())
+                + simpleName.replace('$', '_') + GENERATED_SUFFIX;
+    }
+
+}
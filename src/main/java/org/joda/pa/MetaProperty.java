@@ -17,9 +17,12 @@ package org.joda.pa;
 
 import java.lang.annotation.Annotation;
 import java.lang.annotation.Repeatable;
+import java.lang.invoke.VarHandle;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
+import java.util.function.BinaryOperator;
+import java.util.function.UnaryOperator;
 import java.util.stream.Stream;
 
 /**
@@ -57,6 +60,22 @@ public interface MetaProperty<P> {
      */
     String name();
 
+    /**
+     * Gets the index of this property within its meta-bean.
+     * <p>
+     * Each property of a meta-bean has a dense ordinal, from zero to
+     * {@code metaBean().propertyCount() - 1}, which is its position in
+     * {@link MetaBean#metaPropertyList()}. This allows frameworks to hold
+     * per-property state in arrays rather than in maps keyed by meta-property.
+     * <p>
+     * The default implementation searches {@code metaBean().metaPropertyList()}.
+     * 
+     * @return the index of the property, -1 if not present in the meta-bean
+     */
+    default int index() {
+        return metaBean().metaPropertyList().indexOf(this);
+    }
+
     /**
      * Gets the type that declares the property, represented as a {@code Class}.
      * <p>
@@ -209,6 +228,234 @@ public interface MetaProperty<P> {
      */
     void set(Object bean, Object value);
 
+    /**
+     * Gets an accessor for trusted callers that skips the checks on the bean and value.
+     * <p>
+     * The checked methods {@link #get(Object)} and {@link #set(Object, Object)} remain
+     * the safe default. A caller that has already validated the bean, such as a serializer
+     * that checks the bean type once per object graph, can use the accessor to avoid
+     * repeating those checks on every call.
+     * <p>
+     * The default implementation returns an accessor that calls the checked methods.
+     * 
+     * @return the unchecked accessor, not null
+     */
+    default PropertyAccessor<P> unchecked() {
+        return new CheckedPropertyAccessor<>(this);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the value of the property for the specified bean with volatile memory semantics.
+     * <p>
+     * This behaves as {@link #get(Object)}, but with the memory ordering effects of
+     * reading a {@code volatile} field, as defined by {@link VarHandle#getVolatile}.
+     * <p>
+     * The default implementation surrounds a call to {@link #get(Object)} with full fences.
+     * Implementations backed by a field are expected to access the field directly.
+     * 
+     * @param bean  the bean to query, not null
+     * @return the value of the property on the specified bean, may be null
+     * @throws ClassCastException if the bean is of an incorrect type
+     * @throws UnsupportedOperationException if the property is write-only
+     */
+    default P getVolatile(Object bean) {
+        VarHandle.fullFence();
+        P value = get(bean);
+        VarHandle.fullFence();
+        return value;
+    }
+
+    /**
+     * Gets the value of the property for the specified bean with acquire memory semantics.
+     * <p>
+     * This behaves as {@link #get(Object)}, but ensures that subsequent loads and stores
+     * are not reordered before this access, as defined by {@link VarHandle#getAcquire}.
+     * <p>
+     * The default implementation follows a call to {@link #get(Object)} with an acquire fence.
+     * Implementations backed by a field are expected to access the field directly.
+     * 
+     * @param bean  the bean to query, not null
+     * @return the value of the property on the specified bean, may be null
+     * @throws ClassCastException if the bean is of an incorrect type
+     * @throws UnsupportedOperationException if the property is write-only
+     */
+    default P getAcquire(Object bean) {
+        P value = get(bean);
+        VarHandle.acquireFence();
+        return value;
+    }
+
+    /**
+     * Gets the value of the property for the specified bean with opaque memory semantics.
+     * <p>
+     * This behaves as {@link #get(Object)}, but the value is read in program order
+     * with coherent access, as defined by {@link VarHandle#getOpaque}.
+     * <p>
+     * The default implementation calls {@link #getAcquire(Object)}, which is stronger.
+     * Implementations backed by a field are expected to access the field directly.
+     * 
+     * @param bean  the bean to query, not null
+     * @return the value of the property on the specified bean, may be null
+     * @throws ClassCastException if the bean is of an incorrect type
+     * @throws UnsupportedOperationException if the property is write-only
+     */
+    default P getOpaque(Object bean) {
+        return getAcquire(bean);
+    }
+
+    /**
+     * Sets the value of the property on the specified bean with volatile memory semantics.
+     * <p>
+     * This behaves as {@link #set(Object, Object)}, but with the memory ordering effects of
+     * writing a {@code volatile} field, as defined by {@link VarHandle#setVolatile}.
+     * <p>
+     * The default implementation surrounds a call to {@link #set(Object, Object)} with full fences.
+     * Implementations backed by a field are expected to access the field directly.
+     * 
+     * @param bean  the bean to update, not null
+     * @param value  the value to set into the property on the specified bean, may be null
+     * @throws ClassCastException if the bean is of an incorrect type or
+     *                              if the value is of an invalid type for the property
+     * @throws UnsupportedOperationException if the property is read-only
+     * @throws RuntimeException if the value is rejected by the property
+     */
+    default void setVolatile(Object bean, Object value) {
+        VarHandle.fullFence();
+        set(bean, value);
+        VarHandle.fullFence();
+    }
+
+    /**
+     * Sets the value of the property on the specified bean with release memory semantics.
+     * <p>
+     * This behaves as {@link #set(Object, Object)}, but ensures that prior loads and stores
+     * are not reordered after this access, as defined by {@link VarHandle#setRelease}.
+     * <p>
+     * The default implementation precedes a call to {@link #set(Object, Object)} with a release fence.
+     * Implementations backed by a field are expected to access the field directly.
+     * 
+     * @param bean  the bean to update, not null
+     * @param value  the value to set into the property on the specified bean, may be null
+     * @throws ClassCastException if the bean is of an incorrect type or
+     *                              if the value is of an invalid type for the property
+     * @throws UnsupportedOperationException if the property is read-only
+     * @throws RuntimeException if the value is rejected by the property
+     */
+    default void setRelease(Object bean, Object value) {
+        VarHandle.releaseFence();
+        set(bean, value);
+    }
+
+    /**
+     * Sets the value of the property on the specified bean with opaque memory semantics.
+     * <p>
+     * This behaves as {@link #set(Object, Object)}, but the value is written in program order
+     * with coherent access, as defined by {@link VarHandle#setOpaque}.
+     * <p>
+     * The default implementation calls {@link #setRelease(Object, Object)}, which is stronger.
+     * Implementations backed by a field are expected to access the field directly.
+     * 
+     * @param bean  the bean to update, not null
+     * @param value  the value to set into the property on the specified bean, may be null
+     * @throws ClassCastException if the bean is of an incorrect type or
+     *                              if the value is of an invalid type for the property
+     * @throws UnsupportedOperationException if the property is read-only
+     * @throws RuntimeException if the value is rejected by the property
+     */
+    default void setOpaque(Object bean, Object value) {
+        setRelease(bean, value);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Atomically sets the value of the property if the current value matches the expected value.
+     * <p>
+     * Primitive values are compared by value, and references by identity,
+     * matching the behavior of {@link VarHandle#compareAndSet}.
+     * <p>
+     * The default implementation gets and sets the value while holding one of a set of
+     * locks selected by the identity of the bean. This is only atomic with respect to
+     * the other atomic methods on meta-properties, not to {@link #set(Object, Object)}.
+     * Implementations backed by a field are expected to use a hardware compare-and-set,
+     * as do the properties of {@link MetaBean#ofFields(Class)}.
+     * 
+     * @param bean  the bean to update, not null
+     * @param expectedValue  the expected current value, may be null
+     * @param newValue  the value to set into the property on the specified bean, may be null
+     * @return true if successful, false if the current value did not match the expected value
+     * @throws ClassCastException if the bean is of an incorrect type or
+     *                              if the value is of an invalid type for the property
+     * @throws UnsupportedOperationException if the property is read-only or write-only
+     * @throws RuntimeException if the value is rejected by the property
+     */
+    default boolean compareAndSet(Object bean, Object expectedValue, Object newValue) {
+        return PropertyLocks.compareAndSet(this, bean, expectedValue, newValue);
+    }
+
+    /**
+     * Atomically sets the value of the property, returning the previous value.
+     * <p>
+     * The default implementation gets and sets the value while holding a lock,
+     * as described in {@link #compareAndSet(Object, Object, Object)}.
+     * 
+     * @param bean  the bean to update, not null
+     * @param newValue  the value to set into the property on the specified bean, may be null
+     * @return the previous value of the property, may be null
+     * @throws ClassCastException if the bean is of an incorrect type or
+     *                              if the value is of an invalid type for the property
+     * @throws UnsupportedOperationException if the property is read-only or write-only
+     * @throws RuntimeException if the value is rejected by the property
+     */
+    default P getAndSet(Object bean, Object newValue) {
+        return PropertyLocks.getAndSet(this, bean, newValue);
+    }
+
+    /**
+     * Atomically updates the value of the property using a function, returning the previous value.
+     * <p>
+     * The function should be side-effect free, as it may be applied more than once
+     * if the value is changed concurrently.
+     * <p>
+     * The default implementation gets and sets the value while holding a lock,
+     * as described in {@link #compareAndSet(Object, Object, Object)}.
+     * 
+     * @param bean  the bean to update, not null
+     * @param updateFunction  the function to apply to the current value, not null
+     * @return the previous value of the property, may be null
+     * @throws ClassCastException if the bean is of an incorrect type or
+     *                              if the value is of an invalid type for the property
+     * @throws UnsupportedOperationException if the property is read-only or write-only
+     * @throws RuntimeException if the value is rejected by the property
+     */
+    default P getAndUpdate(Object bean, UnaryOperator<P> updateFunction) {
+        return PropertyLocks.getAndUpdate(this, bean, updateFunction);
+    }
+
+    /**
+     * Atomically combines the value of the property with another value using a function,
+     * returning the updated value.
+     * <p>
+     * The function is applied with the current value as its first argument.
+     * It should be side-effect free, as it may be applied more than once
+     * if the value is changed concurrently.
+     * <p>
+     * The default implementation gets and sets the value while holding a lock,
+     * as described in {@link #compareAndSet(Object, Object, Object)}.
+     * 
+     * @param bean  the bean to update, not null
+     * @param value  the value to combine with the current value, may be null
+     * @param accumulatorFunction  the function to apply, not null
+     * @return the updated value of the property, may be null
+     * @throws ClassCastException if the bean is of an incorrect type or
+     *                              if the value is of an invalid type for the property
+     * @throws UnsupportedOperationException if the property is read-only or write-only
+     * @throws RuntimeException if the value is rejected by the property
+     */
+    default P accumulateAndGet(Object bean, P value, BinaryOperator<P> accumulatorFunction) {
+        return PropertyLocks.accumulateAndGet(this, bean, value, accumulatorFunction);
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Checks if this meta-property equals another.
@@ -0,0 +1,47 @@
+/*
+ *  Copyright 2014-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.pa;
+
+/**
+ * A {@link BeanAccessor} which delegates to the meta-properties of the meta-bean.
+ * <p>
+ * This is used where an accessor cannot be generated.
+ */
+final class MetaPropertyBeanAccessor implements BeanAccessor {
+
+    private final MetaBean metaBean;
+
+    /**
+     * Creates an accessor for the meta-bean.
+     *
+     * @param metaBean  the meta-bean, not null
+     */
+    MetaPropertyBeanAccessor(MetaBean metaBean) {
+        this.metaBean = metaBean;
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public Object get(Object bean, int index) {
+        return metaBean.metaPropertyAt(index).get(bean);
+    }
+
+    @Override
+    public void set(Object bean, int index, Object value) {
+        metaBean.metaPropertyAt(index).set(bean, value);
+    }
+
+}
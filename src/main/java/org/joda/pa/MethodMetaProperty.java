@@ -16,20 +16,49 @@
 package org.joda.pa;
 
 import java.lang.annotation.Annotation;
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.util.stream.Stream;
 
 /**
  * A {@link MetaProperty} which reflects on {@link Method}s
  * (provided during construction) to get/set values and access annotations.
+ * <p>
+ * The methods are converted to {@link MethodHandle}s during construction,
+ * which are held as constants by {@link PropertyHandles}. Each call is then
+ * inlined by the JIT, avoiding the argument array and exception wrapping of
+ * {@link Method#invoke(Object, Object...)}.
  * 
  * @param <P> the type of the property content
  */
 class MethodMetaProperty<P> extends AbstractMetaProperty<P> {
 
+    /**
+     * The handle that converts an exception thrown by a method to the exception to rethrow.
+     */
+    private static final MethodHandle RETHROWABLE;
+    static {
+        try {
+            RETHROWABLE = MethodHandles.lookup().findStatic(MethodMetaProperty.class, "rethrowable",
+                    MethodType.methodType(Throwable.class, Throwable.class, MethodPurpose.class));
+        } catch (ReflectiveOperationException ex) {
+            throw new ExceptionInInitializerError(ex);
+        }
+    }
+
     private final Method getValue;
     private final Method setValue;
+    private final PropertyHandles handles;
+    /**
+     * Whether the property type is primitive, and so cannot be set to null.
+     */
+    private final boolean primitive;
+    /**
+     * The annotations of the getter and then the setter, cached as each query would clone them.
+     */
+    private final Annotation[] annotations;
 
     protected MethodMetaProperty(
             MetaBean metaBean, String name, Class<P> propertyTypeToken,
@@ -42,6 +71,43 @@ class MethodMetaProperty<P> extends AbstractMetaProperty<P> {
         this.getValue = getValue;
         this.setValue = setValue;
         makeAccessible(getValue, setValue);
+        this.handles = PropertyHandles.of(
+                createHandle(getValue, MethodPurpose.GET),
+                createHandle(setValue, MethodPurpose.SET));
+        this.primitive = propertyTypeToken.isPrimitive();
+        this.annotations = Stream.of(getValue, setValue)
+                .filter(method -> method != null)
+                .flatMap(method -> Stream.of(method.getAnnotations()))
+                .toArray(Annotation[]::new);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Creates a meta-property, choosing a specialized implementation
+     * for a property of type {@code int}, {@code long}, {@code double} or {@code boolean}.
+     * <p>
+     * This method does not check these arguments.
+     * It relies on the calling builder to do so.
+     */
+    @SuppressWarnings("unchecked")
+    static <P> MethodMetaProperty<P> create(
+            MetaBean metaBean, String name, Class<P> propertyTypeToken,
+            boolean derived, boolean buildable,
+            Method getValue, Method setValue) {
+
+        if (propertyTypeToken == int.class) {
+            return (MethodMetaProperty<P>) new OfInt(metaBean, name, derived, buildable, getValue, setValue);
+        } else if (propertyTypeToken == long.class) {
+            return (MethodMetaProperty<P>) new OfLong(metaBean, name, derived, buildable, getValue, setValue);
+        } else if (propertyTypeToken == double.class) {
+            return (MethodMetaProperty<P>) new OfDouble(metaBean, name, derived, buildable, getValue, setValue);
+        } else if (propertyTypeToken == boolean.class) {
+            return (MethodMetaProperty<P>) new OfBoolean(metaBean, name, derived, buildable, getValue, setValue);
+        }
+        return new MethodMetaProperty<>(
+                metaBean, name, propertyTypeToken,
+                derived, buildable,
+                getValue, setValue);
     }
 
     //-----------------------------------------------------------------------
@@ -63,76 +129,188 @@ class MethodMetaProperty<P> extends AbstractMetaProperty<P> {
         }
     }
 
+    /**
+     * Creates the handle of the method, which wraps any checked exception thrown.
+     */
+    private static MethodHandle createHandle(Method method, MethodPurpose purpose) {
+        if (method == null) {
+            return null;
+        }
+        MethodHandle handle;
+        try {
+            handle = MethodHandles.lookup().unreflect(method);
+        } catch (IllegalAccessException ex) {
+            // because the method is made accessible during construction,
+            // this exception should never occur
+            String message = "The method used by this meta-property to "
+                    + purpose.formated()
+                    + " values is not accessible.";
+            throw new RuntimeException(message, ex);
+        }
+        MethodHandle rethrow = MethodHandles.filterReturnValue(
+                MethodHandles.insertArguments(RETHROWABLE, 1, purpose),
+                MethodHandles.throwException(handle.type().returnType(), Throwable.class));
+        return MethodHandles.catchException(handle, Throwable.class,
+                MethodHandles.dropArguments(rethrow, 1, handle.type().parameterList()));
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the method used to read the value of this meta-property.
+     * 
+     * @return the getter, null if write-only
+     */
+    final Method getter() {
+        return getValue;
+    }
+
+    /**
+     * Gets the method used to write the value of this meta-property.
+     * 
+     * @return the setter, null if read-only
+     */
+    final Method setter() {
+        return setValue;
+    }
+
     @Override
     public Stream<Annotation> annotations() {
-        Stream<Annotation> annotationsOnGetValue =
-                Stream.of(getValue.getAnnotations());
-        Stream<Annotation> annotationsOnSetValue =
-                Stream.of(setValue.getAnnotations());
-        return Stream.concat(annotationsOnGetValue, annotationsOnSetValue);
+        return Stream.of(annotations);
     }
 
     @Override
     public <A extends Annotation> Stream<A> annotations(Class<A> annotationType) {
-        A annotationOnGetValue = getValue.getAnnotation(annotationType);
-        A annotationOnSetValue = setValue.getAnnotation(annotationType);
-        return Stream
-                .of(annotationOnGetValue, annotationOnSetValue)
-                .filter(element -> element != null);
+        return annotationsOfType(annotations, annotationType);
     }
 
     @Override
     protected P getFromBean(Object bean) {
-        Object untypedValue = invoke(bean, getValue, MethodPurpose.GET);
-        return propertyType().cast(untypedValue);
+        return trustedValue(handles.get(bean));
     }
 
     @Override
     protected void setToBean(Object bean, P value) {
-        invoke(bean, setValue, MethodPurpose.SET, value);
+        if (value == null && primitive) {
+            // the setter handle would otherwise fail to unbox with an obscure exception
+            throw nullPrimitiveException(name(), propertyType());
+        }
+        handles.set(bean, value);
     }
 
-    private static Object invoke(
-            Object bean, Method method, MethodPurpose purpose, Object... args) {
+    @Override
+    protected int getIntFromBean(Object bean) {
+        return handles.getInt(bean);
+    }
 
-        try {
-            return method.invoke(bean, args);
-        } catch (IllegalAccessException ex) {
-            // because the backing field is made accessible during construction,
-            // this exception should never occur
-            String message = "The method used by this meta-property to "
-                    + purpose.formated()
-                    + " values is not accessible.";
-            throw new RuntimeException(message, ex);
-        } catch (IllegalArgumentException ex) {
-            // this exception can only occur if the bean does not have the correct type;
-            // this was already checked by the superclass so this should not happen
-            String message = "The specified bean does not declare the method "
-                    + "used by this meta-property to "
-                    + purpose.formated()
-                    + " values: "
-                    + ex.getMessage();
-            throw new ClassCastException(message);
-        } catch (InvocationTargetException ex) {
-            // the caught exception contains the actual exception thrown by the
-            // method invocation; rethrow that exception if possible (i.e. it
-            // is unchecked) or throw a new RuntimeException
-            Throwable thrownByMethod = ex.getCause();
-            if (thrownByMethod instanceof RuntimeException) {
-                throw (RuntimeException) thrownByMethod;
-            } else {
-                String message = "Invocating the method used by this meta-property to "
-                        + purpose.formated()
-                        + " values caused an exception. "
-                        + "That exception is the cause for this exception "
-                        + "(i.e. can be accessed by calling 'getCause()').";
-                throw new RuntimeException(message, thrownByMethod);
-            }
+    @Override
+    protected void setIntToBean(Object bean, int value) {
+        handles.setInt(bean, value);
+    }
+
+    @Override
+    protected long getLongFromBean(Object bean) {
+        return handles.getLong(bean);
+    }
+
+    @Override
+    protected void setLongToBean(Object bean, long value) {
+        handles.setLong(bean, value);
+    }
+
+    @Override
+    protected double getDoubleFromBean(Object bean) {
+        return handles.getDouble(bean);
+    }
+
+    @Override
+    protected void setDoubleToBean(Object bean, double value) {
+        handles.setDouble(bean, value);
+    }
+
+    @Override
+    protected boolean getBooleanFromBean(Object bean) {
+        return handles.getBoolean(bean);
+    }
+
+    @Override
+    protected void setBooleanToBean(Object bean, boolean value) {
+        handles.setBoolean(bean, value);
+    }
+
+    // called by the handle when the method throws
+    private static Throwable rethrowable(Throwable thrownByMethod, MethodPurpose purpose) {
+        // unchecked exceptions thrown by the method are rethrown as is,
+        // but a checked exception must be wrapped
+        if (thrownByMethod instanceof RuntimeException || thrownByMethod instanceof Error) {
+            return thrownByMethod;
+        }
+        String message = "Invocating the method used by this meta-property to "
+                + purpose.formated()
+                + " values caused an exception. "
+                + "That exception is the cause for this exception "
+                + "(i.e. can be accessed by calling 'getCause()').";
+        return new RuntimeException(message, thrownByMethod);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * A {@code MethodMetaProperty} for an {@code int} property, which avoids boxing.
+     */
+    static final class OfInt extends MethodMetaProperty<Integer> implements IntMetaProperty {
+
+        OfInt(
+                MetaBean metaBean, String name,
+                boolean derived, boolean buildable,
+                Method getValue, Method setValue) {
+
+            super(metaBean, name, int.class, derived, buildable, getValue, setValue);
+        }
+    }
+
+    /**
+     * A {@code MethodMetaProperty} for a {@code long} property, which avoids boxing.
+     */
+    static final class OfLong extends MethodMetaProperty<Long> implements LongMetaProperty {
+
+        OfLong(
+                MetaBean metaBean, String name,
+                boolean derived, boolean buildable,
+                Method getValue, Method setValue) {
+
+            super(metaBean, name, long.class, derived, buildable, getValue, setValue);
+        }
+    }
+
+    /**
+     * A {@code MethodMetaProperty} for a {@code double} property, which avoids boxing.
+     */
+    static final class OfDouble extends MethodMetaProperty<Double> implements DoubleMetaProperty {
+
+        OfDouble(
+                MetaBean metaBean, String name,
+                boolean derived, boolean buildable,
+                Method getValue, Method setValue) {
+
+            super(metaBean, name, double.class, derived, buildable, getValue, setValue);
+        }
+    }
+
+    /**
+     * A {@code MethodMetaProperty} for a {@code boolean} property, which avoids boxing.
+     */
+    static final class OfBoolean extends MethodMetaProperty<Boolean> implements BooleanMetaProperty {
+
+        OfBoolean(
+                MetaBean metaBean, String name,
+                boolean derived, boolean buildable,
+                Method getValue, Method setValue) {
+
+            super(metaBean, name, boolean.class, derived, buildable, getValue, setValue);
         }
     }
 
     /**
-     * Indicates which purpose the method passed to invoke has.
+     * Indicates which purpose a method has.
      */
     private static enum MethodPurpose {
         GET,
@@ -0,0 +1,56 @@
+/*
+ *  Copyright 2014-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.pa;
+
+/**
+ * A trusted getter and setter for a single property, obtained from {@link MetaProperty#unchecked()}.
+ * <p>
+ * The methods of {@link MetaProperty} check the bean and value on every call.
+ * A caller that has already validated the bean, for example once per object graph,
+ * can use this accessor to avoid repeating those checks for each property.
+ * <p>
+ * The caller is responsible for passing a non-null bean of the correct type,
+ * and a value of the correct type. If it does not, the behavior is unspecified.
+ * Typically a {@code NullPointerException}, {@code ClassCastException} or
+ * {@code IllegalArgumentException} will be thrown, but without a detailed message.
+ * <p>
+ * This is an interface and must be implemented with care.
+ * Implementations must be immutable and thread-safe.
+ * 
+ * @param <P>  the type of the property content
+ */
+public interface PropertyAccessor<P> {
+
+    /**
+     * Gets the value of the property for the specified bean, without checking the bean.
+     * 
+     * @param bean  the bean to query, not null and of the correct type
+     * @return the value of the property on the specified bean, may be null
+     * @throws UnsupportedOperationException if the property is write-only
+     */
+    P get(Object bean);
+
+    /**
+     * Sets the value of the property on the specified bean, without checking the bean or value.
+     * 
+     * @param bean  the bean to update, not null and of the correct type
+     * @param value  the value to set, of the correct type, may be null
+     * @throws UnsupportedOperationException if the property is read-only
+     * @throws RuntimeException if the value is rejected by the property
+     */
+    void set(Object bean, Object value);
+
+}
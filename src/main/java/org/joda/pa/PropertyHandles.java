@@ -0,0 +1,213 @@
+/*
+ *  Copyright 2014-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.pa;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.VarHandle;
+import java.lang.invoke.VarHandle.AccessMode;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads and writes the value of a single property using method handles held as constants.
+ * <p>
+ * A {@code MethodHandle} held in an instance field is not a constant, so the JIT
+ * cannot inline a call through it. Instead, each instance is of a hidden class defined
+ * from the bytes of {@link ConstantPropertyHandles}, with the handles passed as class data.
+ * The hidden class holds the handles in {@code static final} fields, which the JIT
+ * treats as constants, allowing the getter or setter to be inlined into each method.
+ * <p>
+ * The handles are adapted to erased types when the instance is created.
+ * The primitive methods may only be called for a property of the matching primitive type.
+ * The memory ordering and atomic methods may only be called if the instance
+ * was created from a {@link VarHandle}.
+ * The handles must not throw checked exceptions.
+ */
+abstract class PropertyHandles {
+
+    // the indices of the handles in the class data
+    static final int GET = 0;
+    static final int SET = 1;
+    static final int GET_PRIMITIVE = 2;
+    static final int SET_PRIMITIVE = 3;
+    static final int GET_VOLATILE = 4;
+    static final int GET_ACQUIRE = 5;
+    static final int GET_OPAQUE = 6;
+    static final int SET_VOLATILE = 7;
+    static final int SET_RELEASE = 8;
+    static final int SET_OPAQUE = 9;
+    static final int COMPARE_AND_SET = 10;
+    static final int WEAK_COMPARE_AND_SET = 11;
+    static final int GET_AND_SET = 12;
+
+    // the erased types of the handles
+    private static final MethodType GET_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SET_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType COMPARE_AND_SET_TYPE =
+            MethodType.methodType(boolean.class, Object.class, Object.class, Object.class);
+    private static final MethodType GET_AND_SET_TYPE = MethodType.methodType(Object.class, Object.class, Object.class);
+
+    /**
+     * The bytes of the template class.
+     */
+    private static final byte[] TEMPLATE = readTemplate();
+
+    /**
+     * Creates an instance.
+     * <p>
+     * The getter must be of type {@code (Bean)P} and the setter of type {@code (Bean,P)void},
+     * where {@code P} is the type of the property.
+     *
+     * @param getter  the getter, null if write-only
+     * @param setter  the setter, null if read-only
+     * @return the handles, not null
+     */
+    static PropertyHandles of(MethodHandle getter, MethodHandle setter) {
+        MethodHandle[] handles = new MethodHandle[GET_AND_SET + 1];
+        addAccessors(handles, getter, setter);
+        return define(Arrays.asList(handles));
+    }
+
+    /**
+     * Creates an instance supporting the memory ordering and atomic methods.
+     * <p>
+     * The {@code VarHandle} must be for an instance field, which must not be {@code final}.
+     *
+     * @param varHandle  the handle of the field, not null
+     * @return the handles, not null
+     */
+    static PropertyHandles of(VarHandle varHandle) {
+        MethodHandle[] handles = new MethodHandle[GET_AND_SET + 1];
+        addAccessors(handles, varHandle.toMethodHandle(AccessMode.GET), varHandle.toMethodHandle(AccessMode.SET));
+        handles[GET_VOLATILE] = varHandle.toMethodHandle(AccessMode.GET_VOLATILE).asType(GET_TYPE);
+        handles[GET_ACQUIRE] = varHandle.toMethodHandle(AccessMode.GET_ACQUIRE).asType(GET_TYPE);
+        handles[GET_OPAQUE] = varHandle.toMethodHandle(AccessMode.GET_OPAQUE).asType(GET_TYPE);
+        handles[SET_VOLATILE] = varHandle.toMethodHandle(AccessMode.SET_VOLATILE).asType(SET_TYPE);
+        handles[SET_RELEASE] = varHandle.toMethodHandle(AccessMode.SET_RELEASE).asType(SET_TYPE);
+        handles[SET_OPAQUE] = varHandle.toMethodHandle(AccessMode.SET_OPAQUE).asType(SET_TYPE);
+        handles[COMPARE_AND_SET] =
+                varHandle.toMethodHandle(AccessMode.COMPARE_AND_SET).asType(COMPARE_AND_SET_TYPE);
+        handles[WEAK_COMPARE_AND_SET] =
+                varHandle.toMethodHandle(AccessMode.WEAK_COMPARE_AND_SET).asType(COMPARE_AND_SET_TYPE);
+        handles[GET_AND_SET] = varHandle.toMethodHandle(AccessMode.GET_AND_SET).asType(GET_AND_SET_TYPE);
+        return define(Arrays.asList(handles));
+    }
+
+    private static void addAccessors(MethodHandle[] handles, MethodHandle getter, MethodHandle setter) {
+        if (getter != null) {
+            Class<?> propertyType = getter.type().returnType();
+            handles[GET] = getter.asType(GET_TYPE);
+            if (propertyType.isPrimitive()) {
+                handles[GET_PRIMITIVE] = getter.asType(MethodType.methodType(propertyType, Object.class));
+            }
+        }
+        if (setter != null) {
+            Class<?> propertyType = setter.type().parameterType(1);
+            handles[SET] = setter.asType(SET_TYPE);
+            if (propertyType.isPrimitive()) {
+                handles[SET_PRIMITIVE] = setter.asType(MethodType.methodType(void.class, Object.class, propertyType));
+            }
+        }
+    }
+
+    private static PropertyHandles define(List<MethodHandle> handles) {
+        try {
+            Lookup lookup = MethodHandles.lookup().defineHiddenClassWithClassData(TEMPLATE, handles, true);
+            return (PropertyHandles) lookup.findConstructor(lookup.lookupClass(), MethodType.methodType(void.class))
+                    .invoke();
+        } catch (RuntimeException | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new IllegalStateException("Unable to define the property handles", ex);
+        }
+    }
+
+    private static byte[] readTemplate() {
+        String resourceName = ConstantPropertyHandles.class.getSimpleName() + ".class";
+        try (InputStream in = PropertyHandles.class.getResourceAsStream(resourceName)) {
+            if (in == null) {
+                throw new IllegalStateException("Unable to find the class file: " + resourceName);
+            }
+            return in.readAllBytes();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Converts a throwable caught when invoking a handle to an unchecked exception.
+     *
+     * @param ex  the throwable, not null
+     * @return the runtime exception to throw, not null
+     * @throws Error if the throwable is an error
+     */
+    static RuntimeException unchecked(Throwable ex) {
+        if (ex instanceof RuntimeException) {
+            return (RuntimeException) ex;
+        }
+        if (ex instanceof Error) {
+            throw (Error) ex;
+        }
+        return new UndeclaredThrowableException(ex);
+    }
+
+    //-----------------------------------------------------------------------
+    abstract Object get(Object bean);
+
+    abstract void set(Object bean, Object value);
+
+    abstract int getInt(Object bean);
+
+    abstract void setInt(Object bean, int value);
+
+    abstract long getLong(Object bean);
+
+    abstract void setLong(Object bean, long value);
+
+    abstract double getDouble(Object bean);
+
+    abstract void setDouble(Object bean, double value);
+
+    abstract boolean getBoolean(Object bean);
+
+    abstract void setBoolean(Object bean, boolean value);
+
+    abstract Object getVolatile(Object bean);
+
+    abstract Object getAcquire(Object bean);
+
+    abstract Object getOpaque(Object bean);
+
+    abstract void setVolatile(Object bean, Object value);
+
+    abstract void setRelease(Object bean, Object value);
+
+    abstract void setOpaque(Object bean, Object value);
+
+    abstract boolean compareAndSet(Object bean, Object expectedValue, Object newValue);
+
+    abstract boolean weakCompareAndSet(Object bean, Object expectedValue, Object newValue);
+
+    abstract Object getAndSet(Object bean, Object newValue);
+
+}
@@ -0,0 +1,182 @@
+/*
+ *  Copyright 2014-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.pa;
+
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BinaryOperator;
+import java.util.function.UnaryOperator;
+
+/**
+ * The lock-striped implementation of the atomic operations on {@link MetaProperty}.
+ * <p>
+ * This is used by meta-properties that cannot perform a hardware compare-and-set,
+ * such as those backed by methods or functions. Each operation holds a lock,
+ * selected by the identity of the bean, while it gets and then sets the value.
+ * The lock is a {@code ReentrantLock} rather than a monitor so that virtual threads
+ * are not pinned while the property's methods run.
+ * <p>
+ * Each operation fails if the property is read-only, whatever the current value.
+ * The operations are only atomic with respect to each other.
+ * A call to {@link MetaProperty#set(Object, Object)} or a direct call to a setter
+ * on the bean does not take the lock.
+ */
+final class PropertyLocks {
+
+    /**
+     * The number of locks, a power of two.
+     */
+    private static final int STRIPES =
+            Integer.highestOneBit(Math.max(Runtime.getRuntime().availableProcessors() * 4, 16) - 1) << 1;
+    /**
+     * The locks.
+     */
+    private static final ReentrantLock[] LOCKS = new ReentrantLock[STRIPES];
+    static {
+        for (int i = 0; i < STRIPES; i++) {
+            LOCKS[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Restricted constructor.
+     */
+    private PropertyLocks() {
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Atomically sets the value if the current value matches the expected value.
+     *
+     * @param <P>  the type of the property content
+     * @param metaProperty  the property, not null
+     * @param bean  the bean to update, not null
+     * @param expectedValue  the expected current value, may be null
+     * @param newValue  the new value, may be null
+     * @return true if the value was set
+     */
+    static <P> boolean compareAndSet(MetaProperty<P> metaProperty, Object bean, Object expectedValue, Object newValue) {
+        ReentrantLock lock = lockFor(metaProperty, bean);
+        lock.lock();
+        try {
+            P currentValue = metaProperty.get(bean);
+            if (!matches(metaProperty, currentValue, expectedValue)) {
+                return false;
+            }
+            metaProperty.set(bean, newValue);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Atomically sets the value, returning the previous value.
+     *
+     * @param <P>  the type of the property content
+     * @param metaProperty  the property, not null
+     * @param bean  the bean to update, not null
+     * @param newValue  the new value, may be null
+     * @return the previous value, may be null
+     */
+    static <P> P getAndSet(MetaProperty<P> metaProperty, Object bean, Object newValue) {
+        ReentrantLock lock = lockFor(metaProperty, bean);
+        lock.lock();
+        try {
+            P previousValue = metaProperty.get(bean);
+            metaProperty.set(bean, newValue);
+            return previousValue;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Atomically updates the value using the function, returning the previous value.
+     *
+     * @param <P>  the type of the property content
+     * @param metaProperty  the property, not null
+     * @param bean  the bean to update, not null
+     * @param updateFunction  the function to apply, not null
+     * @return the previous value, may be null
+     */
+    static <P> P getAndUpdate(MetaProperty<P> metaProperty, Object bean, UnaryOperator<P> updateFunction) {
+        Objects.requireNonNull(updateFunction, "The argument 'updateFunction' must not be null.");
+        ReentrantLock lock = lockFor(metaProperty, bean);
+        lock.lock();
+        try {
+            P previousValue = metaProperty.get(bean);
+            metaProperty.set(bean, updateFunction.apply(previousValue));
+            return previousValue;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Atomically combines the value with another using the function, returning the updated value.
+     *
+     * @param <P>  the type of the property content
+     * @param metaProperty  the property, not null
+     * @param bean  the bean to update, not null
+     * @param value  the value to combine with the current value, may be null
+     * @param accumulatorFunction  the function to apply, not null
+     * @return the updated value, may be null
+     */
+    static <P> P accumulateAndGet(
+            MetaProperty<P> metaProperty, Object bean, P value, BinaryOperator<P> accumulatorFunction) {
+        Objects.requireNonNull(accumulatorFunction, "The argument 'accumulatorFunction' must not be null.");
+        ReentrantLock lock = lockFor(metaProperty, bean);
+        lock.lock();
+        try {
+            P updatedValue = accumulatorFunction.apply(metaProperty.get(bean), value);
+            metaProperty.set(bean, updatedValue);
+            return updatedValue;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Selects the lock for the bean, checking that the property can be written.
+     * <p>
+     * The check is made first, so that an operation on a read-only property fails
+     * even if the current value would not match or the value would not be changed.
+     */
+    private static ReentrantLock lockFor(MetaProperty<?> metaProperty, Object bean) {
+        Objects.requireNonNull(bean, "The argument 'bean' must not be null.");
+        if (!metaProperty.isMutable()) {
+            throw new UnsupportedOperationException("This meta-property is read-only.");
+        }
+        int hash = System.identityHashCode(bean);
+        return LOCKS[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+    }
+
+    /**
+     * Checks if the current value matches the expected value.
+     * <p>
+     * As with a {@code VarHandle}, primitive values are compared by value
+     * and references are compared by identity.
+     */
+    private static boolean matches(MetaProperty<?> metaProperty, Object currentValue, Object expectedValue) {
+        if (metaProperty.propertyType().isPrimitive()) {
+            return Objects.equals(currentValue, expectedValue);
+        }
+        return currentValue == expectedValue;
+    }
+
+}
@@ -0,0 +1,144 @@
+/*
+ *  Copyright 2014-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.pa;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * An immutable index of meta-properties by name.
+ * <p>
+ * This is an open-addressed hash table, built once per meta-bean, that finds
+ * a property in constant time without allocation. The result of each lookup is
+ * a pre-built {@code Optional}, thus the caller does not pay for creating one.
+ * <p>
+ * The hash of a name is the same as {@link String#hashCode()}, allowing a name
+ * held in any {@code CharSequence} to be looked up without creating a {@code String}.
+ */
+final class PropertyNameIndex {
+
+    private static final Optional<MetaProperty<?>> EMPTY = Optional.empty();
+
+    private final int mask;
+    private final int[] hashes;
+    private final String[] names;
+    /**
+     * The optional of each property, typed as {@code Optional<MetaProperty<?>>}.
+     */
+    private final Optional<?>[] properties;
+
+    /**
+     * Creates an index of the specified properties.
+     * <p>
+     * If two properties have the same name, the first one is indexed.
+     *
+     * @param metaProperties  the properties to index, not null
+     */
+    PropertyNameIndex(List<MetaProperty<?>> metaProperties) {
+        // keep the load factor at or below 0.5 to keep the probe sequences short
+        int capacity = Integer.highestOneBit(Math.max(metaProperties.size(), 1) * 4 - 1);
+        this.mask = capacity - 1;
+        this.hashes = new int[capacity];
+        this.names = new String[capacity];
+        this.properties = new Optional<?>[capacity];
+        for (MetaProperty<?> metaProperty : metaProperties) {
+            String name = metaProperty.name();
+            int hash = name.hashCode();
+            int slot = spread(hash) & mask;
+            while (names[slot] != null && !names[slot].equals(name)) {
+                slot = (slot + 1) & mask;
+            }
+            if (names[slot] == null) {
+                hashes[slot] = hash;
+                names[slot] = name;
+                properties[slot] = Optional.of(metaProperty);
+            }
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Finds a property by name.
+     *
+     * @param name  the name to find, null returns empty
+     * @return the property, empty if not found
+     */
+    Optional<MetaProperty<?>> find(String name) {
+        if (name == null) {
+            return EMPTY;
+        }
+        int hash = name.hashCode();
+        for (int slot = spread(hash) & mask; names[slot] != null; slot = (slot + 1) & mask) {
+            if (hashes[slot] == hash && names[slot].equals(name)) {
+                return property(slot);
+            }
+        }
+        return EMPTY;
+    }
+
+    /**
+     * Finds a property by a name held in a range of a character sequence.
+     *
+     * @param text  the text containing the name, null returns empty
+     * @param start  the start index of the name, inclusive
+     * @param end  the end index of the name, exclusive
+     * @return the property, empty if not found
+     * @throws IndexOutOfBoundsException if the range is invalid
+     */
+    Optional<MetaProperty<?>> find(CharSequence text, int start, int end) {
+        if (text == null) {
+            return EMPTY;
+        }
+        if (start < 0 || end < start || end > text.length()) {
+            throw new IndexOutOfBoundsException(
+                    "Range [" + start + ", " + end + ") out of bounds for length " + text.length());
+        }
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + text.charAt(i);
+        }
+        for (int slot = spread(hash) & mask; names[slot] != null; slot = (slot + 1) & mask) {
+            if (hashes[slot] == hash && regionEquals(names[slot], text, start, end)) {
+                return property(slot);
+            }
+        }
+        return EMPTY;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Optional<MetaProperty<?>> property(int slot) {
+        return (Optional<MetaProperty<?>>) properties[slot];
+    }
+
+    private static boolean regionEquals(String name, CharSequence text, int start, int end) {
+        int length = end - start;
+        if (name.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (name.charAt(i) != text.charAt(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int spread(int hash) {
+        // mix the high bits into the low bits, as the table is indexed by the low bits
+        return hash ^ (hash >>> 16);
+    }
+
+}
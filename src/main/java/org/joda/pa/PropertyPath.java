@@ -0,0 +1,91 @@
+/*
+ *  Copyright 2014-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.pa;
+
+import java.util.Objects;
+
+/**
+ * A path through nested beans, such as {@code address.city.name}.
+ * <p>
+ * The path is parsed and resolved once against the root meta-bean, using the
+ * declared type of each property to find the meta-bean of the next bean.
+ * When the path is evaluated, the property of each step is cached against
+ * the runtime class of the bean, so repeated evaluation involves no name
+ * resolution or meta-bean lookup.
+ * <p>
+ * Evaluation is null-safe. If any bean along the path is null, then
+ * {@link #get(Object)} returns null and {@link #set(Object, Object)} returns false.
+ * <p>
+ * This is an interface and must be implemented with care.
+ * Implementations must be immutable and thread-safe.
+ */
+public interface PropertyPath {
+
+    /**
+     * Parses a dot-separated path of property names.
+     * 
+     * @param rootMetaBean  the meta-bean of the beans the path starts from, not null
+     * @param path  the path, such as {@code address.city.name}, not null
+     * @return the path, not null
+     * @throws IllegalArgumentException if the path is invalid or a property is not found
+     */
+    static PropertyPath of(MetaBean rootMetaBean, String path) {
+        Objects.requireNonNull(rootMetaBean, "The argument 'rootMetaBean' must not be null.");
+        Objects.requireNonNull(path, "The argument 'path' must not be null.");
+        return new CompiledPropertyPath(rootMetaBean, path);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the meta-bean of the beans the path starts from.
+     * 
+     * @return the root meta-bean, not null
+     */
+    MetaBean rootMetaBean();
+
+    /**
+     * Gets the path as a dot-separated string.
+     * 
+     * @return the path, not null
+     */
+    String path();
+
+    /**
+     * Gets the value at the end of the path.
+     * 
+     * @param bean  the root bean to query, null returns null
+     * @return the value at the end of the path, null if it or any bean along the path is null
+     * @throws ClassCastException if the bean is of an incorrect type
+     * @throws IllegalStateException if a property is not found on the runtime class of a bean
+     * @throws UnsupportedOperationException if a property is write-only
+     */
+    Object get(Object bean);
+
+    /**
+     * Sets the value at the end of the path.
+     * 
+     * @param bean  the root bean to update, null returns false
+     * @param value  the value to set, may be null
+     * @return true if the value was set, false if any bean along the path is null
+     * @throws ClassCastException if the bean is of an incorrect type or
+     *                              if the value is of an invalid type for the property
+     * @throws IllegalStateException if a property is not found on the runtime class of a bean
+     * @throws UnsupportedOperationException if the last property is read-only
+     * @throws RuntimeException if the value is rejected by the property
+     */
+    boolean set(Object bean, Object value);
+
+}
@@ -0,0 +1,72 @@
+/*
+ *  Copyright 2014-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.pa;
+
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link MetaBean} for a {@link Record}.
+ * <p>
+ * Each record component is exposed as a read-only {@link MethodMetaProperty}
+ * backed by the accessor method, in component order.
+ * The record is built by calling the canonical constructor through a single
+ * {@code MethodHandle} taking the array of values indexed by component,
+ * see {@link BeanCreator#canonical(MetaBean, List)}.
+ * Every property is therefore buildable, but none is mutable.
+ */
+final class RecordMetaBean extends AbstractMetaBean {
+
+    /**
+     * Introspects the specified record type.
+     *
+     * @param recordType  the record type to introspect, not null
+     * @return the meta-bean, not null
+     * @throws IllegalArgumentException if the type is not a record
+     */
+    static RecordMetaBean introspect(Class<?> recordType) {
+        if (!recordType.isRecord()) {
+            throw new IllegalArgumentException("The type '" + recordType.getName() + "' is not a record.");
+        }
+        return new RecordMetaBean(recordType);
+    }
+
+    private RecordMetaBean(Class<?> recordType) {
+        super(recordType);
+        RecordComponent[] components = recordType.getRecordComponents();
+        List<Class<?>> componentTypes = new ArrayList<>(components.length);
+        for (RecordComponent component : components) {
+            componentTypes.add(component.getType());
+        }
+        BeanCreator creator = BeanCreator.canonical(this, componentTypes);
+        List<MetaProperty<?>> properties = new ArrayList<>(components.length);
+        for (RecordComponent component : components) {
+            properties.add(MethodMetaProperty.create(
+                    this, component.getName(), component.getType(),
+                    false, creator != null,
+                    component.getAccessor(), null));
+        }
+        init(creator, properties);
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    protected String notBuildableMessage() {
+        return "The record type '" + beanType() + "' has no accessible canonical constructor to build it.";
+    }
+
+}
@@ -0,0 +1,103 @@
+/*
+ *  Copyright 2014-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.pa;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A reusable {@link BeanBuilder} which records the values in an array indexed by property.
+ * <p>
+ * Each call to {@link #build()} sets the recorded values into a new builder
+ * from {@link MetaBean#beanBuilder()}, leaving this builder valid.
+ * This is the fallback used when a meta-bean has no natively reusable builder.
+ *
+ * @param <T>  the type of the bean
+ */
+final class RecordingBeanBuilder<T> implements BeanBuilder<T> {
+
+    /**
+     * The meta-bean.
+     */
+    private final MetaBean metaBean;
+    /**
+     * The values, indexed by property.
+     */
+    private final Object[] values;
+    /**
+     * Whether each value has been set.
+     */
+    private final boolean[] set;
+
+    /**
+     * Creates an instance.
+     *
+     * @param metaBean  the meta-bean, not null
+     */
+    RecordingBeanBuilder(MetaBean metaBean) {
+        this.metaBean = metaBean;
+        this.values = new Object[metaBean.propertyCount()];
+        this.set = new boolean[values.length];
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public Object get(MetaProperty<?> property) {
+        return values[ensureOwnProperty(property).index()];
+    }
+
+    @Override
+    public BeanBuilder<T> set(MetaProperty<?> property, Object value) {
+        int index = ensureOwnProperty(property).index();
+        if (!property.isBuildable()) {
+            String message = "The meta-property '" + property.name() + "' is not buildable.";
+            throw new UnsupportedOperationException(message);
+        }
+        values[index] = value;
+        set[index] = true;
+        return this;
+    }
+
+    private MetaProperty<?> ensureOwnProperty(MetaProperty<?> property) {
+        Objects.requireNonNull(property, "The argument 'property' must not be null.");
+        if (property.metaBean() != metaBean) {
+            String message = "The meta-property '" + property.name()
+                    + "' does not belong to this builder's meta-bean " + metaBean + ".";
+            throw new IllegalArgumentException(message);
+        }
+        return property;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T build() {
+        BeanBuilder<?> builder = metaBean.beanBuilder();
+        for (int i = 0; i < values.length; i++) {
+            if (set[i]) {
+                builder.set(metaBean.metaPropertyAt(i), values[i]);
+            }
+        }
+        return (T) builder.build();
+    }
+
+    @Override
+    public BeanBuilder<T> reset() {
+        Arrays.fill(values, null);
+        Arrays.fill(set, false);
+        return this;
+    }
+
+}
@@ -0,0 +1,198 @@
+/*
+ *  Copyright 2014-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.pa;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A {@link MetaBean} which reflects on the public getters and setters of a class
+ * as per the original Java Bean specification.
+ * <p>
+ * A getter is a public non-static method with no parameters named {@code getFoo()},
+ * or {@code isFoo()} if it returns {@code boolean}.
+ * A setter is a public non-static method returning {@code void} with one parameter
+ * named {@code setFoo()}. Each property is exposed as a {@link MethodMetaProperty}.
+ * <p>
+ * The properties are ordered by the declaration order of any field of the same name,
+ * superclass fields first, with any remaining properties ordered by name.
+ * <p>
+ * The bean is buildable if the class has a public constructor or a public static
+ * factory method named {@code of} whose parameters match the properties,
+ * see {@link BeanCreator}. In that case, every property that is a parameter or
+ * has a setter is buildable.
+ */
+final class ReflectiveMetaBean extends AbstractMetaBean {
+
+    /**
+     * Introspects the specified type.
+     *
+     * @param beanType  the type to introspect, not null
+     * @return the meta-bean, not null
+     */
+    static ReflectiveMetaBean introspect(Class<?> beanType) {
+        return new ReflectiveMetaBean(beanType);
+    }
+
+    private ReflectiveMetaBean(Class<?> beanType) {
+        super(beanType);
+        Map<String, Method[]> accessors = findAccessors(beanType);
+        BeanCreator creator = findCreator(accessors);
+        init(creator, createMetaProperties(accessors, creator));
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Finds the getter and setter of each property, keyed by property name in property order.
+     */
+    private static Map<String, Method[]> findAccessors(Class<?> beanType) {
+        Map<String, Method> getters = new HashMap<>();
+        Map<String, List<Method>> setters = new HashMap<>();
+        for (Method method : beanType.getMethods()) {
+            if (Modifier.isStatic(method.getModifiers()) ||
+                    method.isBridge() ||
+                    method.isSynthetic() ||
+                    method.getDeclaringClass() == Object.class) {
+                continue;
+            }
+            String methodName = method.getName();
+            Class<?> returnType = method.getReturnType();
+            if (method.getParameterCount() == 0 && returnType != void.class) {
+                if (methodName.startsWith("get") && methodName.length() > 3) {
+                    addGetter(getters, propertyName(methodName, 3), method);
+                } else if (methodName.startsWith("is") && methodName.length() > 2 && returnType == boolean.class) {
+                    addGetter(getters, propertyName(methodName, 2), method);
+                }
+            } else if (method.getParameterCount() == 1 && returnType == void.class &&
+                    methodName.startsWith("set") && methodName.length() > 3) {
+                setters.computeIfAbsent(propertyName(methodName, 3), name -> new ArrayList<>()).add(method);
+            }
+        }
+
+        Set<String> propertyNames = new LinkedHashSet<>(getters.keySet());
+        propertyNames.addAll(setters.keySet());
+        Map<String, Integer> fieldOrder = fieldOrder(beanType);
+        List<String> orderedNames = new ArrayList<>(propertyNames);
+        orderedNames.sort(Comparator
+                .comparing((String name) -> fieldOrder.getOrDefault(name, Integer.MAX_VALUE))
+                .thenComparing(Comparator.naturalOrder()));
+
+        Map<String, Method[]> result = new LinkedHashMap<>();
+        for (String name : orderedNames) {
+            Method getter = getters.get(name);
+            Method setter = findSetter(setters.getOrDefault(name, Collections.emptyList()), getter);
+            if (getter != null || setter != null) {
+                result.put(name, new Method[] {getter, setter});
+            }
+        }
+        return result;
+    }
+
+    private BeanCreator findCreator(Map<String, Method[]> accessors) {
+        List<String> propertyNames = new ArrayList<>(accessors.keySet());
+        List<Class<?>> propertyTypes = new ArrayList<>(accessors.size());
+        boolean[] setters = new boolean[accessors.size()];
+        for (Method[] accessor : accessors.values()) {
+            setters[propertyTypes.size()] = accessor[1] != null;
+            propertyTypes.add(propertyType(accessor[0], accessor[1]));
+        }
+        return BeanCreator.find(this, propertyNames, propertyTypes, setters);
+    }
+
+    private List<MetaProperty<?>> createMetaProperties(Map<String, Method[]> accessors, BeanCreator creator) {
+        List<MetaProperty<?>> result = new ArrayList<>(accessors.size());
+        for (Map.Entry<String, Method[]> entry : accessors.entrySet()) {
+            Method getter = entry.getValue()[0];
+            Method setter = entry.getValue()[1];
+            boolean buildable = creator != null && creator.isBuildable(result.size());
+            result.add(MethodMetaProperty.create(
+                    this, entry.getKey(), propertyType(getter, setter),
+                    false, buildable,
+                    getter, setter));
+        }
+        return result;
+    }
+
+    private static void addGetter(Map<String, Method> getters, String name, Method getter) {
+        // an 'isFoo()' getter takes precedence over 'getFoo()' as per the Java Bean specification,
+        // otherwise the most specific return type wins if an interface is re-declared
+        Method existing = getters.get(name);
+        if (existing == null ||
+                getter.getName().startsWith("is") ||
+                (existing.getName().startsWith("get") &&
+                        existing.getReturnType().isAssignableFrom(getter.getReturnType()))) {
+            getters.put(name, getter);
+        }
+    }
+
+    private static Method findSetter(List<Method> candidates, Method getter) {
+        if (getter == null) {
+            return candidates.size() == 1 ? candidates.get(0) : null;
+        }
+        for (Method candidate : candidates) {
+            if (candidate.getParameterTypes()[0] == getter.getReturnType()) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private static Class<?> propertyType(Method getter, Method setter) {
+        return getter != null ? getter.getReturnType() : setter.getParameterTypes()[0];
+    }
+
+    private static String propertyName(String methodName, int prefixLength) {
+        // as per java.beans.Introspector.decapitalize()
+        String name = methodName.substring(prefixLength);
+        if (name.length() > 1 && Character.isUpperCase(name.charAt(1)) && Character.isUpperCase(name.charAt(0))) {
+            return name;
+        }
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static Map<String, Integer> fieldOrder(Class<?> beanType) {
+        List<Class<?>> hierarchy = new ArrayList<>();
+        for (Class<?> cls = beanType; cls != null && cls != Object.class; cls = cls.getSuperclass()) {
+            hierarchy.add(0, cls);
+        }
+        Map<String, Integer> order = new HashMap<>();
+        for (Class<?> cls : hierarchy) {
+            for (Field field : cls.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    order.putIfAbsent(field.getName(), order.size());
+                }
+            }
+        }
+        return order;
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    protected String notBuildableMessage() {
+        return "The bean type '" + beanType() + "' has no public constructor or static factory to build it.";
+    }
+
+}
@@ -0,0 +1,106 @@
+/*
+ *  Copyright 2014-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.pa;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The lock-free implementation of {@link BeanBuilderPool}.
+ * <p>
+ * The pool is a fixed array of slots, each holding an idle builder or null.
+ * A thread starts its search at a slot selected by its identifier, so that
+ * platform threads tend to reuse the same builder without contention.
+ * A {@code ThreadLocal} is deliberately not used, as a pool per thread would
+ * retain a builder for each of potentially millions of virtual threads.
+ * No locks are held, so virtual threads are never pinned or blocked.
+ */
+final class StripedBeanBuilderPool implements BeanBuilderPool {
+
+    /**
+     * The number of slots, a power of two.
+     */
+    private static final int SLOTS =
+            Integer.highestOneBit(Math.min(Math.max(Runtime.getRuntime().availableProcessors() * 2, 4), 64) - 1) << 1;
+
+    /**
+     * The meta-bean.
+     */
+    private final MetaBean metaBean;
+    /**
+     * The idle builders.
+     */
+    private final AtomicReferenceArray<BeanBuilder<?>> slots = new AtomicReferenceArray<>(SLOTS);
+
+    /**
+     * Creates an instance.
+     *
+     * @param metaBean  the meta-bean, not null
+     */
+    StripedBeanBuilderPool(MetaBean metaBean) {
+        this.metaBean = metaBean;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the meta-bean that the builders are created by.
+     *
+     * @return the meta-bean, not null
+     */
+    MetaBean metaBean() {
+        return metaBean;
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public BeanBuilder<?> acquire() {
+        int start = probe();
+        for (int i = 0; i < SLOTS; i++) {
+            int slot = (start + i) & (SLOTS - 1);
+            BeanBuilder<?> builder = slots.get(slot);
+            if (builder != null && slots.compareAndSet(slot, builder, null)) {
+                return builder;
+            }
+        }
+        return metaBean.reusableBeanBuilder();
+    }
+
+    @Override
+    public void release(BeanBuilder<?> builder) {
+        Objects.requireNonNull(builder, "The argument 'builder' must not be null.");
+        builder.reset();
+        int start = probe();
+        for (int i = 0; i < SLOTS; i++) {
+            int slot = (start + i) & (SLOTS - 1);
+            if (slots.get(slot) == null && slots.compareAndSet(slot, null, builder)) {
+                return;
+            }
+        }
+    }
+
+    private static int probe() {
+        long id = Thread.currentThread().getId();
+        int hash = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public String toString() {
+        return "BeanBuilderPool:" + metaBean.beanType().getName();
+    }
+
+}
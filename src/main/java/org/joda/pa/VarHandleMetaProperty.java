@@ -0,0 +1,309 @@
+/*
+ *  Copyright 2014-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.pa;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Objects;
+import java.util.function.BinaryOperator;
+import java.util.function.UnaryOperator;
+
+/**
+ * A {@link FieldMetaProperty} which also accesses the {@link Field}
+ * (provided during construction) using a {@link VarHandle}.
+ * <p>
+ * The access modes of the {@code VarHandle} are converted to method handles during
+ * construction, which are held as constants by {@link PropertyHandles}.
+ * The memory ordering methods thus access the field directly using the matching mode,
+ * and the atomic operations use a hardware compare-and-set on the field.
+ * The memory ordering and atomic methods on a {@code final} field fall back to the defaults,
+ * as a {@code VarHandle} cannot write to a {@code final} field.
+ *
+ * @param <P> the type of the property content
+ */
+class VarHandleMetaProperty<P> extends FieldMetaProperty<P> {
+
+    private final boolean finalField;
+
+    /**
+     * This constructor does not check these arguments.
+     * It relies on the calling builder to do so.
+     */
+    VarHandleMetaProperty(
+            MetaBean metaBean, String name, Class<P> propertyTypeToken,
+            boolean derived, boolean buildable,
+            boolean readable, boolean mutable,
+            Field backingField) {
+
+        super(metaBean, name, propertyTypeToken,
+                derived, buildable, readable, mutable,
+                backingField, createVarHandles(backingField, readable, mutable));
+
+        this.finalField = Modifier.isFinal(backingField.getModifiers());
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Creates a meta-property, choosing a specialized implementation
+     * for a property of type {@code int}, {@code long}, {@code double} or {@code boolean}.
+     * <p>
+     * As a {@code VarHandle} cannot write to a {@code final} field, a meta-property
+     * for a {@code final} field is created by {@link FieldMetaProperty#create}.
+     * <p>
+     * This method does not check these arguments.
+     * It relies on the calling builder to do so.
+     */
+    @SuppressWarnings("unchecked")
+    static <P> FieldMetaProperty<P> create(
+            MetaBean metaBean, String name, Class<P> propertyTypeToken,
+            boolean derived, boolean buildable,
+            boolean readable, boolean mutable,
+            Field backingField) {
+
+        if (Modifier.isFinal(backingField.getModifiers())) {
+            return FieldMetaProperty.create(
+                    metaBean, name, propertyTypeToken,
+                    derived, buildable, readable, mutable,
+                    backingField);
+        } else if (propertyTypeToken == int.class) {
+            return (FieldMetaProperty<P>) new OfInt(
+                    metaBean, name, derived, buildable, readable, mutable, backingField);
+        } else if (propertyTypeToken == long.class) {
+            return (FieldMetaProperty<P>) new OfLong(
+                    metaBean, name, derived, buildable, readable, mutable, backingField);
+        } else if (propertyTypeToken == double.class) {
+            return (FieldMetaProperty<P>) new OfDouble(
+                    metaBean, name, derived, buildable, readable, mutable, backingField);
+        } else if (propertyTypeToken == boolean.class) {
+            return (FieldMetaProperty<P>) new OfBoolean(
+                    metaBean, name, derived, buildable, readable, mutable, backingField);
+        }
+        return new VarHandleMetaProperty<>(
+                metaBean, name, propertyTypeToken,
+                derived, buildable, readable, mutable,
+                backingField);
+    }
+
+    //-----------------------------------------------------------------------
+    private static PropertyHandles createVarHandles(Field backingField, boolean readable, boolean mutable) {
+        if (Modifier.isFinal(backingField.getModifiers())) {
+            return FieldMetaProperty.createHandles(backingField, readable, mutable);
+        }
+        try {
+            Lookup lookup = MethodHandles.privateLookupIn(backingField.getDeclaringClass(), MethodHandles.lookup());
+            return PropertyHandles.of(lookup.unreflectVarHandle(backingField));
+        } catch (IllegalAccessException ex) {
+            String message = "The field backing this meta-property is not accessible.";
+            throw new RuntimeException(message, ex);
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public P getVolatile(Object bean) {
+        if (finalField) {
+            return super.getVolatile(bean);
+        }
+        ensureCanGet(bean);
+        return trustedValue(handles().getVolatile(bean));
+    }
+
+    @Override
+    public P getAcquire(Object bean) {
+        if (finalField) {
+            return super.getAcquire(bean);
+        }
+        ensureCanGet(bean);
+        return trustedValue(handles().getAcquire(bean));
+    }
+
+    @Override
+    public P getOpaque(Object bean) {
+        if (finalField) {
+            return super.getOpaque(bean);
+        }
+        ensureCanGet(bean);
+        return trustedValue(handles().getOpaque(bean));
+    }
+
+    @Override
+    public void setVolatile(Object bean, Object value) {
+        if (finalField) {
+            super.setVolatile(bean, value);
+        } else {
+            handles().setVolatile(bean, ensureCanSetField(bean, value));
+        }
+    }
+
+    @Override
+    public void setRelease(Object bean, Object value) {
+        if (finalField) {
+            super.setRelease(bean, value);
+        } else {
+            handles().setRelease(bean, ensureCanSetField(bean, value));
+        }
+    }
+
+    @Override
+    public void setOpaque(Object bean, Object value) {
+        if (finalField) {
+            super.setOpaque(bean, value);
+        } else {
+            handles().setOpaque(bean, ensureCanSetField(bean, value));
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public boolean compareAndSet(Object bean, Object expectedValue, Object newValue) {
+        if (finalField) {
+            return super.compareAndSet(bean, expectedValue, newValue);
+        }
+        ensureCanGet(bean);
+        P typedNewValue = ensureCanSetField(bean, newValue);
+        P typedExpectedValue = castToPropertyType(expectedValue);
+        if (typedExpectedValue == null && propertyType().isPrimitive()) {
+            // a primitive field can never hold null
+            return false;
+        }
+        return handles().compareAndSet(bean, typedExpectedValue, typedNewValue);
+    }
+
+    @Override
+    public P getAndSet(Object bean, Object newValue) {
+        if (finalField) {
+            return super.getAndSet(bean, newValue);
+        }
+        ensureCanGet(bean);
+        P typedNewValue = ensureCanSetField(bean, newValue);
+        return trustedValue(handles().getAndSet(bean, typedNewValue));
+    }
+
+    @Override
+    public P getAndUpdate(Object bean, UnaryOperator<P> updateFunction) {
+        if (finalField) {
+            return super.getAndUpdate(bean, updateFunction);
+        }
+        Objects.requireNonNull(updateFunction, "The argument 'updateFunction' must not be null.");
+        ensureCanGet(bean);
+        PropertyHandles handles = handles();
+        while (true) {
+            P previousValue = trustedValue(handles.getVolatile(bean));
+            P updatedValue = ensureCanSetField(bean, updateFunction.apply(previousValue));
+            if (handles.weakCompareAndSet(bean, previousValue, updatedValue)) {
+                return previousValue;
+            }
+        }
+    }
+
+    @Override
+    public P accumulateAndGet(Object bean, P value, BinaryOperator<P> accumulatorFunction) {
+        if (finalField) {
+            return super.accumulateAndGet(bean, value, accumulatorFunction);
+        }
+        Objects.requireNonNull(accumulatorFunction, "The argument 'accumulatorFunction' must not be null.");
+        ensureCanGet(bean);
+        PropertyHandles handles = handles();
+        while (true) {
+            P previousValue = trustedValue(handles.getVolatile(bean));
+            P updatedValue = ensureCanSetField(bean, accumulatorFunction.apply(previousValue, value));
+            if (handles.weakCompareAndSet(bean, previousValue, updatedValue)) {
+                return updatedValue;
+            }
+        }
+    }
+
+    /**
+     * Checks that the value can be written to the field, rejecting null for a primitive field.
+     */
+    private P ensureCanSetField(Object bean, Object value) {
+        P typedValue = ensureCanSet(bean, value);
+        if (typedValue == null && propertyType().isPrimitive()) {
+            // the handle would otherwise fail to unbox with an obscure exception
+            throw nullPrimitiveException(name(), propertyType());
+        }
+        return typedValue;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * A {@code VarHandleMetaProperty} for an {@code int} field, which avoids boxing.
+     * The field must not be {@code final}.
+     */
+    static final class OfInt extends VarHandleMetaProperty<Integer> implements IntMetaProperty {
+
+        OfInt(
+                MetaBean metaBean, String name,
+                boolean derived, boolean buildable,
+                boolean readable, boolean mutable,
+                Field backingField) {
+
+            super(metaBean, name, int.class, derived, buildable, readable, mutable, backingField);
+        }
+    }
+
+    /**
+     * A {@code VarHandleMetaProperty} for a {@code long} field, which avoids boxing.
+     * The field must not be {@code final}.
+     */
+    static final class OfLong extends VarHandleMetaProperty<Long> implements LongMetaProperty {
+
+        OfLong(
+                MetaBean metaBean, String name,
+                boolean derived, boolean buildable,
+                boolean readable, boolean mutable,
+                Field backingField) {
+
+            super(metaBean, name, long.class, derived, buildable, readable, mutable, backingField);
+        }
+    }
+
+    /**
+     * A {@code VarHandleMetaProperty} for a {@code double} field, which avoids boxing.
+     * The field must not be {@code final}.
+     */
+    static final class OfDouble extends VarHandleMetaProperty<Double> implements DoubleMetaProperty {
+
+        OfDouble(
+                MetaBean metaBean, String name,
+                boolean derived, boolean buildable,
+                boolean readable, boolean mutable,
+                Field backingField) {
+
+            super(metaBean, name, double.class, derived, buildable, readable, mutable, backingField);
+        }
+    }
+
+    /**
+     * A {@code VarHandleMetaProperty} for a {@code boolean} field, which avoids boxing.
+     * The field must not be {@code final}.
+     */
+    static final class OfBoolean extends VarHandleMetaProperty<Boolean> implements BooleanMetaProperty {
+
+        OfBoolean(
+                MetaBean metaBean, String name,
+                boolean derived, boolean buildable,
+                boolean readable, boolean mutable,
+                Field backingField) {
+
+            super(metaBean, name, boolean.class, derived, buildable, readable, mutable, backingField);
+        }
+    }
+
+}
@@ -0,0 +1,142 @@
+/*
+ *  Copyright 2014-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.pa.convert;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Factory for converters of types declaring the {@link FromString} annotation,
+ * directly or by {@link FromStringFactory}.
+ * <p>
+ * Only the 'from string' side is searched for on the type itself, as the
+ * method or constructor determines the effective type of the converter.
+ * The {@link ToString} method is searched for on the type, its superclasses and interfaces.
+ * A type that inherits both from a supertype is found by the hierarchy walk of {@code StringConvert}.
+ */
+enum AnnotationStringConverterFactory implements StringConverterFactory {
+
+    /**
+     * Singleton instance.
+     */
+    INSTANCE;
+
+    //-----------------------------------------------------------------------
+    @Override
+    public StringConverter findConverter(Class<?> cls) {
+        Method fromStringMethod = findFromStringMethod(cls);
+        Constructor<?> fromStringConstructor = findFromStringConstructor(cls);
+        if (fromStringMethod == null && fromStringConstructor == null) {
+            return null;
+        }
+        if (fromStringMethod != null && fromStringConstructor != null) {
+            throw new IllegalStateException("Both method and constructor are annotated with @FromString: " + cls.getName());
+        }
+        Method toString = findToStringMethod(cls);
+        if (toString == null) {
+            throw new IllegalStateException("Class annotated with @FromString but not with @ToString: " + cls.getName());
+        }
+        return fromStringMethod != null ?
+                MethodsStringConverter.of(cls, toString, fromStringMethod) :
+                MethodsStringConverter.of(cls, toString, fromStringConstructor);
+    }
+
+    //-----------------------------------------------------------------------
+    private static Method findToStringMethod(Class<?> cls) {
+        for (Class<?> loopCls = cls; loopCls != null; loopCls = loopCls.getSuperclass()) {
+            Method method = findToStringMethodDeclared(loopCls);
+            if (method != null) {
+                return method;
+            }
+            for (Class<?> iface : loopCls.getInterfaces()) {
+                method = findToStringMethod(iface);
+                if (method != null) {
+                    return method;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static Method findToStringMethodDeclared(Class<?> cls) {
+        Method matched = null;
+        for (Method method : cls.getDeclaredMethods()) {
+            if (method.isAnnotationPresent(ToString.class)) {
+                if (matched != null) {
+                    throw new IllegalStateException("Two methods are annotated with @ToString: " + cls.getName());
+                }
+                if (Modifier.isStatic(method.getModifiers()) ||
+                        method.getParameterCount() != 0 ||
+                        method.getReturnType() != String.class) {
+                    throw new IllegalStateException(
+                            "Method annotated with @ToString must be non-static, have no parameters and return String: "
+                            + method);
+                }
+                matched = method;
+            }
+        }
+        return matched;
+    }
+
+    private static Method findFromStringMethod(Class<?> cls) {
+        Class<?> searchCls = cls;
+        FromStringFactory factory = cls.getAnnotation(FromStringFactory.class);
+        if (factory != null) {
+            searchCls = factory.factory();
+        }
+        Method matched = null;
+        for (Method method : searchCls.getDeclaredMethods()) {
+            if (method.isAnnotationPresent(FromString.class)) {
+                if (matched != null) {
+                    throw new IllegalStateException("Two methods are annotated with @FromString: " + searchCls.getName());
+                }
+                if (!Modifier.isStatic(method.getModifiers()) ||
+                        method.getParameterCount() != 1 ||
+                        !isStringParameter(method.getParameterTypes()[0]) ||
+                        !cls.isAssignableFrom(method.getReturnType())) {
+                    throw new IllegalStateException(
+                            "Method annotated with @FromString must be static, have one String parameter and return "
+                            + cls.getName() + ": " + method);
+                }
+                matched = method;
+            }
+        }
+        if (factory != null && matched == null) {
+            throw new IllegalStateException("Factory named by @FromStringFactory has no @FromString method: "
+                    + searchCls.getName());
+        }
+        return matched;
+    }
+
+    private static Constructor<?> findFromStringConstructor(Class<?> cls) {
+        for (Constructor<?> constructor : cls.getDeclaredConstructors()) {
+            if (constructor.isAnnotationPresent(FromString.class)) {
+                if (constructor.getParameterCount() != 1 || !isStringParameter(constructor.getParameterTypes()[0])) {
+                    throw new IllegalStateException(
+                            "Constructor annotated with @FromString must have one String parameter: " + constructor);
+                }
+                return constructor;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isStringParameter(Class<?> parameterType) {
+        return parameterType == String.class || parameterType == CharSequence.class;
+    }
+
+}
@@ -0,0 +1,70 @@
+/*
+ *  Copyright 2014-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.pa.convert;
+
+import java.lang.constant.ConstantDescs;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+
+/**
+ * The template of the hidden classes created by {@link MethodsStringConverter}.
+ * <p>
+ * This class is never used directly. Each hidden class defined from its bytes
+ * reads the handles from its class data into {@code static final} fields.
+ */
+final class ConstantMethodsStringConverter extends MethodsStringConverter {
+
+    private static final MethodHandle TO_STRING_HANDLE;
+    private static final MethodHandle FROM_STRING_HANDLE;
+    static {
+        try {
+            Lookup lookup = MethodHandles.lookup();
+            TO_STRING_HANDLE = handle(lookup, TO_STRING);
+            FROM_STRING_HANDLE = handle(lookup, FROM_STRING);
+        } catch (IllegalAccessException ex) {
+            throw new ExceptionInInitializerError(ex);
+        }
+    }
+
+    private static MethodHandle handle(Lookup lookup, int index) throws IllegalAccessException {
+        return MethodHandles.classDataAt(lookup, ConstantDescs.DEFAULT_NAME, MethodHandle.class, index);
+    }
+
+    private ConstantMethodsStringConverter(Class<?> effectiveType) {
+        super(effectiveType);
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public String convertToString(Object object) {
+        try {
+            return (String) TO_STRING_HANDLE.invokeExact(object);
+        } catch (Throwable ex) {
+            throw unchecked(ex);
+        }
+    }
+
+    @Override
+    public Object convertFromString(Class<?> cls, String str) {
+        try {
+            return (Object) FROM_STRING_HANDLE.invokeExact(str);
+        } catch (Throwable ex) {
+            throw unchecked(ex);
+        }
+    }
+
+}
@@ -0,0 +1,67 @@
+/*
+ *  Copyright 2014-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.pa.convert;
+
+/**
+ * A converter to and from a standard format {@code String} for the primitive type {@code double}.
+ * <p>
+ * The methods of this interface parse and append the value without boxing it,
+ * whereas the methods inherited from {@link StringConverter} box the value
+ * as {@code Double}. This converter is returned by {@link StringConvert#findDoubleConverter(Class)}
+ * for both {@code double.class} and {@code Double.class}.
+ * <p>
+ * This is an interface and must be implemented with care.
+ * Implementations must be immutable and thread-safe.
+ */
+public interface DoubleStringConverter extends StringConverter {
+
+    /**
+     * Parses the specified text without boxing.
+     * <p>
+     * This is equivalent to {@link #convertFromString(Class, String)}.
+     * 
+     * @param text  the text to parse, such as '1.5', not null
+     * @return the parsed value
+     * @throws RuntimeException (or subclass) if unable to parse
+     */
+    default double parseDouble(CharSequence text) {
+        return parseDouble(text, 0, text.length());
+    }
+
+    /**
+     * Parses the specified range of the text without boxing.
+     * <p>
+     * This is equivalent to {@link #convertFromString(Class, CharSequence, int, int)}.
+     * 
+     * @param text  the text containing the value to parse, not null
+     * @param start  the start index, inclusive, valid
+     * @param end  the end index, exclusive, valid
+     * @return the parsed value
+     * @throws RuntimeException (or subclass) if unable to parse
+     */
+    double parseDouble(CharSequence text, int start, int end);
+
+    /**
+     * Appends the specified value to a {@code StringBuilder} without boxing.
+     * <p>
+     * This is equivalent to {@link #appendTo(StringBuilder, Object)}.
+     * 
+     * @param buf  the buffer to append to, not null
+     * @param value  the value to append
+     */
+    void appendDouble(StringBuilder buf, double value);
+
+}
@@ -0,0 +1,106 @@
+/*
+ *  Copyright 2014-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.pa.convert;
+
+/**
+ * Factory for converters of {@code Enum} types, registered in every {@link StringConvert}.
+ * <p>
+ * The string form is the {@linkplain Enum#name() name} of the constant.
+ * A constant with a body is a subclass of its enum, and is found
+ * by the hierarchy walk of {@code StringConvert}.
+ */
+enum EnumStringConverterFactory implements StringConverterFactory {
+
+    /**
+     * Singleton instance.
+     */
+    INSTANCE;
+
+    //-----------------------------------------------------------------------
+    @Override
+    public StringConverter findConverter(Class<?> cls) {
+        return cls.isEnum() ? new EnumStringConverter(cls) : null;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The converter for a single enum type.
+     */
+    static final class EnumStringConverter implements StringConverter {
+        /**
+         * The enum type.
+         */
+        private final Class<?> effectiveType;
+        /**
+         * The constants, searched when parsing in place.
+         */
+        private final Enum<?>[] constants;
+
+        EnumStringConverter(Class<?> effectiveType) {
+            this.effectiveType = effectiveType;
+            this.constants = (Enum<?>[]) effectiveType.getEnumConstants();
+        }
+
+        @Override
+        public String convertToString(Object object) {
+            return ((Enum<?>) object).name();
+        }
+
+        @Override
+        public void appendTo(StringBuilder buf, Object object) {
+            buf.append(((Enum<?>) object).name());
+        }
+
+        @Override
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        public Object convertFromString(Class<?> cls, String str) {
+            return Enum.valueOf((Class) effectiveType, str);
+        }
+
+        @Override
+        public Object convertFromString(Class<?> cls, CharSequence text, int start, int end) {
+            int length = end - start;
+            for (Enum<?> constant : constants) {
+                String name = constant.name();
+                if (name.length() == length && regionMatches(name, text, start)) {
+                    return constant;
+                }
+            }
+            throw new IllegalArgumentException(
+                    "No enum constant " + effectiveType.getCanonicalName() + "." + text.subSequence(start, end));
+        }
+
+        private static boolean regionMatches(String name, CharSequence text, int start) {
+            for (int i = 0; i < name.length(); i++) {
+                if (name.charAt(i) != text.charAt(start + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public Class<?> getEffectiveType() {
+            return effectiveType;
+        }
+
+        @Override
+        public String toString() {
+            return "EnumStringConverter[" + effectiveType.getName() + "]";
+        }
+    }
+
+}
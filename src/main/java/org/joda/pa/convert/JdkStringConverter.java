@@ -0,0 +1,679 @@
+/*
+ *  Copyright 2014-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.pa.convert;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Month;
+import java.time.MonthDay;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.Period;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Currency;
+import java.util.UUID;
+
+/**
+ * Converters for common JDK types, registered in every {@link StringConvert}.
+ * The converters for {@code int}, {@code long}, {@code double} and {@code boolean}
+ * are in {@link PrimitiveStringConverters}.
+ * <p>
+ * Each converter uses {@code toString()} to convert to a string and the standard
+ * parse method of the type to convert from a string.
+ * <p>
+ * Each constant overrides exactly one of the two {@code convertFromString} methods,
+ * the other delegating to it. The converters for bytes, shorts, characters
+ * and dates and times parse a range of a {@code CharSequence} in place, apart from
+ * the region ID of a {@code ZonedDateTime}, and any form other than the common
+ * fixed-width ISO-8601 forms, which are delegated to the JDK.
+ * <p>
+ * The other converters, including those for {@code float} and {@code BigDecimal},
+ * copy the range to a {@code String}, as the JDK only parses those from a {@code String}
+ * and correctly rounded parsing is not worth duplicating. No copy is made when
+ * the range is the whole of a {@code String}.
+ */
+enum JdkStringConverter implements StringConverter {
+
+    /**
+     * String converter.
+     */
+    STRING(String.class) {
+        @Override
+        public Object convertFromString(Class<?> cls, String str) {
+            return str;
+        }
+
+        @Override
+        public void appendTo(StringBuilder buf, Object object) {
+            buf.append((String) object);
+        }
+    },
+    /**
+     * CharSequence converter.
+     */
+    CHAR_SEQUENCE(CharSequence.class) {
+        @Override
+        public Object convertFromString(Class<?> cls, String str) {
+            return str;
+        }
+
+        @Override
+        public void appendTo(StringBuilder buf, Object object) {
+            buf.append((CharSequence) object);
+        }
+    },
+    /**
+     * StringBuilder converter.
+     */
+    STRING_BUILDER(StringBuilder.class) {
+        @Override
+        public Object convertFromString(Class<?> cls, String str) {
+            return new StringBuilder(str);
+        }
+
+        @Override
+        public void appendTo(StringBuilder buf, Object object) {
+            buf.append((CharSequence) object);
+        }
+    },
+    /**
+     * Character converter, accepting only a single character.
+     */
+    CHARACTER(Character.class) {
+        @Override
+        public Object convertFromString(Class<?> cls, CharSequence text, int start, int end) {
+            if (end - start != 1) {
+                throw new IllegalArgumentException(
+                        "Character value must be a string of length 1: " + text.subSequence(start, end));
+            }
+            return Character.valueOf(text.charAt(start));
+        }
+
+        @Override
+        public void appendTo(StringBuilder buf, Object object) {
+            buf.append(((Character) object).charValue());
+        }
+    },
+    /**
+     * Byte converter.
+     */
+    BYTE(Byte.class) {
+        @Override
+        public Object convertFromString(Class<?> cls, CharSequence text, int start, int end) {
+            return Byte.valueOf((byte) parseInt(text, start, end, Byte.MIN_VALUE, Byte.MAX_VALUE));
+        }
+
+        @Override
+        public void appendTo(StringBuilder buf, Object object) {
+            buf.append(((Byte) object).intValue());
+        }
+    },
+    /**
+     * Short converter.
+     */
+    SHORT(Short.class) {
+        @Override
+        public Object convertFromString(Class<?> cls, CharSequence text, int start, int end) {
+            return Short.valueOf((short) parseInt(text, start, end, Short.MIN_VALUE, Short.MAX_VALUE));
+        }
+
+        @Override
+        public void appendTo(StringBuilder buf, Object object) {
+            buf.append(((Short) object).intValue());
+        }
+    },
+    /**
+     * Float converter.
+     */
+    FLOAT(Float.class) {
+        @Override
+        public Object convertFromString(Class<?> cls, String str) {
+            return Float.valueOf(str);
+        }
+
+        @Override
+        public void appendTo(StringBuilder buf, Object object) {
+            buf.append(((Float) object).floatValue());
+        }
+    },
+    /**
+     * BigInteger converter.
+     */
+    BIG_INTEGER(BigInteger.class) {
+        @Override
+        public Object convertFromString(Class<?> cls, String str) {
+            return new BigInteger(str);
+        }
+    },
+    /**
+     * BigDecimal converter.
+     */
+    BIG_DECIMAL(BigDecimal.class) {
+        @Override
+        public Object convertFromString(Class<?> cls, String str) {
+            return new BigDecimal(str);
+        }
+    },
+    /**
+     * UUID converter.
+     */
+    UUID(UUID.class) {
+        @Override
+        public Object convertFromString(Class<?> cls, String str) {
+            return java.util.UUID.fromString(str);
+        }
+    },
+    /**
+     * URI converter.
+     */
+    URI(URI.class) {
+        @Override
+        public Object convertFromString(Class<?> cls, String str) {
+            return java.net.URI.create(str);
+        }
+    },
+    /**
+     * Currency converter.
+     */
+    CURRENCY(Currency.class) {
+        @Override
+        public Object convertFromString(Class<?> cls, String str) {
+            return Currency.getInstance(str);
+        }
+    },
+    /**
+     * Instant converter.
+     */
+    INSTANT(Instant.class) {
+        @Override
+        public Object convertFromString(Class<?> cls, String str) {
+            return Instant.parse(str);
+        }
+
+        @Override
+        public void appendTo(StringBuilder buf, Object object) {
+            DateTimeFormatter.ISO_INSTANT.formatTo((Instant) object, buf);
+        }
+    },
+    /**
+     * Duration converter.
+     */
+    DURATION(Duration.class) {
+        @Override
+        public Object convertFromString(Class<?> cls, String str) {
+            return Duration.parse(str);
+        }
+    },
+    /**
+     * Period converter.
+     */
+    PERIOD(Period.class) {
+        @Override
+        public Object convertFromString(Class<?> cls, String str) {
+            return Period.parse(str);
+        }
+    },
+    /**
+     * LocalDate converter.
+     */
+    LOCAL_DATE(LocalDate.class) {
+        @Override
+        public Object convertFromString(Class<?> cls, CharSequence text, int start, int end) {
+            return parseDate(text, start, end);
+        }
+
+        @Override
+        public void appendTo(StringBuilder buf, Object object) {
+            appendDate(buf, (LocalDate) object);
+        }
+    },
+    /**
+     * LocalTime converter.
+     */
+    LOCAL_TIME(LocalTime.class) {
+        @Override
+        public Object convertFromString(Class<?> cls, CharSequence text, int start, int end) {
+            return parseTime(text, start, end);
+        }
+
+        @Override
+        public void appendTo(StringBuilder buf, Object object) {
+            appendTime(buf, (LocalTime) object);
+        }
+    },
+    /**
+     * LocalDateTime converter.
+     */
+    LOCAL_DATE_TIME(LocalDateTime.class) {
+        @Override
+        public Object convertFromString(Class<?> cls, CharSequence text, int start, int end) {
+            LocalDateTime dateTime = tryParseDateTime(text, start, end);
+            return dateTime != null ? dateTime : LocalDateTime.parse(text.subSequence(start, end));
+        }
+
+        @Override
+        public void appendTo(StringBuilder buf, Object object) {
+            appendDateTime(buf, (LocalDateTime) object);
+        }
+    },
+    /**
+     * OffsetTime converter.
+     */
+    OFFSET_TIME(OffsetTime.class) {
+        @Override
+        public Object convertFromString(Class<?> cls, CharSequence text, int start, int end) {
+            int offsetStart = offsetStart(text, start + 5, end);
+            if (offsetStart >= 0) {
+                LocalTime time = tryParseTime(text, start, offsetStart);
+                ZoneOffset offset = tryParseOffset(text, offsetStart, end);
+                if (time != null && offset != null) {
+                    return OffsetTime.of(time, offset);
+                }
+            }
+            return OffsetTime.parse(text.subSequence(start, end));
+        }
+
+        @Override
+        public void appendTo(StringBuilder buf, Object object) {
+            OffsetTime time = (OffsetTime) object;
+            appendTime(buf, time.toLocalTime());
+            buf.append(time.getOffset().getId());
+        }
+    },
+    /**
+     * OffsetDateTime converter.
+     */
+    OFFSET_DATE_TIME(OffsetDateTime.class) {
+        @Override
+        public Object convertFromString(Class<?> cls, CharSequence text, int start, int end) {
+            int offsetStart = offsetStart(text, start + 16, end);
+            if (offsetStart >= 0) {
+                LocalDateTime dateTime = tryParseDateTime(text, start, offsetStart);
+                ZoneOffset offset = tryParseOffset(text, offsetStart, end);
+                if (dateTime != null && offset != null) {
+                    return OffsetDateTime.of(dateTime, offset);
+                }
+            }
+            return OffsetDateTime.parse(text.subSequence(start, end));
+        }
+
+        @Override
+        public void appendTo(StringBuilder buf, Object object) {
+            OffsetDateTime dateTime = (OffsetDateTime) object;
+            appendDateTime(buf, dateTime.toLocalDateTime());
+            buf.append(dateTime.getOffset().getId());
+        }
+    },
+    /**
+     * ZonedDateTime converter.
+     */
+    ZONED_DATE_TIME(ZonedDateTime.class) {
+        @Override
+        public Object convertFromString(Class<?> cls, CharSequence text, int start, int end) {
+            int offsetEnd = end;
+            if (end > start && text.charAt(end - 1) == ']') {
+                offsetEnd = lastIndexOf(text, '[', start, end);
+            }
+            int offsetStart = offsetEnd >= 0 ? offsetStart(text, start + 16, offsetEnd) : -1;
+            if (offsetStart >= 0) {
+                LocalDateTime dateTime = tryParseDateTime(text, start, offsetStart);
+                ZoneOffset offset = tryParseOffset(text, offsetStart, offsetEnd);
+                if (dateTime != null && offset != null) {
+                    // as per the JDK, the instant is defined by the offset, not the region
+                    ZoneId zone = offsetEnd == end ? offset : tryParseZone(text, offsetEnd + 1, end - 1);
+                    if (zone != null) {
+                        return ZonedDateTime.ofInstant(dateTime, offset, zone);
+                    }
+                }
+            }
+            return ZonedDateTime.parse(text.subSequence(start, end));
+        }
+
+        @Override
+        public void appendTo(StringBuilder buf, Object object) {
+            ZonedDateTime dateTime = (ZonedDateTime) object;
+            appendDateTime(buf, dateTime.toLocalDateTime());
+            buf.append(dateTime.getOffset().getId());
+            if (dateTime.getOffset() != dateTime.getZone()) {
+                buf.append('[').append(dateTime.getZone().getId()).append(']');
+            }
+        }
+    },
+    /**
+     * Year converter.
+     */
+    YEAR(Year.class) {
+        @Override
+        public Object convertFromString(Class<?> cls, String str) {
+            return Year.parse(str);
+        }
+
+        @Override
+        public void appendTo(StringBuilder buf, Object object) {
+            buf.append(((Year) object).getValue());
+        }
+    },
+    /**
+     * YearMonth converter.
+     */
+    YEAR_MONTH(YearMonth.class) {
+        @Override
+        public Object convertFromString(Class<?> cls, String str) {
+            return YearMonth.parse(str);
+        }
+
+        @Override
+        public void appendTo(StringBuilder buf, Object object) {
+            YearMonth yearMonth = (YearMonth) object;
+            // unlike LocalDate, YearMonth.toString() does not prefix a year above 9999 with '+'
+            appendUnsignedYear(buf, yearMonth.getYear());
+            appendTwoDigits(buf.append('-'), yearMonth.getMonthValue());
+        }
+    },
+    /**
+     * MonthDay converter.
+     */
+    MONTH_DAY(MonthDay.class) {
+        @Override
+        public Object convertFromString(Class<?> cls, String str) {
+            return MonthDay.parse(str);
+        }
+
+        @Override
+        public void appendTo(StringBuilder buf, Object object) {
+            MonthDay monthDay = (MonthDay) object;
+            appendTwoDigits(buf.append("--"), monthDay.getMonthValue());
+            appendTwoDigits(buf.append('-'), monthDay.getDayOfMonth());
+        }
+    },
+    /**
+     * ZoneOffset converter.
+     */
+    ZONE_OFFSET(ZoneOffset.class) {
+        @Override
+        public Object convertFromString(Class<?> cls, String str) {
+            return ZoneOffset.of(str);
+        }
+
+        @Override
+        public void appendTo(StringBuilder buf, Object object) {
+            buf.append(((ZoneOffset) object).getId());
+        }
+    },
+    /**
+     * ZoneId converter, also used for its non-public subclass of named regions.
+     */
+    ZONE_ID(ZoneId.class) {
+        @Override
+        public Object convertFromString(Class<?> cls, String str) {
+            return ZoneId.of(str);
+        }
+
+        @Override
+        public void appendTo(StringBuilder buf, Object object) {
+            buf.append(((ZoneId) object).getId());
+        }
+    };
+
+    /**
+     * The effective type.
+     */
+    private final Class<?> effectiveType;
+
+    /**
+     * Creates an enum.
+     * 
+     * @param effectiveType  the effective type, not null
+     */
+    private JdkStringConverter(Class<?> effectiveType) {
+        this.effectiveType = effectiveType;
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public String convertToString(Object object) {
+        return object.toString();
+    }
+
+    @Override
+    public Object convertFromString(Class<?> cls, String str) {
+        return convertFromString(cls, str, 0, str.length());
+    }
+
+    @Override
+    public Object convertFromString(Class<?> cls, CharSequence text, int start, int end) {
+        return convertFromString(cls, text.subSequence(start, end).toString());
+    }
+
+    @Override
+    public Class<?> getEffectiveType() {
+        return effectiveType;
+    }
+
+    //-----------------------------------------------------------------------
+    private static int parseInt(CharSequence text, int start, int end, int min, int max) {
+        int value = Integer.parseInt(text, start, end, 10);
+        if (value < min || value > max) {
+            throw new NumberFormatException("Value out of range. Value:\"" + text.subSequence(start, end) + "\" Radix:10");
+        }
+        return value;
+    }
+
+    // the ISO-8601 formats of the java.time parse() methods, parsing the common
+    // fixed-width forms in place, and delegating anything else to the JDK
+    private static LocalDate parseDate(CharSequence text, int start, int end) {
+        LocalDate date = tryParseDate(text, start, end);
+        // also reports the error for invalid dates
+        return date != null ? date : LocalDate.parse(text.subSequence(start, end));
+    }
+
+    private static LocalTime parseTime(CharSequence text, int start, int end) {
+        LocalTime time = tryParseTime(text, start, end);
+        // also reports the error for invalid times
+        return time != null ? time : LocalTime.parse(text.subSequence(start, end));
+    }
+
+    // the 'try' methods return null if the text is not in the fixed-width form or is invalid
+    private static LocalDate tryParseDate(CharSequence text, int start, int end) {
+        if (end - start == 10 && text.charAt(start + 4) == '-' && text.charAt(start + 7) == '-') {
+            int year = parseDigits(text, start, start + 4);
+            int month = parseDigits(text, start + 5, start + 7);
+            int day = parseDigits(text, start + 8, end);
+            if (year >= 0 && month >= 1 && month <= 12 &&
+                    day >= 1 && day <= Month.of(month).length(Year.isLeap(year))) {
+                return LocalDate.of(year, month, day);
+            }
+        }
+        return null;
+    }
+
+    private static LocalTime tryParseTime(CharSequence text, int start, int end) {
+        int length = end - start;
+        if ((length == 5 || length == 8 || (length >= 10 && length <= 18)) && text.charAt(start + 2) == ':') {
+            int hour = parseDigits(text, start, start + 2);
+            int minute = parseDigits(text, start + 3, start + 5);
+            int second = 0;
+            int nano = 0;
+            if (length > 5) {
+                second = text.charAt(start + 5) == ':' ? parseDigits(text, start + 6, start + 8) : -1;
+            }
+            if (length > 8) {
+                nano = text.charAt(start + 8) == '.' ? parseDigits(text, start + 9, end) : -1;
+                for (int digits = length - 9; digits < 9 && nano > 0; digits++) {
+                    nano *= 10;
+                }
+            }
+            if (hour >= 0 && hour < 24 && minute >= 0 && minute < 60 && second >= 0 && second < 60 && nano >= 0) {
+                return LocalTime.of(hour, minute, second, nano);
+            }
+        }
+        return null;
+    }
+
+    private static LocalDateTime tryParseDateTime(CharSequence text, int start, int end) {
+        if (end - start > 11 && text.charAt(start + 10) == 'T') {
+            LocalDate date = tryParseDate(text, start, start + 10);
+            LocalTime time = tryParseTime(text, start + 11, end);
+            if (date != null && time != null) {
+                return LocalDateTime.of(date, time);
+            }
+        }
+        return null;
+    }
+
+    private static ZoneOffset tryParseOffset(CharSequence text, int start, int end) {
+        // only 'Z' and '+HH:MM', as output by toString() unless the offset has seconds
+        int length = end - start;
+        if (length == 1 && text.charAt(start) == 'Z') {
+            return ZoneOffset.UTC;
+        }
+        if (length == 6 && text.charAt(start) != 'Z' && text.charAt(start + 3) == ':') {
+            int sign = text.charAt(start) == '-' ? -1 : 1;
+            int hours = parseDigits(text, start + 1, start + 3);
+            int minutes = parseDigits(text, start + 4, end);
+            if (hours >= 0 && hours < 18 && minutes >= 0 && minutes < 60) {
+                return ZoneOffset.ofHoursMinutes(sign * hours, sign * minutes);
+            }
+        }
+        return null;
+    }
+
+    private static ZoneId tryParseZone(CharSequence text, int start, int end) {
+        try {
+            // the JDK only parses a region ID from a String
+            return ZoneId.of(text.subSequence(start, end).toString());
+        } catch (DateTimeException ex) {
+            // the JDK reports the error
+            return null;
+        }
+    }
+
+    private static int offsetStart(CharSequence text, int from, int end) {
+        // the time never contains these characters, unlike the date
+        for (int i = from; i < end; i++) {
+            char ch = text.charAt(i);
+            if (ch == 'Z' || ch == '+' || ch == '-') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int lastIndexOf(CharSequence text, char ch, int start, int end) {
+        for (int i = end - 1; i >= start; i--) {
+            if (text.charAt(i) == ch) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int parseDigits(CharSequence text, int start, int end) {
+        // returns -1 if any character is not an ASCII digit
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    // the ISO-8601 formats of the java.time toString() methods, appended without
+    // creating intermediate strings
+    private static void appendDateTime(StringBuilder buf, LocalDateTime dateTime) {
+        appendDate(buf, dateTime.toLocalDate());
+        appendTime(buf.append('T'), dateTime.toLocalTime());
+    }
+
+    private static void appendDate(StringBuilder buf, LocalDate date) {
+        appendYear(buf, date.getYear());
+        appendTwoDigits(buf.append('-'), date.getMonthValue());
+        appendTwoDigits(buf.append('-'), date.getDayOfMonth());
+    }
+
+    private static void appendYear(StringBuilder buf, int year) {
+        if (year > 9999) {
+            buf.append('+');
+        }
+        appendUnsignedYear(buf, year);
+    }
+
+    private static void appendUnsignedYear(StringBuilder buf, int year) {
+        if (Math.abs(year) < 1000) {
+            if (year < 0) {
+                buf.append('-');
+            }
+            appendDigits(buf, Math.abs(year), 4);
+        } else {
+            buf.append(year);
+        }
+    }
+
+    private static void appendTime(StringBuilder buf, LocalTime time) {
+        appendTwoDigits(buf, time.getHour());
+        appendTwoDigits(buf.append(':'), time.getMinute());
+        int second = time.getSecond();
+        int nano = time.getNano();
+        if (second > 0 || nano > 0) {
+            appendTwoDigits(buf.append(':'), second);
+            if (nano > 0) {
+                buf.append('.');
+                if (nano % 1000_000 == 0) {
+                    appendDigits(buf, nano / 1000_000, 3);
+                } else if (nano % 1000 == 0) {
+                    appendDigits(buf, nano / 1000, 6);
+                } else {
+                    appendDigits(buf, nano, 9);
+                }
+            }
+        }
+    }
+
+    private static void appendTwoDigits(StringBuilder buf, int value) {
+        if (value < 10) {
+            buf.append('0');
+        }
+        buf.append(value);
+    }
+
+    private static void appendDigits(StringBuilder buf, int value, int width) {
+        // value is non-negative and has at most width digits
+        int digits = 1;
+        for (int remaining = value; remaining >= 10; remaining /= 10) {
+            digits++;
+        }
+        for (int i = digits; i < width; i++) {
+            buf.append('0');
+        }
+        buf.append(value);
+    }
+
+}
@@ -0,0 +1,153 @@
+/*
+ *  Copyright 2014-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.pa.convert;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+/**
+ * Conversion to and from a string using the annotated methods of a type.
+ * <p>
+ * The methods are bound once, when the converter is created, into
+ * {@link MethodHandle}s adapted to exact generic types, which are then called
+ * with {@code invokeExact}. This avoids the argument array, access checks and
+ * exception wrapping of {@code Method.invoke} on each conversion.
+ * <p>
+ * A handle held in an instance field is not a constant, so the JIT cannot inline
+ * a call through it. Instead, each converter is of a hidden class defined from the
+ * bytes of {@link ConstantMethodsStringConverter}, with the handles passed as class data.
+ * The hidden class holds the handles in {@code static final} fields, which the JIT
+ * treats as constants.
+ */
+abstract class MethodsStringConverter implements StringConverter {
+
+    // the indices of the handles in the class data
+    static final int TO_STRING = 0;
+    static final int FROM_STRING = 1;
+
+    /**
+     * The type of the 'to string' handle.
+     */
+    private static final MethodType TO_STRING_TYPE = MethodType.methodType(String.class, Object.class);
+    /**
+     * The type of the 'from string' handle.
+     */
+    private static final MethodType FROM_STRING_TYPE = MethodType.methodType(Object.class, String.class);
+    /**
+     * The bytes of the template class.
+     */
+    private static final byte[] TEMPLATE = readTemplate();
+
+    /**
+     * The effective type.
+     */
+    private final Class<?> effectiveType;
+
+    /**
+     * Creates an instance.
+     *
+     * @param effectiveType  the effective type, not null
+     * @param toString  the 'to string' method, not null
+     * @param fromString  the 'from string' static method or constructor, not null
+     * @return the converter, not null
+     * @throws IllegalStateException if the methods are not accessible
+     */
+    static MethodsStringConverter of(Class<?> effectiveType, Method toString, Executable fromString) {
+        MethodHandle[] handles = new MethodHandle[FROM_STRING + 1];
+        try {
+            toString.setAccessible(true);
+            fromString.setAccessible(true);
+            Lookup lookup = MethodHandles.lookup();
+            handles[TO_STRING] = lookup.unreflect(toString).asType(TO_STRING_TYPE);
+            MethodHandle from = fromString instanceof Constructor ?
+                    lookup.unreflectConstructor((Constructor<?>) fromString) :
+                    lookup.unreflect((Method) fromString);
+            handles[FROM_STRING] = from.asType(FROM_STRING_TYPE);
+        } catch (IllegalAccessException | RuntimeException ex) {
+            throw new IllegalStateException("Annotated methods are not accessible: " + effectiveType.getName(), ex);
+        }
+        try {
+            Lookup lookup = MethodHandles.lookup().defineHiddenClassWithClassData(TEMPLATE, Arrays.asList(handles), true);
+            return (MethodsStringConverter) lookup
+                    .findConstructor(lookup.lookupClass(), MethodType.methodType(void.class, Class.class))
+                    .invoke(effectiveType);
+        } catch (RuntimeException | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new IllegalStateException("Unable to define the converter: " + effectiveType.getName(), ex);
+        }
+    }
+
+    private static byte[] readTemplate() {
+        String resourceName = ConstantMethodsStringConverter.class.getSimpleName() + ".class";
+        try (InputStream in = MethodsStringConverter.class.getResourceAsStream(resourceName)) {
+            if (in == null) {
+                throw new IllegalStateException("Unable to find the class file: " + resourceName);
+            }
+            return in.readAllBytes();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Converts a throwable caught when invoking a handle to an unchecked exception.
+     *
+     * @param ex  the throwable, not null
+     * @return the runtime exception to throw, not null
+     * @throws Error if the throwable is an error
+     */
+    static RuntimeException unchecked(Throwable ex) {
+        if (ex instanceof RuntimeException) {
+            return (RuntimeException) ex;
+        }
+        if (ex instanceof Error) {
+            throw (Error) ex;
+        }
+        return new RuntimeException(ex.getMessage(), ex);
+    }
+
+    /**
+     * Creates an instance.
+     *
+     * @param effectiveType  the effective type, not null
+     */
+    MethodsStringConverter(Class<?> effectiveType) {
+        this.effectiveType = effectiveType;
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public Class<?> getEffectiveType() {
+        return effectiveType;
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public String toString() {
+        return "MethodsStringConverter[" + effectiveType.getName() + "]";
+    }
+
+}
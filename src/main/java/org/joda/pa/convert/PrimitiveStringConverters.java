@@ -0,0 +1,262 @@
+/*
+ *  Copyright 2014-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.pa.convert;
+
+/**
+ * The converters for {@code int}, {@code long}, {@code double} and {@code boolean},
+ * registered in every {@link StringConvert} for the primitive and wrapper types.
+ * <p>
+ * Each converter implements the boxed {@link StringConverter} methods using
+ * its primitive methods, which parse and append without boxing.
+ * <p>
+ * The {@code int}, {@code long} and {@code boolean} converters parse a range of
+ * a {@code CharSequence} in place. The {@code double} converter copies the range
+ * to a {@code String}, as the JDK only parses a {@code double} from a {@code String}
+ * and correctly rounded parsing is not worth duplicating.
+ * No copy is made when the range is the whole of a {@code String}.
+ */
+final class PrimitiveStringConverters {
+
+    /**
+     * The {@code int} converter.
+     */
+    static final IntStringConverter INT = new IntConverter();
+    /**
+     * The {@code long} converter.
+     */
+    static final LongStringConverter LONG = new LongConverter();
+    /**
+     * The {@code double} converter.
+     */
+    static final DoubleStringConverter DOUBLE = new DoubleConverter();
+    /**
+     * The {@code boolean} converter.
+     */
+    static final BooleanStringConverter BOOLEAN = new BooleanConverter();
+
+    /**
+     * Restricted constructor.
+     */
+    private PrimitiveStringConverters() {
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The {@code int} converter.
+     */
+    private static final class IntConverter implements IntStringConverter {
+        @Override
+        public int parseInt(CharSequence text, int start, int end) {
+            return Integer.parseInt(text, start, end, 10);
+        }
+
+        @Override
+        public void appendInt(StringBuilder buf, int value) {
+            buf.append(value);
+        }
+
+        @Override
+        public String convertToString(Object object) {
+            return object.toString();
+        }
+
+        @Override
+        public void appendTo(StringBuilder buf, Object object) {
+            appendInt(buf, ((Integer) object).intValue());
+        }
+
+        @Override
+        public Object convertFromString(Class<?> cls, String str) {
+            return Integer.valueOf(parseInt(str, 0, str.length()));
+        }
+
+        @Override
+        public Object convertFromString(Class<?> cls, CharSequence text, int start, int end) {
+            return Integer.valueOf(parseInt(text, start, end));
+        }
+
+        @Override
+        public Class<?> getEffectiveType() {
+            return Integer.class;
+        }
+
+        @Override
+        public String toString() {
+            return "IntStringConverter";
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The {@code long} converter.
+     */
+    private static final class LongConverter implements LongStringConverter {
+        @Override
+        public long parseLong(CharSequence text, int start, int end) {
+            return Long.parseLong(text, start, end, 10);
+        }
+
+        @Override
+        public void appendLong(StringBuilder buf, long value) {
+            buf.append(value);
+        }
+
+        @Override
+        public String convertToString(Object object) {
+            return object.toString();
+        }
+
+        @Override
+        public void appendTo(StringBuilder buf, Object object) {
+            appendLong(buf, ((Long) object).longValue());
+        }
+
+        @Override
+        public Object convertFromString(Class<?> cls, String str) {
+            return Long.valueOf(parseLong(str, 0, str.length()));
+        }
+
+        @Override
+        public Object convertFromString(Class<?> cls, CharSequence text, int start, int end) {
+            return Long.valueOf(parseLong(text, start, end));
+        }
+
+        @Override
+        public Class<?> getEffectiveType() {
+            return Long.class;
+        }
+
+        @Override
+        public String toString() {
+            return "LongStringConverter";
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The {@code double} converter.
+     */
+    private static final class DoubleConverter implements DoubleStringConverter {
+        @Override
+        public double parseDouble(CharSequence text) {
+            // the JDK only parses a String
+            return Double.parseDouble(text.toString());
+        }
+
+        @Override
+        public double parseDouble(CharSequence text, int start, int end) {
+            // the JDK only parses a String, see the class Javadoc
+            return Double.parseDouble(text.subSequence(start, end).toString());
+        }
+
+        @Override
+        public void appendDouble(StringBuilder buf, double value) {
+            buf.append(value);
+        }
+
+        @Override
+        public String convertToString(Object object) {
+            return object.toString();
+        }
+
+        @Override
+        public void appendTo(StringBuilder buf, Object object) {
+            appendDouble(buf, ((Double) object).doubleValue());
+        }
+
+        @Override
+        public Object convertFromString(Class<?> cls, String str) {
+            return Double.valueOf(Double.parseDouble(str));
+        }
+
+        @Override
+        public Class<?> getEffectiveType() {
+            return Double.class;
+        }
+
+        @Override
+        public String toString() {
+            return "DoubleStringConverter";
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The {@code boolean} converter, accepting only 'true' or 'false' ignoring case.
+     */
+    private static final class BooleanConverter implements BooleanStringConverter {
+        @Override
+        public boolean parseBoolean(CharSequence text, int start, int end) {
+            if (regionEqualsIgnoreCase(text, start, end, "true")) {
+                return true;
+            }
+            if (regionEqualsIgnoreCase(text, start, end, "false")) {
+                return false;
+            }
+            throw new IllegalArgumentException(
+                    "Boolean value must be 'true' or 'false', case insensitive: " + text.subSequence(start, end));
+        }
+
+        private static boolean regionEqualsIgnoreCase(CharSequence text, int start, int end, String expected) {
+            if (end - start != expected.length()) {
+                return false;
+            }
+            for (int i = 0; i < expected.length(); i++) {
+                // as per String.equalsIgnoreCase()
+                if (Character.toLowerCase(Character.toUpperCase(text.charAt(start + i))) != expected.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public void appendBoolean(StringBuilder buf, boolean value) {
+            buf.append(value);
+        }
+
+        @Override
+        public String convertToString(Object object) {
+            return object.toString();
+        }
+
+        @Override
+        public void appendTo(StringBuilder buf, Object object) {
+            appendBoolean(buf, ((Boolean) object).booleanValue());
+        }
+
+        @Override
+        public Object convertFromString(Class<?> cls, String str) {
+            return Boolean.valueOf(parseBoolean(str, 0, str.length()));
+        }
+
+        @Override
+        public Object convertFromString(Class<?> cls, CharSequence text, int start, int end) {
+            return Boolean.valueOf(parseBoolean(text, start, end));
+        }
+
+        @Override
+        public Class<?> getEffectiveType() {
+            return Boolean.class;
+        }
+
+        @Override
+        public String toString() {
+            return "BooleanStringConverter";
+        }
+    }
+
+}
@@ -15,11 +15,35 @@
  */
 package org.joda.pa.convert;
 
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
 /**
  * Manager for conversion to and from a {@code String}, acting as the main client interface.
  * <p>
  * Support is provided for conversions based on the {@link StringConverter} interface
  * or the {@link ToString} and {@link FromString} annotations.
+ * Converters for common JDK types and all enums are provided.
+ * The converters for {@code int}, {@code long}, {@code double} and {@code boolean},
+ * and their wrappers, can also be found as primitive converters that do not box,
+ * such as by {@link #findIntConverter(Class)}.
+ * <p>
+ * The converter for a type is found in the following order:
+ * <ol>
+ * <li>a converter registered for the type
+ * <li>a converter from a registered factory, most recently registered first
+ * <li>the converter for an enum type
+ * <li>the annotations on the type, see {@link FromString} and {@link FromStringFactory}
+ * <li>the converter of the superclass, applying these rules recursively
+ * <li>the converter of each interface, in declaration order, applying these rules recursively
+ * </ol>
+ * The result of the search, including that no converter was found, is cached
+ * against the type using a {@link ClassValue}. Once cached, finding a converter
+ * is a single lock-free lookup. The cache is discarded when a converter
+ * or factory is registered.
  * <p>
  * This class is thread-safe with concurrent caches.
  */
@@ -32,12 +56,47 @@ public final class StringConvert {
      * are picked up. To register your own converters, simply create an instance of this class.
      */
     public static final StringConvert INSTANCE = new StringConvert();
+    /**
+     * The cached marker for a type that is not convertible.
+     */
+    private static final Object NOT_CONVERTIBLE = new Object();
+
+    /**
+     * The registered converters, keyed by type.
+     */
+    private final ConcurrentMap<Class<?>, StringConverter> registered = new ConcurrentHashMap<>();
+    /**
+     * The registered factories, in search order.
+     */
+    private final List<StringConverterFactory> factories = new CopyOnWriteArrayList<>();
+    /**
+     * The cache of search results, replaced when a converter or factory is registered.
+     */
+    private volatile ClassValue<Object> cache = newCache();
 
     //-----------------------------------------------------------------------
     /**
      * Creates a new conversion manager.
      */
     public StringConvert() {
+        for (JdkStringConverter converter : JdkStringConverter.values()) {
+            registered.put(converter.getEffectiveType(), converter);
+        }
+        registered.put(char.class, JdkStringConverter.CHARACTER);
+        registered.put(byte.class, JdkStringConverter.BYTE);
+        registered.put(short.class, JdkStringConverter.SHORT);
+        registered.put(float.class, JdkStringConverter.FLOAT);
+        registerPrimitive(boolean.class, PrimitiveStringConverters.BOOLEAN);
+        registerPrimitive(int.class, PrimitiveStringConverters.INT);
+        registerPrimitive(long.class, PrimitiveStringConverters.LONG);
+        registerPrimitive(double.class, PrimitiveStringConverters.DOUBLE);
+        factories.add(EnumStringConverterFactory.INSTANCE);
+        factories.add(AnnotationStringConverterFactory.INSTANCE);
+    }
+
+    private void registerPrimitive(Class<?> primitiveType, StringConverter converter) {
+        registered.put(primitiveType, converter);
+        registered.put(converter.getEffectiveType(), converter);
     }
 
     //-----------------------------------------------------------------------
@@ -76,6 +135,46 @@ public final class StringConvert {
         return findConverter(cls).convertToString(object);
     }
 
+    /**
+     * Appends the string form of the specified object to a {@code StringBuilder}.
+     * <p>
+     * This uses {@link #findConverter} to provide the converter.
+     * The characters are the same as {@link #convertToString(Object)}, but are
+     * written directly to the buffer where the converter supports it.
+     * 
+     * @param buf  the buffer to append to, not null
+     * @param object  the object to convert, null appends nothing
+     * @throws RuntimeException (or subclass) if unable to convert
+     */
+    public void appendTo(StringBuilder buf, Object object) {
+        if (buf == null) {
+            throw new IllegalArgumentException("StringBuilder must not be null");
+        }
+        if (object != null) {
+            findConverter(object.getClass()).appendTo(buf, object);
+        }
+    }
+
+    /**
+     * Appends the string form of the specified object to a {@code StringBuilder}.
+     * <p>
+     * This uses {@link #findConverter} to provide the converter.
+     * The class can be provided to select a more specific converter.
+     * 
+     * @param buf  the buffer to append to, not null
+     * @param cls  the class to convert from, not null
+     * @param object  the object to convert, null appends nothing
+     * @throws RuntimeException (or subclass) if unable to convert
+     */
+    public void appendTo(StringBuilder buf, Class<?> cls, Object object) {
+        if (buf == null) {
+            throw new IllegalArgumentException("StringBuilder must not be null");
+        }
+        if (object != null) {
+            findConverter(cls).appendTo(buf, object);
+        }
+    }
+
     /**
      * Converts the specified object from a {@code String}.
      * <p>
@@ -93,6 +192,29 @@ public final class StringConvert {
         return findConverter(cls).convertFromString(cls, str);
     }
 
+    /**
+     * Converts the specified range of a {@code CharSequence} to an object.
+     * <p>
+     * This uses {@link #findConverter} to provide the converter.
+     * The characters are parsed in place where the converter supports it,
+     * avoiding the creation of a substring.
+     * 
+     * @param cls  the class to convert to, not null
+     * @param text  the text containing the string to convert, null returns null
+     * @param start  the start index, inclusive
+     * @param end  the end index, exclusive
+     * @return the converted object, may be null
+     * @throws IndexOutOfBoundsException if the range is invalid
+     * @throws RuntimeException (or subclass) if unable to convert
+     */
+    public Object convertFromString(Class<?> cls, CharSequence text, int start, int end) {
+        if (text == null) {
+            return null;
+        }
+        Objects.checkFromToIndex(start, end, text.length());
+        return findConverter(cls).convertFromString(cls, text, start, end);
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Checks if a suitable converter exists for the type.
@@ -129,6 +251,58 @@ public final class StringConvert {
         return conv;
     }
 
+    /**
+     * Finds the converter for an {@code int} type that does not box.
+     * 
+     * @param cls  the class to find a converter for, such as {@code int.class} or {@code Integer.class}, not null
+     * @return the converter, not null
+     * @throws RuntimeException (or subclass) if no converter found, or it is not an {@code IntStringConverter}
+     */
+    public IntStringConverter findIntConverter(Class<?> cls) {
+        return findConverter(cls, IntStringConverter.class);
+    }
+
+    /**
+     * Finds the converter for a {@code long} type that does not box.
+     * 
+     * @param cls  the class to find a converter for, such as {@code long.class} or {@code Long.class}, not null
+     * @return the converter, not null
+     * @throws RuntimeException (or subclass) if no converter found, or it is not a {@code LongStringConverter}
+     */
+    public LongStringConverter findLongConverter(Class<?> cls) {
+        return findConverter(cls, LongStringConverter.class);
+    }
+
+    /**
+     * Finds the converter for a {@code double} type that does not box.
+     * 
+     * @param cls  the class to find a converter for, such as {@code double.class} or {@code Double.class}, not null
+     * @return the converter, not null
+     * @throws RuntimeException (or subclass) if no converter found, or it is not a {@code DoubleStringConverter}
+     */
+    public DoubleStringConverter findDoubleConverter(Class<?> cls) {
+        return findConverter(cls, DoubleStringConverter.class);
+    }
+
+    /**
+     * Finds the converter for a {@code boolean} type that does not box.
+     * 
+     * @param cls  the class to find a converter for, such as {@code boolean.class} or {@code Boolean.class}, not null
+     * @return the converter, not null
+     * @throws RuntimeException (or subclass) if no converter found, or it is not a {@code BooleanStringConverter}
+     */
+    public BooleanStringConverter findBooleanConverter(Class<?> cls) {
+        return findConverter(cls, BooleanStringConverter.class);
+    }
+
+    private <C extends StringConverter> C findConverter(Class<?> cls, Class<C> converterType) {
+        StringConverter conv = findConverter(cls);
+        if (!converterType.isInstance(conv)) {
+            throw new IllegalStateException("No " + converterType.getSimpleName() + " found: " + cls);
+        }
+        return converterType.cast(conv);
+    }
+
     /**
      * Finds a converter searching registered and annotated.
      * 
@@ -141,7 +315,63 @@ public final class StringConvert {
         if (cls == null) {
             throw new IllegalArgumentException("Class must not be null");
         }
-        return null; // TODO: implement registering of converters
+        Object result = cache.get(cls);
+        return result == NOT_CONVERTIBLE ? null : (StringConverter) result;
+    }
+
+    /**
+     * Creates the cache of search results.
+     * <p>
+     * An exception thrown by the search, such as for invalid annotations, is not cached.
+     * 
+     * @return the cache, not null
+     */
+    private ClassValue<Object> newCache() {
+        return new ClassValue<Object>() {
+            @Override
+            protected Object computeValue(Class<?> cls) {
+                StringConverter conv = searchType(cls);
+                if (conv != null) {
+                    return conv;
+                }
+                // the supertypes are looked up in this cache, so each type is searched at most once
+                Class<?> superclass = cls.getSuperclass();
+                if (superclass != null && superclass != Object.class) {
+                    Object result = get(superclass);
+                    if (result != NOT_CONVERTIBLE) {
+                        return result;
+                    }
+                }
+                for (Class<?> iface : cls.getInterfaces()) {
+                    Object result = get(iface);
+                    if (result != NOT_CONVERTIBLE) {
+                        return result;
+                    }
+                }
+                return NOT_CONVERTIBLE;
+            }
+        };
+    }
+
+    /**
+     * Searches for a converter for the type itself, ignoring supertypes.
+     * 
+     * @param cls  the class to find a converter for, not null
+     * @return the converter, null if no converter
+     * @throws RuntimeException if invalid
+     */
+    private StringConverter searchType(Class<?> cls) {
+        StringConverter conv = registered.get(cls);
+        if (conv != null) {
+            return conv;
+        }
+        for (StringConverterFactory factory : factories) {
+            conv = factory.findConverter(cls);
+            if (conv != null) {
+                return conv;
+            }
+        }
+        return null;
     }
 
     //-----------------------------------------------------------------------
@@ -162,7 +392,8 @@ public final class StringConvert {
         if (this == INSTANCE) {
             throw new IllegalStateException("Global singleton cannot be extended");
         }
-        // TODO: register
+        factories.add(0, factory);
+        cache = newCache();
     }
 
     /**
@@ -188,7 +419,8 @@ public final class StringConvert {
         if (this == INSTANCE) {
             throw new IllegalStateException("Global singleton cannot be extended");
         }
-        // TODO: register
+        registered.put(converter.getEffectiveType(), converter);
+        cache = newCache();
     }
 
     //-----------------------------------------------------------------------
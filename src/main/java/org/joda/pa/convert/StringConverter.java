@@ -38,6 +38,20 @@ public interface StringConverter {
      */
     String convertToString(Object object);
 
+    /**
+     * Appends the string form of the specified object to a {@code StringBuilder}.
+     * <p>
+     * The appended characters must be the same as those returned by {@link #convertToString(Object)}.
+     * Converters should override this to write the characters directly,
+     * avoiding the creation of an intermediate {@code String}.
+     * 
+     * @param buf  the buffer to append to, not null
+     * @param object  the object to convert, not null
+     */
+    default void appendTo(StringBuilder buf, Object object) {
+        buf.append(convertToString(object));
+    }
+
     /**
      * Converts the specified object from a {@code String}.
      * <p>
@@ -50,6 +64,24 @@ public interface StringConverter {
      */
     Object convertFromString(Class<?> cls, String str);
 
+    /**
+     * Converts the specified range of a {@code CharSequence} to an object.
+     * <p>
+     * The result must be the same as calling {@link #convertFromString(Class, String)}
+     * with the characters from {@code start} inclusive to {@code end} exclusive.
+     * Converters should override this to parse the characters in place,
+     * avoiding the creation of an intermediate {@code String}.
+     * 
+     * @param cls  the class to convert to, not null
+     * @param text  the text containing the string to convert, not null
+     * @param start  the start index, inclusive, valid
+     * @param end  the end index, exclusive, valid
+     * @return the converted object, may be null but generally not
+     */
+    default Object convertFromString(Class<?> cls, CharSequence text, int start, int end) {
+        return convertFromString(cls, text.subSequence(start, end).toString());
+    }
+
     /**
      * Gets the effective type that the converter works on.
      * <p>
@@ -15,6 +15,7 @@
  */
 package org.joda.pa;
 
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
@@ -24,6 +25,8 @@ import static org.testng.Assert.assertTrue;
 
 import java.lang.annotation.Annotation;
 import java.lang.annotation.Retention;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -50,6 +53,16 @@ public abstract class AbstractMetaPropertyTest {
         assertSame(metaProperty.metaBean(), metaBean);
     }
 
+    @Test
+    public final void index_listedByMetaBean_positionInList()
+            throws Exception {
+        MetaBean metaBean = mock(MetaBean.class);
+        MetaProperty<?> metaProperty = createObjectMetaPropertyWithMetaBean(metaBean);
+        MetaProperty<?> otherMetaProperty = mock(MetaProperty.class);
+        doReturn(Arrays.asList(otherMetaProperty, metaProperty)).when(metaBean).metaPropertyList();
+        assertEquals(metaProperty.index(), 1);
+    }
+
     @Test
     public final void declaringClass_compareWithBeanClass_same()
             throws Exception {
@@ -288,6 +301,228 @@ public abstract class AbstractMetaPropertyTest {
         readOnlyMetaProperty.set(bean, "some Value");
     }
 
+    // unchecked --------------------------------------------------------------
+
+    @Test
+    public final void unchecked_existingValue_sameValue() throws Exception {
+        MetaProperty<String> stringMetaProperty = createStringMetaProperty();
+        TestBean bean = createBean();
+        bean.setString("the value");
+        assertEquals(stringMetaProperty.unchecked().get(bean), "the value");
+    }
+
+    @Test
+    public final void unchecked_set_valueIsSet() throws Exception {
+        MetaProperty<Integer> primitiveIntegerMetaProperty = createPrimitiveIntegerMetaProperty();
+        TestBean bean = createBean();
+        primitiveIntegerMetaProperty.unchecked().set(bean, 42);
+        assertEquals(primitiveIntegerMetaProperty.get(bean), (Integer) 42);
+    }
+
+    @Test
+    public final void unchecked_calledTwice_sameAccessor() throws Exception {
+        MetaProperty<?> metaProperty = createObjectMetaProperty();
+        assertSame(metaProperty.unchecked(), metaProperty.unchecked());
+    }
+
+    @Test(expectedExceptions = UnsupportedOperationException.class)
+    public final void unchecked_getWriteOnlyMetaProperty_UnsupportedOperationException()
+            throws Exception {
+        MetaProperty<?> writeOnlyMetaProperty = createWriteOnlyObjectMetaProperty();
+        writeOnlyMetaProperty.unchecked().get(createBean());
+    }
+
+    @Test(expectedExceptions = UnsupportedOperationException.class)
+    public final void unchecked_setReadOnlyMetaProperty_UnsupportedOperationException()
+            throws Exception {
+        MetaProperty<?> readOnlyMetaProperty = createReadOnlyObjectMetaProperty();
+        readOnlyMetaProperty.unchecked().set(createBean(), "some Value");
+    }
+
+    // memory ordering modes --------------------------------------------------
+
+    @Test
+    public final void getWithMemoryOrdering_existingValue_sameValue()
+            throws Exception {
+        MetaProperty<String> stringMetaProperty = createStringMetaProperty();
+
+        TestBean bean = createBean();
+        String value = "the not null value";
+        bean.setString(value);
+
+        assertSame(stringMetaProperty.getVolatile(bean), value);
+        assertSame(stringMetaProperty.getAcquire(bean), value);
+        assertSame(stringMetaProperty.getOpaque(bean), value);
+    }
+
+    @Test
+    public final void setWithMemoryOrdering_primitiveValue_valueIsSet()
+            throws Exception {
+        MetaProperty<Integer> primitiveIntegerMetaProperty =
+                createPrimitiveIntegerMetaProperty();
+
+        TestBean bean = createBean();
+        primitiveIntegerMetaProperty.setVolatile(bean, 1);
+        assertEquals(bean.getPrimitiveInteger(), 1);
+        primitiveIntegerMetaProperty.setRelease(bean, 2);
+        assertEquals(bean.getPrimitiveInteger(), 2);
+        primitiveIntegerMetaProperty.setOpaque(bean, 3);
+        assertEquals(bean.getPrimitiveInteger(), 3);
+        assertEquals(primitiveIntegerMetaProperty.getVolatile(bean), (Integer) 3);
+    }
+
+    @Test(expectedExceptions = ClassCastException.class)
+    public final void getVolatile_incorrectBeanType_ClassCastException()
+            throws Exception {
+        MetaProperty<?> metaProperty = createObjectMetaProperty();
+        metaProperty.getVolatile("this is no bean");
+    }
+
+    @Test(expectedExceptions = UnsupportedOperationException.class)
+    public final void setRelease_readOnlyMetaProperty_UnsupportedOperationException()
+            throws Exception {
+        MetaProperty<?> readOnlyMetaProperty = createReadOnlyObjectMetaProperty();
+        TestBean bean = createBean();
+        readOnlyMetaProperty.setRelease(bean, "some Value");
+    }
+
+    // atomic operations ------------------------------------------------------
+
+    @Test
+    public final void compareAndSet_matchingReference_setsValue()
+            throws Exception {
+        MetaProperty<String> stringMetaProperty = createStringMetaProperty();
+
+        TestBean bean = createBean();
+        String value = "the old value";
+        bean.setString(value);
+
+        assertTrue(stringMetaProperty.compareAndSet(bean, value, "the new value"));
+        assertEquals(bean.getString(), "the new value");
+    }
+
+    @Test
+    public final void compareAndSet_equalButNotSameReference_false()
+            throws Exception {
+        MetaProperty<String> stringMetaProperty = createStringMetaProperty();
+
+        TestBean bean = createBean();
+        bean.setString("the old value");
+
+        assertFalse(stringMetaProperty.compareAndSet(bean, new String("the old value"), "the new value"));
+        assertEquals(bean.getString(), "the old value");
+    }
+
+    @Test
+    public final void compareAndSet_primitiveValue_comparedByValue()
+            throws Exception {
+        MetaProperty<Integer> primitiveIntegerMetaProperty =
+                createPrimitiveIntegerMetaProperty();
+
+        TestBean bean = createBean();
+        bean.setPrimitiveInteger(1000);
+
+        assertFalse(primitiveIntegerMetaProperty.compareAndSet(bean, 999, 2000));
+        assertFalse(primitiveIntegerMetaProperty.compareAndSet(bean, null, 2000));
+        assertTrue(primitiveIntegerMetaProperty.compareAndSet(bean, Integer.valueOf(1000), 2000));
+        assertEquals(bean.getPrimitiveInteger(), 2000);
+    }
+
+    @Test
+    public final void getAndSet_existingValue_returnsPreviousValue()
+            throws Exception {
+        MetaProperty<String> stringMetaProperty = createStringMetaProperty();
+
+        TestBean bean = createBean();
+        bean.setString("the old value");
+
+        assertEquals(stringMetaProperty.getAndSet(bean, "the new value"), "the old value");
+        assertEquals(bean.getString(), "the new value");
+    }
+
+    @Test
+    public final void getAndUpdate_primitiveValue_returnsPreviousValue()
+            throws Exception {
+        MetaProperty<Integer> primitiveIntegerMetaProperty =
+                createPrimitiveIntegerMetaProperty();
+
+        TestBean bean = createBean();
+        bean.setPrimitiveInteger(41);
+
+        assertEquals(primitiveIntegerMetaProperty.getAndUpdate(bean, value -> value + 1), (Integer) 41);
+        assertEquals(bean.getPrimitiveInteger(), 42);
+    }
+
+    @Test
+    public final void accumulateAndGet_primitiveValue_returnsUpdatedValue()
+            throws Exception {
+        MetaProperty<Integer> primitiveIntegerMetaProperty =
+                createPrimitiveIntegerMetaProperty();
+
+        TestBean bean = createBean();
+        bean.setPrimitiveInteger(40);
+
+        assertEquals(primitiveIntegerMetaProperty.accumulateAndGet(bean, 2, Integer::sum), (Integer) 42);
+        assertEquals(bean.getPrimitiveInteger(), 42);
+    }
+
+    @Test
+    public final void getAndUpdate_concurrentIncrements_noUpdatesLost()
+            throws Exception {
+        MetaProperty<Integer> primitiveIntegerMetaProperty =
+                createPrimitiveIntegerMetaProperty();
+        TestBean bean = createBean();
+
+        int threadCount = 4;
+        int incrementCount = 10_000;
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            Thread thread = new Thread(() -> {
+                for (int j = 0; j < incrementCount; j++) {
+                    primitiveIntegerMetaProperty.getAndUpdate(bean, value -> value + 1);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(bean.getPrimitiveInteger(), threadCount * incrementCount);
+    }
+
+    @Test(expectedExceptions = UnsupportedOperationException.class)
+    public final void compareAndSet_readOnlyMetaProperty_UnsupportedOperationException()
+            throws Exception {
+        MetaProperty<?> readOnlyMetaProperty = createReadOnlyObjectMetaProperty();
+        TestBean bean = createBean();
+        readOnlyMetaProperty.compareAndSet(bean, null, "some Value");
+    }
+
+    @Test(expectedExceptions = UnsupportedOperationException.class)
+    public final void compareAndSet_readOnlyMetaPropertyNotMatching_UnsupportedOperationException()
+            throws Exception {
+        MetaProperty<?> readOnlyMetaProperty = createReadOnlyObjectMetaProperty();
+        TestBean bean = createBean();
+        readOnlyMetaProperty.compareAndSet(bean, "not the current value", "some Value");
+    }
+
+    @Test(expectedExceptions = UnsupportedOperationException.class)
+    public final void getAndUpdate_readOnlyMetaProperty_UnsupportedOperationException()
+            throws Exception {
+        @SuppressWarnings("unchecked")
+        MetaProperty<Object> readOnlyMetaProperty = (MetaProperty<Object>) createReadOnlyObjectMetaProperty();
+        TestBean bean = createBean();
+        readOnlyMetaProperty.getAndUpdate(bean, value -> value);
+    }
+
+    @Test(expectedExceptions = ClassCastException.class)
+    public final void getAndSet_incorrectBeanType_ClassCastException()
+            throws Exception {
+        MetaProperty<?> metaProperty = createObjectMetaProperty();
+        metaProperty.getAndSet("this is no bean", null);
+    }
+
     // equals & hashCode-------------------------------------------------------
 
     @Test
@@ -0,0 +1,330 @@
+/*
+ *  Copyright 2014-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.pa;
+
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.joda.pa.style.ConstructorNoArgsMutablePerson;
+import org.joda.pa.style.StaticFactoryImmutablePerson;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the class {@link BeanAccessorGenerator}.
+ */
+@SuppressWarnings("javadoc")
+public class BeanAccessorGeneratorTest {
+
+    // methods ----------------------------------------------------------------
+
+    @Test
+    public final void beanAccessor_mutablePerson_hiddenClass() {
+        MetaBean metaBean = MetaBean.of(ConstructorNoArgsMutablePerson.class);
+        BeanAccessor accessor = metaBean.beanAccessor();
+        assertTrue(accessor.getClass().isHidden());
+        assertSame(metaBean.beanAccessor(), accessor);
+    }
+
+    @Test
+    public final void get_mutablePerson_readsEachProperty() {
+        ConstructorNoArgsMutablePerson person = new ConstructorNoArgsMutablePerson();
+        person.setSurname("Smith");
+        person.setForename("John");
+        person.setBirthDate(LocalDate.of(1970, 6, 30));
+        person.setNumberOfChildren(2);
+        BeanAccessor accessor = MetaBean.of(ConstructorNoArgsMutablePerson.class).beanAccessor();
+        assertEquals(accessor.get(person, 0), "Smith");
+        assertEquals(accessor.get(person, 1), "John");
+        assertEquals(accessor.get(person, 2), LocalDate.of(1970, 6, 30));
+        assertEquals(accessor.get(person, 3), 2);
+    }
+
+    @Test
+    public final void set_mutablePerson_writesEachProperty() {
+        ConstructorNoArgsMutablePerson person = new ConstructorNoArgsMutablePerson();
+        BeanAccessor accessor = MetaBean.of(ConstructorNoArgsMutablePerson.class).beanAccessor();
+        accessor.set(person, 0, "Smith");
+        accessor.set(person, 1, "John");
+        accessor.set(person, 2, LocalDate.of(1970, 6, 30));
+        accessor.set(person, 3, 2);
+        assertEquals(person.getSurname(), "Smith");
+        assertEquals(person.getForename(), "John");
+        assertEquals(person.getBirthDate(), LocalDate.of(1970, 6, 30));
+        assertEquals(person.getNumberOfChildren(), 2);
+    }
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public final void get_indexTooLarge_IndexOutOfBoundsException() {
+        BeanAccessor accessor = MetaBean.of(ConstructorNoArgsMutablePerson.class).beanAccessor();
+        accessor.get(new ConstructorNoArgsMutablePerson(), 4);
+    }
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public final void set_negativeIndex_IndexOutOfBoundsException() {
+        BeanAccessor accessor = MetaBean.of(ConstructorNoArgsMutablePerson.class).beanAccessor();
+        accessor.set(new ConstructorNoArgsMutablePerson(), -1, "Smith");
+    }
+
+    @Test(expectedExceptions = ClassCastException.class)
+    public final void get_wrongBeanType_ClassCastException() {
+        BeanAccessor accessor = MetaBean.of(ConstructorNoArgsMutablePerson.class).beanAccessor();
+        accessor.get("", 0);
+    }
+
+    @Test(expectedExceptions = ClassCastException.class)
+    public final void set_wrongValueType_ClassCastException() {
+        BeanAccessor accessor = MetaBean.of(ConstructorNoArgsMutablePerson.class).beanAccessor();
+        accessor.set(new ConstructorNoArgsMutablePerson(), 3, "two");
+    }
+
+    @Test
+    public final void get_immutablePerson_readsProperty() {
+        StaticFactoryImmutablePerson person = StaticFactoryImmutablePerson.of(
+                "Smith", "John", LocalDate.of(1970, 6, 30), 2);
+        BeanAccessor accessor = MetaBean.of(StaticFactoryImmutablePerson.class).beanAccessor();
+        assertTrue(accessor.getClass().isHidden());
+        assertEquals(accessor.get(person, 0), "Smith");
+        assertEquals(accessor.get(person, 3), 2);
+    }
+
+    @Test(expectedExceptions = UnsupportedOperationException.class)
+    public final void set_immutablePerson_UnsupportedOperationException() {
+        StaticFactoryImmutablePerson person = StaticFactoryImmutablePerson.of(
+                "Smith", "John", LocalDate.of(1970, 6, 30), 2);
+        BeanAccessor accessor = MetaBean.of(StaticFactoryImmutablePerson.class).beanAccessor();
+        accessor.set(person, 0, "Jones");
+    }
+
+    @Test
+    public final void beanAccessor_noProperties_IndexOutOfBoundsException() {
+        BeanAccessor accessor = MetaBean.of(Object.class).beanAccessor();
+        try {
+            accessor.get(new Object(), 0);
+            assertTrue(false);
+        } catch (IndexOutOfBoundsException ex) {
+            // expected
+        }
+    }
+
+    // exceptions -------------------------------------------------------------
+
+    @Test
+    public final void get_invalidIndex_sameExceptionAsMetaProperty() {
+        MetaBean metaBean = MetaBean.of(ConstructorNoArgsMutablePerson.class);
+        BeanAccessor accessor = metaBean.beanAccessor();
+        assertTrue(accessor.getClass().isHidden());
+        RuntimeException expected = catchException(() -> metaBean.metaPropertyAt(4));
+        RuntimeException actual = catchException(() -> accessor.get(new ConstructorNoArgsMutablePerson(), 4));
+        assertSameException(actual, expected);
+        assertTrue(actual instanceof IndexOutOfBoundsException);
+    }
+
+    @Test
+    public final void get_nullBean_sameExceptionAsMetaProperty() {
+        MetaBean metaBean = MetaBean.of(ConstructorNoArgsMutablePerson.class);
+        BeanAccessor accessor = metaBean.beanAccessor();
+        RuntimeException expected = catchException(() -> metaBean.metaPropertyAt(0).get(null));
+        RuntimeException actual = catchException(() -> accessor.get(null, 0));
+        assertSameException(actual, expected);
+        assertTrue(actual instanceof NullPointerException);
+    }
+
+    @Test
+    public final void get_wrongBeanType_sameExceptionAsMetaProperty() {
+        MetaBean metaBean = MetaBean.of(ConstructorNoArgsMutablePerson.class);
+        BeanAccessor accessor = metaBean.beanAccessor();
+        RuntimeException expected = catchException(() -> metaBean.metaPropertyAt(0).get(""));
+        RuntimeException actual = catchException(() -> accessor.get("", 0));
+        assertSameException(actual, expected);
+        assertTrue(actual instanceof ClassCastException);
+    }
+
+    @Test
+    public final void set_readOnly_sameExceptionAsMetaProperty() {
+        MetaBean metaBean = MetaBean.of(StaticFactoryImmutablePerson.class);
+        BeanAccessor accessor = metaBean.beanAccessor();
+        assertTrue(accessor.getClass().isHidden());
+        StaticFactoryImmutablePerson person = StaticFactoryImmutablePerson.of(
+                "Smith", "John", LocalDate.of(1970, 6, 30), 2);
+        RuntimeException expected = catchException(() -> metaBean.metaPropertyAt(0).set(person, "Jones"));
+        RuntimeException actual = catchException(() -> accessor.set(person, 0, "Jones"));
+        assertSameException(actual, expected);
+        assertTrue(actual instanceof UnsupportedOperationException);
+    }
+
+    @Test
+    public final void set_nullOnPrimitive_sameExceptionAsMetaProperty() {
+        MetaBean metaBean = MetaBean.of(ConstructorNoArgsMutablePerson.class);
+        BeanAccessor accessor = metaBean.beanAccessor();
+        ConstructorNoArgsMutablePerson person = new ConstructorNoArgsMutablePerson();
+        int index = metaBean.metaProperty("numberOfChildren").get().index();
+        RuntimeException expected = catchException(() -> metaBean.metaPropertyAt(index).set(person, null));
+        RuntimeException actual = catchException(() -> accessor.set(person, index, null));
+        assertSameException(actual, expected);
+        assertTrue(actual instanceof IllegalArgumentException);
+    }
+
+    @Test
+    public final void set_wrongTypeOnPrimitive_sameExceptionAsMetaProperty() {
+        MetaBean metaBean = MetaBean.of(ConstructorNoArgsMutablePerson.class);
+        BeanAccessor accessor = metaBean.beanAccessor();
+        ConstructorNoArgsMutablePerson person = new ConstructorNoArgsMutablePerson();
+        int index = metaBean.metaProperty("numberOfChildren").get().index();
+        RuntimeException expected = catchException(() -> metaBean.metaPropertyAt(index).set(person, "two"));
+        RuntimeException actual = catchException(() -> accessor.set(person, index, "two"));
+        assertSameException(actual, expected);
+        assertTrue(actual instanceof ClassCastException);
+    }
+
+    @Test
+    public final void get_checkedException_wrappedAsMetaProperty() {
+        MetaBean metaBean = MetaBean.of(CheckedExceptionBean.class);
+        BeanAccessor accessor = metaBean.beanAccessor();
+        assertTrue(accessor.getClass().isHidden());
+        CheckedExceptionBean bean = new CheckedExceptionBean();
+        int index = metaBean.metaProperty("name").get().index();
+        RuntimeException expected = catchException(() -> metaBean.metaPropertyAt(index).get(bean));
+        RuntimeException actual = catchException(() -> accessor.get(bean, index));
+        assertSameException(actual, expected);
+        assertTrue(actual.getCause() instanceof IOException);
+    }
+
+    @Test
+    public final void set_checkedException_wrappedAsMetaProperty() {
+        MetaBean metaBean = MetaBean.of(CheckedExceptionBean.class);
+        BeanAccessor accessor = metaBean.beanAccessor();
+        CheckedExceptionBean bean = new CheckedExceptionBean();
+        int index = metaBean.metaProperty("name").get().index();
+        RuntimeException expected = catchException(() -> metaBean.metaPropertyAt(index).set(bean, "Smith"));
+        RuntimeException actual = catchException(() -> accessor.set(bean, index, "Smith"));
+        assertSameException(actual, expected);
+        assertTrue(actual.getCause() instanceof IOException);
+    }
+
+    @Test
+    public final void getSet_checkedExceptionBeanOtherProperty_generated() {
+        MetaBean metaBean = MetaBean.of(CheckedExceptionBean.class);
+        BeanAccessor accessor = metaBean.beanAccessor();
+        CheckedExceptionBean bean = new CheckedExceptionBean();
+        int index = metaBean.metaProperty("count").get().index();
+        accessor.set(bean, index, 3);
+        assertEquals(accessor.get(bean, index), 3);
+    }
+
+    private static RuntimeException catchException(Runnable runnable) {
+        try {
+            runnable.run();
+        } catch (RuntimeException ex) {
+            return ex;
+        }
+        throw new AssertionError("Expected exception");
+    }
+
+    private static void assertSameException(RuntimeException actual, RuntimeException expected) {
+        assertEquals(actual.getClass(), expected.getClass());
+        assertEquals(actual.getMessage(), expected.getMessage());
+    }
+
+    public static final class CheckedExceptionBean {
+        private int count;
+
+        public String getName() throws IOException {
+            throw new IOException("Unable to read");
+        }
+
+        public void setName(String name) throws IOException {
+            throw new IOException("Unable to write");
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+    }
+
+    // fields -----------------------------------------------------------------
+
+    @Test
+    public final void beanAccessor_privateFields_readsAndWrites() throws Exception {
+        MetaBean metaBean = mock(MetaBean.class);
+        doReturn(FieldBackedTestBean.class).when(metaBean).beanType();
+        List<MetaProperty<?>> metaProperties = Arrays.asList(
+                new FieldMetaProperty<>(metaBean, "string", String.class, false, true, true, true,
+                        FieldBackedTestBean.class.getDeclaredField("string")),
+                new VarHandleMetaProperty<>(metaBean, "primitiveInteger", int.class, false, true, true, true,
+                        FieldBackedTestBean.class.getDeclaredField("primitiveInteger")),
+                new FieldMetaProperty<>(metaBean, "integer", Integer.class, false, false, false, true,
+                        FieldBackedTestBean.class.getDeclaredField("integer")));
+        doReturn(metaProperties).when(metaBean).metaPropertyList();
+        doReturn(metaProperties.get(2)).when(metaBean).metaPropertyAt(2);
+
+        BeanAccessor accessor = BeanAccessorGenerator.generate(metaBean);
+        assertTrue(accessor.getClass().isHidden());
+        FieldBackedTestBean bean = new FieldBackedTestBean();
+        accessor.set(bean, 0, "Hello");
+        accessor.set(bean, 1, 6);
+        accessor.set(bean, 2, 7);
+        assertEquals(accessor.get(bean, 0), "Hello");
+        assertEquals(accessor.get(bean, 1), 6);
+        assertEquals(bean.getInteger(), Integer.valueOf(7));
+        try {
+            accessor.get(bean, 2);
+            assertTrue(false);
+        } catch (UnsupportedOperationException ex) {
+            // expected
+        }
+    }
+
+    // fallback ---------------------------------------------------------------
+
+    @Test
+    public final void beanAccessor_functionalProperty_delegates() {
+        MetaBean metaBean = mock(MetaBean.class);
+        doReturn(ConstructorNoArgsMutablePerson.class).when(metaBean).beanType();
+        MetaProperty<?> metaProperty = mock(MetaProperty.class);
+        doReturn(Arrays.asList(metaProperty)).when(metaBean).metaPropertyList();
+
+        BeanAccessor accessor = BeanAccessorGenerator.generate(metaBean);
+        assertFalse(accessor.getClass().isHidden());
+        assertTrue(accessor instanceof MetaPropertyBeanAccessor);
+    }
+
+    @Test
+    public final void beanAccessor_jdkClass_delegates() {
+        MetaBean metaBean = MetaBean.of(Date.class);
+        BeanAccessor accessor = metaBean.beanAccessor();
+        assertTrue(accessor instanceof MetaPropertyBeanAccessor);
+        Date date = new Date(0);
+        int index = metaBean.metaProperty("time").get().index();
+        assertEquals(accessor.get(date, index), 0L);
+        accessor.set(date, index, 1000L);
+        assertEquals(date.getTime(), 1000L);
+    }
+
+}
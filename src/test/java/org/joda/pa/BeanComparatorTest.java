@@ -0,0 +1,125 @@
+/*
+ *  Copyright 2014-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.pa;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+import org.joda.pa.style.ConstructorWithArgsMutablePerson;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the interface {@link BeanComparator}.
+ */
+@SuppressWarnings("javadoc")
+public class BeanComparatorTest {
+
+    private static final LocalDate BIRTH_DATE = LocalDate.of(1970, 6, 30);
+    private static final MetaBean META_BEAN = MetaBean.of(ConstructorWithArgsMutablePerson.class);
+    private static final MetaProperty<?> SURNAME = META_BEAN.metaProperty("surname").get();
+    private static final MetaProperty<?> FORENAME = META_BEAN.metaProperty("forename").get();
+    private static final MetaProperty<?> CHILDREN = META_BEAN.metaProperty("numberOfChildren").get();
+
+    // compare ----------------------------------------------------------------
+
+    @Test
+    public final void compare_ascendingThenDescending_ordersByEachKey() {
+        BeanComparator comparator = BeanComparator.builder().ascending(SURNAME).descending(CHILDREN).build();
+        assertTrue(comparator.compare(person("Jones", 1), person("Smith", 1)) < 0);
+        assertTrue(comparator.compare(person("Smith", 2), person("Smith", 1)) < 0);
+        assertEquals(comparator.compare(person("Smith", 2), person("Smith", 2)), 0);
+    }
+
+    @Test
+    public final void compare_nullsLast_nullAfterValue() {
+        BeanComparator comparator = BeanComparator.builder().then(SURNAME, false, false).build();
+        assertTrue(comparator.compare(person(null, 1), person("Smith", 1)) > 0);
+        assertTrue(comparator.compare(person("Jones", 1), person("Smith", 1)) > 0);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public final void then_notComparable_IllegalArgumentException() {
+        BeanComparator.builder().ascending(MetaBean.of(TestBean.class).metaProperty("doubleList").get());
+    }
+
+    @Test(expectedExceptions = ClassCastException.class)
+    public final void compare_wrongBeanType_ClassCastException() {
+        BeanComparator.builder().ascending(CHILDREN).build().compare("", person("Smith", 1));
+    }
+
+    // sort -------------------------------------------------------------------
+
+    @Test
+    public final void sort_keysExtracted_sameAsListSort() {
+        Random random = new Random(1);
+        List<ConstructorWithArgsMutablePerson> people = new ArrayList<>();
+        String[] names = {"Smith", "Jones", "Brown", null};
+        for (int i = 0; i < 2000; i++) {
+            ConstructorWithArgsMutablePerson person = person(names[random.nextInt(4)], random.nextInt(5));
+            person.setForename("F" + i);
+            people.add(person);
+        }
+        BeanComparator comparator = BeanComparator.builder()
+                .then(SURNAME, true, false)
+                .descending(CHILDREN)
+                .build();
+        List<ConstructorWithArgsMutablePerson> expected = new ArrayList<>(people);
+        expected.sort(comparator);
+        comparator.sort(people);
+        for (int i = 0; i < people.size(); i++) {
+            assertSame(people.get(i), expected.get(i));
+        }
+    }
+
+    @Test
+    public final void sort_equalKeys_stable() {
+        ConstructorWithArgsMutablePerson first = person("Smith", 1);
+        ConstructorWithArgsMutablePerson second = person("Jones", 1);
+        ConstructorWithArgsMutablePerson third = person("Brown", 0);
+        List<Object> people = new LinkedList<>(Arrays.asList(first, second, third));
+        BeanComparator.builder().ascending(CHILDREN).build().sort(people);
+        assertEquals(people, Arrays.asList(third, first, second));
+        assertSame(people.get(1), first);
+    }
+
+    @Test
+    public final void sort_multipleStringKeys_sorted() {
+        ConstructorWithArgsMutablePerson a = person("Smith", 1);
+        a.setForename("Zed");
+        ConstructorWithArgsMutablePerson b = person("Smith", 1);
+        b.setForename("Adam");
+        List<Object> people = new ArrayList<>(Arrays.asList(a, b));
+        BeanComparator.builder().ascending(SURNAME).ascending(FORENAME).build().sort(people);
+        assertSame(people.get(0), b);
+    }
+
+    //-----------------------------------------------------------------------
+    private static ConstructorWithArgsMutablePerson person(String surname, int numberOfChildren) {
+        ConstructorWithArgsMutablePerson person = new ConstructorWithArgsMutablePerson("Smith", "John", BIRTH_DATE);
+        person.setSurname(surname);
+        person.setNumberOfChildren(numberOfChildren);
+        return person;
+    }
+
+}
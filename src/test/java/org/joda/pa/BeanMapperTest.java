@@ -0,0 +1,174 @@
+/*
+ *  Copyright 2014-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.pa;
+
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+import java.time.LocalDate;
+import java.util.Collections;
+
+import org.joda.pa.style.BuilderImmutablePerson;
+import org.joda.pa.style.ConstructorNoArgsMutablePerson;
+import org.joda.pa.style.StaticFactoryImmutablePerson;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the interface {@link BeanMapper}.
+ */
+@SuppressWarnings("javadoc")
+public class BeanMapperTest {
+
+    private static final LocalDate BIRTH_DATE = LocalDate.of(1970, 6, 30);
+
+    // map --------------------------------------------------------------------
+
+    @Test
+    public final void map_mutableToImmutable_buildsTarget() {
+        BeanMapper mapper = BeanMapper.of(
+                MetaBean.of(ConstructorNoArgsMutablePerson.class), MetaBean.of(StaticFactoryImmutablePerson.class));
+        assertSame(mapper.sourceMetaBean(), MetaBean.of(ConstructorNoArgsMutablePerson.class));
+        assertSame(mapper.targetMetaBean(), MetaBean.of(StaticFactoryImmutablePerson.class));
+        assertEquals(mapper.map(mutablePerson()), StaticFactoryImmutablePerson.of("Smith", "John", BIRTH_DATE, 2));
+        assertEquals(mapper.map(mutablePerson()), StaticFactoryImmutablePerson.of("Smith", "John", BIRTH_DATE, 2));
+    }
+
+    @Test
+    public final void map_partialMatch_copiesMatchingNames() {
+        BeanMapper mapper = BeanMapper.of(MetaBean.of(Dto.class), MetaBean.of(ConstructorNoArgsMutablePerson.class));
+        Dto dto = new Dto();
+        dto.setSurname("Smith");
+        dto.setNumberOfChildren(Integer.valueOf(3));
+        dto.setBirthDate("1970-06-30");
+        ConstructorNoArgsMutablePerson person = (ConstructorNoArgsMutablePerson) mapper.map(dto);
+        assertEquals(person.getSurname(), "Smith");
+        assertEquals(person.getNumberOfChildren(), 3);
+        // the String property is converted to LocalDate via StringConvert
+        assertEquals(person.getBirthDate(), BIRTH_DATE);
+    }
+
+    @Test(expectedExceptions = ClassCastException.class)
+    public final void map_wrongSourceType_ClassCastException() {
+        BeanMapper mapper = BeanMapper.of(
+                MetaBean.of(ConstructorNoArgsMutablePerson.class), MetaBean.of(StaticFactoryImmutablePerson.class));
+        mapper.map("");
+    }
+
+    @Test(expectedExceptions = UnsupportedOperationException.class)
+    public final void map_targetNotBuildable_UnsupportedOperationException() {
+        BeanMapper mapper = BeanMapper.of(
+                MetaBean.of(ConstructorNoArgsMutablePerson.class), MetaBean.of(BuilderImmutablePerson.class));
+        mapper.map(mutablePerson());
+    }
+
+    @Test
+    public final void map_manyCalls_poolObtainedOnce() {
+        BeanBuilder<?> builder = mock(BeanBuilder.class);
+        doReturn("built").when(builder).build();
+        BeanBuilderPool pool = mock(BeanBuilderPool.class);
+        doReturn(builder).when(pool).acquire();
+        MetaBean target = mock(MetaBean.class);
+        doReturn(Collections.emptyList()).when(target).metaPropertyList();
+        doReturn(pool).when(target).beanBuilderPool();
+
+        BeanMapper mapper = BeanMapper.of(MetaBean.of(ConstructorNoArgsMutablePerson.class), target);
+        assertEquals(mapper.map(mutablePerson()), "built");
+        assertEquals(mapper.map(mutablePerson()), "built");
+        verify(target, times(1)).beanBuilderPool();
+        verify(pool, times(2)).release(builder);
+    }
+
+    // copy -------------------------------------------------------------------
+
+    @Test
+    public final void copy_immutableToMutable_setsTarget() {
+        BeanMapper mapper = BeanMapper.of(
+                MetaBean.of(StaticFactoryImmutablePerson.class), MetaBean.of(ConstructorNoArgsMutablePerson.class));
+        ConstructorNoArgsMutablePerson target = new ConstructorNoArgsMutablePerson();
+        mapper.copy(StaticFactoryImmutablePerson.of("Smith", "John", BIRTH_DATE, 2), target);
+        assertEquals(target, mutablePerson());
+    }
+
+    @Test
+    public final void copy_nullToPrimitive_notCopied() {
+        BeanMapper mapper = BeanMapper.of(MetaBean.of(Dto.class), MetaBean.of(ConstructorNoArgsMutablePerson.class));
+        ConstructorNoArgsMutablePerson target = mutablePerson();
+        mapper.copy(new Dto(), target);
+        assertNull(target.getSurname());
+        assertEquals(target.getNumberOfChildren(), 2);
+    }
+
+    @Test(expectedExceptions = ClassCastException.class)
+    public final void copy_wrongTargetType_ClassCastException() {
+        BeanMapper mapper = BeanMapper.of(
+                MetaBean.of(StaticFactoryImmutablePerson.class), MetaBean.of(ConstructorNoArgsMutablePerson.class));
+        mapper.copy(StaticFactoryImmutablePerson.of("Smith", "John", BIRTH_DATE, 2), "");
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public final void of_nullTarget_NullPointerException() {
+        BeanMapper.of(MetaBean.of(StaticFactoryImmutablePerson.class), null);
+    }
+
+    //-----------------------------------------------------------------------
+    private static ConstructorNoArgsMutablePerson mutablePerson() {
+        ConstructorNoArgsMutablePerson person = new ConstructorNoArgsMutablePerson();
+        person.setSurname("Smith");
+        person.setForename("John");
+        person.setBirthDate(BIRTH_DATE);
+        person.setNumberOfChildren(2);
+        return person;
+    }
+
+    /**
+     * A data transfer object with some properties of a person.
+     */
+    public static class Dto {
+        private String surname;
+        private Integer numberOfChildren;
+        private String birthDate;
+
+        public String getSurname() {
+            return surname;
+        }
+
+        public void setSurname(String surname) {
+            this.surname = surname;
+        }
+
+        public Integer getNumberOfChildren() {
+            return numberOfChildren;
+        }
+
+        public void setNumberOfChildren(Integer numberOfChildren) {
+            this.numberOfChildren = numberOfChildren;
+        }
+
+        public String getBirthDate() {
+            return birthDate;
+        }
+
+        public void setBirthDate(String birthDate) {
+            this.birthDate = birthDate;
+        }
+    }
+
+}
@@ -0,0 +1,117 @@
+/*
+ *  Copyright 2014-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.pa;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import org.joda.pa.style.ConstructorWithArgsMutablePerson;
+import org.joda.pa.style.StaticFactoryImmutablePerson;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the interface {@link BeanMethods}.
+ */
+@SuppressWarnings("javadoc")
+public class BeanMethodsTest {
+
+    private static final LocalDate BIRTH_DATE = LocalDate.of(1970, 6, 30);
+    private static final BeanMethods METHODS = BeanMethods.of(MetaBean.of(ConstructorWithArgsMutablePerson.class));
+
+    // equal & hash -----------------------------------------------------------
+
+    @Test
+    public final void equal_sameProperties_matchesHandWritten() {
+        ConstructorWithArgsMutablePerson person = person("Smith", 2);
+        ConstructorWithArgsMutablePerson other = person("Smith", 2);
+        assertTrue(METHODS.equal(person, other));
+        assertTrue(METHODS.equal(person, person));
+        assertEquals(person, other);
+    }
+
+    @Test
+    public final void equal_differentProperties_false() {
+        assertFalse(METHODS.equal(person("Smith", 2), person("Smith", 3)));
+        assertFalse(METHODS.equal(person("Smith", 2), person("Jones", 2)));
+        assertFalse(METHODS.equal(person("Smith", 2), null));
+        assertFalse(METHODS.equal(person("Smith", 2), "Smith"));
+    }
+
+    @Test
+    public final void hash_person_matchesHandWritten() {
+        ConstructorWithArgsMutablePerson person = person("Smith", 2);
+        assertEquals(METHODS.hash(person), person.hashCode());
+    }
+
+    @Test(expectedExceptions = ClassCastException.class)
+    public final void hash_wrongBeanType_ClassCastException() {
+        METHODS.hash("Smith");
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public final void equal_nullBean_NullPointerException() {
+        METHODS.equal(null, person("Smith", 2));
+    }
+
+    // toString ---------------------------------------------------------------
+
+    @Test
+    public final void toString_person_listsProperties() {
+        assertEquals(METHODS.toString(person("Smith", 2)),
+                "ConstructorWithArgsMutablePerson[surname=Smith, forename=John, birthDate=1970-06-30, numberOfChildren=2]");
+    }
+
+    // comparator -------------------------------------------------------------
+
+    @Test
+    public final void comparator_people_orderedByEachPropertyInTurn() {
+        List<Object> people = Arrays.asList(
+                StaticFactoryImmutablePerson.of("Smith", "John", BIRTH_DATE, 3),
+                StaticFactoryImmutablePerson.of("Jones", "John", BIRTH_DATE, 2),
+                StaticFactoryImmutablePerson.of("Smith", "John", BIRTH_DATE, 1));
+        people.sort(BeanMethods.of(MetaBean.of(StaticFactoryImmutablePerson.class)).comparator());
+        assertEquals(people, Arrays.asList(
+                StaticFactoryImmutablePerson.of("Jones", "John", BIRTH_DATE, 2),
+                StaticFactoryImmutablePerson.of("Smith", "John", BIRTH_DATE, 1),
+                StaticFactoryImmutablePerson.of("Smith", "John", BIRTH_DATE, 3)));
+    }
+
+    @Test
+    public final void comparator_nullValue_sortsFirst() {
+        ConstructorWithArgsMutablePerson nullSurname = person("Smith", 2);
+        nullSurname.setSurname(null);
+        assertTrue(METHODS.comparator().compare(nullSurname, person("Smith", 2)) < 0);
+        assertTrue(METHODS.comparator().compare(person("Smith", 2), nullSurname) > 0);
+    }
+
+    @Test(expectedExceptions = UnsupportedOperationException.class)
+    public final void comparator_notComparableProperty_UnsupportedOperationException() {
+        BeanMethods.of(MetaBean.of(TestBean.class)).comparator();
+    }
+
+    //-----------------------------------------------------------------------
+    private static ConstructorWithArgsMutablePerson person(String surname, int numberOfChildren) {
+        ConstructorWithArgsMutablePerson person = new ConstructorWithArgsMutablePerson(surname, "John", BIRTH_DATE);
+        person.setNumberOfChildren(numberOfChildren);
+        return person;
+    }
+
+}
@@ -0,0 +1,169 @@
+/*
+ *  Copyright 2014-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.pa;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.fail;
+
+import java.time.LocalDate;
+import java.util.Date;
+
+import org.joda.pa.style.ConstructorNoArgsMutablePerson;
+import org.joda.pa.style.StaticFactoryImmutablePerson;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the bulk read and write operations on {@link MetaBean}.
+ */
+@SuppressWarnings("javadoc")
+public class BulkPropertyAccessTest {
+
+    private static final LocalDate BIRTH_DATE = LocalDate.of(1970, 6, 30);
+
+    // readAll ----------------------------------------------------------------
+
+    @Test
+    public final void readAll_immutablePerson_readsEveryProperty() {
+        MetaBean metaBean = MetaBean.of(StaticFactoryImmutablePerson.class);
+        Object[] values = new Object[metaBean.propertyCount()];
+        metaBean.readAll(StaticFactoryImmutablePerson.of("Smith", "John", BIRTH_DATE, 2), values);
+        assertEquals(values, new Object[] {"Smith", "John", BIRTH_DATE, 2});
+    }
+
+    @Test
+    public final void readAll_indices_readsSelectedProperties() {
+        MetaBean metaBean = MetaBean.of(StaticFactoryImmutablePerson.class);
+        Object[] values = new Object[2];
+        metaBean.readAll(StaticFactoryImmutablePerson.of("Smith", "John", BIRTH_DATE, 2), new int[] {3, 0}, values);
+        assertEquals(values, new Object[] {2, "Smith"});
+    }
+
+    @Test
+    public final void readAll_delegatingAccessor_readsEveryProperty() {
+        MetaBean metaBean = MetaBean.of(Date.class);
+        int index = metaBean.metaProperty("time").get().index();
+        Object[] values = new Object[1];
+        metaBean.readAll(new Date(1000), new int[] {index}, values);
+        assertEquals(values[0], 1000L);
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public final void readAll_nullBean_NullPointerException() {
+        MetaBean.of(StaticFactoryImmutablePerson.class).readAll(null, new Object[4]);
+    }
+
+    @Test(expectedExceptions = ClassCastException.class)
+    public final void readAll_wrongBeanType_ClassCastException() {
+        MetaBean.of(StaticFactoryImmutablePerson.class).readAll("", new Object[4]);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public final void readAll_arrayTooShort_IllegalArgumentException() {
+        MetaBean.of(StaticFactoryImmutablePerson.class).readAll(
+                StaticFactoryImmutablePerson.of("Smith", "John", BIRTH_DATE, 2), new Object[3]);
+    }
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public final void readAll_invalidIndex_IndexOutOfBoundsException() {
+        MetaBean.of(StaticFactoryImmutablePerson.class).readAll(
+                StaticFactoryImmutablePerson.of("Smith", "John", BIRTH_DATE, 2), new int[] {4}, new Object[1]);
+    }
+
+    // writeAll ---------------------------------------------------------------
+
+    @Test
+    public final void writeAll_mutablePerson_writesEveryProperty() {
+        MetaBean metaBean = MetaBean.of(ConstructorNoArgsMutablePerson.class);
+        ConstructorNoArgsMutablePerson person = new ConstructorNoArgsMutablePerson();
+        metaBean.writeAll(person, new Object[] {"Smith", "John", BIRTH_DATE, 2});
+        assertEquals(person.getSurname(), "Smith");
+        assertEquals(person.getForename(), "John");
+        assertEquals(person.getBirthDate(), BIRTH_DATE);
+        assertEquals(person.getNumberOfChildren(), 2);
+    }
+
+    @Test
+    public final void writeAll_indices_writesSelectedProperties() {
+        MetaBean metaBean = MetaBean.of(ConstructorNoArgsMutablePerson.class);
+        ConstructorNoArgsMutablePerson person = new ConstructorNoArgsMutablePerson();
+        metaBean.writeAll(person, new int[] {3, 1}, new Object[] {2, "John"});
+        assertEquals(person.getSurname(), null);
+        assertEquals(person.getForename(), "John");
+        assertEquals(person.getNumberOfChildren(), 2);
+    }
+
+    @Test(expectedExceptions = UnsupportedOperationException.class)
+    public final void writeAll_immutablePerson_UnsupportedOperationException() {
+        MetaBean.of(StaticFactoryImmutablePerson.class).writeAll(
+                StaticFactoryImmutablePerson.of("Smith", "John", BIRTH_DATE, 2),
+                new Object[] {"Jones", "John", BIRTH_DATE, 2});
+    }
+
+    @Test
+    public final void writeAll_readOnlyProperty_noPropertyWritten() {
+        MetaBean metaBean = MetaBean.of(ReadOnlySurnamePerson.class);
+        ReadOnlySurnamePerson person = new ReadOnlySurnamePerson();
+        int surname = metaBean.metaProperty("surname").get().index();
+        int forename = metaBean.metaProperty("forename").get().index();
+        try {
+            metaBean.writeAll(person, new int[] {forename, surname}, new Object[] {"John", "Jones"});
+            fail();
+        } catch (UnsupportedOperationException ex) {
+            assertEquals(ex.getMessage(), "The meta-property 'surname' is read-only.");
+        }
+        assertEquals(person.getForename(), null);
+    }
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public final void writeAll_invalidIndex_noPropertyWritten() {
+        MetaBean metaBean = MetaBean.of(ConstructorNoArgsMutablePerson.class);
+        ConstructorNoArgsMutablePerson person = new ConstructorNoArgsMutablePerson();
+        try {
+            metaBean.writeAll(person, new int[] {1, 9}, new Object[] {"John", "Jones"});
+        } finally {
+            assertEquals(person.getForename(), null);
+        }
+    }
+
+    @Test(expectedExceptions = ClassCastException.class)
+    public final void writeAll_wrongValueType_ClassCastException() {
+        MetaBean.of(ConstructorNoArgsMutablePerson.class).writeAll(
+                new ConstructorNoArgsMutablePerson(), new int[] {3}, new Object[] {"two"});
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public final void writeAll_nullIndices_NullPointerException() {
+        MetaBean.of(ConstructorNoArgsMutablePerson.class).writeAll(
+                new ConstructorNoArgsMutablePerson(), null, new Object[0]);
+    }
+
+    public static final class ReadOnlySurnamePerson {
+        private String forename;
+
+        public String getForename() {
+            return forename;
+        }
+
+        public void setForename(String forename) {
+            this.forename = forename;
+        }
+
+        public String getSurname() {
+            return "Smith";
+        }
+    }
+
+}
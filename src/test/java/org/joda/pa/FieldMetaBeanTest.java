@@ -0,0 +1,149 @@
+/*
+ *  Copyright 2014-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.pa;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import org.testng.annotations.Test;
+
+/**
+ * Tests the class {@link FieldMetaBean}.
+ */
+@SuppressWarnings("javadoc")
+public class FieldMetaBeanTest {
+
+    // ofFields ---------------------------------------------------------------
+
+    @Test
+    public final void ofFields_class_returnsCachedFieldMetaBean() {
+        MetaBean metaBean = MetaBean.ofFields(Counter.class);
+        assertTrue(metaBean instanceof FieldMetaBean);
+        assertSame(MetaBean.ofFields(Counter.class), metaBean);
+        assertNotSame(MetaBean.of(Counter.class), metaBean);
+        assertEquals(metaBean.beanType(), Counter.class);
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public final void ofFields_null_throwsException() {
+        MetaBean.ofFields(null);
+    }
+
+    // properties -------------------------------------------------------------
+
+    @Test
+    public final void metaProperties_superclassFieldsFirst() {
+        MetaBean metaBean = MetaBean.ofFields(Counter.class);
+        assertEquals(
+                metaBean.metaProperties().map(MetaProperty::name).collect(Collectors.toList()),
+                Arrays.asList("label", "name", "count", "total"));
+        assertTrue(metaBean.metaProperty("count").get() instanceof IntMetaProperty);
+        assertTrue(metaBean.metaProperty("total").get() instanceof LongMetaProperty);
+    }
+
+    @Test
+    public final void metaProperty_finalField_readOnly() {
+        MetaProperty<?> metaProperty = MetaBean.ofFields(Counter.class).metaProperty("name").get();
+        assertFalse(metaProperty.isMutable());
+        assertFalse(metaProperty instanceof VarHandleMetaProperty);
+        assertEquals(metaProperty.get(new Counter("a")), "a");
+    }
+
+    @Test
+    public final void metaProperty_otherField_readWriteVarHandle() {
+        MetaProperty<?> metaProperty = MetaBean.ofFields(Counter.class).metaProperty("count").get();
+        assertTrue(metaProperty.isMutable());
+        assertTrue(metaProperty instanceof VarHandleMetaProperty);
+    }
+
+    @Test(expectedExceptions = UnsupportedOperationException.class)
+    public final void set_finalField_throwsException() {
+        MetaBean.ofFields(Counter.class).metaProperty("name").get().set(new Counter("a"), "b");
+    }
+
+    // memory ordering and atomic operations ----------------------------------
+
+    @Test
+    public final void memoryOrdering_field_accessesField() {
+        @SuppressWarnings("unchecked")
+        MetaProperty<Integer> metaProperty =
+                (MetaProperty<Integer>) MetaBean.ofFields(Counter.class).metaProperty("count").get();
+        Counter counter = new Counter("a");
+        metaProperty.setRelease(counter, 1);
+        assertEquals(counter.count, 1);
+        assertEquals(metaProperty.getAcquire(counter), (Integer) 1);
+        metaProperty.setOpaque(counter, 2);
+        assertEquals(metaProperty.getOpaque(counter), (Integer) 2);
+        metaProperty.setVolatile(counter, 3);
+        assertEquals(metaProperty.getVolatile(counter), (Integer) 3);
+    }
+
+    @Test
+    public final void compareAndSet_field_updatesField() {
+        @SuppressWarnings("unchecked")
+        MetaProperty<Long> metaProperty =
+                (MetaProperty<Long>) MetaBean.ofFields(Counter.class).metaProperty("total").get();
+        Counter counter = new Counter("a");
+        assertFalse(metaProperty.compareAndSet(counter, 1L, 2L));
+        assertTrue(metaProperty.compareAndSet(counter, 0L, 2L));
+        assertEquals(counter.total, 2L);
+        assertEquals(metaProperty.getAndSet(counter, 3L), (Long) 2L);
+        assertEquals(metaProperty.accumulateAndGet(counter, 4L, Long::sum), (Long) 7L);
+        assertEquals(counter.total, 7L);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public final void setVolatile_nullForPrimitive_throwsException() {
+        MetaBean.ofFields(Counter.class).metaProperty("count").get().setVolatile(new Counter("a"), null);
+    }
+
+    // builder ----------------------------------------------------------------
+
+    @Test
+    public final void beanBuilder_callsConstructorThenSetsFields() {
+        MetaBean metaBean = MetaBean.ofFields(Counter.class);
+        assertTrue(metaBean.isBuildable());
+        Counter counter = (Counter) metaBean.beanBuilder()
+                .set(metaBean.metaProperty("name").get(), "a")
+                .set(metaBean.metaProperty("count").get(), 5)
+                .build();
+        assertEquals(counter.name, "a");
+        assertEquals(counter.count, 5);
+    }
+
+    //-------------------------------------------------------------------------
+    static class Base {
+        protected String label;
+    }
+
+    public static final class Counter extends Base {
+        private static int ignored;
+        private final String name;
+        private int count;
+        private long total;
+
+        public Counter(String name) {
+            this.name = name;
+        }
+    }
+
+}
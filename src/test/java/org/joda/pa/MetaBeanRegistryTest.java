@@ -0,0 +1,119 @@
+/*
+ *  Copyright 2014-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.pa;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.lang.annotation.Annotation;
+import java.util.stream.Stream;
+
+import org.joda.pa.style.ConstructorNoArgsMutablePerson;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the class {@link MetaBeanRegistry}.
+ */
+@SuppressWarnings("javadoc")
+public class MetaBeanRegistryTest {
+
+    /**
+     * A meta-bean that does not override the pool, failing if the bean type is queried.
+     */
+    public static final class CustomMetaBean implements MetaBean {
+        @Override
+        public Class<?> beanType() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean isBuildable() {
+            return false;
+        }
+
+        @Override
+        public BeanBuilder<?> beanBuilder() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Stream<MetaProperty<?>> metaProperties() {
+            return Stream.empty();
+        }
+
+        @Override
+        public Stream<Annotation> annotations() {
+            return Stream.empty();
+        }
+    }
+
+    @GenerateMetaBean
+    public static class NotGeneratedBean {
+        public String getName() {
+            return "";
+        }
+    }
+
+    // pools ------------------------------------------------------------------
+
+    @Test
+    public final void lookupBeanBuilderPool_customMetaBean_samePoolForFirstInstance() {
+        MetaBean first = new CustomMetaBean();
+        MetaBean second = new CustomMetaBean();
+        BeanBuilderPool pool = MetaBeanRegistry.lookupBeanBuilderPool(first);
+        assertSame(MetaBeanRegistry.lookupBeanBuilderPool(first), pool);
+        assertSame(first.beanBuilderPool(), pool);
+        assertNotSame(MetaBeanRegistry.lookupBeanBuilderPool(second), pool);
+        assertNotSame(MetaBeanRegistry.lookupBeanBuilderPool(second), MetaBeanRegistry.lookupBeanBuilderPool(second));
+    }
+
+    @Test
+    public final void beanBuilderPool_registeredMetaBean_samePool() {
+        MetaBean metaBean = MetaBean.of(ConstructorNoArgsMutablePerson.class);
+        assertSame(metaBean.beanBuilderPool(), metaBean.beanBuilderPool());
+    }
+
+    // generated --------------------------------------------------------------
+
+    @Test
+    public final void generatedMetaBeanName_topLevelClass_suffixed() {
+        assertEquals(MetaBeanRegistry.generatedMetaBeanName(ConstructorNoArgsMutablePerson.class),
+                "org.joda.pa.style.ConstructorNoArgsMutablePerson_MetaBean");
+    }
+
+    @Test
+    public final void generatedMetaBeanName_nestedClass_underscoreSeparated() {
+        assertEquals(MetaBeanRegistry.generatedMetaBeanName(NotGeneratedBean.class),
+                "org.joda.pa.MetaBeanRegistryTest_NotGeneratedBean_MetaBean");
+    }
+
+    @Test
+    public final void findGeneratedMetaBean_notAnnotated_null() {
+        assertNull(MetaBeanRegistry.findGeneratedMetaBean(ConstructorNoArgsMutablePerson.class));
+    }
+
+    @Test
+    public final void lookup_annotatedButNotGenerated_reflective() {
+        assertNull(MetaBeanRegistry.findGeneratedMetaBean(NotGeneratedBean.class));
+        MetaBean metaBean = MetaBeanRegistry.lookup(NotGeneratedBean.class);
+        assertTrue(metaBean instanceof ReflectiveMetaBean);
+        assertEquals(metaBean.propertyCount(), 1);
+    }
+
+}
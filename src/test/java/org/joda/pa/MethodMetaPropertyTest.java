@@ -18,6 +18,8 @@ package org.joda.pa;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.fail;
 
 import java.lang.reflect.Method;
 
@@ -74,6 +76,60 @@ public class MethodMetaPropertyTest extends
         assertEquals(annotationsCountOnSet, 1);
     }
 
+    @Test
+    public final void get_getterThrowsCheckedException_wrappedInRuntimeException()
+            throws Exception {
+        MetaProperty<String> metaProperty = createThrowingMetaProperty();
+        Exception thrown = new Exception("checked");
+        try {
+            metaProperty.get(new ThrowingBean(thrown));
+            fail();
+        } catch (RuntimeException ex) {
+            assertSame(ex.getCause(), thrown);
+        }
+    }
+
+    @Test
+    public final void set_setterThrowsUncheckedException_rethrown()
+            throws Exception {
+        MetaProperty<String> metaProperty = createThrowingMetaProperty();
+        IllegalStateException thrown = new IllegalStateException("unchecked");
+        try {
+            metaProperty.set(new ThrowingBean(thrown), "value");
+            fail();
+        } catch (IllegalStateException ex) {
+            assertSame(ex, thrown);
+        }
+    }
+
+    private static MetaProperty<String> createThrowingMetaProperty()
+            throws Exception {
+        MetaBean metaBean = mock(MetaBean.class);
+        doReturn(ThrowingBean.class).when(metaBean).beanType();
+        return new MethodMetaProperty<>(
+                metaBean, "value", String.class,
+                false, true,
+                ThrowingBean.class.getMethod("getValue"),
+                ThrowingBean.class.getMethod("setValue", String.class));
+    }
+
+    public static final class ThrowingBean {
+
+        private final Exception exception;
+
+        ThrowingBean(Exception exception) {
+            this.exception = exception;
+        }
+
+        public String getValue() throws Exception {
+            throw exception;
+        }
+
+        public void setValue(String value) throws Exception {
+            throw exception;
+        }
+    }
+
     // implementation of 'AbstractFieldNameBasedMetaPropertyTest' -------------
 
     @Override
@@ -0,0 +1,274 @@
+/*
+ *  Copyright 2014-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.pa;
+
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.lang.reflect.Field;
+import java.util.stream.Stream;
+
+import org.joda.pa.style.ConstructorNoArgsMutablePerson;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the primitive specializations of {@link MetaProperty}.
+ */
+@SuppressWarnings("javadoc")
+public class PrimitiveMetaPropertyTest {
+
+    public static class PrimitiveBean {
+        private int intValue;
+        private long longValue;
+        private double doubleValue;
+        private boolean booleanValue;
+        private final int finalValue = 1;
+
+        public int getIntValue() {
+            return intValue;
+        }
+        public void setIntValue(int intValue) {
+            this.intValue = intValue;
+        }
+        public long getLongValue() {
+            return longValue;
+        }
+        public void setLongValue(long longValue) {
+            this.longValue = longValue;
+        }
+        public double getDoubleValue() {
+            return doubleValue;
+        }
+        public void setDoubleValue(double doubleValue) {
+            this.doubleValue = doubleValue;
+        }
+        public boolean isBooleanValue() {
+            return booleanValue;
+        }
+        public void setBooleanValue(boolean booleanValue) {
+            this.booleanValue = booleanValue;
+        }
+        public int getFinalValue() {
+            return finalValue;
+        }
+    }
+
+    private static MetaBean mockMetaBean() {
+        MetaBean metaBean = mock(MetaBean.class);
+        doReturn(PrimitiveBean.class).when(metaBean).beanType();
+        return metaBean;
+    }
+
+    private static Field field(String name) throws Exception {
+        return PrimitiveBean.class.getDeclaredField(name);
+    }
+
+    // reflective -------------------------------------------------------------
+
+    @Test
+    public final void reflective_intProperty_specialized() {
+        MetaProperty<?> metaProperty = MetaBean.of(ConstructorNoArgsMutablePerson.class)
+                .metaProperty("numberOfChildren").get();
+        assertTrue(metaProperty instanceof IntMetaProperty);
+        assertSame(metaProperty.propertyType(), int.class);
+        ConstructorNoArgsMutablePerson person = new ConstructorNoArgsMutablePerson();
+        ((IntMetaProperty) metaProperty).setInt(person, 3);
+        assertEquals(person.getNumberOfChildren(), 3);
+        assertEquals(((IntMetaProperty) metaProperty).getInt(person), 3);
+    }
+
+    @Test
+    public final void reflective_objectProperty_notSpecialized() {
+        MetaProperty<?> metaProperty = MetaBean.of(ConstructorNoArgsMutablePerson.class)
+                .metaProperty("surname").get();
+        assertFalse(metaProperty instanceof IntMetaProperty);
+    }
+
+    @Test
+    public final void reflective_setNullOnPrimitive_IllegalArgumentException() {
+        MetaProperty<?> metaProperty = MetaBean.of(ConstructorNoArgsMutablePerson.class)
+                .metaProperty("numberOfChildren").get();
+        ConstructorNoArgsMutablePerson person = new ConstructorNoArgsMutablePerson();
+        person.setNumberOfChildren(2);
+        try {
+            metaProperty.set(person, null);
+            throw new AssertionError("expected exception");
+        } catch (IllegalArgumentException ex) {
+            assertTrue(ex.getMessage().contains("'numberOfChildren'"), ex.getMessage());
+        }
+        try {
+            metaProperty.unchecked().set(person, null);
+            throw new AssertionError("expected exception");
+        } catch (IllegalArgumentException ex) {
+            assertTrue(ex.getMessage().contains("'numberOfChildren'"), ex.getMessage());
+        }
+        assertEquals(person.getNumberOfChildren(), 2);
+    }
+
+    // method -----------------------------------------------------------------
+
+    @Test
+    public final void method_allTypes_readAndWriteWithoutBoxing() throws Exception {
+        MetaBean metaBean = mockMetaBean();
+        PrimitiveBean bean = new PrimitiveBean();
+        LongMetaProperty longProperty = (LongMetaProperty) MethodMetaProperty.create(
+                metaBean, "longValue", long.class, false, true,
+                PrimitiveBean.class.getMethod("getLongValue"), PrimitiveBean.class.getMethod("setLongValue", long.class));
+        DoubleMetaProperty doubleProperty = (DoubleMetaProperty) MethodMetaProperty.create(
+                metaBean, "doubleValue", double.class, false, true,
+                PrimitiveBean.class.getMethod("getDoubleValue"), PrimitiveBean.class.getMethod("setDoubleValue", double.class));
+        BooleanMetaProperty booleanProperty = (BooleanMetaProperty) MethodMetaProperty.create(
+                metaBean, "booleanValue", boolean.class, false, true,
+                PrimitiveBean.class.getMethod("isBooleanValue"), PrimitiveBean.class.getMethod("setBooleanValue", boolean.class));
+        longProperty.setLong(bean, 5L);
+        doubleProperty.setDouble(bean, 1.5d);
+        booleanProperty.setBoolean(bean, true);
+        assertEquals(longProperty.getLong(bean), 5L);
+        assertEquals(doubleProperty.getDouble(bean), 1.5d);
+        assertTrue(booleanProperty.getBoolean(bean));
+        assertEquals(longProperty.get(bean), Long.valueOf(5L));
+    }
+
+    @Test(expectedExceptions = UnsupportedOperationException.class)
+    public final void method_readOnly_UnsupportedOperationException() throws Exception {
+        IntMetaProperty metaProperty = (IntMetaProperty) MethodMetaProperty.create(
+                mockMetaBean(), "finalValue", int.class, false, false,
+                PrimitiveBean.class.getMethod("getFinalValue"), null);
+        assertEquals(metaProperty.getInt(new PrimitiveBean()), 1);
+        metaProperty.setInt(new PrimitiveBean(), 2);
+    }
+
+    @Test(expectedExceptions = ClassCastException.class)
+    public final void method_wrongBeanType_ClassCastException() throws Exception {
+        IntMetaProperty metaProperty = (IntMetaProperty) MethodMetaProperty.create(
+                mockMetaBean(), "finalValue", int.class, false, false,
+                PrimitiveBean.class.getMethod("getFinalValue"), null);
+        metaProperty.getInt("");
+    }
+
+    // field ------------------------------------------------------------------
+
+    @Test
+    public final void field_allTypes_readAndWriteWithoutBoxing() throws Exception {
+        MetaBean metaBean = mockMetaBean();
+        PrimitiveBean bean = new PrimitiveBean();
+        IntMetaProperty intProperty = (IntMetaProperty) FieldMetaProperty.create(
+                metaBean, "intValue", int.class, false, true, true, true, field("intValue"));
+        LongMetaProperty longProperty = (LongMetaProperty) FieldMetaProperty.create(
+                metaBean, "longValue", long.class, false, true, true, true, field("longValue"));
+        DoubleMetaProperty doubleProperty = (DoubleMetaProperty) FieldMetaProperty.create(
+                metaBean, "doubleValue", double.class, false, true, true, true, field("doubleValue"));
+        BooleanMetaProperty booleanProperty = (BooleanMetaProperty) FieldMetaProperty.create(
+                metaBean, "booleanValue", boolean.class, false, true, true, true, field("booleanValue"));
+        intProperty.setInt(bean, 4);
+        longProperty.setLong(bean, 5L);
+        doubleProperty.setDouble(bean, 1.5d);
+        booleanProperty.setBoolean(bean, true);
+        assertEquals(bean.getIntValue(), 4);
+        assertEquals(intProperty.getInt(bean), 4);
+        assertEquals(longProperty.getLong(bean), 5L);
+        assertEquals(doubleProperty.getDouble(bean), 1.5d);
+        assertTrue(booleanProperty.getBoolean(bean));
+    }
+
+    @Test
+    public final void varHandle_allTypes_readAndWriteWithoutBoxing() throws Exception {
+        MetaBean metaBean = mockMetaBean();
+        PrimitiveBean bean = new PrimitiveBean();
+        IntMetaProperty intProperty = (IntMetaProperty) VarHandleMetaProperty.create(
+                metaBean, "intValue", int.class, false, true, true, true, field("intValue"));
+        LongMetaProperty longProperty = (LongMetaProperty) VarHandleMetaProperty.create(
+                metaBean, "longValue", long.class, false, true, true, true, field("longValue"));
+        DoubleMetaProperty doubleProperty = (DoubleMetaProperty) VarHandleMetaProperty.create(
+                metaBean, "doubleValue", double.class, false, true, true, true, field("doubleValue"));
+        BooleanMetaProperty booleanProperty = (BooleanMetaProperty) VarHandleMetaProperty.create(
+                metaBean, "booleanValue", boolean.class, false, true, true, true, field("booleanValue"));
+        assertTrue(intProperty instanceof VarHandleMetaProperty);
+        intProperty.setInt(bean, 4);
+        longProperty.setLong(bean, 5L);
+        doubleProperty.setDouble(bean, 1.5d);
+        booleanProperty.setBoolean(bean, true);
+        assertEquals(intProperty.getInt(bean), 4);
+        assertEquals(longProperty.getLong(bean), 5L);
+        assertEquals(doubleProperty.getDouble(bean), 1.5d);
+        assertTrue(booleanProperty.getBoolean(bean));
+        assertTrue(intProperty.compareAndSet(bean, 4, 6));
+        assertEquals(bean.getIntValue(), 6);
+    }
+
+    @Test
+    public final void varHandle_finalField_reflective() throws Exception {
+        IntMetaProperty metaProperty = (IntMetaProperty) VarHandleMetaProperty.create(
+                mockMetaBean(), "finalValue", int.class, false, false, true, false, field("finalValue"));
+        assertFalse(metaProperty instanceof VarHandleMetaProperty);
+        assertEquals(metaProperty.getInt(new PrimitiveBean()), 1);
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public final void field_nullBean_NullPointerException() throws Exception {
+        IntMetaProperty metaProperty = (IntMetaProperty) FieldMetaProperty.create(
+                mockMetaBean(), "intValue", int.class, false, true, true, true, field("intValue"));
+        metaProperty.setInt(null, 1);
+    }
+
+    // functional -------------------------------------------------------------
+
+    @Test
+    public final void functional_allTypes_readAndWriteWithoutBoxing() {
+        MetaBean metaBean = mockMetaBean();
+        PrimitiveBean bean = new PrimitiveBean();
+        IntMetaProperty intProperty = new FunctionalMetaProperty.OfInt(
+                metaBean, "intValue", false, true,
+                b -> ((PrimitiveBean) b).getIntValue(), (b, v) -> ((PrimitiveBean) b).setIntValue(v),
+                Stream::empty);
+        LongMetaProperty longProperty = new FunctionalMetaProperty.OfLong(
+                metaBean, "longValue", false, true,
+                b -> ((PrimitiveBean) b).getLongValue(), (b, v) -> ((PrimitiveBean) b).setLongValue(v),
+                Stream::empty);
+        DoubleMetaProperty doubleProperty = new FunctionalMetaProperty.OfDouble(
+                metaBean, "doubleValue", false, true,
+                b -> ((PrimitiveBean) b).getDoubleValue(), (b, v) -> ((PrimitiveBean) b).setDoubleValue(v),
+                Stream::empty);
+        BooleanMetaProperty booleanProperty = new FunctionalMetaProperty.OfBoolean(
+                metaBean, "booleanValue", false, true,
+                b -> ((PrimitiveBean) b).isBooleanValue(), (b, v) -> ((PrimitiveBean) b).setBooleanValue(v),
+                Stream::empty);
+        intProperty.setInt(bean, 4);
+        longProperty.setLong(bean, 5L);
+        doubleProperty.setDouble(bean, 1.5d);
+        booleanProperty.setBoolean(bean, true);
+        assertEquals(intProperty.getInt(bean), 4);
+        assertEquals(intProperty.get(bean), Integer.valueOf(4));
+        assertEquals(longProperty.getLong(bean), 5L);
+        assertEquals(doubleProperty.getDouble(bean), 1.5d);
+        assertTrue(booleanProperty.getBoolean(bean));
+        assertSame(intProperty.propertyType(), int.class);
+    }
+
+    @Test(expectedExceptions = UnsupportedOperationException.class)
+    public final void functional_writeOnly_UnsupportedOperationException() {
+        IntMetaProperty metaProperty = new FunctionalMetaProperty.OfInt(
+                mockMetaBean(), "intValue", false, true,
+                null, (b, v) -> ((PrimitiveBean) b).setIntValue(v),
+                Stream::empty);
+        metaProperty.getInt(new PrimitiveBean());
+    }
+
+}
@@ -0,0 +1,82 @@
+/*
+ *  Copyright 2014-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.pa;
+
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+@SuppressWarnings("javadoc")
+public class PropertyNameIndexTest {
+
+    @Test
+    public final void find_collidingHashes_findsEach() {
+        // "Aa" and "BB" have the same String hash code
+        MetaProperty<?> first = createMetaProperty("Aa");
+        MetaProperty<?> second = createMetaProperty("BB");
+        PropertyNameIndex index = new PropertyNameIndex(Arrays.asList(first, second));
+
+        assertSame(index.find("Aa").get(), first);
+        assertSame(index.find("BB").get(), second);
+        assertSame(index.find("xAax", 1, 3).get(), first);
+        assertSame(index.find("xBBx", 1, 3).get(), second);
+        assertFalse(index.find("Ab").isPresent());
+    }
+
+    @Test
+    public final void find_manyProperties_findsEach() {
+        List<MetaProperty<?>> metaProperties = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            metaProperties.add(createMetaProperty("property" + i));
+        }
+        PropertyNameIndex index = new PropertyNameIndex(metaProperties);
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(index.find("property" + i).get().name(), "property" + i);
+        }
+        assertFalse(index.find("property100").isPresent());
+    }
+
+    @Test
+    public final void find_noProperties_empty() {
+        PropertyNameIndex index = new PropertyNameIndex(new ArrayList<>());
+        assertFalse(index.find("name").isPresent());
+        assertFalse(index.find("name", 0, 4).isPresent());
+    }
+
+    @Test
+    public final void find_duplicateName_first() {
+        MetaProperty<?> first = createMetaProperty("name");
+        MetaProperty<?> second = createMetaProperty("name");
+        PropertyNameIndex index = new PropertyNameIndex(Arrays.asList(first, second));
+        assertSame(index.find("name").get(), first);
+    }
+
+    private static MetaProperty<?> createMetaProperty(String name) {
+        MetaProperty<?> metaProperty = mock(MetaProperty.class);
+        doReturn(name).when(metaProperty).name();
+        return metaProperty;
+    }
+
+}
@@ -0,0 +1,214 @@
+/*
+ *  Copyright 2014-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.pa;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+/**
+ * Tests the interface {@link PropertyPath}.
+ */
+@SuppressWarnings("javadoc")
+public class PropertyPathTest {
+
+    // of ---------------------------------------------------------------------
+
+    @Test
+    public final void of_valid_exposesPath() {
+        PropertyPath path = PropertyPath.of(MetaBean.of(Person.class), "address.city.name");
+        assertSame(path.rootMetaBean(), MetaBean.of(Person.class));
+        assertEquals(path.path(), "address.city.name");
+        assertEquals(path.toString(), "PropertyPath:address.city.name");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public final void of_unknownProperty_throwsException() {
+        PropertyPath.of(MetaBean.of(Person.class), "address.town.name");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public final void of_emptySegment_throwsException() {
+        PropertyPath.of(MetaBean.of(Person.class), "address..name");
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public final void of_nullPath_throwsException() {
+        PropertyPath.of(MetaBean.of(Person.class), null);
+    }
+
+    // get --------------------------------------------------------------------
+
+    @Test
+    public final void get_nested_returnsValue() {
+        PropertyPath path = PropertyPath.of(MetaBean.of(Person.class), "address.city.name");
+        assertEquals(path.get(person("London")), "London");
+        assertEquals(path.get(person("Paris")), "Paris");
+    }
+
+    @Test
+    public final void get_singleSegment_returnsValue() {
+        PropertyPath path = PropertyPath.of(MetaBean.of(City.class), "name");
+        City city = new City();
+        city.setName("Rome");
+        assertEquals(path.get(city), "Rome");
+    }
+
+    @Test
+    public final void get_nullIntermediate_returnsNull() {
+        PropertyPath path = PropertyPath.of(MetaBean.of(Person.class), "address.city.name");
+        assertNull(path.get(null));
+        assertNull(path.get(new Person()));
+        Person person = new Person();
+        person.setAddress(new Address());
+        assertNull(path.get(person));
+    }
+
+    @Test
+    public final void get_subclass_resolvesAgainstRuntimeClass() {
+        PropertyPath path = PropertyPath.of(MetaBean.of(Person.class), "address.city.name");
+        Person person = person("London");
+        CapitalCity capital = new CapitalCity();
+        capital.setName("Madrid");
+        person.getAddress().setCity(capital);
+        assertEquals(path.get(person), "Madrid");
+        assertEquals(path.get(person("Oslo")), "Oslo");
+        assertEquals(path.get(person), "Madrid");
+    }
+
+    @Test
+    public final void get_alternatingSubclasses_cachesUpToFourClasses() {
+        PropertyPath path = PropertyPath.of(MetaBean.of(Person.class), "address.city.name");
+        Person[] people = {
+            person(new City(), "Oslo"), person(new CapitalCity(), "Madrid"), person(new Town(), "Ely"),
+            person(new Village(), "Lacock"), person(new Port(), "Dover")};
+        for (int i = 0; i < 3; i++) {
+            for (Person person : people) {
+                assertEquals(path.get(person), person.getAddress().getCity().getName());
+            }
+        }
+        List<Class<?>> cached = ((CompiledPropertyPath) path).cachedTypes(2);
+        assertEquals(cached, Arrays.asList(Village.class, Town.class, CapitalCity.class, City.class));
+        assertTrue(path.set(people[4], "Hull"));
+        assertEquals(path.get(people[4]), "Hull");
+    }
+
+    @Test(expectedExceptions = ClassCastException.class)
+    public final void get_wrongRootType_throwsException() {
+        PropertyPath.of(MetaBean.of(Person.class), "address.city.name").get(new City());
+    }
+
+    // set --------------------------------------------------------------------
+
+    @Test
+    public final void set_nested_setsValue() {
+        PropertyPath path = PropertyPath.of(MetaBean.of(Person.class), "address.city.name");
+        Person person = person("London");
+        assertTrue(path.set(person, "Berlin"));
+        assertEquals(person.getAddress().getCity().getName(), "Berlin");
+    }
+
+    @Test
+    public final void set_nullIntermediate_returnsFalse() {
+        PropertyPath path = PropertyPath.of(MetaBean.of(Person.class), "address.city.name");
+        assertFalse(path.set(null, "Berlin"));
+        assertFalse(path.set(new Person(), "Berlin"));
+    }
+
+    @Test(expectedExceptions = ClassCastException.class)
+    public final void set_invalidValueType_throwsException() {
+        PropertyPath.of(MetaBean.of(Person.class), "address.city.name").set(person("London"), Integer.valueOf(1));
+    }
+
+    //-------------------------------------------------------------------------
+    private static Person person(String cityName) {
+        return person(new City(), cityName);
+    }
+
+    private static Person person(City city, String cityName) {
+        city.setName(cityName);
+        Address address = new Address();
+        address.setCity(city);
+        Person person = new Person();
+        person.setAddress(address);
+        return person;
+    }
+
+    public static class Person {
+        private Address address;
+
+        public Address getAddress() {
+            return address;
+        }
+
+        public void setAddress(Address address) {
+            this.address = address;
+        }
+    }
+
+    public static class Address {
+        private City city;
+
+        public City getCity() {
+            return city;
+        }
+
+        public void setCity(City city) {
+            this.city = city;
+        }
+    }
+
+    public static class City {
+        private String name;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+
+    public static class CapitalCity extends City {
+        private String country;
+
+        public String getCountry() {
+            return country;
+        }
+
+        public void setCountry(String country) {
+            this.country = country;
+        }
+    }
+
+    public static class Town extends City {
+    }
+
+    public static class Village extends City {
+    }
+
+    public static class Port extends City {
+    }
+
+}
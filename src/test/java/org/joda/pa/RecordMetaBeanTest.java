@@ -0,0 +1,150 @@
+/*
+ *  Copyright 2014-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.pa;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import org.testng.annotations.Test;
+
+/**
+ * Tests the class {@link RecordMetaBean}.
+ */
+@SuppressWarnings("javadoc")
+public class RecordMetaBeanTest {
+
+    // of ---------------------------------------------------------------------
+
+    @Test
+    public final void of_record_returnsRecordMetaBean() {
+        MetaBean metaBean = MetaBean.of(Point.class);
+        assertTrue(metaBean instanceof RecordMetaBean);
+        assertSame(MetaBean.ofRecord(Point.class), metaBean);
+        assertEquals(metaBean.beanType(), Point.class);
+        assertEquals(metaBean.toString(), "MetaBean:" + Point.class.getName());
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public final void ofRecord_null_throwsException() {
+        MetaBean.ofRecord(null);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public final void introspect_notRecord_throwsException() {
+        RecordMetaBean.introspect(TestBean.class);
+    }
+
+    // properties -------------------------------------------------------------
+
+    @Test
+    public final void metaProperties_componentOrder() {
+        MetaBean metaBean = MetaBean.of(Point.class);
+        assertEquals(
+                metaBean.metaProperties().map(MetaProperty::name).collect(Collectors.toList()),
+                Arrays.asList("label", "x", "y"));
+        assertEquals(metaBean.propertyCount(), 3);
+        assertEquals(metaBean.metaPropertyAt(1).index(), 1);
+        assertEquals(metaBean.metaProperty("y").get().propertyType(), long.class);
+        assertTrue(metaBean.metaProperty("x").get() instanceof IntMetaProperty);
+    }
+
+    @Test
+    public final void metaProperty_readOnlyAndBuildable() {
+        MetaProperty<?> metaProperty = MetaBean.of(Point.class).metaProperty("label").get();
+        assertFalse(metaProperty.isMutable());
+        assertTrue(metaProperty.isBuildable());
+        assertFalse(metaProperty.isDerived());
+    }
+
+    @Test
+    public final void get_readsComponent() {
+        MetaBean metaBean = MetaBean.of(Point.class);
+        Point point = new Point("a", 1, 2L);
+        assertEquals(metaBean.metaProperty("label").get().get(point), "a");
+        assertEquals(((IntMetaProperty) metaBean.metaProperty("x").get()).getInt(point), 1);
+        assertEquals(metaBean.beanAccessor().get(point, 2), Long.valueOf(2L));
+    }
+
+    @Test(expectedExceptions = UnsupportedOperationException.class)
+    public final void set_throwsException() {
+        MetaBean.of(Point.class).metaProperty("label").get().set(new Point("a", 1, 2L), "b");
+    }
+
+    // builder ----------------------------------------------------------------
+
+    @Test
+    public final void beanBuilder_callsCanonicalConstructor() {
+        MetaBean metaBean = MetaBean.of(Point.class);
+        assertTrue(metaBean.isBuildable());
+        BeanBuilder<?> builder = metaBean.beanBuilder()
+                .set(metaBean.metaProperty("label").get(), "a")
+                .set(metaBean.metaProperty("x").get(), 1)
+                .set(metaBean.metaProperty("y").get(), 2L);
+        assertEquals(builder.build(), new Point("a", 1, 2L));
+        assertEquals(builder.build(), new Point("a", 1, 2L));
+    }
+
+    @Test
+    public final void beanBuilder_missingPrimitive_usesDefault() {
+        MetaBean metaBean = MetaBean.of(Point.class);
+        BeanBuilder<?> builder = metaBean.beanBuilder().set(metaBean.metaProperty("label").get(), "a");
+        assertEquals(builder.build(), new Point("a", 0, 0L));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public final void beanBuilder_compactConstructorValidates() {
+        MetaBean metaBean = MetaBean.of(Point.class);
+        metaBean.beanBuilder().set(metaBean.metaProperty("x").get(), -1).build();
+    }
+
+    @Test
+    public final void beanBuilderPool_reusesBuilder() {
+        MetaBean metaBean = MetaBean.of(Point.class);
+        BeanBuilderPool pool = metaBean.beanBuilderPool();
+        BeanBuilder<?> builder = pool.acquire();
+        try {
+            builder.set(metaBean.metaPropertyAt(0), "b");
+            assertEquals(builder.build(), new Point("b", 0, 0L));
+        } finally {
+            pool.release(builder);
+        }
+    }
+
+    @Test
+    public final void emptyRecord_buildable() {
+        MetaBean metaBean = MetaBean.of(Empty.class);
+        assertEquals(metaBean.propertyCount(), 0);
+        assertEquals(metaBean.beanBuilder().build(), new Empty());
+    }
+
+    //-------------------------------------------------------------------------
+    public record Point(String label, int x, long y) {
+        public Point {
+            if (x < 0) {
+                throw new IllegalArgumentException("x must not be negative");
+            }
+        }
+    }
+
+    public record Empty() {
+    }
+
+}
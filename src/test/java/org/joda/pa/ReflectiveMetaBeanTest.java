@@ -0,0 +1,383 @@
+/*
+ *  Copyright 2014-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.pa;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.joda.pa.TestBean.AnyAnnotation;
+import org.joda.pa.TestBean.FieldAnnotation;
+import org.joda.pa.TestBean.GetAnnotation;
+import org.joda.pa.TestBean.SetAnnotation;
+import org.joda.pa.style.BuilderImmutablePerson;
+import org.joda.pa.style.ConstructorNoArgsMutablePerson;
+import org.joda.pa.style.ConstructorWithArgsMutablePerson;
+import org.joda.pa.style.ReorderedConstructorImmutablePerson;
+import org.joda.pa.style.StaticFactoryImmutablePerson;
+import org.testng.annotations.Test;
+
+@SuppressWarnings("javadoc")
+public class ReflectiveMetaBeanTest {
+
+    // of ---------------------------------------------------------------------
+
+    @Test
+    public final void of_sameClass_sameInstance() {
+        MetaBean first = MetaBean.of(ConstructorNoArgsMutablePerson.class);
+        MetaBean second = MetaBean.of(ConstructorNoArgsMutablePerson.class);
+        assertSame(first, second);
+        assertSame(first.beanType(), ConstructorNoArgsMutablePerson.class);
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public final void of_null_NullPointerException() {
+        MetaBean.of(null);
+    }
+
+    // properties -------------------------------------------------------------
+
+    @Test
+    public final void metaProperties_mutablePerson_inFieldDeclarationOrder() {
+        MetaBean metaBean = MetaBean.of(ConstructorNoArgsMutablePerson.class);
+        List<String> names = metaBean.metaProperties()
+                .map(MetaProperty::name)
+                .collect(Collectors.toList());
+        assertEquals(names.size(), 4);
+        assertEquals(names.get(0), "surname");
+        assertEquals(names.get(1), "forename");
+        assertEquals(names.get(2), "birthDate");
+        assertEquals(names.get(3), "numberOfChildren");
+    }
+
+    @Test
+    public final void metaProperties_mutablePerson_ownedByMetaBean() {
+        MetaBean metaBean = MetaBean.of(ConstructorNoArgsMutablePerson.class);
+        assertTrue(metaBean.metaProperties().allMatch(mp -> mp.metaBean() == metaBean));
+        assertTrue(metaBean.metaProperties().allMatch(MetaProperty::isMutable));
+        assertTrue(metaBean.metaProperties().allMatch(MetaProperty::isBuildable));
+    }
+
+    @Test
+    public final void metaProperties_immutablePerson_readOnly() {
+        MetaBean metaBean = MetaBean.of(StaticFactoryImmutablePerson.class);
+        assertEquals(metaBean.metaProperties().count(), 4);
+        assertFalse(metaBean.metaProperties().anyMatch(MetaProperty::isMutable));
+        assertTrue(metaBean.metaProperties().allMatch(MetaProperty::isBuildable));
+    }
+
+    @Test
+    public final void metaProperty_primitiveProperty_getAndSetBoxedValue() {
+        MetaBean metaBean = MetaBean.of(ConstructorNoArgsMutablePerson.class);
+        MetaProperty<?> metaProperty = metaBean.metaProperty("numberOfChildren").get();
+        assertSame(metaProperty.propertyType(), int.class);
+
+        ConstructorNoArgsMutablePerson person = new ConstructorNoArgsMutablePerson();
+        metaProperty.set(person, 3);
+        assertEquals(metaProperty.get(person), 3);
+    }
+
+    @Test
+    public final void metaPropertyAt_mutablePerson_matchesIndex() {
+        MetaBean metaBean = MetaBean.of(ConstructorNoArgsMutablePerson.class);
+        assertEquals(metaBean.propertyCount(), 4);
+        assertEquals(metaBean.metaPropertyList().size(), 4);
+        for (int i = 0; i < metaBean.propertyCount(); i++) {
+            MetaProperty<?> metaProperty = metaBean.metaPropertyAt(i);
+            assertEquals(metaProperty.index(), i);
+            assertSame(metaBean.metaPropertyList().get(i), metaProperty);
+        }
+    }
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public final void metaPropertyAt_invalidIndex_IndexOutOfBoundsException() {
+        MetaBean.of(ConstructorNoArgsMutablePerson.class).metaPropertyAt(4);
+    }
+
+    @Test(expectedExceptions = UnsupportedOperationException.class)
+    public final void metaPropertyList_mutablePerson_immutable() {
+        MetaBean.of(ConstructorNoArgsMutablePerson.class).metaPropertyList().clear();
+    }
+
+    @Test
+    public final void metaProperty_byName_found() {
+        MetaBean metaBean = MetaBean.of(ConstructorNoArgsMutablePerson.class);
+        MetaProperty<?> metaProperty = metaBean.metaProperty("birthDate").get();
+        assertEquals(metaProperty.name(), "birthDate");
+        assertSame(metaBean.metaProperty("birthDate").get(), metaProperty);
+    }
+
+    @Test
+    public final void metaProperty_unknownOrNullName_empty() {
+        MetaBean metaBean = MetaBean.of(ConstructorNoArgsMutablePerson.class);
+        assertFalse(metaBean.metaProperty("unknown").isPresent());
+        assertFalse(metaBean.metaProperty((String) null).isPresent());
+    }
+
+    @Test
+    public final void metaProperty_byRange_found() {
+        MetaBean metaBean = MetaBean.of(ConstructorNoArgsMutablePerson.class);
+        StringBuilder buf = new StringBuilder("{\"forename\":\"John\"}");
+        MetaProperty<?> metaProperty = metaBean.metaProperty(buf, 2, 10).get();
+        assertSame(metaProperty, metaBean.metaProperty("forename").get());
+        assertFalse(metaBean.metaProperty(buf, 2, 9).isPresent());
+    }
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public final void metaProperty_byInvalidRange_IndexOutOfBoundsException() {
+        MetaBean metaBean = MetaBean.of(ConstructorNoArgsMutablePerson.class);
+        metaBean.metaProperty("surname", 2, 10);
+    }
+
+    // annotations ------------------------------------------------------------
+
+    @Test
+    public final void propertiesAnnotatedWith_annotatedGetterAndSetter_firstAnnotation() {
+        MetaBean metaBean = MetaBean.of(TestBean.class);
+        Map<MetaProperty<?>, AnyAnnotation> annotated = metaBean.propertiesAnnotatedWith(AnyAnnotation.class);
+        assertEquals(annotated.size(), 1);
+        MetaProperty<?> string = metaBean.metaProperty("string").get();
+        assertSame(annotated.get(string), string.annotations(AnyAnnotation.class).findFirst().get());
+    }
+
+    @Test
+    public final void propertiesAnnotatedWith_annotatedSetterOnly_found() {
+        MetaBean metaBean = MetaBean.of(TestBean.class);
+        Map<MetaProperty<?>, SetAnnotation> annotated = metaBean.propertiesAnnotatedWith(SetAnnotation.class);
+        assertEquals(annotated.keySet(), Collections.singleton(metaBean.metaProperty("integer").get()));
+    }
+
+    @Test
+    public final void propertiesAnnotatedWith_notPresent_empty() {
+        MetaBean metaBean = MetaBean.of(TestBean.class);
+        assertTrue(metaBean.propertiesAnnotatedWith(FieldAnnotation.class).isEmpty());
+    }
+
+    @Test
+    public final void propertiesAnnotatedWith_calledTwice_sameMap() {
+        MetaBean metaBean = MetaBean.of(TestBean.class);
+        assertSame(metaBean.propertiesAnnotatedWith(GetAnnotation.class),
+                metaBean.propertiesAnnotatedWith(GetAnnotation.class));
+    }
+
+    @Test(expectedExceptions = UnsupportedOperationException.class)
+    public final void propertiesAnnotatedWith_immutableResult() {
+        MetaBean metaBean = MetaBean.of(TestBean.class);
+        metaBean.propertiesAnnotatedWith(GetAnnotation.class).clear();
+    }
+
+    // builder ----------------------------------------------------------------
+
+    @Test
+    public final void beanBuilder_mutablePerson_buildsBean() {
+        MetaBean metaBean = MetaBean.of(ConstructorNoArgsMutablePerson.class);
+        assertTrue(metaBean.isBuildable());
+
+        LocalDate birthDate = LocalDate.of(1980, 6, 30);
+        Object bean = metaBean.beanBuilder()
+                .set(metaBean.metaProperty("surname").get(), "Smith")
+                .set(metaBean.metaProperty("forename").get(), "John")
+                .set(metaBean.metaProperty("birthDate").get(), birthDate)
+                .set(metaBean.metaProperty("numberOfChildren").get(), 2)
+                .build();
+
+        ConstructorNoArgsMutablePerson expected = new ConstructorNoArgsMutablePerson();
+        expected.setSurname("Smith");
+        expected.setForename("John");
+        expected.setBirthDate(birthDate);
+        expected.setNumberOfChildren(2);
+        assertEquals(bean, expected);
+    }
+
+    @Test
+    public final void beanBuilder_constructorWithArgs_buildsBean() {
+        MetaBean metaBean = MetaBean.of(ConstructorWithArgsMutablePerson.class);
+        assertTrue(metaBean.isBuildable());
+        assertTrue(metaBean.metaProperties().allMatch(MetaProperty::isBuildable));
+
+        LocalDate birthDate = LocalDate.of(1980, 6, 30);
+        BeanBuilder<?> builder = metaBean.beanBuilder()
+                .set(metaBean.metaProperty("numberOfChildren").get(), 2)
+                .set(metaBean.metaProperty("forename").get(), "John")
+                .set(metaBean.metaProperty("surname").get(), "Smith")
+                .set(metaBean.metaProperty("birthDate").get(), birthDate);
+        assertEquals(builder.get(metaBean.metaProperty("surname").get()), "Smith");
+
+        ConstructorWithArgsMutablePerson expected = new ConstructorWithArgsMutablePerson("Smith", "John", birthDate);
+        expected.setNumberOfChildren(2);
+        assertEquals(builder.build(), expected);
+    }
+
+    @Test
+    public final void beanBuilder_staticFactory_buildsBean() {
+        MetaBean metaBean = MetaBean.of(StaticFactoryImmutablePerson.class);
+        assertTrue(metaBean.isBuildable());
+
+        LocalDate birthDate = LocalDate.of(1980, 6, 30);
+        Object bean = metaBean.beanBuilder()
+                .set(metaBean.metaProperty("surname").get(), "Smith")
+                .set(metaBean.metaProperty("forename").get(), "John")
+                .set(metaBean.metaProperty("birthDate").get(), birthDate)
+                .set(metaBean.metaProperty("numberOfChildren").get(), 2)
+                .build();
+        assertEquals(bean, StaticFactoryImmutablePerson.of("Smith", "John", birthDate, 2));
+    }
+
+    @Test
+    public final void beanBuilder_primitiveNotSet_defaultValue() {
+        MetaBean metaBean = MetaBean.of(StaticFactoryImmutablePerson.class);
+        LocalDate birthDate = LocalDate.of(1980, 6, 30);
+        Object bean = metaBean.beanBuilder()
+                .set(metaBean.metaProperty("surname").get(), "Smith")
+                .set(metaBean.metaProperty("forename").get(), "John")
+                .set(metaBean.metaProperty("birthDate").get(), birthDate)
+                .build();
+        assertEquals(bean, StaticFactoryImmutablePerson.of("Smith", "John", birthDate, 0));
+    }
+
+    @Test
+    public final void beanBuilder_primitiveNotSet_getReturnsNullAfterBuild() {
+        MetaBean metaBean = MetaBean.of(StaticFactoryImmutablePerson.class);
+        MetaProperty<?> numberOfChildren = metaBean.metaProperty("numberOfChildren").get();
+        BeanBuilder<?> builder = metaBean.reusableBeanBuilder()
+                .set(metaBean.metaProperty("surname").get(), "Smith")
+                .set(metaBean.metaProperty("forename").get(), "John")
+                .set(metaBean.metaProperty("birthDate").get(), LocalDate.of(1980, 6, 30));
+        builder.build();
+        assertNull(builder.get(numberOfChildren));
+    }
+
+    @Test
+    public final void beanBuilder_noArgsAndAllArgsConstructors_prefersAllArgs() {
+        MetaBean metaBean = MetaBean.of(TwoConstructorsBean.class);
+        assertTrue(metaBean.metaProperties().allMatch(MetaProperty::isBuildable));
+        TwoConstructorsBean bean = (TwoConstructorsBean) metaBean.beanBuilder()
+                .set(metaBean.metaProperty("name").get(), "Smith")
+                .set(metaBean.metaProperty("count").get(), 3)
+                .build();
+        assertEquals(bean.getName(), "Smith");
+        assertEquals(bean.getCount(), 3);
+    }
+
+    @Test
+    public final void coverage_parametersAndSetters_countedOnce() {
+        assertEquals(BeanCreator.coverage(new int[0], new boolean[] {true, false, true}), 2);
+        assertEquals(BeanCreator.coverage(new int[] {0, 1}, new boolean[] {true, false, true}), 3);
+    }
+
+    @Test
+    public final void beanBuilder_notSet_getReturnsNull() {
+        MetaBean metaBean = MetaBean.of(StaticFactoryImmutablePerson.class);
+        assertNull(metaBean.beanBuilder().get(metaBean.metaProperty("surname").get()));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public final void beanBuilder_otherMetaBeansProperty_IllegalArgumentException() {
+        MetaBean metaBean = MetaBean.of(StaticFactoryImmutablePerson.class);
+        MetaProperty<?> other = MetaBean.of(ConstructorWithArgsMutablePerson.class).metaProperty("surname").get();
+        metaBean.beanBuilder().set(other, "Smith");
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public final void beanBuilder_constructorRejectsNull_exceptionRethrown() {
+        MetaBean metaBean = MetaBean.of(ConstructorWithArgsMutablePerson.class);
+        metaBean.beanBuilder().build();
+    }
+
+    @Test(expectedExceptions = UnsupportedOperationException.class)
+    public final void beanBuilder_builderImmutablePerson_UnsupportedOperationException() {
+        MetaBean metaBean = MetaBean.of(BuilderImmutablePerson.class);
+        assertFalse(metaBean.isBuildable());
+        metaBean.beanBuilder();
+    }
+
+    @Test
+    public final void beanBuilder_reorderedConstructor_matchesByName() {
+        MetaBean metaBean = MetaBean.of(ReorderedConstructorImmutablePerson.class);
+        assertEquals(
+                metaBean.metaProperties().map(MetaProperty::name).collect(Collectors.toList()),
+                Arrays.asList("surname", "forename"));
+        assertTrue(metaBean.isBuildable());
+        Object bean = metaBean.beanBuilder()
+                .set(metaBean.metaProperty("surname").get(), "Smith")
+                .set(metaBean.metaProperty("forename").get(), "John")
+                .build();
+        assertEquals(bean, new ReorderedConstructorImmutablePerson("John", "Smith"));
+    }
+
+    @Test
+    public final void matchParameters_noNamesSharedType_noMatch() {
+        // as per ReorderedConstructorImmutablePerson compiled without '-parameters'
+        int[] indices = BeanCreator.matchParameters(
+                new Class<?>[] {String.class, String.class},
+                null,
+                Arrays.asList("surname", "forename"),
+                Arrays.asList(String.class, String.class));
+        assertNull(indices);
+    }
+
+    @Test
+    public final void matchParameters_noNamesUniqueTypes_matchesByType() {
+        int[] indices = BeanCreator.matchParameters(
+                new Class<?>[] {int.class, String.class},
+                null,
+                Arrays.asList("name", "count"),
+                Arrays.asList(String.class, int.class));
+        assertEquals(indices, new int[] {1, 0});
+    }
+
+    @Test
+    public final void matchParameters_names_matchesByName() {
+        int[] indices = BeanCreator.matchParameters(
+                new Class<?>[] {String.class, String.class},
+                new String[] {"forename", "surname"},
+                Arrays.asList("surname", "forename"),
+                Arrays.asList(String.class, String.class));
+        assertEquals(indices, new int[] {1, 0});
+    }
+
+    public static final class TwoConstructorsBean {
+        private final String name;
+        private final int count;
+
+        public TwoConstructorsBean() {
+            this(null, 0);
+        }
+
+        public TwoConstructorsBean(String name, int count) {
+            this.name = name;
+            this.count = count;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getCount() {
+            return count;
+        }
+    }
+
+}
@@ -0,0 +1,181 @@
+/*
+ *  Copyright 2014-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.pa;
+
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.joda.pa.style.ConstructorWithArgsMutablePerson;
+import org.joda.pa.style.StaticFactoryImmutablePerson;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the reusable builders and the class {@link StripedBeanBuilderPool}.
+ */
+@SuppressWarnings("javadoc")
+public class StripedBeanBuilderPoolTest {
+
+    private static final LocalDate BIRTH_DATE = LocalDate.of(1980, 6, 30);
+
+    // reusable ---------------------------------------------------------------
+
+    @Test
+    public final void reusableBeanBuilder_buildResetBuild_buildsTwoBeans() {
+        MetaBean metaBean = MetaBean.of(StaticFactoryImmutablePerson.class);
+        BeanBuilder<?> builder = metaBean.reusableBeanBuilder();
+        Object first = setPerson(metaBean, builder, "Smith", 2).build();
+        Object second = setPerson(metaBean, builder.reset(), "Jones", 3).build();
+        assertEquals(first, StaticFactoryImmutablePerson.of("Smith", "John", BIRTH_DATE, 2));
+        assertEquals(second, StaticFactoryImmutablePerson.of("Jones", "John", BIRTH_DATE, 3));
+    }
+
+    @Test
+    public final void reset_clearsValues() {
+        MetaBean metaBean = MetaBean.of(ConstructorWithArgsMutablePerson.class);
+        BeanBuilder<?> builder = setPerson(metaBean, metaBean.reusableBeanBuilder(), "Smith", 2);
+        builder.reset();
+        assertNull(builder.get(metaBean.metaProperty("surname").get()));
+        assertNull(builder.get(metaBean.metaProperty("numberOfChildren").get()));
+    }
+
+    @Test(expectedExceptions = UnsupportedOperationException.class)
+    public final void reset_defaultMethod_UnsupportedOperationException() {
+        new BeanBuilder<Object>() {
+            @Override
+            public Object get(MetaProperty<?> property) {
+                return null;
+            }
+            @Override
+            public BeanBuilder<Object> set(MetaProperty<?> property, Object value) {
+                return this;
+            }
+            @Override
+            public Object build() {
+                return null;
+            }
+        }.reset();
+    }
+
+    @Test
+    public final void recordingBeanBuilder_build_replaysIntoNewBuilder() {
+        MetaBean metaBean = mock(MetaBean.class);
+        MetaProperty<?> metaProperty = mock(MetaProperty.class);
+        @SuppressWarnings("unchecked")
+        BeanBuilder<Object> delegate = mock(BeanBuilder.class);
+        doReturn(metaBean).when(metaProperty).metaBean();
+        doReturn(0).when(metaProperty).index();
+        doReturn(true).when(metaProperty).isBuildable();
+        doReturn(1).when(metaBean).propertyCount();
+        doReturn(metaProperty).when(metaBean).metaPropertyAt(0);
+        doReturn(delegate).when(metaBean).beanBuilder();
+        doReturn("bean").when(delegate).build();
+
+        BeanBuilder<Object> builder = new RecordingBeanBuilder<>(metaBean);
+        builder.set(metaProperty, "Smith");
+        assertEquals(builder.build(), "bean");
+        assertEquals(builder.build(), "bean");
+        verify(delegate, times(2)).set(metaProperty, "Smith");
+        assertNull(builder.reset().get(metaProperty));
+    }
+
+    // pool -------------------------------------------------------------------
+
+    @Test
+    public final void beanBuilderPool_sameMetaBean_samePool() {
+        MetaBean metaBean = MetaBean.of(StaticFactoryImmutablePerson.class);
+        assertSame(metaBean.beanBuilderPool(), metaBean.beanBuilderPool());
+    }
+
+    @Test
+    public final void acquire_afterRelease_reusesResetBuilder() {
+        MetaBean metaBean = MetaBean.of(StaticFactoryImmutablePerson.class);
+        BeanBuilderPool pool = new StripedBeanBuilderPool(metaBean);
+        BeanBuilder<?> builder = setPerson(metaBean, pool.acquire(), "Smith", 2);
+        pool.release(builder);
+        BeanBuilder<?> reacquired = pool.acquire();
+        assertSame(reacquired, builder);
+        assertNull(reacquired.get(metaBean.metaProperty("surname").get()));
+    }
+
+    @Test
+    public final void acquire_twice_differentBuilders() {
+        MetaBean metaBean = MetaBean.of(StaticFactoryImmutablePerson.class);
+        BeanBuilderPool pool = new StripedBeanBuilderPool(metaBean);
+        assertNotSame(pool.acquire(), pool.acquire());
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public final void release_null_NullPointerException() {
+        new StripedBeanBuilderPool(MetaBean.of(StaticFactoryImmutablePerson.class)).release(null);
+    }
+
+    @Test
+    public final void acquire_manyThreads_buildsCorrectBeans() throws Exception {
+        MetaBean metaBean = MetaBean.of(StaticFactoryImmutablePerson.class);
+        BeanBuilderPool pool = metaBean.beanBuilderPool();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int children = t;
+                Callable<Boolean> task = () -> {
+                    for (int i = 0; i < 1000; i++) {
+                        BeanBuilder<?> builder = pool.acquire();
+                        try {
+                            Object bean = setPerson(metaBean, builder, "Smith", children).build();
+                            if (!bean.equals(StaticFactoryImmutablePerson.of("Smith", "John", BIRTH_DATE, children))) {
+                                return false;
+                            }
+                        } finally {
+                            pool.release(builder);
+                        }
+                    }
+                    return true;
+                };
+                results.add(executor.submit(task));
+            }
+            for (Future<Boolean> result : results) {
+                assertEquals(result.get(), Boolean.TRUE);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    private static BeanBuilder<?> setPerson(MetaBean metaBean, BeanBuilder<?> builder, String surname, int children) {
+        return builder
+                .set(metaBean.metaProperty("surname").get(), surname)
+                .set(metaBean.metaProperty("forename").get(), "John")
+                .set(metaBean.metaProperty("birthDate").get(), BIRTH_DATE)
+                .set(metaBean.metaProperty("numberOfChildren").get(), children);
+    }
+
+}
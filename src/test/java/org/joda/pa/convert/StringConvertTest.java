@@ -0,0 +1,643 @@
+/*
+ *  Copyright 2014-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.pa.convert;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.nio.CharBuffer;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.MonthDay;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.Test;
+
+/**
+ * Tests the class {@link StringConvert}.
+ */
+@SuppressWarnings("javadoc")
+public class StringConvertTest {
+
+    // jdk --------------------------------------------------------------------
+
+    @Test
+    public final void convert_jdkTypes_roundTrip() {
+        StringConvert test = StringConvert.INSTANCE;
+        assertEquals(test.convertToString(Integer.valueOf(42)), "42");
+        assertEquals(test.convertFromString(Integer.class, "42"), Integer.valueOf(42));
+        assertEquals(test.convertFromString(int.class, "42"), Integer.valueOf(42));
+        assertEquals(test.convertFromString(double.class, "1.5"), Double.valueOf(1.5));
+        assertEquals(test.convertFromString(BigDecimal.class, "1.50"), new BigDecimal("1.50"));
+        assertEquals(test.convertToString(LocalDate.of(2014, 6, 30)), "2014-06-30");
+        assertEquals(test.convertFromString(LocalDate.class, "2014-06-30"), LocalDate.of(2014, 6, 30));
+        assertEquals(test.convertFromString(String.class, "hello"), "hello");
+        assertNull(test.convertToString(null));
+        assertNull(test.convertFromString(LocalDate.class, null));
+    }
+
+    @Test
+    public final void findConverter_primitive_sameAsWrapper() {
+        assertSame(StringConvert.INSTANCE.findConverter(long.class), StringConvert.INSTANCE.findConverter(Long.class));
+    }
+
+    @Test
+    public final void findConverter_nonPublicSubclass_usesSuperclassConverter() {
+        ZoneId zone = ZoneId.of("Europe/London");
+        StringConverter conv = StringConvert.INSTANCE.findConverter(zone.getClass());
+        assertEquals(conv.getEffectiveType(), ZoneId.class);
+        assertEquals(StringConvert.INSTANCE.convertToString(zone), "Europe/London");
+    }
+
+    @Test
+    public final void convertFromString_booleanStrict() {
+        assertEquals(StringConvert.INSTANCE.convertFromString(boolean.class, "TRUE"), Boolean.TRUE);
+        assertEquals(StringConvert.INSTANCE.convertFromString(Boolean.class, "false"), Boolean.FALSE);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public final void convertFromString_booleanInvalid_throwsException() {
+        StringConvert.INSTANCE.convertFromString(Boolean.class, "yes");
+    }
+
+    // appendTo ---------------------------------------------------------------
+
+    @Test
+    public final void appendTo_jdkTypes_matchesConvertToString() {
+        Object[] values = {
+            "str", new StringBuilder("sb"), Boolean.TRUE, Character.valueOf('c'),
+            Byte.valueOf((byte) -3), Short.valueOf((short) 300), Integer.valueOf(Integer.MIN_VALUE),
+            Long.valueOf(Long.MAX_VALUE), Float.valueOf(1.1f), Double.valueOf(1e-10), Double.valueOf(Double.NaN),
+            new BigDecimal("1.50"), Instant.ofEpochSecond(1_400_000_000L, 123_000_000),
+            LocalDate.of(2014, 6, 30), LocalDate.of(-5, 1, 1), LocalDate.of(999, 12, 9), LocalDate.of(12345, 1, 1),
+            LocalTime.of(9, 5), LocalTime.of(0, 0, 7), LocalTime.of(23, 59, 59, 120_000_000),
+            LocalTime.of(1, 2, 3, 4_000), LocalTime.of(1, 2, 3, 5),
+            LocalDateTime.of(2014, 6, 30, 12, 30, 0, 1),
+            OffsetTime.of(10, 15, 0, 0, ZoneOffset.ofHours(2)),
+            OffsetDateTime.of(2014, 6, 30, 12, 30, 0, 0, ZoneOffset.UTC),
+            ZonedDateTime.of(2014, 6, 30, 12, 30, 0, 0, ZoneId.of("Europe/Paris")),
+            ZonedDateTime.of(2014, 6, 30, 12, 30, 0, 0, ZoneOffset.ofHoursMinutes(-3, -30)),
+            Year.of(-20), YearMonth.of(50, 3), YearMonth.of(2014, 11), MonthDay.of(2, 29),
+            YearMonth.of(12345, 1), YearMonth.of(-12345, 1), YearMonth.of(-50, 1),
+            ZoneId.of("America/New_York"), ZoneOffset.ofHours(5), TimeUnit.HOURS, Operation.PLUS, new Distance(7),
+        };
+        for (Object value : values) {
+            StringBuilder buf = new StringBuilder("prefix");
+            StringConvert.INSTANCE.appendTo(buf, value);
+            assertEquals(buf.toString(), "prefix" + StringConvert.INSTANCE.convertToString(value));
+            assertEquals(buf.toString(), "prefix" + (value instanceof Distance ? "7m" : value.toString()));
+        }
+    }
+
+    @Test
+    public final void appendTo_null_appendsNothing() {
+        StringBuilder buf = new StringBuilder();
+        StringConvert.INSTANCE.appendTo(buf, null);
+        StringConvert.INSTANCE.appendTo(buf, LocalDate.class, null);
+        assertEquals(buf.length(), 0);
+    }
+
+    @Test
+    public final void appendTo_class_usesClassConverter() {
+        StringBuilder buf = new StringBuilder();
+        StringConvert.INSTANCE.appendTo(buf, Distance.class, new SubDistance(4));
+        assertEquals(buf.toString(), "4m");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public final void appendTo_nullBuffer_throwsException() {
+        StringConvert.INSTANCE.appendTo(null, "");
+    }
+
+    // convertFromString range -------------------------------------------------
+
+    @Test
+    public final void convertFromString_range_matchesString() {
+        Object[] values = {
+            "str", Boolean.TRUE, Boolean.FALSE, Character.valueOf('c'),
+            Byte.valueOf((byte) -128), Short.valueOf((short) 300), Integer.valueOf(Integer.MIN_VALUE),
+            Long.valueOf(Long.MAX_VALUE), Double.valueOf(1e-10), new BigDecimal("1.50"),
+            LocalDate.of(2014, 6, 30), LocalDate.of(2016, 2, 29), LocalDate.of(2014, 12, 31),
+            LocalDate.of(-5, 1, 1), LocalDate.of(12345, 1, 1),
+            LocalTime.of(9, 5), LocalTime.of(0, 0, 7), LocalTime.of(23, 59, 59, 120_000_000),
+            LocalTime.of(1, 2, 3, 4_000), LocalTime.of(1, 2, 3, 5), LocalTime.of(1, 2, 3, 100),
+            LocalDateTime.of(2014, 6, 30, 12, 30, 0, 1), LocalDateTime.of(12345, 6, 30, 12, 30),
+            ZonedDateTime.of(2014, 6, 30, 12, 30, 0, 0, ZoneId.of("Europe/Paris")),
+            ZonedDateTime.of(2014, 6, 30, 12, 30, 0, 0, ZoneOffset.ofHoursMinutes(-3, -30)),
+            ZonedDateTime.of(2014, 6, 30, 12, 30, 0, 0, ZoneOffset.ofHoursMinutesSeconds(1, 2, 3)),
+            OffsetTime.of(10, 15, 0, 0, ZoneOffset.ofHours(2)), OffsetTime.of(10, 15, 30, 5, ZoneOffset.UTC),
+            OffsetDateTime.of(2014, 6, 30, 12, 30, 0, 0, ZoneOffset.UTC),
+            OffsetDateTime.of(12345, 6, 30, 12, 30, 0, 0, ZoneOffset.ofHours(-18)),
+            Float.valueOf(1.1f), TimeUnit.HOURS, Operation.PLUS, new Distance(7),
+        };
+        for (Object value : values) {
+            Class<?> cls = value instanceof Enum ? ((Enum<?>) value).getDeclaringClass() : value.getClass();
+            String str = StringConvert.INSTANCE.convertToString(value);
+            CharSequence text = CharBuffer.wrap("<<" + str + ">>");
+            assertEquals(StringConvert.INSTANCE.convertFromString(cls, text, 2, text.length() - 2), value);
+            assertEquals(StringConvert.INSTANCE.convertFromString(cls, str), value);
+        }
+    }
+
+    @Test
+    public final void convertFromString_rangeCaseInsensitiveBoolean() {
+        assertEquals(StringConvert.INSTANCE.convertFromString(boolean.class, "xTrUex", 1, 5), Boolean.TRUE);
+    }
+
+    @Test
+    public final void convertFromString_rangeShortTime() {
+        assertEquals(StringConvert.INSTANCE.convertFromString(LocalTime.class, "12:34:56.7", 0, 10),
+                LocalTime.of(12, 34, 56, 700_000_000));
+    }
+
+    @Test(expectedExceptions = NumberFormatException.class)
+    public final void convertFromString_rangeByteOutOfRange_throwsException() {
+        StringConvert.INSTANCE.convertFromString(byte.class, "128", 0, 3);
+    }
+
+    @Test(expectedExceptions = DateTimeException.class)
+    public final void convertFromString_rangeInvalidDate_throwsException() {
+        StringConvert.INSTANCE.convertFromString(LocalDate.class, "2014-02-30", 0, 10);
+    }
+
+    @Test(expectedExceptions = DateTimeException.class)
+    public final void convertFromString_rangeInvalidTime_throwsException() {
+        StringConvert.INSTANCE.convertFromString(LocalTime.class, "24:00", 0, 5);
+    }
+
+    @Test
+    public final void convertFromString_rangeZonedOffsetNotOfZone_matchesJdk() {
+        String str = "2014-06-30T12:30+05:00[Europe/Paris]";
+        assertEquals(StringConvert.INSTANCE.convertFromString(ZonedDateTime.class, "<" + str + ">", 1, str.length() + 1),
+                ZonedDateTime.parse(str));
+    }
+
+    @Test(expectedExceptions = DateTimeException.class)
+    public final void convertFromString_rangeInvalidZone_throwsException() {
+        String str = "2014-06-30T12:30+02:00[Nowhere/Special]";
+        StringConvert.INSTANCE.convertFromString(ZonedDateTime.class, str, 0, str.length());
+    }
+
+    @Test(expectedExceptions = DateTimeException.class)
+    public final void convertFromString_rangeInvalidOffset_throwsException() {
+        StringConvert.INSTANCE.convertFromString(OffsetTime.class, "10:15+19:00", 0, 11);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public final void convertFromString_rangeInvalidEnum_throwsException() {
+        StringConvert.INSTANCE.convertFromString(TimeUnit.class, "HOURSX", 0, 6);
+    }
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public final void convertFromString_rangeInvalid_throwsException() {
+        StringConvert.INSTANCE.convertFromString(Integer.class, "12", 1, 3);
+    }
+
+    @Test
+    public final void convertFromString_rangeNull_returnsNull() {
+        assertNull(StringConvert.INSTANCE.convertFromString(Integer.class, null, 0, 0));
+    }
+
+    // primitive --------------------------------------------------------------
+
+    @Test
+    public final void findIntConverter_primitiveAndWrapper_same() {
+        IntStringConverter conv = StringConvert.INSTANCE.findIntConverter(int.class);
+        assertSame(StringConvert.INSTANCE.findIntConverter(Integer.class), conv);
+        assertSame(StringConvert.INSTANCE.findConverter(int.class), conv);
+        assertEquals(conv.parseInt("-42"), -42);
+        assertEquals(conv.parseInt("x123y", 1, 4), 123);
+        StringBuilder buf = new StringBuilder();
+        conv.appendInt(buf, Integer.MIN_VALUE);
+        assertEquals(buf.toString(), "-2147483648");
+        assertEquals(conv.convertFromString(int.class, "7"), Integer.valueOf(7));
+    }
+
+    @Test
+    public final void findLongConverter_parsesAndAppends() {
+        LongStringConverter conv = StringConvert.INSTANCE.findLongConverter(long.class);
+        assertSame(StringConvert.INSTANCE.findLongConverter(Long.class), conv);
+        assertEquals(conv.parseLong("x9223372036854775807", 1, 20), Long.MAX_VALUE);
+        StringBuilder buf = new StringBuilder();
+        conv.appendLong(buf, -5L);
+        assertEquals(buf.toString(), "-5");
+    }
+
+    @Test
+    public final void findDoubleConverter_parsesAndAppends() {
+        DoubleStringConverter conv = StringConvert.INSTANCE.findDoubleConverter(double.class);
+        assertSame(StringConvert.INSTANCE.findDoubleConverter(Double.class), conv);
+        assertEquals(conv.parseDouble("1.5"), 1.5d);
+        assertEquals(conv.parseDouble("[2.25]", 1, 5), 2.25d);
+        StringBuilder buf = new StringBuilder();
+        conv.appendDouble(buf, 0.1d);
+        assertEquals(buf.toString(), "0.1");
+    }
+
+    @Test
+    public final void findBooleanConverter_parsesAndAppends() {
+        BooleanStringConverter conv = StringConvert.INSTANCE.findBooleanConverter(boolean.class);
+        assertSame(StringConvert.INSTANCE.findBooleanConverter(Boolean.class), conv);
+        assertTrue(conv.parseBoolean("True"));
+        assertFalse(conv.parseBoolean("xfalse", 1, 6));
+        StringBuilder buf = new StringBuilder();
+        conv.appendBoolean(buf, true);
+        assertEquals(buf.toString(), "true");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public final void findBooleanConverter_invalid_throwsException() {
+        StringConvert.INSTANCE.findBooleanConverter(boolean.class).parseBoolean("yes");
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public final void findIntConverter_notInt_throwsException() {
+        StringConvert.INSTANCE.findIntConverter(String.class);
+    }
+
+    @Test
+    public final void findIntConverter_registeredCustom_found() {
+        StringConvert test = new StringConvert();
+        IntStringConverter custom = new IntStringConverter() {
+            @Override
+            public int parseInt(CharSequence text, int start, int end) {
+                return Integer.parseInt(text, start, end, 16);
+            }
+
+            @Override
+            public void appendInt(StringBuilder buf, int value) {
+                buf.append(Integer.toHexString(value));
+            }
+
+            @Override
+            public String convertToString(Object object) {
+                return Integer.toHexString((Integer) object);
+            }
+
+            @Override
+            public Object convertFromString(Class<?> cls, String str) {
+                return Integer.valueOf(parseInt(str));
+            }
+
+            @Override
+            public Class<?> getEffectiveType() {
+                return Integer.class;
+            }
+        };
+        test.register(custom);
+        assertSame(test.findIntConverter(Integer.class), custom);
+        assertEquals(test.findIntConverter(Integer.class).parseInt("ff"), 255);
+        assertSame(test.findIntConverter(int.class), PrimitiveStringConverters.INT);
+    }
+
+    // enum -------------------------------------------------------------------
+
+    @Test
+    public final void convert_enum_usesName() {
+        assertEquals(StringConvert.INSTANCE.convertToString(TimeUnit.SECONDS), "SECONDS");
+        assertEquals(StringConvert.INSTANCE.convertFromString(TimeUnit.class, "DAYS"), TimeUnit.DAYS);
+    }
+
+    @Test
+    public final void convert_enumConstantWithBody_usesEnumConverter() {
+        StringConverter conv = StringConvert.INSTANCE.findConverter(Operation.PLUS.getClass());
+        assertEquals(conv.getEffectiveType(), Operation.class);
+        assertEquals(StringConvert.INSTANCE.convertToString(Operation.PLUS), "PLUS");
+        assertEquals(StringConvert.INSTANCE.convertFromString(Operation.class, "PLUS"), Operation.PLUS);
+    }
+
+    // annotated --------------------------------------------------------------
+
+    @Test
+    public final void convert_annotatedMethods_roundTrip() {
+        StringConverter conv = StringConvert.INSTANCE.findConverter(Distance.class);
+        assertEquals(conv.getEffectiveType(), Distance.class);
+        assertEquals(StringConvert.INSTANCE.convertToString(new Distance(12)), "12m");
+        assertEquals(StringConvert.INSTANCE.convertFromString(Distance.class, "12m"), new Distance(12));
+    }
+
+    @Test
+    public final void convert_annotatedConstructor_roundTrip() {
+        assertEquals(StringConvert.INSTANCE.convertToString(new Code("AB")), "AB");
+        assertEquals(StringConvert.INSTANCE.convertFromString(Code.class, "CD"), new Code("CD"));
+    }
+
+    @Test
+    public final void findConverter_subclassOfAnnotated_usesSuperclassConverter() {
+        StringConverter conv = StringConvert.INSTANCE.findConverter(SubDistance.class);
+        assertEquals(conv.getEffectiveType(), Distance.class);
+        assertEquals(StringConvert.INSTANCE.convertToString(new SubDistance(3)), "3m");
+    }
+
+    @Test
+    public final void convert_fromStringFactory_usesFactory() {
+        StringConverter conv = StringConvert.INSTANCE.findConverter(Shape.class);
+        assertEquals(conv.getEffectiveType(), Shape.class);
+        assertSame(StringConvert.INSTANCE.findConverter(Circle.class), conv);
+        assertEquals(StringConvert.INSTANCE.convertToString(new Circle(2)), "circle:2");
+        assertEquals(((Circle) StringConvert.INSTANCE.convertFromString(Shape.class, "circle:5")).radius, 5);
+    }
+
+    @Test
+    public final void convertFromString_checkedException_wrapped() {
+        try {
+            StringConvert.INSTANCE.convertFromString(Failing.class, "x");
+        } catch (RuntimeException ex) {
+            assertEquals(ex.getClass(), RuntimeException.class);
+            assertTrue(ex.getCause() instanceof Exception);
+            assertEquals(ex.getCause().getMessage(), "checked");
+            return;
+        }
+        throw new AssertionError("expected exception");
+    }
+
+    @Test
+    public final void convertFromString_uncheckedException_rethrown() {
+        try {
+            StringConvert.INSTANCE.convertFromString(Distance.class, "invalid");
+        } catch (IllegalArgumentException ex) {
+            return;
+        }
+        throw new AssertionError("expected exception");
+    }
+
+    @Test
+    public final void convert_nonPublicCharSequenceMethod_roundTrip() {
+        assertEquals(StringConvert.INSTANCE.convertToString(new Hidden("x")), "x");
+        assertEquals(((Hidden) StringConvert.INSTANCE.convertFromString(Hidden.class, "y")).value, "y");
+    }
+
+    @Test(expectedExceptions = StackOverflowError.class)
+    public final void convertToString_error_rethrown() {
+        StringConvert.INSTANCE.convertToString(new Failing());
+    }
+
+    @Test
+    public final void isConvertible_invalidAnnotations_false() {
+        assertFalse(StringConvert.INSTANCE.isConvertible(FromStringOnly.class));
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public final void findConverter_invalidAnnotations_throwsException() {
+        StringConvert.INSTANCE.findConverter(FromStringOnly.class);
+    }
+
+    // not convertible --------------------------------------------------------
+
+    @Test
+    public final void isConvertible_notConvertible_false() {
+        assertFalse(StringConvert.INSTANCE.isConvertible(Object.class));
+        assertFalse(StringConvert.INSTANCE.isConvertible(Runnable.class));
+        assertFalse(StringConvert.INSTANCE.isConvertible(Thread.class));
+        assertFalse(StringConvert.INSTANCE.isConvertible(Thread.class));
+        assertFalse(StringConvert.INSTANCE.isConvertible(null));
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public final void findConverter_notConvertible_throwsException() {
+        StringConvert.INSTANCE.findConverter(Thread.class);
+    }
+
+    // register ---------------------------------------------------------------
+
+    @Test
+    public final void register_afterNegativeLookup_replacesCachedResult() {
+        StringConvert test = new StringConvert();
+        assertFalse(test.isConvertible(Thread.class));
+        test.register(new ThreadNameConverter());
+        assertTrue(test.isConvertible(Thread.class));
+        assertEquals(test.convertToString(Thread.currentThread()), Thread.currentThread().getName());
+        assertFalse(StringConvert.INSTANCE.isConvertible(Thread.class));
+    }
+
+    @Test
+    public final void register_overridesSuperclassConverter() {
+        StringConvert test = new StringConvert();
+        assertEquals(test.convertToString(new SubDistance(3)), "3m");
+        test.register(new SubDistanceConverter());
+        assertEquals(test.convertToString(new SubDistance(3)), "sub");
+        assertEquals(test.convertToString(new Distance(3)), "3m");
+    }
+
+    @Test
+    public final void registerFactory_searchedBeforeBuiltIn() {
+        StringConvert test = new StringConvert();
+        test.registerFactory(cls -> cls == TimeUnit.class || cls == Integer.class ? new ThreadNameConverter() : null);
+        assertEquals(test.findConverter(TimeUnit.class).getClass(), ThreadNameConverter.class);
+        assertSame(test.findConverter(Integer.class), PrimitiveStringConverters.INT);
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public final void register_globalInstance_throwsException() {
+        StringConvert.INSTANCE.register(new ThreadNameConverter());
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public final void registerFactory_globalInstance_throwsException() {
+        StringConvert.INSTANCE.registerFactory(cls -> null);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public final void register_null_throwsException() {
+        new StringConvert().register(null);
+    }
+
+    //-------------------------------------------------------------------------
+    public enum Operation {
+        PLUS {
+            @Override
+            int apply(int a, int b) {
+                return a + b;
+            }
+        };
+
+        abstract int apply(int a, int b);
+    }
+
+    public static class Distance {
+        final int metres;
+
+        public Distance(int metres) {
+            this.metres = metres;
+        }
+
+        @FromString
+        public static Distance parse(String str) {
+            if (!str.endsWith("m")) {
+                throw new IllegalArgumentException("Invalid distance: " + str);
+            }
+            return new Distance(Integer.parseInt(str.substring(0, str.length() - 1)));
+        }
+
+        @ToString
+        public String print() {
+            return metres + "m";
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Distance && ((Distance) obj).metres == metres;
+        }
+
+        @Override
+        public int hashCode() {
+            return metres;
+        }
+    }
+
+    public static class SubDistance extends Distance {
+        public SubDistance(int metres) {
+            super(metres);
+        }
+    }
+
+    public static class Code {
+        private final String code;
+
+        @FromString
+        public Code(String code) {
+            this.code = code;
+        }
+
+        @ToString
+        @Override
+        public String toString() {
+            return code;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Code && ((Code) obj).code.equals(code);
+        }
+
+        @Override
+        public int hashCode() {
+            return code.hashCode();
+        }
+    }
+
+    @FromStringFactory(factory = ShapeFactory.class)
+    public interface Shape {
+        @ToString
+        String print();
+    }
+
+    public static class Circle implements Shape {
+        final int radius;
+
+        public Circle(int radius) {
+            this.radius = radius;
+        }
+
+        @Override
+        public String print() {
+            return "circle:" + radius;
+        }
+    }
+
+    public static class ShapeFactory {
+        @FromString
+        public static Shape parse(String str) {
+            return new Circle(Integer.parseInt(str.substring("circle:".length())));
+        }
+    }
+
+    public static class Failing {
+        @FromString
+        public static Failing parse(String str) throws Exception {
+            throw new Exception("checked");
+        }
+
+        @ToString
+        public String print() {
+            throw new StackOverflowError();
+        }
+    }
+
+    static final class Hidden {
+        final String value;
+
+        private Hidden(String value) {
+            this.value = value;
+        }
+
+        @FromString
+        private static Hidden parse(CharSequence str) {
+            return new Hidden(str.toString());
+        }
+
+        @ToString
+        private String print() {
+            return value;
+        }
+    }
+
+    public static class FromStringOnly {
+        @FromString
+        public static FromStringOnly parse(String str) {
+            return new FromStringOnly();
+        }
+    }
+
+    static class ThreadNameConverter implements StringConverter {
+        @Override
+        public String convertToString(Object object) {
+            return object instanceof Thread ? ((Thread) object).getName() : object.toString();
+        }
+
+        @Override
+        public Object convertFromString(Class<?> cls, String str) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Class<?> getEffectiveType() {
+            return Thread.class;
+        }
+    }
+
+    static class SubDistanceConverter implements StringConverter {
+        @Override
+        public String convertToString(Object object) {
+            return "sub";
+        }
+
+        @Override
+        public Object convertFromString(Class<?> cls, String str) {
+            return new SubDistance(0);
+        }
+
+        @Override
+        public Class<?> getEffectiveType() {
+            return SubDistance.class;
+        }
+    }
+
+}
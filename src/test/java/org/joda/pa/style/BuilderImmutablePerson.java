@@ -53,7 +53,7 @@ public class BuilderImmutablePerson implements Serializable {
      * 
      * @return the builder
      */
-    public Builder builder() {
+    public static Builder builder() {
         return new Builder();
     }
 
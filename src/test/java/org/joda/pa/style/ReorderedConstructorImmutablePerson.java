@@ -0,0 +1,90 @@
+/*
+ *  Copyright 2014-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.pa.style;
+
+import java.util.Objects;
+
+/**
+ * Immutable bean with a constructor whose parameters are not in field order.
+ * This is not compatible with JavaBeans v1.0.
+ */
+public final class ReorderedConstructorImmutablePerson {
+
+    /**
+     * The surname.
+     */
+    private final String surname;
+    /**
+     * The forename.
+     */
+    private final String forename;
+
+    //-----------------------------------------------------------------------
+    /**
+     * Creates a person.
+     * 
+     * @param forename  the forename
+     * @param surname  the surname
+     */
+    public ReorderedConstructorImmutablePerson(String forename, String surname) {
+        this.forename = forename;
+        this.surname = surname;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the surname.
+     * 
+     * @return the surname
+     */
+    public String getSurname() {
+        return surname;
+    }
+
+    /**
+     * Gets the forename.
+     * 
+     * @return the forename
+     */
+    public String getForename() {
+        return forename;
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        ReorderedConstructorImmutablePerson other = (ReorderedConstructorImmutablePerson) obj;
+        return Objects.equals(surname, other.surname) &&
+                Objects.equals(forename, other.forename);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(surname, forename);
+    }
+
+    @Override
+    public String toString() {
+        return "Person[surname=" + surname + ", forename=" + forename + "]";
+    }
+
+}